@@ -22,6 +22,7 @@ import com.netflix.genie.agent.execution.services.AgentFileStreamService;
 import com.netflix.genie.agent.execution.services.AgentHeartBeatService;
 import com.netflix.genie.agent.execution.services.AgentJobKillService;
 import com.netflix.genie.agent.execution.services.AgentJobService;
+import com.netflix.genie.agent.execution.services.AgentOutputTailService;
 import com.netflix.genie.agent.execution.services.KillService;
 import com.netflix.genie.agent.rpc.GRpcAutoConfiguration;
 import com.netflix.genie.common.internal.dto.v4.converters.JobDirectoryManifestProtoConverter;
@@ -69,6 +70,7 @@ public class GRpcServicesAutoConfigurationIntegrationTest {
             AgentJobKillService.class,
             AgentJobService.class,
             AgentFileStreamService.class,
+            AgentOutputTailService.class,
         };
 
         for (final Class<?> serviceClass : serviceClasses) {
@@ -84,6 +86,11 @@ public class GRpcServicesAutoConfigurationIntegrationTest {
             Mockito.when(mock.getServerHost()).thenReturn("server.com");
             Mockito.when(mock.getServerPort()).thenReturn(1234);
             Mockito.when(mock.getRpcTimeout()).thenReturn(3L);
+            Mockito.when(mock.getRpcKeepAliveTime()).thenReturn(60L);
+            Mockito.when(mock.getRpcKeepAliveTimeout()).thenReturn(20L);
+            Mockito.when(mock.getRpcFlowControlWindow()).thenReturn(1024 * 1024);
+            Mockito.when(mock.getRpcMaxInboundMessageSize()).thenReturn(4 * 1024 * 1024);
+            Mockito.when(mock.getRpcEventLoopThreads()).thenReturn(1);
             return mock;
         }
 
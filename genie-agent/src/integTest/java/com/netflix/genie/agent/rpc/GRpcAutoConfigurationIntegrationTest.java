@@ -22,6 +22,7 @@ import com.netflix.genie.agent.execution.services.impl.grpc.GRpcServicesAutoConf
 import com.netflix.genie.proto.FileStreamServiceGrpc;
 import com.netflix.genie.proto.HeartBeatServiceGrpc;
 import com.netflix.genie.proto.JobKillServiceGrpc;
+import com.netflix.genie.proto.JobOutputServiceGrpc;
 import com.netflix.genie.proto.JobServiceGrpc;
 import com.netflix.genie.proto.PingServiceGrpc;
 import io.grpc.ClientInterceptor;
@@ -82,6 +83,7 @@ public class GRpcAutoConfigurationIntegrationTest {
             HeartBeatServiceGrpc.HeartBeatServiceStub.class,
             JobKillServiceGrpc.JobKillServiceFutureStub.class,
             FileStreamServiceGrpc.FileStreamServiceStub.class,
+            JobOutputServiceGrpc.JobOutputServiceStub.class,
         };
 
         for (final Class<?> clientStubClass : clientStubClasses) {
@@ -118,6 +120,11 @@ public class GRpcAutoConfigurationIntegrationTest {
             Mockito.when(mock.getServerHost()).thenReturn("server.com");
             Mockito.when(mock.getServerPort()).thenReturn(1234);
             Mockito.when(mock.getRpcTimeout()).thenReturn(3L);
+            Mockito.when(mock.getRpcKeepAliveTime()).thenReturn(60L);
+            Mockito.when(mock.getRpcKeepAliveTimeout()).thenReturn(20L);
+            Mockito.when(mock.getRpcFlowControlWindow()).thenReturn(1024 * 1024);
+            Mockito.when(mock.getRpcMaxInboundMessageSize()).thenReturn(4 * 1024 * 1024);
+            Mockito.when(mock.getRpcEventLoopThreads()).thenReturn(1);
             return mock;
         }
     }
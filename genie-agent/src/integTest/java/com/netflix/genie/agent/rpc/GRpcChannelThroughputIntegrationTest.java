@@ -0,0 +1,204 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.agent.rpc;
+
+import com.google.protobuf.ByteString;
+import com.netflix.genie.agent.cli.ArgumentDelegates;
+import com.netflix.genie.proto.AgentFileMessage;
+import com.netflix.genie.proto.FileStreamServiceGrpc;
+import com.netflix.genie.proto.ServerAckMessage;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Server;
+import io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.netty.channel.EventLoopGroup;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Throughput benchmark of the agent gRPC channel against a local server. Streams the same payload over a channel with
+ * gRPC defaults and over the channel built by {@link GRpcAutoConfiguration} and logs the throughput of each. The
+ * numbers are informational, the test only fails if a transfer does not complete.
+ *
+ * @author mprimi
+ * @since 4.0.0
+ */
+@Slf4j
+public class GRpcChannelThroughputIntegrationTest {
+
+    private static final int CHUNK_SIZE = 1024 * 1024;
+    private static final int CHUNKS = 256;
+    private static final int MAX_CHUNKS_IN_FLIGHT = 8;
+    private static final ByteString CHUNK = ByteString.copyFrom(new byte[CHUNK_SIZE]);
+
+    private final AtomicLong bytesReceived = new AtomicLong();
+    private Server server;
+
+    /**
+     * Start a server which acknowledges every file chunk it receives.
+     *
+     * @throws IOException if the server can't start
+     */
+    @Before
+    public void setUp() throws IOException {
+        this.server = NettyServerBuilder
+            .forPort(0)
+            .flowControlWindow(4 * 1024 * 1024)
+            .maxInboundMessageSize(4 * 1024 * 1024)
+            .addService(new AckingFileStreamService())
+            .build()
+            .start();
+    }
+
+    /**
+     * Stop the server.
+     *
+     * @throws InterruptedException if interrupted while waiting for termination
+     */
+    @After
+    public void tearDown() throws InterruptedException {
+        this.server.shutdownNow();
+        this.server.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Compare the throughput of a default channel with the tuned channel used by the agent.
+     *
+     * @throws Exception on failure
+     */
+    @Test
+    public void compareChannelConfigurations() throws Exception {
+        final ManagedChannel defaultChannel = ManagedChannelBuilder
+            .forAddress("localhost", this.server.getPort())
+            .usePlaintext(true)
+            .build();
+        try {
+            this.benchmark("default", defaultChannel);
+        } finally {
+            defaultChannel.shutdownNow();
+        }
+
+        final GRpcAutoConfiguration configuration = new GRpcAutoConfiguration();
+        final ArgumentDelegates.ServerArguments serverArguments = this.tunedServerArguments();
+        final EventLoopGroup eventLoopGroup = configuration.channelEventLoopGroup(serverArguments);
+        final ManagedChannel tunedChannel = configuration.channel(serverArguments, eventLoopGroup);
+        try {
+            this.benchmark("tuned", tunedChannel);
+        } finally {
+            tunedChannel.shutdownNow();
+            eventLoopGroup.shutdownGracefully();
+        }
+    }
+
+    private void benchmark(final String name, final ManagedChannel channel) throws InterruptedException {
+        this.bytesReceived.set(0);
+        final Semaphore inFlight = new Semaphore(MAX_CHUNKS_IN_FLIGHT);
+        final CountDownLatch completed = new CountDownLatch(1);
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        final StreamObserver<AgentFileMessage> requestObserver = FileStreamServiceGrpc
+            .newStub(channel)
+            .transmit(
+                new StreamObserver<ServerAckMessage>() {
+                    @Override
+                    public void onNext(final ServerAckMessage value) {
+                        inFlight.release();
+                    }
+
+                    @Override
+                    public void onError(final Throwable t) {
+                        error.set(t);
+                        completed.countDown();
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        completed.countDown();
+                    }
+                }
+            );
+
+        final long start = System.nanoTime();
+        for (int i = 0; i < CHUNKS; i++) {
+            inFlight.acquire();
+            requestObserver.onNext(AgentFileMessage.newBuilder().setStreamId(name).setData(CHUNK).build());
+        }
+        requestObserver.onCompleted();
+
+        Assert.assertTrue("Transfer did not complete", completed.await(2, TimeUnit.MINUTES));
+        final long elapsedNanos = System.nanoTime() - start;
+        Assert.assertNull(error.get());
+        Assert.assertEquals((long) CHUNK_SIZE * CHUNKS, this.bytesReceived.get());
+
+        final double megabytesPerSecond = (CHUNKS * (double) CHUNK_SIZE / (1024 * 1024))
+            / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+        log.info(
+            "gRPC channel '{}' transferred {} MB at {} MB/s",
+            name,
+            CHUNKS,
+            String.format("%.1f", megabytesPerSecond)
+        );
+    }
+
+    private ArgumentDelegates.ServerArguments tunedServerArguments() {
+        final ArgumentDelegates.ServerArguments serverArguments = Mockito.mock(ArgumentDelegates.ServerArguments.class);
+        Mockito.when(serverArguments.getServerHost()).thenReturn("localhost");
+        Mockito.when(serverArguments.getServerPort()).thenReturn(this.server.getPort());
+        Mockito.when(serverArguments.getRpcKeepAliveTime()).thenReturn(60L);
+        Mockito.when(serverArguments.getRpcKeepAliveTimeout()).thenReturn(20L);
+        Mockito.when(serverArguments.getRpcFlowControlWindow()).thenReturn(4 * 1024 * 1024);
+        Mockito.when(serverArguments.getRpcMaxInboundMessageSize()).thenReturn(4 * 1024 * 1024);
+        Mockito.when(serverArguments.getRpcEventLoopThreads()).thenReturn(1);
+        return serverArguments;
+    }
+
+    private class AckingFileStreamService extends FileStreamServiceGrpc.FileStreamServiceImplBase {
+        @Override
+        public StreamObserver<AgentFileMessage> transmit(final StreamObserver<ServerAckMessage> responseObserver) {
+            return new StreamObserver<AgentFileMessage>() {
+                @Override
+                public void onNext(final AgentFileMessage value) {
+                    bytesReceived.addAndGet(value.getData().size());
+                    responseObserver.onNext(ServerAckMessage.getDefaultInstance());
+                }
+
+                @Override
+                public void onError(final Throwable t) {
+                    responseObserver.onError(t);
+                }
+
+                @Override
+                public void onCompleted() {
+                    responseObserver.onCompleted();
+                }
+            };
+        }
+    }
+}
@@ -44,6 +44,16 @@ public interface ArgumentDelegates {
         int getServerPort();
 
         long getRpcTimeout();
+
+        long getRpcKeepAliveTime();
+
+        long getRpcKeepAliveTimeout();
+
+        int getRpcFlowControlWindow();
+
+        int getRpcMaxInboundMessageSize();
+
+        int getRpcEventLoopThreads();
     }
 
     /**
@@ -53,6 +63,12 @@ public interface ArgumentDelegates {
 
         File getCacheDirectory();
 
+        long getCacheMaxSize();
+
+        long getCacheMaxAge();
+
+        boolean isCacheDeduplication();
+
     }
 
     /**
@@ -107,4 +123,16 @@ public interface ArgumentDelegates {
         CleanupStrategy getCleanupStrategy();
     }
 
+    /**
+     * Delegate for job output (stdout, stderr) options.
+     */
+    interface OutputArguments {
+
+        long getMaxStdOutSize();
+
+        long getMaxStdErrSize();
+
+        boolean isTruncateOutput();
+    }
+
 }
@@ -73,6 +73,50 @@ final class ArgumentValidators {
         }
     }
 
+    /**
+     * Validates a long parameter is a positive number.
+     */
+    public static class PositiveLongValidator implements IParameterValidator {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void validate(final String name, final String value) throws ParameterException {
+            final long number;
+            try {
+                number = Long.parseLong(value);
+            } catch (final NumberFormatException e) {
+                throw new ParameterException(name + " is not a valid number: " + value);
+            }
+            if (number <= 0) {
+                throw new ParameterException(name + " should be a positive number (found " + value + ")");
+            }
+        }
+    }
+
+    /**
+     * Validates a long parameter is zero or a positive number.
+     */
+    public static class NonNegativeLongValidator implements IParameterValidator {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void validate(final String name, final String value) throws ParameterException {
+            final long number;
+            try {
+                number = Long.parseLong(value);
+            } catch (final NumberFormatException e) {
+                throw new ParameterException(name + " is not a valid number: " + value);
+            }
+            if (number < 0) {
+                throw new ParameterException(name + " should not be a negative number (found " + value + ")");
+            }
+        }
+    }
+
     /**
      * Validates a integer parameter is a positive integer.
      */
@@ -43,4 +43,27 @@ class CacheArgumentsImpl implements ArgumentDelegates.CacheArguments {
         validateWith = ArgumentValidators.StringValidator.class
     )
     private File cacheDirectory = new File(DEFAULT_CACHE_PATH);
+
+    @Parameter(
+        names = {"--cacheMaxSize"},
+        description = "Maximum size in bytes of the dependencies cache, least recently used resources are evicted"
+            + " beyond this size (0 for unbounded)",
+        validateWith = ArgumentValidators.NonNegativeLongValidator.class
+    )
+    private long cacheMaxSize;
+
+    @Parameter(
+        names = {"--cacheMaxAge"},
+        description = "Time in seconds after which resources that were not used are evicted from the dependencies"
+            + " cache (0 for unbounded)",
+        validateWith = ArgumentValidators.NonNegativeLongValidator.class
+    )
+    private long cacheMaxAge;
+
+    @Parameter(
+        names = {"--cacheDeduplication"},
+        description = "Store identical content downloaded from different locations only once in the dependencies"
+            + " cache, and skip downloads of content already cached when the source exposes a content identifier"
+    )
+    private boolean cacheDeduplication;
 }
@@ -87,6 +87,7 @@ public class CliAutoConfiguration {
      * @param cacheArguments      The cache arguments to use
      * @param jobRequestArguments The job request arguments to use
      * @param cleanupArguments    The cleanup arguments to use
+     * @param outputArguments     The job output arguments to use
      * @return An instance of {@link com.netflix.genie.agent.cli.ExecCommand.ExecCommandArguments}
      */
     @Bean
@@ -94,13 +95,15 @@ public class CliAutoConfiguration {
         final ArgumentDelegates.ServerArguments serverArguments,
         final ArgumentDelegates.CacheArguments cacheArguments,
         final ArgumentDelegates.JobRequestArguments jobRequestArguments,
-        final ArgumentDelegates.CleanupArguments cleanupArguments
+        final ArgumentDelegates.CleanupArguments cleanupArguments,
+        final ArgumentDelegates.OutputArguments outputArguments
     ) {
         return new ExecCommand.ExecCommandArguments(
             serverArguments,
             cacheArguments,
             jobRequestArguments,
-            cleanupArguments
+            cleanupArguments,
+            outputArguments
         );
     }
 
@@ -337,4 +340,14 @@ public class CliAutoConfiguration {
     public ArgumentDelegates.CleanupArguments cleanupArguments() {
         return new CleanupArgumentsImpl();
     }
+
+    /**
+     * Provide a {@link com.netflix.genie.agent.cli.ArgumentDelegates.OutputArguments}.
+     *
+     * @return A {@link OutputArgumentsImpl} instance
+     */
+    @Bean
+    public ArgumentDelegates.OutputArguments outputArguments() {
+        return new OutputArgumentsImpl();
+    }
 }
@@ -157,16 +157,21 @@ class ExecCommand implements AgentCommand {
         @ParametersDelegate
         private final ArgumentDelegates.CleanupArguments cleanupArguments;
 
+        @ParametersDelegate
+        private final ArgumentDelegates.OutputArguments outputArguments;
+
         ExecCommandArguments(
             final ArgumentDelegates.ServerArguments serverArguments,
             final ArgumentDelegates.CacheArguments cacheArguments,
             final ArgumentDelegates.JobRequestArguments jobRequestArguments,
-            final ArgumentDelegates.CleanupArguments cleanupArguments
+            final ArgumentDelegates.CleanupArguments cleanupArguments,
+            final ArgumentDelegates.OutputArguments outputArguments
         ) {
             this.serverArguments = serverArguments;
             this.cacheArguments = cacheArguments;
             this.jobRequestArguments = jobRequestArguments;
             this.cleanupArguments = cleanupArguments;
+            this.outputArguments = outputArguments;
         }
 
         @Override
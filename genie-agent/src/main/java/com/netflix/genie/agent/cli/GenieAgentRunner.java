@@ -24,8 +24,10 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.ExitCodeGenerator;
 import org.springframework.core.env.Environment;
 
+import java.lang.management.ManagementFactory;
 import java.util.Arrays;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Main entry point for execution after the application is initialized.
@@ -53,11 +55,13 @@ public class GenieAgentRunner implements CommandLineRunner, ExitCodeGenerator {
 
     @Override
     public void run(final String... args) throws Exception {
+        // Time since JVM start, covering class loading and the application context initialization
+        final long contextStartupMillis = ManagementFactory.getRuntimeMXBean().getUptime();
         UserConsole.printBanner(environment);
         UserConsole.getLogger().info("Genie agent startup complete.");
         UserConsole.getLogger().info("Agent logging to: {}", UserConsole.getLogFilePath());
         try {
-            internalRun(args);
+            internalRun(args, contextStartupMillis);
         } catch (final Throwable t) {
             final Throwable userConsoleException = t.getCause() != null ? t.getCause() : t;
             UserConsole.getLogger().error(
@@ -70,8 +74,9 @@ public class GenieAgentRunner implements CommandLineRunner, ExitCodeGenerator {
         }
     }
 
-    private void internalRun(final String[] args) {
+    private void internalRun(final String[] args, final long contextStartupMillis) {
         log.info("Parsing arguments...");
+        final long parseStart = System.nanoTime();
 
         exitCode = ExitCode.INVALID_ARGS;
 
@@ -95,11 +100,22 @@ public class GenieAgentRunner implements CommandLineRunner, ExitCodeGenerator {
             throw new IllegalArgumentException("Invalid command -- commands available: " + availableCommandsString);
         }
 
+        final long parseMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - parseStart);
         UserConsole.getLogger().info("Initializing command {}", commandName);
 
         log.info("Initializing command: {}", commandName);
         exitCode = ExitCode.COMMAND_INIT_FAIL;
+        final long commandInitStart = System.nanoTime();
         final AgentCommand command = commandFactory.get(commandName);
+        final long commandInitMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - commandInitStart);
+
+        UserConsole.getLogger().info(
+            "Startup timings: JVM and context initialization: {}ms, argument parsing: {}ms, "
+                + "command initialization: {}ms",
+            contextStartupMillis,
+            parseMillis,
+            commandInitMillis
+        );
 
         exitCode = ExitCode.EXEC_FAIL;
         exitCode = command.run();
@@ -0,0 +1,53 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.agent.cli;
+
+import com.beust.jcommander.Parameter;
+import lombok.Getter;
+
+/**
+ * Implementation of {@link ArgumentDelegates.OutputArguments} delegate.
+ *
+ * @author mprimi
+ * @since 4.0.0
+ */
+@Getter
+class OutputArgumentsImpl implements ArgumentDelegates.OutputArguments {
+
+    static final long DEFAULT_MAX_OUTPUT_SIZE = 8_589_934_592L;
+
+    @Parameter(
+        names = {"--maxStdOutSize"},
+        description = "Maximum number of bytes the job can write to standard output",
+        validateWith = ArgumentValidators.PositiveLongValidator.class
+    )
+    private long maxStdOutSize = DEFAULT_MAX_OUTPUT_SIZE;
+
+    @Parameter(
+        names = {"--maxStdErrSize"},
+        description = "Maximum number of bytes the job can write to standard error",
+        validateWith = ArgumentValidators.PositiveLongValidator.class
+    )
+    private long maxStdErrSize = DEFAULT_MAX_OUTPUT_SIZE;
+
+    @Parameter(
+        names = {"--truncateOutput"},
+        description = "Discard output beyond the maximum size and let the job run, rather than killing the job"
+    )
+    private boolean truncateOutput;
+}
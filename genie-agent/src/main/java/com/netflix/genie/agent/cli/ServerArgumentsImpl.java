@@ -48,4 +48,39 @@ class ServerArgumentsImpl implements ArgumentDelegates.ServerArguments {
         validateWith = PositiveInteger.class
     )
     private long rpcTimeout = 30;
+
+    @Parameter(
+        names = {"--rpcKeepAliveTime"},
+        description = "Seconds without activity from the server after which a keepalive ping is sent",
+        validateWith = PositiveInteger.class
+    )
+    private long rpcKeepAliveTime = 60;
+
+    @Parameter(
+        names = {"--rpcKeepAliveTimeout"},
+        description = "Seconds to wait for a keepalive ping acknowledgement before the connection is considered dead",
+        validateWith = PositiveInteger.class
+    )
+    private long rpcKeepAliveTimeout = 20;
+
+    @Parameter(
+        names = {"--rpcFlowControlWindow"},
+        description = "HTTP/2 flow control window for the server connection in bytes",
+        validateWith = PositiveInteger.class
+    )
+    private int rpcFlowControlWindow = 4 * 1024 * 1024;
+
+    @Parameter(
+        names = {"--rpcMaxInboundMessageSize"},
+        description = "Largest message accepted from the server in bytes",
+        validateWith = PositiveInteger.class
+    )
+    private int rpcMaxInboundMessageSize = 4 * 1024 * 1024;
+
+    @Parameter(
+        names = {"--rpcEventLoopThreads"},
+        description = "Number of network event loop threads for the server connection",
+        validateWith = PositiveInteger.class
+    )
+    private int rpcEventLoopThreads = 1;
 }
@@ -20,8 +20,10 @@ package com.netflix.genie.agent.configs;
 
 import com.netflix.genie.agent.AgentMetadata;
 import com.netflix.genie.agent.AgentMetadataImpl;
+import com.netflix.genie.agent.configs.processors.LazyInitBeanFactoryPostProcessor;
 import com.netflix.genie.agent.utils.locks.impl.FileLockFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
@@ -39,6 +41,19 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 @Configuration
 public class AgentAutoConfiguration {
 
+    private static final int JOB_SET_UP_POOL_SIZE = 8;
+
+    /**
+     * Provide a {@link LazyInitBeanFactoryPostProcessor} when the agent fast start mode is enabled.
+     *
+     * @return A {@link LazyInitBeanFactoryPostProcessor} instance
+     */
+    @Bean
+    @ConditionalOnProperty(value = LazyInitBeanFactoryPostProcessor.ENABLED_PROPERTY, havingValue = "true")
+    public static LazyInitBeanFactoryPostProcessor lazyInitBeanFactoryPostProcessor() {
+        return new LazyInitBeanFactoryPostProcessor();
+    }
+
     /**
      * Provide a lazy bean definition for {@link AgentMetadata} if none already exists.
      *
@@ -76,6 +91,25 @@ public class AgentAutoConfiguration {
         return executor;
     }
 
+    /**
+     * Provide a lazy task executor bean used to run the job setup phases (e.g., downloads) concurrently, if one
+     * isn't already defined.
+     *
+     * @return A task executor
+     */
+    @Bean
+    @Lazy
+    @ConditionalOnMissingBean(name = "jobSetUpTaskExecutor", value = TaskExecutor.class)
+    public TaskExecutor jobSetUpTaskExecutor() {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(JOB_SET_UP_POOL_SIZE);
+        executor.setMaxPoolSize(JOB_SET_UP_POOL_SIZE);
+        executor.setThreadNamePrefix("job-setup-");
+        executor.setDaemon(true);
+        executor.initialize();
+        return executor;
+    }
+
     /**
      * Provide a lazy {@link TaskScheduler} bean for use by the heart beat service is none has already been
      * defined in the context.
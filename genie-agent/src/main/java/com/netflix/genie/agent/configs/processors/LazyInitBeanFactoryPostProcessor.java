@@ -0,0 +1,59 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.agent.configs.processors;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+
+/**
+ * Marks every application bean definition as lazy so that only the beans actually needed by the command being
+ * invoked get created (e.g. {@code ping} or {@code info} never build the S3 clients or the file streaming service).
+ * Infrastructure beans are left alone.
+ * <p>
+ * Enabled by the agent fast start mode, see {@link #ENABLED_PROPERTY}.
+ *
+ * @author mprimi
+ * @since 4.0.0
+ */
+@Slf4j
+public class LazyInitBeanFactoryPostProcessor implements BeanFactoryPostProcessor {
+
+    /**
+     * The property which enables the fast start mode of the agent.
+     */
+    public static final String ENABLED_PROPERTY = "genie.agent.fast-start.enabled";
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void postProcessBeanFactory(final ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        int lazyBeans = 0;
+        for (final String beanName : beanFactory.getBeanDefinitionNames()) {
+            final BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+            if (beanDefinition.getRole() == BeanDefinition.ROLE_APPLICATION && !beanDefinition.isLazyInit()) {
+                beanDefinition.setLazyInit(true);
+                lazyBeans++;
+            }
+        }
+        log.debug("Fast start: deferred initialization of {} beans", lazyBeans);
+    }
+}
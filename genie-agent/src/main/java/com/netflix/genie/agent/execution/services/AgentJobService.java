@@ -112,6 +112,26 @@ public interface AgentJobService {
         @Valid AgentClientMetadata agentClientMetadata
     ) throws JobReservationException;
 
+    /**
+     * Reserve a job id, resolve the job specification and claim the job in a single request to the server.
+     * Functionally equivalent to {@link #reserveJobId(AgentJobRequest, AgentClientMetadata)},
+     * {@link #resolveJobSpecification(String)} and {@link #claimJob(String, AgentClientMetadata)} in sequence, but
+     * in a single round trip. If the server fails any of the steps, no job is left behind.
+     *
+     * @param jobRequest          the job parameters and agent metadata
+     * @param agentClientMetadata metadata about the client making this request
+     * @return The job specification of the claimed job. The job id is the id of the specification job resource
+     * @throws JobReservationException             if the server failed to reserve or claim the job
+     * @throws JobIdUnavailableException           if the id requested has already been used
+     * @throws JobSpecificationResolutionException if the specification cannot be resolved
+     * @throws UnsupportedOperationException       if the server does not implement this call, in which case the
+     *                                             individual calls should be used instead
+     */
+    JobSpecification bootstrapJob(
+        @Valid AgentJobRequest jobRequest,
+        @Valid AgentClientMetadata agentClientMetadata
+    ) throws JobReservationException, JobIdUnavailableException, JobSpecificationResolutionException;
+
     /**
      * Notify the server of a change of job status.
      *
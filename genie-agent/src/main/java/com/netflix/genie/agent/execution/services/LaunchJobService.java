@@ -25,6 +25,7 @@ import org.springframework.context.ApplicationListener;
 import java.io.File;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Service that launches the job process.
@@ -65,4 +66,27 @@ public interface LaunchJobService extends ApplicationListener<KillService.KillEv
      * @throws InterruptedException  if the calling thread is interrupted while waiting
      */
     JobStatus waitFor() throws InterruptedException;
+
+    /**
+     * Get the number of bytes the job process wrote to standard output.
+     * Output of interactive jobs is not captured, in which case this is always zero.
+     *
+     * @return the number of bytes produced on standard output, including bytes discarded due to size limits
+     */
+    long getStdOutBytes();
+
+    /**
+     * Get the number of bytes the job process wrote to standard error.
+     * Output of interactive jobs is not captured, in which case this is always zero.
+     *
+     * @return the number of bytes produced on standard error, including bytes discarded due to size limits
+     */
+    long getStdErrBytes();
+
+    /**
+     * Get a message describing the output size limit that caused the job process to be killed, if any.
+     *
+     * @return a status message if the job was killed for producing too much output, or empty
+     */
+    Optional<String> getOutputLimitExceededMessage();
 }
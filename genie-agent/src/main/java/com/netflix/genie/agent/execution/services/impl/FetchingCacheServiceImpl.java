@@ -19,14 +19,19 @@
 package com.netflix.genie.agent.execution.services.impl;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
 import com.google.common.io.Files;
+import com.google.common.util.concurrent.Striped;
 import com.netflix.genie.agent.cli.ArgumentDelegates;
 import com.netflix.genie.agent.execution.exceptions.DownloadException;
 import com.netflix.genie.agent.execution.exceptions.LockException;
 import com.netflix.genie.agent.execution.services.FetchingCacheService;
 import com.netflix.genie.agent.utils.locks.CloseableLock;
 import com.netflix.genie.agent.utils.locks.impl.FileLockFactory;
+import com.netflix.genie.common.internal.aws.s3.S3Resource;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
@@ -42,7 +47,18 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
 
 /**
  * A cache on local disk that uses URIs as keys and transparently downloads
@@ -55,7 +71,8 @@ import java.util.Set;
  * Recovers from partial downloads of resources in case an agent gets killed in the middle of a download
  * or a download fails for any other reason
  * <p>
- * Does NOT handle concurrency within the same agent (not an issue at the moment)
+ * Concurrent lookups within the same agent (e.g., parallel downloads during job setup) are serialized per resource
+ * with an in-process lock, since file locks are held on behalf of the whole JVM and can't be acquired twice
  * <p>
  * Cache structure on local disk
  * Each resource has a hash to represent it. The version of the resource is the remote last modified
@@ -69,6 +86,18 @@ import java.util.Set;
  * <p>
  * Deletion of older versions
  * Once a version is successfully downloaded, any older versions are deleted as a best effort
+ * <p>
+ * Content deduplication (optional)
+ * The same content published under different URIs is stored once in {base_dir}/.content/{sha256 of the content},
+ * and the data file of each resource version is a hard link to it. When the source exposes an ETag (S3), the
+ * content downloaded for that ETag is remembered, so identical content is linked without being downloaded again.
+ * Content no longer linked from any resource version is deleted in the background.
+ * <p>
+ * Eviction
+ * The lock file of a resource version is touched every time the version is looked up, so its last modified
+ * timestamp doubles as the last access time. If a maximum size and/or age is configured, resource versions not
+ * accessed recently enough, and then the least recently used ones until the cache fits the maximum size, are evicted
+ * in the background after lookups. Evicting a version takes its lock, like deletion of older versions does.
  * TODO:Use shared file lock for reading and exclusive lock for writing to the cache
  *
  * @author standon
@@ -81,10 +110,26 @@ class FetchingCacheServiceImpl implements FetchingCacheService {
     private static final String DATA_FILE_NAME = "data";
     private static final String DATA_DOWNLOAD_FILE_NAME = "data.tmp";
     private static final String DUMMY_FILE_NAME = "_";
+    private static final String DATA_LINK_FILE_NAME = "data.link";
+    private static final String CONTENT_DIRECTORY_NAME = ".content";
+    private static final String ETAG_FILE_PREFIX = "etag-";
+    private static final String TEMP_FILE_SUFFIX = ".tmp.";
+    private static final String CONTENT_DIGEST_ALGORITHM = "SHA-256";
+    private static final int RESOURCE_LOCK_STRIPES = 64;
     private final ResourceLoader resourceLoader;
     private final File cacheDirectory;
+    private final long cacheMaxSize;
+    private final long cacheMaxAgeMillis;
+    private final boolean contentDeduplication;
+    private final File contentDirectory;
     private final FileLockFactory fileLockFactory;
     private final TaskExecutor cleanUpTaskExecutor;
+    private final Striped<Lock> resourceLocks = Striped.lock(RESOURCE_LOCK_STRIPES);
+    private final AtomicBoolean evictionScheduled = new AtomicBoolean(false);
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+    private final AtomicLong contentHits = new AtomicLong();
+    private final AtomicLong cacheEvictions = new AtomicLong();
 
     FetchingCacheServiceImpl(
         final ResourceLoader resourceLoader,
@@ -94,9 +139,16 @@ class FetchingCacheServiceImpl implements FetchingCacheService {
     ) throws IOException {
         this.resourceLoader = resourceLoader;
         this.cacheDirectory = cacheArguments.getCacheDirectory();
+        this.cacheMaxSize = cacheArguments.getCacheMaxSize();
+        this.cacheMaxAgeMillis = TimeUnit.SECONDS.toMillis(cacheArguments.getCacheMaxAge());
+        this.contentDeduplication = cacheArguments.isCacheDeduplication();
+        this.contentDirectory = new File(this.cacheDirectory, CONTENT_DIRECTORY_NAME);
         this.fileLockFactory = fileLockFactory;
         this.cleanUpTaskExecutor = cleanUpTaskExecutor;
         createDirectoryStructureIfNotExists(cacheDirectory);
+        if (this.contentDeduplication) {
+            createDirectoryStructureIfNotExists(contentDirectory);
+        }
     }
 
     /**
@@ -158,6 +210,9 @@ class FetchingCacheServiceImpl implements FetchingCacheService {
         //Create the resource version dir in cache if it does not exist
         createDirectoryStructureIfNotExists(cacheResourceVersionDir);
 
+        //Serialize access to this resource from within this agent before competing with other agents
+        final Lock resourceLock = resourceLocks.get(resourceCacheId);
+        resourceLock.lock();
         try (
             CloseableLock lock = fileLockFactory.getLock(
                 touchCacheResourceVersionLockFile(
@@ -176,6 +231,7 @@ class FetchingCacheServiceImpl implements FetchingCacheService {
             );
 
             if (!cachedResourceVersionDataFile.exists()) {
+                cacheMisses.incrementAndGet();
                 log.debug(
                     "Cache miss: {} (id: {})",
                     uriString,
@@ -188,14 +244,21 @@ class FetchingCacheServiceImpl implements FetchingCacheService {
                     resourceCacheId,
                     resourceLastModified
                 );
-                try (
-                    InputStream in = resource.getInputStream();
-                    OutputStream out = new FileOutputStream(cachedResourceVersionDownloadFile)
-                ) {
-                    FileCopyUtils.copy(in, out);
-                    Files.move(cachedResourceVersionDownloadFile, cachedResourceVersionDataFile);
+                // Remove leftovers of a previous failed download, which may be a link to shared content
+                java.nio.file.Files.deleteIfExists(cachedResourceVersionDownloadFile.toPath());
+                if (contentDeduplication) {
+                    fetchDeduplicated(resource, uriString, cachedResourceVersionDownloadFile);
+                } else {
+                    try (
+                        InputStream in = resource.getInputStream();
+                        OutputStream out = new FileOutputStream(cachedResourceVersionDownloadFile)
+                    ) {
+                        FileCopyUtils.copy(in, out);
+                    }
                 }
+                Files.move(cachedResourceVersionDownloadFile, cachedResourceVersionDataFile);
             } else {
+                cacheHits.incrementAndGet();
                 log.debug(
                     "Cache hit: {} (id: {})",
                     uriString,
@@ -208,12 +271,304 @@ class FetchingCacheServiceImpl implements FetchingCacheService {
             //Critical section end
         } catch (LockException e) {
             throw new DownloadException("Error downloading dependency", e);
+        } finally {
+            resourceLock.unlock();
         }
 
         //Clean up any older versions
         cleanUpTaskExecutor.execute(
             new CleanupOlderVersionsTask(resourceCacheId, resourceLastModified)
         );
+
+        //Evict unused resources if the cache is bounded
+        scheduleEviction();
+    }
+
+    /* Fetch a resource into the given download file, storing its content once regardless of the URI it came from.
+     * If the source metadata identifies content already present in the cache, link to it instead of downloading.
+     * Otherwise download while computing the checksum of the content, and either publish the downloaded file as
+     * the shared copy of that content, or replace it with a link to the identical copy already stored.
+     */
+    private void fetchDeduplicated(
+        final Resource resource,
+        final String uriString,
+        final File downloadFile
+    ) throws IOException {
+        final Optional<String> eTag = resource instanceof S3Resource
+            ? ((S3Resource) resource).getETag()
+            : Optional.empty();
+
+        if (eTag.isPresent()) {
+            final Optional<File> knownContentFile = lookupContentByETag(eTag.get());
+            if (knownContentFile.isPresent() && createLink(downloadFile, knownContentFile.get())) {
+                contentHits.incrementAndGet();
+                log.debug("Content hit: {} (content: {})", uriString, knownContentFile.get().getName());
+                return;
+            }
+        }
+
+        final String checksum;
+        try (
+            DigestInputStream in = new DigestInputStream(resource.getInputStream(), newContentDigest());
+            OutputStream out = new FileOutputStream(downloadFile)
+        ) {
+            FileCopyUtils.copy(in, out);
+            checksum = Hex.encodeHexString(in.getMessageDigest().digest());
+        }
+
+        final File contentFile = getContentDataFile(checksum);
+        if (!createLink(contentFile, downloadFile) && contentFile.exists()) {
+            // Identical content is already stored, keep a single copy
+            final File linkFile = new File(downloadFile.getParentFile(), DATA_LINK_FILE_NAME);
+            if (createLink(linkFile, contentFile)) {
+                Files.move(linkFile, downloadFile);
+                log.debug("Deduplicated: {} (content: {})", uriString, checksum);
+            }
+        }
+
+        if (eTag.isPresent()) {
+            recordContentETag(eTag.get(), checksum);
+        }
+    }
+
+    /* Find the content file previously downloaded from a source with the given ETag, if it is still stored */
+    private Optional<File> lookupContentByETag(final String eTag) {
+        final File eTagFile = getContentETagFile(eTag);
+        try {
+            if (eTagFile.exists()) {
+                final String checksum = Files.asCharSource(eTagFile, StandardCharsets.UTF_8).read().trim();
+                final File contentFile = getContentDataFile(checksum);
+                if (contentFile.exists()) {
+                    return Optional.of(contentFile);
+                }
+            }
+        } catch (final IOException e) {
+            log.warn("Failed to read content reference: {}", eTagFile, e);
+        }
+        return Optional.empty();
+    }
+
+    /* Remember which content was downloaded from a source with the given ETag */
+    private void recordContentETag(final String eTag, final String checksum) {
+        final File eTagFile = getContentETagFile(eTag);
+        final File tempFile = new File(contentDirectory, eTagFile.getName() + TEMP_FILE_SUFFIX + UUID.randomUUID());
+        try {
+            Files.asCharSink(tempFile, StandardCharsets.UTF_8).write(checksum);
+            Files.move(tempFile, eTagFile);
+        } catch (final IOException e) {
+            log.warn("Failed to record content reference: {}", eTagFile, e);
+            FileSystemUtils.deleteRecursively(tempFile);
+        }
+    }
+
+    /* Create a hard link, returning false if it already exists or links are not supported by the file system */
+    private boolean createLink(final File link, final File existing) {
+        try {
+            java.nio.file.Files.createLink(link.toPath(), existing.toPath());
+            return true;
+        } catch (final IOException | UnsupportedOperationException e) {
+            log.debug("Could not link {} to {}: {}", link, existing, e.getMessage());
+            return false;
+        }
+    }
+
+    /* Delete stored content no longer linked from any resource version, then references to deleted content */
+    private void cleanUpUnusedContent() {
+        final File[] contentFiles = contentDirectory.listFiles(
+            file -> file.isFile() && !file.getName().startsWith(ETAG_FILE_PREFIX)
+        );
+        if (contentFiles == null) {
+            return;
+        }
+        int deleted = 0;
+        for (final File contentFile : contentFiles) {
+            try {
+                final int links = (Integer) java.nio.file.Files.getAttribute(contentFile.toPath(), "unix:nlink");
+                if (links <= 1 && contentFile.delete()) {
+                    deleted++;
+                }
+            } catch (final IOException | UnsupportedOperationException | IllegalArgumentException e) {
+                log.debug("Skipping cleanup of content file: {}: {}", contentFile, e.getMessage());
+            }
+        }
+
+        final File[] eTagFiles = contentDirectory.listFiles(
+            file -> file.isFile() && file.getName().startsWith(ETAG_FILE_PREFIX)
+        );
+        if (eTagFiles != null) {
+            for (final File eTagFile : eTagFiles) {
+                try {
+                    final String checksum = Files.asCharSource(eTagFile, StandardCharsets.UTF_8).read().trim();
+                    if (!getContentDataFile(checksum).exists() && eTagFile.delete()) {
+                        deleted++;
+                    }
+                } catch (final IOException e) {
+                    log.debug("Skipping cleanup of content reference: {}: {}", eTagFile, e.getMessage());
+                }
+            }
+        }
+        log.debug("Deleted {} unused content files from cache", deleted);
+    }
+
+    private MessageDigest newContentDigest() {
+        try {
+            return MessageDigest.getInstance(CONTENT_DIGEST_ALGORITHM);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Digest algorithm not available: " + CONTENT_DIGEST_ALGORITHM, e);
+        }
+    }
+
+    /* Returns a handle to the shared copy of some content in the cache */
+    @VisibleForTesting
+    File getContentDataFile(final String checksum) {
+        return new File(contentDirectory, checksum);
+    }
+
+    /* Returns a handle to the reference from a source ETag to the content downloaded from it */
+    @VisibleForTesting
+    File getContentETagFile(final String eTag) {
+        return new File(
+            contentDirectory,
+            ETAG_FILE_PREFIX + DigestUtils.md5DigestAsHex(eTag.getBytes(StandardCharsets.UTF_8))
+        );
+    }
+
+    private void scheduleEviction() {
+        final boolean evictionEnabled = cacheMaxSize > 0 || cacheMaxAgeMillis > 0 || contentDeduplication;
+        if (evictionEnabled && evictionScheduled.compareAndSet(false, true)) {
+            cleanUpTaskExecutor.execute(new EvictionTask());
+        }
+    }
+
+    /**
+     * Evict resource versions not accessed within the maximum age, then the least recently accessed ones until the
+     * total size of the cache is within the maximum size.
+     *
+     * @throws IOException   in case deleting the files has an issue
+     * @throws LockException in case locking a resource version fails
+     */
+    @VisibleForTesting
+    void evictResources() throws IOException, LockException {
+        final List<CachedResourceVersion> cachedResourceVersions = listCachedResourceVersions();
+
+        // Least recently accessed first
+        cachedResourceVersions.sort(Comparator.comparingLong(CachedResourceVersion::getLastAccess));
+
+        long totalSize = cachedResourceVersions.stream().mapToLong(CachedResourceVersion::getSize).sum();
+        final long accessDeadline = System.currentTimeMillis() - cacheMaxAgeMillis;
+        long evictedSize = 0;
+        int evictedCount = 0;
+
+        for (final CachedResourceVersion cachedResourceVersion : cachedResourceVersions) {
+            final boolean expired = cacheMaxAgeMillis > 0 && cachedResourceVersion.getLastAccess() < accessDeadline;
+            final boolean overSize = cacheMaxSize > 0 && totalSize > cacheMaxSize;
+            if (!expired && !overSize) {
+                // Remaining entries were accessed more recently
+                break;
+            }
+
+            if (evictResourceVersion(cachedResourceVersion)) {
+                totalSize -= cachedResourceVersion.getSize();
+                evictedSize += cachedResourceVersion.getSize();
+                evictedCount++;
+                cacheEvictions.incrementAndGet();
+            }
+        }
+
+        if (contentDeduplication) {
+            cleanUpUnusedContent();
+        }
+
+        log.info(
+            "Evicted {} resource versions ({} bytes) from cache, {} bytes in use "
+                + "(hits: {}, misses: {}, content hits: {}, evictions: {})",
+            evictedCount,
+            evictedSize,
+            totalSize,
+            cacheHits.get(),
+            cacheMisses.get(),
+            contentHits.get(),
+            cacheEvictions.get()
+        );
+    }
+
+    /* List the resource versions that have a data file in the cache, along with their size and last access */
+    private List<CachedResourceVersion> listCachedResourceVersions() {
+        final List<CachedResourceVersion> cachedResourceVersions = Lists.newArrayList();
+        final File[] resourceDirs = cacheDirectory.listFiles(File::isDirectory);
+        if (resourceDirs == null) {
+            return cachedResourceVersions;
+        }
+        for (final File resourceDir : resourceDirs) {
+            final File[] resourceVersionDirs = resourceDir.listFiles(File::isDirectory);
+            if (resourceVersionDirs == null) {
+                continue;
+            }
+            for (final File resourceVersionDir : resourceVersionDirs) {
+                final File dataFile = getCacheResourceVersionDataFile(resourceVersionDir);
+                final File lockFile = getCacheResourceVersionLockFile(resourceVersionDir);
+                if (dataFile.exists() && lockFile.exists()) {
+                    cachedResourceVersions.add(
+                        new CachedResourceVersion(
+                            resourceDir.getName(),
+                            resourceVersionDir,
+                            dataFile.length(),
+                            lockFile.lastModified()
+                        )
+                    );
+                }
+            }
+        }
+        return cachedResourceVersions;
+    }
+
+    /* Delete the data of a resource version under its lock, unless it was accessed since it was listed */
+    private boolean evictResourceVersion(
+        final CachedResourceVersion cachedResourceVersion
+    ) throws IOException, LockException {
+        final File resourceVersionDir = cachedResourceVersion.getResourceVersionDir();
+        final File lockFile = getCacheResourceVersionLockFile(resourceVersionDir);
+
+        final Lock resourceLock = resourceLocks.get(cachedResourceVersion.getResourceCacheId());
+        resourceLock.lock();
+        // Do not touch the lock file, that would count as an access
+        try (CloseableLock lock = fileLockFactory.getLock(lockFile)) {
+            //critical section begin
+            lock.lock();
+
+            if (lockFile.lastModified() > cachedResourceVersion.getLastAccess()) {
+                log.debug("Skipping eviction of recently accessed resource version: {}", resourceVersionDir);
+                return false;
+            }
+
+            log.debug("Evicting resource version: {}", resourceVersionDir);
+            FileSystemUtils.deleteRecursively(getCacheResourceVersionDataFile(resourceVersionDir));
+            FileSystemUtils.deleteRecursively(getCacheResourceVersionDownloadFile(resourceVersionDir));
+            //critical section end
+            return true;
+        } finally {
+            resourceLock.unlock();
+        }
+    }
+
+    @VisibleForTesting
+    long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    @VisibleForTesting
+    long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    @VisibleForTesting
+    long getContentHits() {
+        return contentHits.get();
+    }
+
+    @VisibleForTesting
+    long getCacheEvictions() {
+        return cacheEvictions.get();
     }
 
     @VisibleForTesting
@@ -263,16 +618,26 @@ class FetchingCacheServiceImpl implements FetchingCacheService {
 
         //Remove all the versions older than the supplied version - lastDownloadedResourceModifiedTimestamp
         if (files != null) {
-            for (File file : files) {
-                long resourceLastModified = 0;
-                try {
-                    resourceLastModified = getResourceLastModified(file);
-                    if (resourceLastModified < lastDownloadedResourceModifiedTimestamp) {
-                        cleanUpResourceVersion(file);
+            final Lock resourceLock = resourceLocks.get(resourceCacheId);
+            resourceLock.lock();
+            try {
+                for (File file : files) {
+                    long resourceLastModified = 0;
+                    try {
+                        resourceLastModified = getResourceLastModified(file);
+                        if (resourceLastModified < lastDownloadedResourceModifiedTimestamp) {
+                            cleanUpResourceVersion(file);
+                        }
+                    } catch (NumberFormatException e) {
+                        log.warn(
+                            "Encountered a dir name which is not long. Ignoring dir - {}",
+                            resourceLastModified,
+                            e
+                        );
                     }
-                } catch (NumberFormatException e) {
-                    log.warn("Encountered a dir name which is not long. Ignoring dir - {}", resourceLastModified, e);
                 }
+            } finally {
+                resourceLock.unlock();
             }
         }
     }
@@ -411,4 +776,44 @@ class FetchingCacheServiceImpl implements FetchingCacheService {
             }
         }
     }
+
+    /**
+     * Task to evict unused resources from the cache.
+     */
+    private class EvictionTask implements Runnable {
+
+        @Override
+        public void run() {
+            // Allow further lookups to schedule a new eviction while this one is running
+            evictionScheduled.set(false);
+            try {
+                evictResources();
+            } catch (Throwable throwable) {
+                log.error("Error evicting resources from cache", throwable);
+            }
+        }
+    }
+
+    /**
+     * A resource version present in the cache.
+     */
+    @Getter
+    private static class CachedResourceVersion {
+        private final String resourceCacheId;
+        private final File resourceVersionDir;
+        private final long size;
+        private final long lastAccess;
+
+        CachedResourceVersion(
+            final String resourceCacheId,
+            final File resourceVersionDir,
+            final long size,
+            final long lastAccess
+        ) {
+            this.resourceCacheId = resourceCacheId;
+            this.resourceVersionDir = resourceVersionDir;
+            this.size = size;
+            this.lastAccess = lastAccess;
+        }
+    }
 }
@@ -0,0 +1,129 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.agent.execution.services.impl;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Copies one output stream of the job process (stdout or stderr) into its file in the job directory, counting bytes
+ * and enforcing a size limit as the output is produced.
+ * Bytes beyond the limit are read and discarded, so the job process never blocks on a full pipe.
+ * The limit listener is notified once, the first time the limit is exceeded.
+ *
+ * @author mprimi
+ * @since 4.0.0
+ */
+@Slf4j
+class JobOutputPump implements Runnable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final String streamName;
+    private final InputStream inputStream;
+    private final File outputFile;
+    private final long maxSize;
+    private final Runnable limitExceededListener;
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicBoolean limitExceeded = new AtomicBoolean(false);
+
+    JobOutputPump(
+        final String streamName,
+        final InputStream inputStream,
+        final File outputFile,
+        final long maxSize,
+        final Runnable limitExceededListener
+    ) {
+        this.streamName = streamName;
+        this.inputStream = inputStream;
+        this.outputFile = outputFile;
+        this.maxSize = maxSize;
+        this.limitExceededListener = limitExceededListener;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void run() {
+        // Unbuffered on purpose: the file grows as the job writes, just like with a direct redirect
+        try (
+            InputStream input = this.inputStream;
+            OutputStream output = new FileOutputStream(this.outputFile)
+        ) {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int count;
+            while ((count = input.read(buffer)) != -1) {
+                final long totalRead = this.bytesRead.addAndGet(count);
+                final long allowance = this.maxSize - this.bytesWritten.get();
+                if (allowance > 0) {
+                    final int writeCount = (int) Math.min(count, allowance);
+                    output.write(buffer, 0, writeCount);
+                    this.bytesWritten.addAndGet(writeCount);
+                }
+                if (totalRead > this.maxSize && this.limitExceeded.compareAndSet(false, true)) {
+                    log.warn("Job {} exceeded the maximum size of {} bytes", this.streamName, this.maxSize);
+                    this.limitExceededListener.run();
+                }
+            }
+        } catch (final IOException e) {
+            log.warn("Error while copying job {} to {}", this.streamName, this.outputFile, e);
+        }
+        log.debug(
+            "Job {} closed after {} bytes ({} bytes written to file)",
+            this.streamName,
+            this.bytesRead.get(),
+            this.bytesWritten.get()
+        );
+    }
+
+    /**
+     * Get the number of bytes produced by the job process on this stream so far.
+     *
+     * @return the number of bytes read from the stream
+     */
+    long getBytesRead() {
+        return this.bytesRead.get();
+    }
+
+    /**
+     * Get the number of bytes stored in the output file so far.
+     *
+     * @return the number of bytes written to file, never more than the maximum size
+     */
+    long getBytesWritten() {
+        return this.bytesWritten.get();
+    }
+
+    /**
+     * Whether the job process produced more output than allowed on this stream.
+     *
+     * @return true if the size limit was exceeded
+     */
+    boolean isLimitExceeded() {
+        return this.limitExceeded.get();
+    }
+}
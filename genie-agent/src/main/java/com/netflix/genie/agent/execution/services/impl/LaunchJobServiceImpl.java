@@ -18,6 +18,7 @@
 
 package com.netflix.genie.agent.execution.services.impl;
 
+import com.netflix.genie.agent.cli.ArgumentDelegates;
 import com.netflix.genie.agent.cli.UserConsole;
 import com.netflix.genie.agent.execution.exceptions.JobLaunchException;
 import com.netflix.genie.agent.execution.services.KillService;
@@ -25,6 +26,7 @@ import com.netflix.genie.agent.execution.services.LaunchJobService;
 import com.netflix.genie.agent.utils.EnvUtils;
 import com.netflix.genie.agent.utils.PathUtils;
 import com.netflix.genie.common.dto.JobStatus;
+import com.netflix.genie.common.dto.JobStatusMessages;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
@@ -36,6 +38,8 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -48,9 +52,26 @@ import java.util.concurrent.atomic.AtomicReference;
 @Slf4j
 class LaunchJobServiceImpl implements LaunchJobService {
 
+    // How long to wait for the last output to be copied once the job process is done
+    private static final long OUTPUT_DRAIN_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    private final ArgumentDelegates.OutputArguments outputArguments;
     private final AtomicBoolean launched = new AtomicBoolean(false);
     private final AtomicReference<Process> processReference = new AtomicReference<>();
     private final AtomicBoolean killed = new AtomicBoolean(false);
+    private final List<Thread> outputPumpThreads = new ArrayList<>(2);
+    private final AtomicReference<String> outputLimitExceededMessage = new AtomicReference<>();
+    private volatile JobOutputPump stdOutPump;
+    private volatile JobOutputPump stdErrPump;
+
+    /**
+     * Constructor.
+     *
+     * @param outputArguments the job output arguments (size limits and enforcement policy)
+     */
+    LaunchJobServiceImpl(final ArgumentDelegates.OutputArguments outputArguments) {
+        this.outputArguments = outputArguments;
+    }
 
     /**
      * {@inheritDoc}
@@ -134,20 +155,27 @@ class LaunchJobServiceImpl implements LaunchJobService {
         if (interactive) {
             processBuilder.inheritIO();
         } else {
-            processBuilder.redirectError(PathUtils.jobStdErrPath(jobDirectory).toFile());
-            processBuilder.redirectOutput(PathUtils.jobStdOutPath(jobDirectory).toFile());
+            // Outputs are piped back to the agent, which copies them to file while enforcing size limits
+            processBuilder.redirectOutput(ProcessBuilder.Redirect.PIPE);
+            processBuilder.redirectError(ProcessBuilder.Redirect.PIPE);
         }
 
         if (killed.get()) {
             log.info("Job aborted, skipping launch");
         } else {
             log.info("Launching job");
+            final Process process;
             try {
-                processReference.set(processBuilder.start());
+                process = processBuilder.start();
             } catch (final IOException | SecurityException e) {
                 throw new JobLaunchException("Failed to launch job: ", e);
             }
-            log.info("Process launched (pid: {})", getPid(processReference.get()));
+            processReference.set(process);
+            log.info("Process launched (pid: {})", getPid(process));
+
+            if (!interactive) {
+                this.startOutputPumps(process, jobDirectory);
+            }
         }
     }
 
@@ -181,6 +209,7 @@ class LaunchJobServiceImpl implements LaunchJobService {
         if (process != null) {
             exitCode = process.waitFor();
             UserConsole.getLogger().info("Job process terminated with exit code: {}", exitCode);
+            this.waitForOutputPumps();
         }
 
         try {
@@ -204,6 +233,32 @@ class LaunchJobServiceImpl implements LaunchJobService {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getStdOutBytes() {
+        final JobOutputPump pump = this.stdOutPump;
+        return pump == null ? 0 : pump.getBytesRead();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getStdErrBytes() {
+        final JobOutputPump pump = this.stdErrPump;
+        return pump == null ? 0 : pump.getBytesRead();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<String> getOutputLimitExceededMessage() {
+        return Optional.ofNullable(this.outputLimitExceededMessage.get());
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -213,6 +268,64 @@ class LaunchJobServiceImpl implements LaunchJobService {
         this.kill();
     }
 
+    private void startOutputPumps(final Process process, final File jobDirectory) {
+        final boolean truncateOutput = this.outputArguments.isTruncateOutput();
+
+        this.stdOutPump = new JobOutputPump(
+            "stdout",
+            process.getInputStream(),
+            PathUtils.jobStdOutPath(jobDirectory).toFile(),
+            this.outputArguments.getMaxStdOutSize(),
+            () -> this.onOutputLimitExceeded(JobStatusMessages.JOB_EXCEEDED_STDOUT_LENGTH, truncateOutput)
+        );
+        this.stdErrPump = new JobOutputPump(
+            "stderr",
+            process.getErrorStream(),
+            PathUtils.jobStdErrPath(jobDirectory).toFile(),
+            this.outputArguments.getMaxStdErrSize(),
+            () -> this.onOutputLimitExceeded(JobStatusMessages.JOB_EXCEEDED_STDERR_LENGTH, truncateOutput)
+        );
+
+        this.outputPumpThreads.add(new Thread(this.stdOutPump, "job-stdout-pump"));
+        this.outputPumpThreads.add(new Thread(this.stdErrPump, "job-stderr-pump"));
+        for (final Thread thread : this.outputPumpThreads) {
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    private void onOutputLimitExceeded(final String message, final boolean truncateOutput) {
+        if (truncateOutput) {
+            UserConsole.getLogger().warn("{} Discarding further output", message);
+        } else if (this.outputLimitExceededMessage.compareAndSet(null, message)) {
+            UserConsole.getLogger().warn("{} Killing job", message);
+            this.kill();
+        }
+    }
+
+    private void waitForOutputPumps() throws InterruptedException {
+        if (this.outputPumpThreads.isEmpty()) {
+            return;
+        }
+
+        // Background processes spawned by the job may keep the pipes open past the job process termination
+        final long deadline = System.currentTimeMillis() + OUTPUT_DRAIN_TIMEOUT_MILLIS;
+        for (final Thread thread : this.outputPumpThreads) {
+            thread.join(Math.max(1, deadline - System.currentTimeMillis()));
+            if (thread.isAlive()) {
+                log.warn("Gave up waiting for {} to copy the remaining job output", thread.getName());
+            }
+        }
+
+        log.info(
+            "Job output: {} bytes on stdout ({} bytes saved), {} bytes on stderr ({} bytes saved)",
+            this.stdOutPump.getBytesRead(),
+            this.stdOutPump.getBytesWritten(),
+            this.stdErrPump.getBytesRead(),
+            this.stdErrPump.getBytesWritten()
+        );
+    }
+
     private List<String> expandCommandLineVariables(
         final List<String> commandLine,
         final Map<String, String> environmentVariables
@@ -104,12 +104,13 @@ public class ServicesAutoConfiguration {
     /**
      * Provide a lazy {@link LaunchJobService} bean if one hasn't already been defined.
      *
+     * @param outputArguments The job output command line arguments to use
      * @return A {@link LaunchJobServiceImpl} instance
      */
     @Bean
     @Lazy
     @ConditionalOnMissingBean(LaunchJobService.class)
-    public LaunchJobService launchJobService() {
-        return new LaunchJobServiceImpl();
+    public LaunchJobService launchJobService(final ArgumentDelegates.OutputArguments outputArguments) {
+        return new LaunchJobServiceImpl(outputArguments);
     }
 }
@@ -31,6 +31,9 @@ import com.netflix.genie.common.internal.dto.v4.JobSpecification;
 import com.netflix.genie.common.internal.dto.v4.converters.JobServiceProtoConverter;
 import com.netflix.genie.common.internal.exceptions.GenieConversionException;
 import com.netflix.genie.common.internal.exceptions.unchecked.GenieRuntimeException;
+import com.netflix.genie.proto.BootstrapJobError;
+import com.netflix.genie.proto.BootstrapJobRequest;
+import com.netflix.genie.proto.BootstrapJobResponse;
 import com.netflix.genie.proto.ChangeJobStatusError;
 import com.netflix.genie.proto.ChangeJobStatusRequest;
 import com.netflix.genie.proto.ChangeJobStatusResponse;
@@ -47,6 +50,7 @@ import com.netflix.genie.proto.JobSpecificationResponse;
 import com.netflix.genie.proto.ReserveJobIdError;
 import com.netflix.genie.proto.ReserveJobIdRequest;
 import com.netflix.genie.proto.ReserveJobIdResponse;
+import io.grpc.Status;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.annotation.Nullable;
@@ -219,6 +223,50 @@ class GRpcAgentJobServiceImpl implements AgentJobService {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public JobSpecification bootstrapJob(
+        @Valid final AgentJobRequest agentJobRequest,
+        @Valid final AgentClientMetadata agentClientMetadata
+    ) throws JobReservationException, JobIdUnavailableException, JobSpecificationResolutionException {
+        final BootstrapJobRequest request;
+        try {
+            request = jobServiceProtoConverter.toProtoBootstrapJobRequest(agentJobRequest, agentClientMetadata);
+        } catch (final GenieConversionException e) {
+            throw new JobReservationException("Failed to construct request from parameters", e);
+        }
+
+        final BootstrapJobResponse response;
+        try {
+            response = this.client.bootstrapJob(request).get();
+        } catch (final ExecutionException e) {
+            if (Status.fromThrowable(e).getCode() == Status.Code.UNIMPLEMENTED) {
+                throw new UnsupportedOperationException("Server does not support job bootstrap", e);
+            }
+            throw new GenieRuntimeException("Failed to perform request", e);
+        } catch (final InterruptedException e) {
+            throw new GenieRuntimeException("Failed to perform request", e);
+        }
+
+        switch (response.getResponseCase()) {
+
+            case SPECIFICATION:
+                log.info("Successfully bootstrapped job: " + response.getSpecification().getJob().getId());
+                break;
+
+            case ERROR:
+                return throwForBootstrapJobError(response.getError());
+
+            case RESPONSE_NOT_SET:
+            default:
+                throw new GenieRuntimeException("Unexpected server response " + response.toString());
+        }
+
+        return jobServiceProtoConverter.toJobSpecificationDTO(response.getSpecification());
+    }
+
     @Override
     public void changeJobStatus(
         final @NotBlank String jobId,
@@ -295,6 +343,36 @@ class GRpcAgentJobServiceImpl implements AgentJobService {
         }
     }
 
+    private JobSpecification throwForBootstrapJobError(
+        final BootstrapJobError error
+    ) throws JobIdUnavailableException, JobReservationException, JobSpecificationResolutionException {
+        switch (error.getType()) {
+            case ID_NOT_AVAILABLE:
+                throw new JobIdUnavailableException("The requested job id is already been used");
+            case INVALID_REQUEST:
+                throw new JobReservationException("Invalid request: " + error.getMessage());
+            case ALREADY_CLAIMED:
+                throw new JobReservationException("Failed to claim job: " + error.getMessage());
+            case NO_APPLICATION_FOUND:
+            case NO_CLUSTER_FOUND:
+            case NO_COMMAND_FOUND:
+                throw new JobSpecificationResolutionException(
+                    "Failed to obtain specification: "
+                        + error.getType().name()
+                        + ": "
+                        + error.getMessage()
+                );
+            case UNKNOWN:
+            default:
+                throw new GenieRuntimeException(
+                    "Unhandled error: "
+                        + error.getType()
+                        + ": "
+                        + error.getMessage()
+                );
+        }
+    }
+
     private JobSpecification throwForJobSpecificationError(
         final JobSpecificationError error
     ) throws JobSpecificationResolutionException {
@@ -0,0 +1,238 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.agent.execution.services.impl.grpc;
+
+import com.google.protobuf.ByteString;
+import com.netflix.genie.agent.execution.services.AgentOutputTailService;
+import com.netflix.genie.agent.utils.PathUtils;
+import com.netflix.genie.proto.AgentOutputMessage;
+import com.netflix.genie.proto.JobOutputServiceGrpc;
+import com.netflix.genie.proto.ServerOutputControlMessage;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Implementation of {@link AgentOutputTailService} over gRPC.
+ * Keeps a persistent 2-way stream ('tail') open with the server. When the server signals that a client is tailing
+ * the job output, the service starts polling stdout and stderr from their current end, and pushes the appended bytes.
+ * All writes between two polls travel as a single message (per stream, up to a maximum size), and nothing is sent
+ * while the transport is not ready to accept more data: the output simply accumulates on disk and is sent later.
+ *
+ * @author mprimi
+ * @since 4.0.0
+ */
+@Slf4j
+public class GRpcAgentOutputTailServiceImpl implements AgentOutputTailService {
+    private static final long POLL_INTERVAL_MILLIS = 250;
+    private static final long RECONNECT_DELAY_MILLIS = 10_000;
+    private static final int MAX_DATA_CHUNK_SIZE = 64 * 1024;
+
+    private final JobOutputServiceGrpc.JobOutputServiceStub jobOutputServiceStub;
+    private final TaskScheduler taskScheduler;
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(MAX_DATA_CHUNK_SIZE);
+    private final Map<AgentOutputMessage.Stream, Path> outputPaths = new EnumMap<>(AgentOutputMessage.Stream.class);
+    private final Map<AgentOutputMessage.Stream, Long> offsets = new EnumMap<>(AgentOutputMessage.Stream.class);
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private String jobId;
+    private ScheduledFuture<?> scheduledTask;
+    private StreamObserver<AgentOutputMessage> outputStreamObserver;
+    private ServerControlStreamObserver controlStreamObserver;
+    private boolean tailing;
+    private long nextConnectionAttempt;
+
+    GRpcAgentOutputTailServiceImpl(
+        final JobOutputServiceGrpc.JobOutputServiceStub jobOutputServiceStub,
+        final TaskScheduler taskScheduler
+    ) {
+        this.jobOutputServiceStub = jobOutputServiceStub;
+        this.taskScheduler = taskScheduler;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void start(final String claimedJobId, final Path jobDirectoryPath) {
+        //Service can be started only once
+        if (!this.started.compareAndSet(false, true)) {
+            throw new IllegalStateException("Service can be started only once");
+        }
+        this.jobId = claimedJobId;
+        this.outputPaths.put(AgentOutputMessage.Stream.STDOUT, PathUtils.jobStdOutPath(jobDirectoryPath.toFile()));
+        this.outputPaths.put(AgentOutputMessage.Stream.STDERR, PathUtils.jobStdErrPath(jobDirectoryPath.toFile()));
+        this.scheduledTask = this.taskScheduler.scheduleWithFixedDelay(this::pushOutput, POLL_INTERVAL_MILLIS);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void stop() {
+        if (this.started.compareAndSet(true, false)) {
+            this.scheduledTask.cancel(false);
+            this.scheduledTask = null;
+            if (this.outputStreamObserver != null) {
+                this.outputStreamObserver.onCompleted();
+            }
+            this.discardCurrentStream();
+        }
+    }
+
+    private synchronized void pushOutput() {
+        if (!this.started.get()) {
+            return;
+        }
+
+        if (this.outputStreamObserver == null) {
+            if (System.currentTimeMillis() >= this.nextConnectionAttempt) {
+                this.openStream();
+            }
+        } else if (this.tailing) {
+            for (final Map.Entry<AgentOutputMessage.Stream, Path> entry : this.outputPaths.entrySet()) {
+                try {
+                    this.pushAppendedOutput(entry.getKey(), entry.getValue());
+                } catch (final IOException e) {
+                    log.warn("Failed to read job {}: {}", entry.getKey(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void openStream() {
+        log.debug("Opening job output stream");
+        this.controlStreamObserver = new ServerControlStreamObserver(this);
+        this.outputStreamObserver = this.jobOutputServiceStub.tail(this.controlStreamObserver);
+        this.outputStreamObserver.onNext(AgentOutputMessage.newBuilder().setJobId(this.jobId).build());
+    }
+
+    private void pushAppendedOutput(final AgentOutputMessage.Stream stream, final Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+
+        final long size = Files.size(path);
+        long offset = this.offsets.getOrDefault(stream, size);
+        if (offset > size) {
+            // File was truncated or replaced, follow it from its new end
+            offset = size;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (offset < size && this.isReady()) {
+                this.readBuffer.clear();
+                final int bytesRead = channel.read(this.readBuffer, offset);
+                if (bytesRead <= 0) {
+                    break;
+                }
+                this.readBuffer.flip();
+                this.outputStreamObserver.onNext(
+                    AgentOutputMessage.newBuilder()
+                        .setStream(stream)
+                        .setOffset(offset)
+                        .setData(ByteString.copyFrom(this.readBuffer))
+                        .build()
+                );
+                offset += bytesRead;
+            }
+        }
+
+        this.offsets.put(stream, offset);
+    }
+
+    private boolean isReady() {
+        return !(this.outputStreamObserver instanceof ClientCallStreamObserver)
+            || ((ClientCallStreamObserver) this.outputStreamObserver).isReady();
+    }
+
+    private synchronized void handleControlMessage(
+        final ServerControlStreamObserver source,
+        final ServerOutputControlMessage message
+    ) {
+        if (source != this.controlStreamObserver) {
+            return;
+        }
+        if (message.getTail() && !this.tailing) {
+            log.info("Server requested job output");
+            // Start from the current end of the files, offsets are filled in on the next poll
+            this.offsets.clear();
+        } else if (!message.getTail() && this.tailing) {
+            log.info("Server no longer requires job output");
+        }
+        this.tailing = message.getTail();
+    }
+
+    private synchronized void handleStreamTermination(
+        final ServerControlStreamObserver source,
+        final Throwable t
+    ) {
+        if (source != this.controlStreamObserver) {
+            return;
+        }
+        if (t != null) {
+            log.warn("Job output stream error: {}", t.getMessage());
+        } else {
+            log.debug("Job output stream completed");
+        }
+        this.discardCurrentStream();
+        this.nextConnectionAttempt = System.currentTimeMillis() + RECONNECT_DELAY_MILLIS;
+    }
+
+    private void discardCurrentStream() {
+        this.outputStreamObserver = null;
+        this.controlStreamObserver = null;
+        this.tailing = false;
+        this.offsets.clear();
+    }
+
+    private static class ServerControlStreamObserver implements StreamObserver<ServerOutputControlMessage> {
+        private final GRpcAgentOutputTailServiceImpl outputTailService;
+
+        ServerControlStreamObserver(final GRpcAgentOutputTailServiceImpl outputTailService) {
+            this.outputTailService = outputTailService;
+        }
+
+        @Override
+        public void onNext(final ServerOutputControlMessage value) {
+            this.outputTailService.handleControlMessage(this, value);
+        }
+
+        @Override
+        public void onError(final Throwable t) {
+            this.outputTailService.handleStreamTermination(this, t);
+        }
+
+        @Override
+        public void onCompleted() {
+            this.outputTailService.handleStreamTermination(this, null);
+        }
+    }
+}
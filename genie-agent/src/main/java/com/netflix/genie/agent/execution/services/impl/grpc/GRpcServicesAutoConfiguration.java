@@ -21,12 +21,14 @@ import com.netflix.genie.agent.execution.services.AgentFileStreamService;
 import com.netflix.genie.agent.execution.services.AgentHeartBeatService;
 import com.netflix.genie.agent.execution.services.AgentJobKillService;
 import com.netflix.genie.agent.execution.services.AgentJobService;
+import com.netflix.genie.agent.execution.services.AgentOutputTailService;
 import com.netflix.genie.agent.execution.services.KillService;
 import com.netflix.genie.common.internal.dto.v4.converters.JobDirectoryManifestProtoConverter;
 import com.netflix.genie.common.internal.dto.v4.converters.JobServiceProtoConverter;
 import com.netflix.genie.proto.FileStreamServiceGrpc;
 import com.netflix.genie.proto.HeartBeatServiceGrpc;
 import com.netflix.genie.proto.JobKillServiceGrpc;
+import com.netflix.genie.proto.JobOutputServiceGrpc;
 import com.netflix.genie.proto.JobServiceGrpc;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -120,4 +122,21 @@ public class GRpcServicesAutoConfiguration {
             jobDirectoryManifestProtoConverter
         );
     }
+
+    /**
+     * Provide a lazy gRPC agent output tail service if one isn't already defined.
+     *
+     * @param jobOutputServiceStub The stub to use for communications with the server
+     * @param taskScheduler        The task scheduler to use
+     * @return A {@link AgentOutputTailService} instance
+     */
+    @Bean
+    @Lazy
+    @ConditionalOnMissingBean(AgentOutputTailService.class)
+    public AgentOutputTailService agentOutputTailService(
+        final JobOutputServiceGrpc.JobOutputServiceStub jobOutputServiceStub,
+        @Qualifier("heartBeatServiceTaskExecutor") final TaskScheduler taskScheduler
+    ) {
+        return new GRpcAgentOutputTailServiceImpl(jobOutputServiceStub, taskScheduler);
+    }
 }
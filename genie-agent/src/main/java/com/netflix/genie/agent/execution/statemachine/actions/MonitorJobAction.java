@@ -69,14 +69,22 @@ class MonitorJobAction extends BaseStateAction implements StateAction.MonitorJob
             throw new RuntimeException("Interrupted while waiting for job process completion", e);
         }
 
-        log.info("Job process completed with final status {}", finalJobStatus);
+        log.info(
+            "Job process completed with final status {} (stdout: {} bytes, stderr: {} bytes)",
+            finalJobStatus,
+            launchJobService.getStdOutBytes(),
+            launchJobService.getStdErrBytes()
+        );
+
+        final String statusMessage = launchJobService.getOutputLimitExceededMessage()
+            .orElse("Job process completed with final status " + finalJobStatus);
 
         try {
             this.agentJobService.changeJobStatus(
                 executionContext.getClaimedJobId().get(),
                 JobStatus.RUNNING,
                 finalJobStatus,
-                "Job process completed with final status " + finalJobStatus
+                statusMessage
             );
             executionContext.setCurrentJobStatus(finalJobStatus);
             executionContext.setFinalJobStatus(finalJobStatus);
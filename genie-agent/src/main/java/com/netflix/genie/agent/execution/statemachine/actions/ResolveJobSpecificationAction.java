@@ -34,6 +34,8 @@ import com.netflix.genie.common.internal.dto.v4.AgentJobRequest;
 import com.netflix.genie.common.internal.dto.v4.JobSpecification;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Optional;
+
 /**
  * Action performed when in state RESOLVE_JOB_SPECIFICATION.
  * If this action executes successfully, the context contains a resolved job specification.
@@ -113,6 +115,21 @@ class ResolveJobSpecificationAction extends BaseStateAction implements StateActi
                 throw new RuntimeException("Failed to compose job request", e);
             }
 
+            // Reserve, resolve and claim in a single round trip, if the server supports it
+            final Optional<JobSpecification> bootstrappedJobSpecification
+                = bootstrapJob(agentJobRequest, agentClientMetadata);
+
+            if (bootstrappedJobSpecification.isPresent()) {
+                jobSpecification = bootstrappedJobSpecification.get();
+                jobId = jobSpecification.getJob().getId();
+                executionContext.setClaimedJobId(jobId);
+                logResolution(jobSpecification);
+                executionContext.setJobSpecification(jobSpecification);
+                UserConsole.getLogger().info("Successfully claimed job '{}'", jobId);
+                executionContext.setCurrentJobStatus(JobStatus.CLAIMED);
+                return Events.RESOLVE_JOB_SPECIFICATION_COMPLETE;
+            }
+
             // Reserve a job ID
             try {
                 jobId = agentJobService.reserveJobId(agentJobRequest, agentClientMetadata);
@@ -135,11 +152,7 @@ class ResolveJobSpecificationAction extends BaseStateAction implements StateActi
             executionContext.setCurrentJobStatus(JobStatus.RESOLVED);
         }
 
-        UserConsole.getLogger().info(
-            "Job request criteria resolved to command '{}' on cluster '{}'",
-            jobSpecification.getCommand().getId(),
-            jobSpecification.getCluster().getId()
-        );
+        logResolution(jobSpecification);
 
         // Update context
         executionContext.setJobSpecification(jobSpecification);
@@ -159,6 +172,32 @@ class ResolveJobSpecificationAction extends BaseStateAction implements StateActi
         return Events.RESOLVE_JOB_SPECIFICATION_COMPLETE;
     }
 
+    private Optional<JobSpecification> bootstrapJob(
+        final AgentJobRequest agentJobRequest,
+        final AgentClientMetadata agentClientMetadata
+    ) {
+        try {
+            return Optional.of(agentJobService.bootstrapJob(agentJobRequest, agentClientMetadata));
+        } catch (final UnsupportedOperationException e) {
+            log.info("Server does not support job bootstrap, falling back to individual requests");
+            return Optional.empty();
+        } catch (final JobIdUnavailableException e) {
+            throw new RuntimeException("The requested job id is already in use", e);
+        } catch (final JobReservationException e) {
+            throw new RuntimeException("Failed to issue job reservation", e);
+        } catch (final JobSpecificationResolutionException e) {
+            throw new RuntimeException("Failed to request job specification resolution", e);
+        }
+    }
+
+    private void logResolution(final JobSpecification jobSpecification) {
+        UserConsole.getLogger().info(
+            "Job request criteria resolved to command '{}' on cluster '{}'",
+            jobSpecification.getCommand().getId(),
+            jobSpecification.getCluster().getId()
+        );
+    }
+
     @Override
     protected void executePostActionValidation() {
         assertJobSpecificationPresent();
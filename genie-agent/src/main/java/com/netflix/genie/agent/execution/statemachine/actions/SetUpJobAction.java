@@ -20,6 +20,7 @@ package com.netflix.genie.agent.execution.statemachine.actions;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.netflix.genie.agent.cli.ArgumentDelegates;
 import com.netflix.genie.agent.cli.UserConsole;
 import com.netflix.genie.agent.execution.CleanupStrategy;
@@ -31,6 +32,7 @@ import com.netflix.genie.agent.execution.services.AgentFileStreamService;
 import com.netflix.genie.agent.execution.services.AgentHeartBeatService;
 import com.netflix.genie.agent.execution.services.AgentJobKillService;
 import com.netflix.genie.agent.execution.services.AgentJobService;
+import com.netflix.genie.agent.execution.services.AgentOutputTailService;
 import com.netflix.genie.agent.execution.services.DownloadService;
 import com.netflix.genie.agent.execution.statemachine.Events;
 import com.netflix.genie.agent.utils.EnvUtils;
@@ -43,6 +45,7 @@ import com.netflix.genie.common.internal.util.RegexRuleSet;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.codec.binary.Base64;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.util.FileSystemUtils;
 
 import java.io.File;
@@ -56,10 +59,20 @@ import java.nio.file.StandardCopyOption;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 /**
  * Action performed when in state SETUP_JOB.
+ * <p>
+ * After the job directory is created, the folders and downloads of each entity (applications, cluster, command and
+ * job) are set up concurrently, alongside the preparation of the environment script. Once all these phases are
+ * complete, setup files are sourced in order. The duration of each phase is logged.
  *
  * @author mprimi
  * @since 4.0.0
@@ -67,11 +80,21 @@ import java.util.regex.Pattern;
 @Slf4j
 class SetUpJobAction extends BaseStateAction implements StateAction.SetUpJob {
 
+    private static final String PHASE_JOB_DIRECTORY = "job-directory";
+    private static final String PHASE_APPLICATION_PREFIX = "application-";
+    private static final String PHASE_CLUSTER_PREFIX = "cluster-";
+    private static final String PHASE_COMMAND_PREFIX = "command-";
+    private static final String PHASE_JOB = "job";
+    private static final String PHASE_ENVIRONMENT_PREPARATION = "environment-preparation";
+    private static final String PHASE_ENVIRONMENT_SCRIPT = "environment-script";
+
     private final AgentJobService agentJobService;
     private final AgentHeartBeatService heartbeatService;
     private final AgentJobKillService killService;
     private final AgentFileStreamService fileManifestService;
+    private final AgentOutputTailService outputTailService;
     private final ArgumentDelegates.CleanupArguments cleanupArguments;
+    private final TaskExecutor setUpTaskExecutor;
     private DownloadService downloadService;
 
     SetUpJobAction(
@@ -81,7 +104,9 @@ class SetUpJobAction extends BaseStateAction implements StateAction.SetUpJob {
         final AgentHeartBeatService heartbeatService,
         final AgentJobKillService killService,
         final AgentFileStreamService fileStreamService,
-        final ArgumentDelegates.CleanupArguments cleanupArguments
+        final AgentOutputTailService outputTailService,
+        final ArgumentDelegates.CleanupArguments cleanupArguments,
+        final TaskExecutor setUpTaskExecutor
     ) {
         super(executionContext);
         this.downloadService = downloadService;
@@ -89,7 +114,9 @@ class SetUpJobAction extends BaseStateAction implements StateAction.SetUpJob {
         this.heartbeatService = heartbeatService;
         this.killService = killService;
         this.fileManifestService = fileStreamService;
+        this.outputTailService = outputTailService;
         this.cleanupArguments = cleanupArguments;
+        this.setUpTaskExecutor = setUpTaskExecutor;
     }
 
     @Override
@@ -109,6 +136,7 @@ class SetUpJobAction extends BaseStateAction implements StateAction.SetUpJob {
         final ExecutionContext executionContext
     ) {
         log.info("Setting up job...");
+        final long setUpStart = System.nanoTime();
 
         final String claimedJobId = executionContext.getClaimedJobId().get();
         final JobSpecification jobSpecification = executionContext.getJobSpecification().get();
@@ -129,8 +157,14 @@ class SetUpJobAction extends BaseStateAction implements StateAction.SetUpJob {
         }
 
         try {
-            // Create folder structure
-            final File jobDirectory = setupJobDirectory(claimedJobId, jobSpecification);
+            final Map<String, Long> phaseTimings = Collections.synchronizedMap(Maps.newLinkedHashMap());
+
+            // Create the job directory and the genie logs folder, everything else is created by the phases below
+            final File jobDirectory = timePhase(
+                PHASE_JOB_DIRECTORY,
+                phaseTimings,
+                () -> setupJobDirectory(claimedJobId, jobSpecification)
+            );
             executionContext.setJobDirectory(jobDirectory);
 
             // Move the agent log file inside the job folder
@@ -139,12 +173,79 @@ class SetUpJobAction extends BaseStateAction implements StateAction.SetUpJob {
             // Start manifest service, allowing server to browse and request files.
             this.fileManifestService.start(claimedJobId, jobDirectory.toPath());
 
-            // Download dependencies, configurations, etc.
-            final List<File> setupFiles = downloadResources(jobSpecification, jobDirectory);
+            // Start output tail service, allowing server to follow the job output as it is written.
+            this.outputTailService.start(claimedJobId, jobDirectory.toPath());
+
+            // Create each entity folder and download its dependencies, configurations and setup file concurrently.
+            // Order of the futures matches the order in which setup files are sourced.
+            final List<CompletableFuture<Optional<File>>> entityPhases = Lists.newArrayList();
+            for (final JobSpecification.ExecutionResource application : jobSpecification.getApplications()) {
+                entityPhases.add(
+                    submitPhase(
+                        PHASE_APPLICATION_PREFIX + application.getId(),
+                        phaseTimings,
+                        () -> setupEntity(
+                            PathUtils.jobApplicationDirectoryPath(jobDirectory, application.getId()),
+                            application
+                        )
+                    )
+                );
+            }
+            final JobSpecification.ExecutionResource cluster = jobSpecification.getCluster();
+            entityPhases.add(
+                submitPhase(
+                    PHASE_CLUSTER_PREFIX + cluster.getId(),
+                    phaseTimings,
+                    () -> setupEntity(PathUtils.jobClusterDirectoryPath(jobDirectory, cluster.getId()), cluster)
+                )
+            );
+            final JobSpecification.ExecutionResource command = jobSpecification.getCommand();
+            entityPhases.add(
+                submitPhase(
+                    PHASE_COMMAND_PREFIX + command.getId(),
+                    phaseTimings,
+                    () -> setupEntity(PathUtils.jobCommandDirectoryPath(jobDirectory, command.getId()), command)
+                )
+            );
+            entityPhases.add(
+                submitPhase(
+                    PHASE_JOB,
+                    phaseTimings,
+                    () -> setupEntity(jobDirectory.toPath(), jobSpecification.getJob())
+                )
+            );
+
+            // Prepare the environment script and variables while downloads are in progress
+            final CompletableFuture<Path> environmentScriptPhase = submitPhase(
+                PHASE_ENVIRONMENT_PREPARATION,
+                phaseTimings,
+                () -> prepareEnvironmentScript(jobDirectory)
+            );
+
+            final List<CompletableFuture<?>> allPhases = Lists.newArrayList(entityPhases);
+            allPhases.add(environmentScriptPhase);
+            awaitPhases(allPhases);
 
-            final Map<String, String> jobEnvironment = setupJobEnvironment(jobDirectory, jobSpecification, setupFiles);
+            final Path environmentScriptPath = getPhaseResult(environmentScriptPhase);
+            final List<File> setupFiles = Lists.newArrayList();
+            for (final CompletableFuture<Optional<File>> entityPhase : entityPhases) {
+                getPhaseResult(entityPhase).ifPresent(setupFiles::add);
+            }
+
+            // Source set up files (in order) and collect the resulting environment
+            final Map<String, String> jobEnvironment = timePhase(
+                PHASE_ENVIRONMENT_SCRIPT,
+                phaseTimings,
+                () -> setupJobEnvironment(jobDirectory, jobSpecification, environmentScriptPath, setupFiles)
+            );
             executionContext.setJobEnvironment(jobEnvironment);
 
+            UserConsole.getLogger().info(
+                "Job setup completed in {}ms (phases: {})",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - setUpStart),
+                phaseTimings
+            );
+
         } catch (final SetUpJobException e) {
             throw new RuntimeException("Failed to set up job", e);
         }
@@ -183,6 +284,7 @@ class SetUpJobAction extends BaseStateAction implements StateAction.SetUpJob {
         killService.stop();
         heartbeatService.stop();
         fileManifestService.stop();
+        outputTailService.stop();
     }
 
     private File setupJobDirectory(
@@ -195,36 +297,52 @@ class SetUpJobAction extends BaseStateAction implements StateAction.SetUpJob {
         );
 
         createJobDirectory(jobDirectory);
-        // Create job directory structure
-        createJobDirectoryStructure(jobSpecification, jobDirectory);
+
+        // Create the logs directory, needed right away to relocate the agent log file
+        createDirectories(PathUtils.jobGenieLogsDirectoryPath(jobDirectory));
 
         return jobDirectory;
     }
 
-    private List<File> downloadResources(
-        final JobSpecification jobSpecification,
-        final File jobDirectory
+    private Optional<File> setupEntity(
+        final Path entityDirectory,
+        final JobSpecification.ExecutionResource executionResource
     ) throws SetUpJobException {
 
-        final List<java.io.File> setupFiles = Lists.newArrayList();
+        // Create the entity folder structure (intermediate folders are created as needed)
+        createDirectories(PathUtils.jobEntityDependenciesPath(entityDirectory));
+        createDirectories(PathUtils.jobEntityConfigPath(entityDirectory));
 
-        // Create download manifest for dependencies, configs, setup files for cluster, applications, command, job
-        final DownloadService.Manifest jobDownloadsManifest =
-            createDownloadManifest(jobDirectory, jobSpecification, setupFiles);
+        // Create download manifest for dependencies, configs, setup file of this entity
+        final DownloadService.Manifest.Builder downloadManifestBuilder = downloadService.newManifestBuilder();
+        final List<URI> setupFileUris = Lists.newArrayList();
+        addEntitiesFilesToManifest(entityDirectory, downloadManifestBuilder, executionResource, setupFileUris);
+        final DownloadService.Manifest manifest = downloadManifestBuilder.build();
+
+        // Look up the expected location on disk of the setup file after download
+        Optional<File> setupFile = Optional.empty();
+        for (final URI setupFileUri : setupFileUris) {
+            final File setupFileLocation = manifest.getTargetLocation(setupFileUri);
+            if (setupFileLocation == null) {
+                throw new SetUpJobException("Failed to look up target location for setup file: " + setupFileUri);
+            }
+            setupFile = Optional.of(setupFileLocation);
+        }
 
         // Download all files into place
         try {
-            downloadService.download(jobDownloadsManifest);
+            downloadService.download(manifest);
         } catch (final DownloadException e) {
             throw new SetUpJobException("Failed to download job dependencies", e);
         }
 
-        return setupFiles;
+        return setupFile;
     }
 
     private Map<String, String> setupJobEnvironment(
         final File jobDirectory,
         final JobSpecification jobSpecification,
+        final Path envScriptPath,
         final List<File> setupFiles
     ) throws SetUpJobException {
 
@@ -235,6 +353,7 @@ class SetUpJobAction extends BaseStateAction implements StateAction.SetUpJob {
         // Source set up files and collect resulting environment variables into a file
         final File jobEnvironmentFile = createJobEnvironmentFile(
             jobDirectory,
+            envScriptPath,
             setupFiles,
             jobSpecification.getEnvironmentVariables(),
             extraEnvironmentVariables
@@ -262,103 +381,12 @@ class SetUpJobAction extends BaseStateAction implements StateAction.SetUpJob {
         }
     }
 
-    private void createJobDirectoryStructure(
-        final JobSpecification jobSpec,
-        final File jobDirectory
-    ) throws SetUpJobException {
-
-        // Get DTOs
-        final List<JobSpecification.ExecutionResource> applications = jobSpec.getApplications();
-        final JobSpecification.ExecutionResource cluster = jobSpec.getCluster();
-        final JobSpecification.ExecutionResource command = jobSpec.getCommand();
-
-        // Make a list of all entity dirs
-        final List<Path> entityDirectories = Lists.newArrayList(
-            PathUtils.jobClusterDirectoryPath(jobDirectory, cluster.getId()),
-            PathUtils.jobCommandDirectoryPath(jobDirectory, command.getId()),
-            jobDirectory.toPath()
-        );
-
-        applications.stream()
-            .map(JobSpecification.ExecutionResource::getId)
-            .map(appId -> PathUtils.jobApplicationDirectoryPath(jobDirectory, appId))
-            .forEach(entityDirectories::add);
-
-        // Make a list of directories to create
-        // (only "leaf" paths, since createDirectories creates missing intermediate dirs
-        final List<Path> directoriesToCreate = Lists.newArrayList();
-
-        // Add config and dependencies for each entity
-        entityDirectories.forEach(
-            entityDirectory -> {
-                directoriesToCreate.add(PathUtils.jobEntityDependenciesPath(entityDirectory));
-                directoriesToCreate.add(PathUtils.jobEntityConfigPath(entityDirectory));
-            }
-        );
-
-        // Add logs dir
-        directoriesToCreate.add(PathUtils.jobGenieLogsDirectoryPath(jobDirectory));
-
-        // Create directories
-        for (final Path path : directoriesToCreate) {
-            try {
-                Files.createDirectories(path);
-            } catch (final Exception e) {
-                throw new SetUpJobException("Failed to create directory: " + path, e);
-            }
-        }
-    }
-
-    private DownloadService.Manifest createDownloadManifest(
-        final File jobDirectory,
-        final JobSpecification jobSpec,
-        final List<File> setupFiles
-    ) throws SetUpJobException {
-        // Construct map of files to download and their expected locations in the job directory
-        final DownloadService.Manifest.Builder downloadManifestBuilder = downloadService.newManifestBuilder();
-
-        // Track URIs for all setup files
-        final List<URI> setupFileUris = Lists.newArrayList();
-
-        // Applications
-        final List<JobSpecification.ExecutionResource> applications = jobSpec.getApplications();
-        for (final JobSpecification.ExecutionResource application : applications) {
-            final Path applicationDirectory =
-                PathUtils.jobApplicationDirectoryPath(jobDirectory, application.getId());
-            addEntitiesFilesToManifest(applicationDirectory, downloadManifestBuilder, application, setupFileUris);
-        }
-
-        // Cluster
-        final JobSpecification.ExecutionResource cluster = jobSpec.getCluster();
-        final String clusterId = cluster.getId();
-        final Path clusterDirectory =
-            PathUtils.jobClusterDirectoryPath(jobDirectory, clusterId);
-        addEntitiesFilesToManifest(clusterDirectory, downloadManifestBuilder, cluster, setupFileUris);
-
-        // Command
-        final JobSpecification.ExecutionResource command = jobSpec.getCommand();
-        final String commandId = command.getId();
-        final Path commandDirectory =
-            PathUtils.jobCommandDirectoryPath(jobDirectory, commandId);
-        addEntitiesFilesToManifest(commandDirectory, downloadManifestBuilder, command, setupFileUris);
-
-        // Job
-        final JobSpecification.ExecutionResource jobRequest = jobSpec.getJob();
-        addEntitiesFilesToManifest(jobDirectory.toPath(), downloadManifestBuilder, jobRequest, setupFileUris);
-
-        // Build manifest
-        final DownloadService.Manifest manifest = downloadManifestBuilder.build();
-
-        // Populate list of setup files with expected location on disk after download
-        for (final URI setupFileUri : setupFileUris) {
-            final File setupFile = manifest.getTargetLocation(setupFileUri);
-            if (setupFile == null) {
-                throw new SetUpJobException("Failed to look up target location for setup file: " + setupFileUri);
-            }
-            setupFiles.add(setupFile);
+    private void createDirectories(final Path path) throws SetUpJobException {
+        try {
+            Files.createDirectories(path);
+        } catch (final Exception e) {
+            throw new SetUpJobException("Failed to create directory: " + path, e);
         }
-
-        return manifest;
     }
 
     private void addEntitiesFilesToManifest(
@@ -444,26 +472,13 @@ class SetUpJobAction extends BaseStateAction implements StateAction.SetUpJob {
         return mapBuilder.build();
     }
 
-    private File createJobEnvironmentFile(
-        final File jobDirectory,
-        final List<File> setUpFiles,
-        final Map<String, String> serverProvidedEnvironment,
-        final Map<String, String> extraEnvironment
+    private Path prepareEnvironmentScript(
+        final File jobDirectory
     ) throws SetUpJobException {
-        final Path genieDirectory = PathUtils.jobGenieDirectoryPath(jobDirectory);
         final Path envScriptPath = PathUtils.composePath(
-            genieDirectory,
+            PathUtils.jobGenieDirectoryPath(jobDirectory),
             JobConstants.GENIE_AGENT_ENV_SCRIPT_RESOURCE
         );
-        final Path envScriptLogPath = PathUtils.composePath(
-            genieDirectory,
-            JobConstants.LOGS_PATH_VAR,
-            JobConstants.GENIE_AGENT_ENV_SCRIPT_LOG_FILE_NAME
-        );
-        final Path envScriptOutputPath = PathUtils.composePath(
-            genieDirectory,
-            JobConstants.GENIE_AGENT_ENV_SCRIPT_OUTPUT_FILE_NAME
-        );
 
         // Copy env script from resources to genie directory
         try {
@@ -478,6 +493,27 @@ class SetUpJobAction extends BaseStateAction implements StateAction.SetUpJob {
             throw new SetUpJobException("Could not copy environment script resource: ", e);
         }
 
+        return envScriptPath;
+    }
+
+    private File createJobEnvironmentFile(
+        final File jobDirectory,
+        final Path envScriptPath,
+        final List<File> setUpFiles,
+        final Map<String, String> serverProvidedEnvironment,
+        final Map<String, String> extraEnvironment
+    ) throws SetUpJobException {
+        final Path genieDirectory = PathUtils.jobGenieDirectoryPath(jobDirectory);
+        final Path envScriptLogPath = PathUtils.composePath(
+            genieDirectory,
+            JobConstants.LOGS_PATH_VAR,
+            JobConstants.GENIE_AGENT_ENV_SCRIPT_LOG_FILE_NAME
+        );
+        final Path envScriptOutputPath = PathUtils.composePath(
+            genieDirectory,
+            JobConstants.GENIE_AGENT_ENV_SCRIPT_OUTPUT_FILE_NAME
+        );
+
         // Set up process that executes the script
         final ProcessBuilder processBuilder = new ProcessBuilder()
             .inheritIO();
@@ -542,6 +578,65 @@ class SetUpJobAction extends BaseStateAction implements StateAction.SetUpJob {
         return Collections.unmodifiableMap(env);
     }
 
+    private <T> T timePhase(
+        final String phaseName,
+        final Map<String, Long> phaseTimings,
+        final SetUpPhase<T> phase
+    ) throws SetUpJobException {
+        final long start = System.nanoTime();
+        try {
+            return phase.run();
+        } finally {
+            final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            phaseTimings.put(phaseName, elapsedMillis);
+            log.info("Job setup phase {} took {}ms", phaseName, elapsedMillis);
+        }
+    }
+
+    private <T> CompletableFuture<T> submitPhase(
+        final String phaseName,
+        final Map<String, Long> phaseTimings,
+        final SetUpPhase<T> phase
+    ) {
+        return CompletableFuture.supplyAsync(
+            () -> {
+                try {
+                    return timePhase(phaseName, phaseTimings, phase);
+                } catch (final SetUpJobException e) {
+                    throw new CompletionException(e);
+                }
+            },
+            this.setUpTaskExecutor
+        );
+    }
+
+    private void awaitPhases(final List<CompletableFuture<?>> phases) throws SetUpJobException {
+        // Wait for all phases to terminate (successfully or not) before proceeding, so that no download is still
+        // writing into the job directory in case of failure
+        try {
+            CompletableFuture.allOf(phases.toArray(new CompletableFuture<?>[0]))
+                .handle((result, throwable) -> null)
+                .get();
+        } catch (final InterruptedException e) {
+            phases.forEach(phase -> phase.cancel(true));
+            throw new SetUpJobException("Interrupted while setting up job", e);
+        } catch (final ExecutionException e) {
+            throw new SetUpJobException("Unexpected error while setting up job", e);
+        }
+    }
+
+    private <T> T getPhaseResult(final CompletableFuture<T> phase) throws SetUpJobException {
+        try {
+            return phase.join();
+        } catch (final CompletionException | CancellationException e) {
+            if (e.getCause() instanceof SetUpJobException) {
+                throw (SetUpJobException) e.getCause();
+            }
+            final Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new SetUpJobException("Unexpected error while setting up job", cause);
+        }
+    }
+
     private void cleanupJobDirectory(
         final Path jobDirectoryPath,
         final CleanupStrategy cleanupStrategy
@@ -587,4 +682,21 @@ class SetUpJobAction extends BaseStateAction implements StateAction.SetUpJob {
                 throw new RuntimeException("Unknown cleanup strategy: " + cleanupStrategy.name());
         }
     }
+
+    /**
+     * A step of the job setup which may fail.
+     *
+     * @param <T> the type of the result of the step
+     */
+    @FunctionalInterface
+    private interface SetUpPhase<T> {
+
+        /**
+         * Execute this step.
+         *
+         * @return the result of the step
+         * @throws SetUpJobException if the step fails
+         */
+        T run() throws SetUpJobException;
+    }
 }
@@ -25,12 +25,15 @@ import com.netflix.genie.agent.execution.services.AgentFileStreamService;
 import com.netflix.genie.agent.execution.services.AgentHeartBeatService;
 import com.netflix.genie.agent.execution.services.AgentJobKillService;
 import com.netflix.genie.agent.execution.services.AgentJobService;
+import com.netflix.genie.agent.execution.services.AgentOutputTailService;
 import com.netflix.genie.agent.execution.services.DownloadService;
 import com.netflix.genie.agent.execution.services.LaunchJobService;
 import com.netflix.genie.common.internal.services.JobArchiveService;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.TaskExecutor;
 
 /**
  * Spring auto configuration to provide beans for all available actions within the Agent job execution state machine.
@@ -176,7 +179,9 @@ public class StateMachineActionsAutoConfiguration {
      * @param agentHeartBeatService The agent heart beat service to use
      * @param agentJobKillService   The agent job kill service to use
      * @param fileStreamService     The agent file stream service to use
+     * @param outputTailService     The agent output tail service to use
      * @param cleanupArguments      The cleanup arguments to use
+     * @param setUpTaskExecutor     The task executor used to run the job setup phases concurrently
      * @return A {@link SetUpJobAction} instance
      */
     @Bean
@@ -188,7 +193,9 @@ public class StateMachineActionsAutoConfiguration {
         final AgentHeartBeatService agentHeartBeatService,
         final AgentJobKillService agentJobKillService,
         final AgentFileStreamService fileStreamService,
-        final ArgumentDelegates.CleanupArguments cleanupArguments
+        final AgentOutputTailService outputTailService,
+        final ArgumentDelegates.CleanupArguments cleanupArguments,
+        @Qualifier("jobSetUpTaskExecutor") final TaskExecutor setUpTaskExecutor
     ) {
         return new SetUpJobAction(
             executionContext,
@@ -197,7 +204,9 @@ public class StateMachineActionsAutoConfiguration {
             agentHeartBeatService,
             agentJobKillService,
             fileStreamService,
-            cleanupArguments
+            outputTailService,
+            cleanupArguments,
+            setUpTaskExecutor
         );
     }
 
@@ -22,10 +22,19 @@ import com.netflix.genie.agent.cli.ArgumentDelegates;
 import com.netflix.genie.proto.FileStreamServiceGrpc;
 import com.netflix.genie.proto.HeartBeatServiceGrpc;
 import com.netflix.genie.proto.JobKillServiceGrpc;
+import com.netflix.genie.proto.JobOutputServiceGrpc;
 import com.netflix.genie.proto.JobServiceGrpc;
 import com.netflix.genie.proto.PingServiceGrpc;
+import com.google.common.util.concurrent.MoreExecutors;
 import io.grpc.ManagedChannel;
-import io.grpc.ManagedChannelBuilder;
+import io.grpc.netty.NettyChannelBuilder;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.concurrent.DefaultThreadFactory;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
@@ -33,6 +42,9 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Scope;
 
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Spring auto configuration for gRPC components.
  *
@@ -55,21 +67,52 @@ public class GRpcAutoConfiguration {
         return new ChannelLoggingInterceptor();
     }
 
+    /**
+     * Provide a lazy {@link EventLoopGroup} bean if none was already defined to drive the network I/O of the
+     * channel to the Genie server. The native epoll transport is used when available, NIO otherwise.
+     *
+     * @param serverArguments The server arguments to use
+     * @return An {@link EventLoopGroup} instance sized according to the server arguments
+     */
+    @Bean(destroyMethod = "shutdownGracefully")
+    @Lazy
+    @ConditionalOnMissingBean(EventLoopGroup.class)
+    public EventLoopGroup channelEventLoopGroup(final ArgumentDelegates.ServerArguments serverArguments) {
+        final int threads = serverArguments.getRpcEventLoopThreads();
+        final ThreadFactory threadFactory = new DefaultThreadFactory("genie-agent-grpc", true);
+        if (Epoll.isAvailable()) {
+            log.debug("Using epoll transport for gRPC channel");
+            return new EpollEventLoopGroup(threads, threadFactory);
+        }
+        return new NioEventLoopGroup(threads, threadFactory);
+    }
+
     /**
      * Provide a lazy {@link ManagedChannel} bean if none was already defined for communicating with the Genie server.
      *
      * @param serverArguments The server arguments to use
+     * @param eventLoopGroup  The event loop group to perform network I/O with
      * @return A {@link ManagedChannel} instance configured to use plain text over the wire
      */
     @Bean
     @Lazy
     @ConditionalOnMissingBean(ManagedChannel.class)
-    public ManagedChannel channel(final ArgumentDelegates.ServerArguments serverArguments) {
-        return ManagedChannelBuilder
+    public ManagedChannel channel(
+        final ArgumentDelegates.ServerArguments serverArguments,
+        final EventLoopGroup eventLoopGroup
+    ) {
+        final boolean nativeTransport = eventLoopGroup instanceof EpollEventLoopGroup;
+        return NettyChannelBuilder
             .forAddress(
                 serverArguments.getServerHost(),
                 serverArguments.getServerPort()
             )
+            .eventLoopGroup(eventLoopGroup)
+            .channelType(nativeTransport ? EpollSocketChannel.class : NioSocketChannel.class)
+            .flowControlWindow(serverArguments.getRpcFlowControlWindow())
+            .maxInboundMessageSize(serverArguments.getRpcMaxInboundMessageSize())
+            .keepAliveTime(serverArguments.getRpcKeepAliveTime(), TimeUnit.SECONDS)
+            .keepAliveTimeout(serverArguments.getRpcKeepAliveTimeout(), TimeUnit.SECONDS)
             .usePlaintext(true)
             .build();
     }
@@ -103,13 +146,16 @@ public class GRpcAutoConfiguration {
      * Provide a prototype bean definition for a
      * {@link com.netflix.genie.proto.HeartBeatServiceGrpc.HeartBeatServiceStub}.
      *
+     * Server heartbeats are handled without blocking so they are dispatched directly on the network thread rather
+     * than handed off to the channel executor.
+     *
      * @param channel The managed channel to use to connect to the Genie server
      * @return A {@link com.netflix.genie.proto.HeartBeatServiceGrpc.HeartBeatServiceStub} instance per use
      */
     @Bean
     @Scope("prototype")
     public HeartBeatServiceGrpc.HeartBeatServiceStub heartBeatClient(final ManagedChannel channel) {
-        return HeartBeatServiceGrpc.newStub(channel);
+        return HeartBeatServiceGrpc.newStub(channel).withExecutor(MoreExecutors.directExecutor());
     }
 
     /**
@@ -136,4 +182,16 @@ public class GRpcAutoConfiguration {
     public FileStreamServiceGrpc.FileStreamServiceStub fileStreamClient(final ManagedChannel channel) {
         return FileStreamServiceGrpc.newStub(channel);
     }
+
+    /**
+     * Provide a prototype bean definition for a {@link JobOutputServiceGrpc.JobOutputServiceStub}.
+     *
+     * @param channel The managed channel to use to connect to the Genie server
+     * @return A {@link JobOutputServiceGrpc.JobOutputServiceStub} instance per use
+     */
+    @Bean
+    @Scope("prototype")
+    public JobOutputServiceGrpc.JobOutputServiceStub jobOutputClient(final ManagedChannel channel) {
+        return JobOutputServiceGrpc.newStub(channel);
+    }
 }
@@ -41,16 +41,25 @@ class CacheArgumentsImplSpec extends Specification {
 
         then:
         CacheArgumentsImpl.DEFAULT_CACHE_PATH == options.cacheArguments.getCacheDirectory().getAbsolutePath()
+        options.cacheArguments.getCacheMaxSize() == 0
+        options.cacheArguments.getCacheMaxAge() == 0
+        !options.cacheArguments.isCacheDeduplication()
     }
 
     def "Parse"() {
         when:
         jCommander.parse(
-            "--cacheDirectory", "/foo/bar"
+            "--cacheDirectory", "/foo/bar",
+            "--cacheMaxSize", "1073741824",
+            "--cacheMaxAge", "604800",
+            "--cacheDeduplication"
         )
 
         then:
         "/foo/bar" == options.cacheArguments.getCacheDirectory().getAbsolutePath()
+        options.cacheArguments.getCacheMaxSize() == 1073741824L
+        options.cacheArguments.getCacheMaxAge() == 604800L
+        options.cacheArguments.isCacheDeduplication()
     }
 
     def "InvalidLocation"() {
@@ -63,6 +72,21 @@ class CacheArgumentsImplSpec extends Specification {
         thrown(ParameterException)
     }
 
+    def "InvalidLimits"() {
+        when:
+        jCommander.parse(
+            option, value
+        )
+
+        then:
+        thrown(ParameterException)
+
+        where:
+        option           | value
+        "--cacheMaxSize" | "-1"
+        "--cacheMaxSize" | "foo"
+        "--cacheMaxAge"  | "-1"
+    }
 
     class TestOptions {
         @ParametersDelegate
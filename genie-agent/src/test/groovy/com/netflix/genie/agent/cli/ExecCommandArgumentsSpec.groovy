@@ -30,6 +30,7 @@ class ExecCommandArgumentsSpec extends Specification {
     ArgumentDelegates.CacheArguments cacheArguments
     ArgumentDelegates.JobRequestArguments jobRequestArguments
     ArgumentDelegates.CleanupArguments cleanupArguments
+    ArgumentDelegates.OutputArguments outputArguments
     MainCommandArguments mainCommandArguments
 
 
@@ -39,7 +40,14 @@ class ExecCommandArgumentsSpec extends Specification {
         mainCommandArguments = Mock(MainCommandArguments)
         jobRequestArguments = new JobRequestArgumentsImpl(mainCommandArguments)
         cleanupArguments = new CleanupArgumentsImpl()
-        options = new ExecCommand.ExecCommandArguments(serverArguments, cacheArguments, jobRequestArguments, cleanupArguments)
+        outputArguments = new OutputArgumentsImpl()
+        options = new ExecCommand.ExecCommandArguments(
+            serverArguments,
+            cacheArguments,
+            jobRequestArguments,
+            cleanupArguments,
+            outputArguments
+        )
         jCommander = new JCommander(options)
     }
 
@@ -56,6 +64,8 @@ class ExecCommandArgumentsSpec extends Specification {
         !options.getJobRequestArguments().isInteractive()
         options.getJobRequestArguments().getJobTags().isEmpty()
         options.getCleanupArguments().getCleanupStrategy() == CleanupStrategy.DEPENDENCIES_CLEANUP
+        options.getOutputArguments().getMaxStdOutSize() == OutputArgumentsImpl.DEFAULT_MAX_OUTPUT_SIZE
+        !options.getOutputArguments().isTruncateOutput()
     }
 
     def "Parse"() {
@@ -66,7 +76,9 @@ class ExecCommandArgumentsSpec extends Specification {
             "--cacheDirectory", "/tmp/foo",
             "--clusterCriterion", "NAME=prod",
             "--clusterCriterion", "NAME=test",
-            "--no-cleanup"
+            "--no-cleanup",
+            "--maxStdErrSize", "1024",
+            "--truncateOutput"
         )
 
         then:
@@ -75,6 +87,8 @@ class ExecCommandArgumentsSpec extends Specification {
         "/tmp/foo" == options.getCacheArguments().getCacheDirectory().getAbsolutePath()
         2 == options.getJobRequestArguments().getClusterCriteria().size()
         options.getCleanupArguments().getCleanupStrategy() == CleanupStrategy.NO_CLEANUP
+        options.getOutputArguments().getMaxStdErrSize() == 1024
+        options.getOutputArguments().isTruncateOutput()
     }
 
     def "InvalidRequestId"() {
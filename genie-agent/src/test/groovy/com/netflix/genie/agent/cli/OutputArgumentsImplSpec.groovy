@@ -0,0 +1,67 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.agent.cli
+
+import com.beust.jcommander.JCommander
+import com.beust.jcommander.ParameterException
+import spock.lang.Specification
+
+class OutputArgumentsImplSpec extends Specification {
+    OutputArgumentsImpl outputArguments
+    JCommander jCommander
+
+    void setup() {
+        outputArguments = new OutputArgumentsImpl()
+        jCommander = new JCommander(outputArguments)
+    }
+
+    def "Defaults"() {
+        when:
+        jCommander.parse()
+
+        then:
+        outputArguments.getMaxStdOutSize() == OutputArgumentsImpl.DEFAULT_MAX_OUTPUT_SIZE
+        outputArguments.getMaxStdErrSize() == OutputArgumentsImpl.DEFAULT_MAX_OUTPUT_SIZE
+        !outputArguments.isTruncateOutput()
+    }
+
+    def "Parse"() {
+        when:
+        jCommander.parse(
+            "--maxStdOutSize", "17179869184",
+            "--maxStdErrSize", "1048576",
+            "--truncateOutput"
+        )
+
+        then:
+        outputArguments.getMaxStdOutSize() == 17179869184L
+        outputArguments.getMaxStdErrSize() == 1048576L
+        outputArguments.isTruncateOutput()
+    }
+
+    def "Invalid sizes"() {
+        when:
+        jCommander.parse("--maxStdOutSize", size)
+
+        then:
+        thrown(ParameterException)
+
+        where:
+        size << ["0", "-1", "foo"]
+    }
+}
@@ -43,6 +43,11 @@ class ServerArgumentsImplSpec extends Specification {
         "genie.prod.netflix.net" == options.serverArguments.getServerHost()
         7979 == options.serverArguments.getServerPort()
         30L == options.serverArguments.getRpcTimeout()
+        60L == options.serverArguments.getRpcKeepAliveTime()
+        20L == options.serverArguments.getRpcKeepAliveTimeout()
+        4 * 1024 * 1024 == options.serverArguments.getRpcFlowControlWindow()
+        4 * 1024 * 1024 == options.serverArguments.getRpcMaxInboundMessageSize()
+        1 == options.serverArguments.getRpcEventLoopThreads()
     }
 
     def "Parse"() {
@@ -50,13 +55,23 @@ class ServerArgumentsImplSpec extends Specification {
         jCommander.parse(
             "--serverHost", "server.com",
             "--serverPort", "1234",
-            "--rpcTimeout", "100"
+            "--rpcTimeout", "100",
+            "--rpcKeepAliveTime", "30",
+            "--rpcKeepAliveTimeout", "10",
+            "--rpcFlowControlWindow", "65536",
+            "--rpcMaxInboundMessageSize", "1048576",
+            "--rpcEventLoopThreads", "2"
         )
 
         then:
         "server.com" == options.serverArguments.getServerHost()
         1234 == options.serverArguments.getServerPort()
         100L == options.serverArguments.getRpcTimeout()
+        30L == options.serverArguments.getRpcKeepAliveTime()
+        10L == options.serverArguments.getRpcKeepAliveTimeout()
+        65536 == options.serverArguments.getRpcFlowControlWindow()
+        1048576 == options.serverArguments.getRpcMaxInboundMessageSize()
+        2 == options.serverArguments.getRpcEventLoopThreads()
     }
 
     def "InvalidServerHost"() {
@@ -89,6 +104,24 @@ class ServerArgumentsImplSpec extends Specification {
         thrown(ParameterException)
     }
 
+    def "InvalidRpcTuning"() {
+        when:
+        jCommander.parse(
+            option, "0",
+        )
+
+        then:
+        thrown(ParameterException)
+
+        where:
+        option                       | _
+        "--rpcKeepAliveTime"         | _
+        "--rpcKeepAliveTimeout"      | _
+        "--rpcFlowControlWindow"     | _
+        "--rpcMaxInboundMessageSize" | _
+        "--rpcEventLoopThreads"      | _
+    }
+
     class TestOptions {
         @ParametersDelegate
         private ArgumentDelegates.ServerArguments serverArguments = new ServerArgumentsImpl()
@@ -21,17 +21,20 @@ import com.netflix.genie.agent.cli.ArgumentDelegates
 import com.netflix.genie.agent.execution.exceptions.DownloadException
 import com.netflix.genie.agent.utils.locks.CloseableLock
 import com.netflix.genie.agent.utils.locks.impl.FileLockFactory
+import com.netflix.genie.common.internal.aws.s3.S3Resource
 import org.apache.commons.lang3.tuple.Pair
 import org.assertj.core.util.Sets
 import org.junit.Rule
 import org.junit.rules.TemporaryFolder
 import org.springframework.core.io.Resource
 import org.springframework.core.io.ResourceLoader
+import org.springframework.core.task.TaskExecutor
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor
 import spock.lang.Shared
 import spock.lang.Specification
 
 import java.nio.charset.StandardCharsets
+import java.nio.file.Files
 import java.util.concurrent.locks.ReentrantLock
 
 class FetchingCacheServiceImplSpec extends Specification {
@@ -234,6 +237,254 @@ class FetchingCacheServiceImplSpec extends Specification {
         targetFiles[2].getText(StandardCharsets.UTF_8.toString()) == uris[2].toString()
     }
 
+    def "Count hits and misses"() {
+        setup:
+        File targetFile = new File(temporaryFolder.getRoot(), "target")
+        File targetFile2 = new File(temporaryFolder.getRoot(), "target2")
+
+        when:
+        cache.get(uri, targetFile)
+        cache.get(uri, targetFile2)
+
+        then:
+        2 * resourceLoader.getResource(_ as String) >> resource
+        2 * resource.exists() >> true
+        2 * resource.lastModified() >> DEFAULT_RESOURCE_LAST_MODIFIED_TS
+        1 * resource.getInputStream() >> new ByteArrayInputStream("contents".getBytes(StandardCharsets.UTF_8))
+        cache.getCacheMisses() == 1
+        cache.getCacheHits() == 1
+        cache.getCacheEvictions() == 0
+    }
+
+    def "Evict least recently used resources beyond max size"() {
+        setup:
+        TaskExecutor noopTaskExecutor = Mock(TaskExecutor)
+        ArgumentDelegates.CacheArguments boundedCacheArguments = Mock(ArgumentDelegates.CacheArguments) {
+            getCacheDirectory() >> temporaryFolder.newFolder("cache")
+            getCacheMaxSize() >> 10
+            getCacheMaxAge() >> 0
+        }
+        FetchingCacheServiceImpl boundedCache = new FetchingCacheServiceImpl(
+            resourceLoader,
+            boundedCacheArguments,
+            fileLockFactory,
+            noopTaskExecutor
+        )
+        URI[] uris = [
+            new URI("https://my-server.com/path/to/dependencies/a.jar"),
+            new URI("https://my-server.com/path/to/dependencies/b.jar"),
+            new URI("https://my-server.com/path/to/dependencies/c.jar")
+        ]
+        File[] dataFiles = uris.collect {
+            boundedCache.getCacheResourceVersionDataFile(
+                boundedCache.getResourceCacheId(it),
+                DEFAULT_RESOURCE_LAST_MODIFIED_TS
+            )
+        }
+        File[] lockFiles = uris.collect {
+            boundedCache.getCacheResourceVersionLockFile(
+                boundedCache.getResourceCacheId(it),
+                DEFAULT_RESOURCE_LAST_MODIFIED_TS
+            )
+        }
+
+        when:
+        uris.eachWithIndex { URI u, int i ->
+            boundedCache.get(u, new File(temporaryFolder.getRoot(), "target" + i))
+        }
+
+        then:
+        3 * resourceLoader.getResource(_ as String) >> resource
+        3 * resource.exists() >> true
+        3 * resource.lastModified() >> DEFAULT_RESOURCE_LAST_MODIFIED_TS
+        3 * resource.getInputStream() >> {
+            return new ByteArrayInputStream("8 bytes!".getBytes(StandardCharsets.UTF_8))
+        }
+        dataFiles.every { it.exists() }
+
+        when:
+        // Accessed in order: c, a, b
+        lockFiles[2].setLastModified(1_000_000)
+        lockFiles[0].setLastModified(2_000_000)
+        lockFiles[1].setLastModified(3_000_000)
+        boundedCache.evictResources()
+
+        then:
+        !dataFiles[2].exists()
+        !dataFiles[0].exists()
+        dataFiles[1].exists()
+        lockFiles.every { it.exists() }
+        boundedCache.getCacheEvictions() == 2
+        boundedCache.getCacheMisses() == 3
+    }
+
+    def "Evict resources not accessed within max age"() {
+        setup:
+        TaskExecutor noopTaskExecutor = Mock(TaskExecutor)
+        ArgumentDelegates.CacheArguments boundedCacheArguments = Mock(ArgumentDelegates.CacheArguments) {
+            getCacheDirectory() >> temporaryFolder.newFolder("cache")
+            getCacheMaxSize() >> 0
+            getCacheMaxAge() >> 60
+        }
+        FetchingCacheServiceImpl boundedCache = new FetchingCacheServiceImpl(
+            resourceLoader,
+            boundedCacheArguments,
+            fileLockFactory,
+            noopTaskExecutor
+        )
+        URI uri2 = new URI("https://my-server.com/path/to/dependencies/b.jar")
+        String resourceCacheId = boundedCache.getResourceCacheId(uri)
+        String resourceCacheId2 = boundedCache.getResourceCacheId(uri2)
+
+        when:
+        boundedCache.get(uri, new File(temporaryFolder.getRoot(), "target"))
+        boundedCache.get(uri2, new File(temporaryFolder.getRoot(), "target2"))
+        boundedCache.getCacheResourceVersionLockFile(resourceCacheId, DEFAULT_RESOURCE_LAST_MODIFIED_TS)
+            .setLastModified(System.currentTimeMillis() - 120_000)
+        boundedCache.evictResources()
+
+        then:
+        2 * resourceLoader.getResource(_ as String) >> resource
+        2 * resource.exists() >> true
+        2 * resource.lastModified() >> DEFAULT_RESOURCE_LAST_MODIFIED_TS
+        2 * resource.getInputStream() >> {
+            return new ByteArrayInputStream("contents".getBytes(StandardCharsets.UTF_8))
+        }
+        !boundedCache.getCacheResourceVersionDataFile(resourceCacheId, DEFAULT_RESOURCE_LAST_MODIFIED_TS).exists()
+        boundedCache.getCacheResourceVersionDataFile(resourceCacheId2, DEFAULT_RESOURCE_LAST_MODIFIED_TS).exists()
+        boundedCache.getCacheEvictions() == 1
+    }
+
+    def "Store identical content from different URIs once"() {
+        setup:
+        ArgumentDelegates.CacheArguments dedupCacheArguments = Mock(ArgumentDelegates.CacheArguments) {
+            getCacheDirectory() >> temporaryFolder.newFolder("cache")
+            isCacheDeduplication() >> true
+        }
+        FetchingCacheServiceImpl dedupCache = new FetchingCacheServiceImpl(
+            resourceLoader,
+            dedupCacheArguments,
+            fileLockFactory,
+            Mock(TaskExecutor)
+        )
+        String fileContents = "example file contents\n"
+        URI uri2 = new URI("https://my-other-server.com/path/to/config/config.xml")
+        File dataFile = dedupCache.getCacheResourceVersionDataFile(
+            dedupCache.getResourceCacheId(uri),
+            DEFAULT_RESOURCE_LAST_MODIFIED_TS
+        )
+        File dataFile2 = dedupCache.getCacheResourceVersionDataFile(
+            dedupCache.getResourceCacheId(uri2),
+            DEFAULT_RESOURCE_LAST_MODIFIED_TS
+        )
+        File targetFile = new File(temporaryFolder.getRoot(), "target")
+        File targetFile2 = new File(temporaryFolder.getRoot(), "target2")
+
+        when:
+        dedupCache.get(uri, targetFile)
+        dedupCache.get(uri2, targetFile2)
+
+        then:
+        2 * resourceLoader.getResource(_ as String) >> resource
+        2 * resource.exists() >> true
+        2 * resource.lastModified() >> DEFAULT_RESOURCE_LAST_MODIFIED_TS
+        2 * resource.getInputStream() >> {
+            return new ByteArrayInputStream(fileContents.getBytes(StandardCharsets.UTF_8))
+        }
+        targetFile.getText(StandardCharsets.UTF_8.toString()) == fileContents
+        targetFile2.getText(StandardCharsets.UTF_8.toString()) == fileContents
+        Files.isSameFile(dataFile.toPath(), dataFile2.toPath())
+        Files.getAttribute(dataFile.toPath(), "unix:nlink") == 3
+    }
+
+    def "Link content known by ETag without downloading it"() {
+        setup:
+        ArgumentDelegates.CacheArguments dedupCacheArguments = Mock(ArgumentDelegates.CacheArguments) {
+            getCacheDirectory() >> temporaryFolder.newFolder("cache")
+            isCacheDeduplication() >> true
+        }
+        FetchingCacheServiceImpl dedupCache = new FetchingCacheServiceImpl(
+            resourceLoader,
+            dedupCacheArguments,
+            fileLockFactory,
+            Mock(TaskExecutor)
+        )
+        String fileContents = "example file contents\n"
+        S3Resource s3Resource = Mock(S3Resource)
+        URI s3Uri = new URI("s3://my-bucket/path/to/config/config.xml")
+        URI s3Uri2 = new URI("s3://my-other-bucket/path/to/config/config.xml")
+        File targetFile = new File(temporaryFolder.getRoot(), "target")
+        File targetFile2 = new File(temporaryFolder.getRoot(), "target2")
+
+        when:
+        dedupCache.get(s3Uri, targetFile)
+
+        then:
+        1 * resourceLoader.getResource(s3Uri.toString()) >> s3Resource
+        1 * s3Resource.exists() >> true
+        1 * s3Resource.lastModified() >> DEFAULT_RESOURCE_LAST_MODIFIED_TS
+        1 * s3Resource.getETag() >> Optional.of("\"d41d8cd98f00b204e9800998ecf8427e\"")
+        1 * s3Resource.getInputStream() >> new ByteArrayInputStream(fileContents.getBytes(StandardCharsets.UTF_8))
+        targetFile.getText(StandardCharsets.UTF_8.toString()) == fileContents
+        dedupCache.getContentETagFile("\"d41d8cd98f00b204e9800998ecf8427e\"").exists()
+        dedupCache.getContentHits() == 0
+
+        when:
+        dedupCache.get(s3Uri2, targetFile2)
+
+        then:
+        1 * resourceLoader.getResource(s3Uri2.toString()) >> s3Resource
+        1 * s3Resource.exists() >> true
+        1 * s3Resource.lastModified() >> DEFAULT_RESOURCE_LAST_MODIFIED_TS
+        1 * s3Resource.getETag() >> Optional.of("\"d41d8cd98f00b204e9800998ecf8427e\"")
+        0 * s3Resource.getInputStream()
+        targetFile2.getText(StandardCharsets.UTF_8.toString()) == fileContents
+        dedupCache.getContentHits() == 1
+        dedupCache.getCacheMisses() == 2
+    }
+
+    def "Delete content no longer used"() {
+        setup:
+        File cacheDirectory = temporaryFolder.newFolder("cache")
+        ArgumentDelegates.CacheArguments dedupCacheArguments = Mock(ArgumentDelegates.CacheArguments) {
+            getCacheDirectory() >> cacheDirectory
+            isCacheDeduplication() >> true
+        }
+        FetchingCacheServiceImpl dedupCache = new FetchingCacheServiceImpl(
+            resourceLoader,
+            dedupCacheArguments,
+            fileLockFactory,
+            Mock(TaskExecutor)
+        )
+        S3Resource s3Resource = Mock(S3Resource)
+        String eTag = "\"d41d8cd98f00b204e9800998ecf8427e\""
+        File dataFile = dedupCache.getCacheResourceVersionDataFile(
+            dedupCache.getResourceCacheId(uri),
+            DEFAULT_RESOURCE_LAST_MODIFIED_TS
+        )
+
+        when:
+        dedupCache.get(uri, new File(temporaryFolder.getRoot(), "target"))
+        dedupCache.evictResources()
+
+        then:
+        1 * resourceLoader.getResource(_ as String) >> s3Resource
+        1 * s3Resource.exists() >> true
+        1 * s3Resource.lastModified() >> DEFAULT_RESOURCE_LAST_MODIFIED_TS
+        1 * s3Resource.getETag() >> Optional.of(eTag)
+        1 * s3Resource.getInputStream() >> new ByteArrayInputStream("contents".getBytes(StandardCharsets.UTF_8))
+        dataFile.exists()
+        dedupCache.getContentETagFile(eTag).exists()
+
+        when:
+        dataFile.delete()
+        dedupCache.evictResources()
+
+        then:
+        !dedupCache.getContentETagFile(eTag).exists()
+        new File(cacheDirectory, ".content").listFiles().length == 0
+    }
+
     def "Construct: fail to create cache dir"() {
         setup:
         ArgumentDelegates.CacheArguments badCacheArguments = Mock()
@@ -17,11 +17,13 @@
  */
 package com.netflix.genie.agent.execution.services.impl
 
+import com.netflix.genie.agent.cli.ArgumentDelegates
 import com.netflix.genie.agent.execution.exceptions.JobLaunchException
 import com.netflix.genie.agent.execution.services.KillService
 import com.netflix.genie.agent.execution.services.LaunchJobService
 import com.netflix.genie.agent.utils.PathUtils
 import com.netflix.genie.common.dto.JobStatus
+import com.netflix.genie.common.dto.JobStatusMessages
 import org.junit.Rule
 import org.junit.rules.TemporaryFolder
 import spock.lang.Specification
@@ -37,9 +39,15 @@ class LaunchJobServiceImplSpec extends Specification {
     Map<String, String> envMap
     File stdOut
     File stdErr
+    ArgumentDelegates.OutputArguments outputArguments
 
     void setup() {
         envMap = [:]
+        outputArguments = Stub(ArgumentDelegates.OutputArguments) {
+            getMaxStdOutSize() >> Long.MAX_VALUE
+            getMaxStdErrSize() >> Long.MAX_VALUE
+            isTruncateOutput() >> false
+        }
         stdOut = PathUtils.jobStdOutPath(temporaryFolder.getRoot()).toFile()
         stdErr = PathUtils.jobStdErrPath(temporaryFolder.getRoot()).toFile()
         Files.createDirectories(stdOut.getParentFile().toPath())
@@ -51,7 +59,7 @@ class LaunchJobServiceImplSpec extends Specification {
 
     def "LaunchProcess interactive"() {
         setup:
-        LaunchJobService service = new LaunchJobServiceImpl()
+        LaunchJobService service = new LaunchJobServiceImpl(outputArguments)
         File expectedFile = new File(temporaryFolder.getRoot(), UUID.randomUUID().toString())
         envMap.put("PATH", System.getenv("PATH") + ":/foo")
 
@@ -79,7 +87,7 @@ class LaunchJobServiceImplSpec extends Specification {
     def "LaunchProcess noninteractive with variable expansion"() {
         setup:
         String helloWorld = "Hello World!"
-        LaunchJobService service = new LaunchJobServiceImpl()
+        LaunchJobService service = new LaunchJobServiceImpl(outputArguments)
         envMap.put("ECHO_COMMAND", "echo")
 
         when:
@@ -101,6 +109,60 @@ class LaunchJobServiceImplSpec extends Specification {
         stdErr.exists()
         stdOut.exists()
         stdOut.getText(StandardCharsets.UTF_8.toString()).contains(helloWorld)
+        service.getStdOutBytes() == helloWorld.length() + 1
+        service.getStdErrBytes() == 0
+        !service.getOutputLimitExceededMessage().isPresent()
+    }
+
+    def "Kill process exceeding output limit"() {
+        setup:
+        outputArguments = Stub(ArgumentDelegates.OutputArguments) {
+            getMaxStdOutSize() >> 1000
+            getMaxStdErrSize() >> Long.MAX_VALUE
+            isTruncateOutput() >> false
+        }
+        LaunchJobService service = new LaunchJobServiceImpl(outputArguments)
+
+        when:
+        service.launchProcess(
+            temporaryFolder.getRoot(),
+            envMap,
+            ["yes"],
+            false
+        )
+        JobStatus status = service.waitFor()
+
+        then:
+        status == JobStatus.KILLED
+        stdOut.length() == 1000
+        service.getStdOutBytes() > 1000
+        service.getOutputLimitExceededMessage() == Optional.of(JobStatusMessages.JOB_EXCEEDED_STDOUT_LENGTH)
+    }
+
+    def "Truncate output exceeding limit"() {
+        setup:
+        outputArguments = Stub(ArgumentDelegates.OutputArguments) {
+            getMaxStdOutSize() >> Long.MAX_VALUE
+            getMaxStdErrSize() >> 4
+            isTruncateOutput() >> true
+        }
+        LaunchJobService service = new LaunchJobServiceImpl(outputArguments)
+
+        when:
+        service.launchProcess(
+            temporaryFolder.getRoot(),
+            envMap,
+            ["sh", "-c", "printf 0123456789 >&2"],
+            false
+        )
+        JobStatus status = service.waitFor()
+
+        then:
+        status == JobStatus.SUCCEEDED
+        stdErr.getText(StandardCharsets.UTF_8.toString()) == "0123"
+        service.getStdErrBytes() == 10
+        service.getStdOutBytes() == 0
+        !service.getOutputLimitExceededMessage().isPresent()
     }
 
     def "LaunchProcess noninteractive and check environment env"() {
@@ -108,7 +170,7 @@ class LaunchJobServiceImplSpec extends Specification {
         String uuid = UUID.randomUUID().toString()
         envMap.put("GENIE_UUID", uuid)
         String expectedString = "GENIE_UUID=" + uuid
-        LaunchJobService service = new LaunchJobServiceImpl()
+        LaunchJobService service = new LaunchJobServiceImpl(outputArguments)
 
         when:
         service.launchProcess(
@@ -134,7 +196,7 @@ class LaunchJobServiceImplSpec extends Specification {
     def "LaunchProcess command error"() {
         setup:
         File nonExistentFile = new File(temporaryFolder.getRoot(), UUID.randomUUID().toString())
-        LaunchJobService service = new LaunchJobServiceImpl()
+        LaunchJobService service = new LaunchJobServiceImpl(outputArguments)
 
         when:
         service.launchProcess(
@@ -160,7 +222,7 @@ class LaunchJobServiceImplSpec extends Specification {
     def "LaunchProcess missing executable"() {
         setup:
         String uuid = UUID.randomUUID().toString()
-        LaunchJobService service = new LaunchJobServiceImpl()
+        LaunchJobService service = new LaunchJobServiceImpl(outputArguments)
 
         when:
         service.launchProcess(
@@ -175,7 +237,7 @@ class LaunchJobServiceImplSpec extends Specification {
 
     def "LaunchProcess missing environment variable"() {
         setup:
-        LaunchJobService service = new LaunchJobServiceImpl()
+        LaunchJobService service = new LaunchJobServiceImpl(outputArguments)
 
         when:
         service.launchProcess(
@@ -191,7 +253,7 @@ class LaunchJobServiceImplSpec extends Specification {
 
     def "Job directory null"() {
         setup:
-        LaunchJobService service = new LaunchJobServiceImpl()
+        LaunchJobService service = new LaunchJobServiceImpl(outputArguments)
 
         when:
         service.launchProcess(
@@ -207,7 +269,7 @@ class LaunchJobServiceImplSpec extends Specification {
 
     def "Job directory not a directory"() {
         setup:
-        LaunchJobService service = new LaunchJobServiceImpl()
+        LaunchJobService service = new LaunchJobServiceImpl(outputArguments)
 
         when:
         service.launchProcess(
@@ -223,7 +285,7 @@ class LaunchJobServiceImplSpec extends Specification {
 
     def "Job folder not existing"() {
         setup:
-        LaunchJobService service = new LaunchJobServiceImpl()
+        LaunchJobService service = new LaunchJobServiceImpl(outputArguments)
 
         when:
         service.launchProcess(
@@ -239,7 +301,7 @@ class LaunchJobServiceImplSpec extends Specification {
 
     def "Environment null"() {
         setup:
-        LaunchJobService service = new LaunchJobServiceImpl()
+        LaunchJobService service = new LaunchJobServiceImpl(outputArguments)
 
         when:
         service.launchProcess(
@@ -254,7 +316,7 @@ class LaunchJobServiceImplSpec extends Specification {
 
     def "Args not set"() {
         setup:
-        LaunchJobService service = new LaunchJobServiceImpl()
+        LaunchJobService service = new LaunchJobServiceImpl(outputArguments)
 
         when:
         service.launchProcess(
@@ -269,7 +331,7 @@ class LaunchJobServiceImplSpec extends Specification {
 
     def "Args empty"() {
         setup:
-        LaunchJobService service = new LaunchJobServiceImpl()
+        LaunchJobService service = new LaunchJobServiceImpl(outputArguments)
 
         when:
         service.launchProcess(
@@ -285,7 +347,7 @@ class LaunchJobServiceImplSpec extends Specification {
 
     def "Kill running process"() {
         setup:
-        LaunchJobService service = new LaunchJobServiceImpl()
+        LaunchJobService service = new LaunchJobServiceImpl(outputArguments)
 
         when:
         service.launchProcess(
@@ -315,7 +377,7 @@ class LaunchJobServiceImplSpec extends Specification {
 
     def "Kill running process via event"() {
         setup:
-        LaunchJobService service = new LaunchJobServiceImpl()
+        LaunchJobService service = new LaunchJobServiceImpl(outputArguments)
 
         when:
         service.launchProcess(
@@ -345,7 +407,7 @@ class LaunchJobServiceImplSpec extends Specification {
 
     def "Kill completed process"() {
         setup:
-        LaunchJobService service = new LaunchJobServiceImpl()
+        LaunchJobService service = new LaunchJobServiceImpl(outputArguments)
 
         when:
         service.launchProcess(
@@ -375,7 +437,7 @@ class LaunchJobServiceImplSpec extends Specification {
 
     def "Skip process launch"() {
         setup:
-        LaunchJobService service = new LaunchJobServiceImpl()
+        LaunchJobService service = new LaunchJobServiceImpl(outputArguments)
 
         when:
         service.kill()
@@ -405,7 +467,7 @@ class LaunchJobServiceImplSpec extends Specification {
 
     def "Double launch"() {
         setup:
-        LaunchJobService service = new LaunchJobServiceImpl()
+        LaunchJobService service = new LaunchJobServiceImpl(outputArguments)
 
         when:
         service.launchProcess(
@@ -432,7 +494,7 @@ class LaunchJobServiceImplSpec extends Specification {
 
     def "No launch"() {
         setup:
-        LaunchJobService service = new LaunchJobServiceImpl()
+        LaunchJobService service = new LaunchJobServiceImpl(outputArguments)
 
         when:
         service.waitFor()
@@ -30,6 +30,9 @@ import com.netflix.genie.common.internal.dto.v4.JobSpecification
 import com.netflix.genie.common.internal.dto.v4.converters.JobServiceProtoConverter
 import com.netflix.genie.common.internal.exceptions.GenieConversionException
 import com.netflix.genie.common.internal.exceptions.unchecked.GenieRuntimeException
+import com.netflix.genie.proto.BootstrapJobError
+import com.netflix.genie.proto.BootstrapJobRequest
+import com.netflix.genie.proto.BootstrapJobResponse
 import com.netflix.genie.proto.ChangeJobStatusError
 import com.netflix.genie.proto.ChangeJobStatusRequest
 import com.netflix.genie.proto.ChangeJobStatusResponse
@@ -67,6 +70,7 @@ class GRpcAgentJobServiceImplSpec extends Specification {
     JobSpecificationResponse jobSpecificationResponse
     ClaimJobResponse claimJobResponse
     ChangeJobStatusResponse changeJobStatusResponse
+    BootstrapJobResponse bootstrapJobResponse
 
     void setup() {
         this.grpcServerRule.getServiceRegistry().addService(new TestService())
@@ -512,6 +516,95 @@ class GRpcAgentJobServiceImplSpec extends Specification {
         thrown(GenieRuntimeException)
     }
 
+    def "Bootstrap job -- successful"() {
+        AgentJobRequest agentJobRequest = Mock()
+        AgentClientMetadata agentClientMetadata = Mock()
+        BootstrapJobRequest request = BootstrapJobRequest.getDefaultInstance()
+        com.netflix.genie.proto.JobSpecification jobSpecificationProto = com.netflix.genie.proto.JobSpecification.getDefaultInstance()
+        this.bootstrapJobResponse = BootstrapJobResponse.newBuilder().setSpecification(jobSpecificationProto).build()
+        JobSpecification jobSpecification = Mock()
+
+        when:
+        JobSpecification bootstrappedJobSpecification = service.bootstrapJob(agentJobRequest, agentClientMetadata)
+
+        then:
+        1 * protoConverter.toProtoBootstrapJobRequest(agentJobRequest, agentClientMetadata) >> request
+        1 * protoConverter.toJobSpecificationDTO(jobSpecificationProto) >> jobSpecification
+
+        expect:
+        bootstrappedJobSpecification == jobSpecification
+    }
+
+    @Unroll
+    def "Bootstrap job -- handle error #errorType"() {
+        AgentJobRequest agentJobRequest = Mock()
+        AgentClientMetadata agentClientMetadata = Mock()
+        BootstrapJobRequest request = BootstrapJobRequest.getDefaultInstance()
+        this.bootstrapJobResponse = BootstrapJobResponse.newBuilder().setError(
+            BootstrapJobError.newBuilder()
+                .setType(errorType)
+                .setMessage("error message")
+        ).build()
+
+        when:
+        service.bootstrapJob(agentJobRequest, agentClientMetadata)
+
+        then:
+        1 * protoConverter.toProtoBootstrapJobRequest(agentJobRequest, agentClientMetadata) >> request
+        thrown(expectedException)
+
+        where:
+        errorType                                   | expectedException
+        BootstrapJobError.Type.ID_NOT_AVAILABLE     | JobIdUnavailableException
+        BootstrapJobError.Type.INVALID_REQUEST      | JobReservationException
+        BootstrapJobError.Type.ALREADY_CLAIMED      | JobReservationException
+        BootstrapJobError.Type.NO_APPLICATION_FOUND | JobSpecificationResolutionException
+        BootstrapJobError.Type.NO_CLUSTER_FOUND     | JobSpecificationResolutionException
+        BootstrapJobError.Type.NO_COMMAND_FOUND     | JobSpecificationResolutionException
+        BootstrapJobError.Type.UNKNOWN              | GenieRuntimeException
+    }
+
+    def "Bootstrap job -- invalid response"() {
+        AgentJobRequest agentJobRequest = Mock()
+        AgentClientMetadata agentClientMetadata = Mock()
+        BootstrapJobRequest request = BootstrapJobRequest.getDefaultInstance()
+        this.bootstrapJobResponse = BootstrapJobResponse.getDefaultInstance()
+
+        when:
+        service.bootstrapJob(agentJobRequest, agentClientMetadata)
+
+        then:
+        1 * protoConverter.toProtoBootstrapJobRequest(agentJobRequest, agentClientMetadata) >> request
+        thrown(GenieRuntimeException)
+    }
+
+    def "Bootstrap job -- conversion error"() {
+        AgentJobRequest agentJobRequest = Mock()
+        AgentClientMetadata agentClientMetadata = Mock()
+        Exception exception = new GenieConversionException("...")
+
+        when:
+        service.bootstrapJob(agentJobRequest, agentClientMetadata)
+
+        then:
+        1 * protoConverter.toProtoBootstrapJobRequest(agentJobRequest, agentClientMetadata) >> { throw exception }
+        thrown(JobReservationException)
+    }
+
+    def "Bootstrap job -- server does not implement it"() {
+        AgentJobRequest agentJobRequest = Mock()
+        AgentClientMetadata agentClientMetadata = Mock()
+        BootstrapJobRequest request = BootstrapJobRequest.getDefaultInstance()
+        this.bootstrapJobResponse = null
+
+        when:
+        service.bootstrapJob(agentJobRequest, agentClientMetadata)
+
+        then:
+        1 * protoConverter.toProtoBootstrapJobRequest(agentJobRequest, agentClientMetadata) >> request
+        thrown(UnsupportedOperationException)
+    }
+
     private class TestService extends JobServiceGrpc.JobServiceImplBase {
         @Override
         void handshake(final HandshakeRequest request, final StreamObserver<HandshakeResponse> responseObserver) {
@@ -566,6 +659,19 @@ class GRpcAgentJobServiceImplSpec extends Specification {
             sendResponse(responseObserver, changeJobStatusResponse)
         }
 
+        @Override
+        void bootstrapJob(
+            final BootstrapJobRequest request,
+            final StreamObserver<BootstrapJobResponse> responseObserver
+        ) {
+            if (bootstrapJobResponse == null) {
+                // Behave like a server which predates this call
+                super.bootstrapJob(request, responseObserver)
+            } else {
+                sendResponse(responseObserver, bootstrapJobResponse)
+            }
+        }
+
         private <ResponseType> void sendResponse(
             StreamObserver<ResponseType> observer,
             ResponseType response
@@ -0,0 +1,209 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.agent.execution.services.impl.grpc
+
+import com.google.common.collect.Lists
+import com.netflix.genie.agent.execution.services.AgentOutputTailService
+import com.netflix.genie.agent.utils.PathUtils
+import com.netflix.genie.proto.AgentOutputMessage
+import com.netflix.genie.proto.JobOutputServiceGrpc
+import com.netflix.genie.proto.ServerOutputControlMessage
+import io.grpc.stub.StreamObserver
+import io.grpc.testing.GrpcServerRule
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import org.springframework.scheduling.TaskScheduler
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardOpenOption
+import java.util.concurrent.ScheduledFuture
+
+class GRpcAgentOutputTailServiceImplSpec extends Specification {
+
+    @Rule
+    GrpcServerRule grpcServerRule = new GrpcServerRule().directExecutor()
+
+    @Rule
+    TemporaryFolder temporaryFolder = new TemporaryFolder()
+
+    AgentOutputTailService outputTailService
+    TaskScheduler taskScheduler
+    ScheduledFuture<?> scheduledTask
+    RemoteService remoteService
+    String jobId
+    Path stdOut
+    Runnable runnableCapture
+
+    void setup() {
+        this.jobId = UUID.randomUUID().toString()
+        this.scheduledTask = Mock(ScheduledFuture)
+        this.taskScheduler = Mock(TaskScheduler)
+        this.remoteService = new RemoteService()
+        this.grpcServerRule.getServiceRegistry().addService(remoteService)
+        this.outputTailService = new GRpcAgentOutputTailServiceImpl(
+            JobOutputServiceGrpc.newStub(grpcServerRule.getChannel()),
+            taskScheduler
+        )
+        this.stdOut = PathUtils.jobStdOutPath(temporaryFolder.getRoot())
+        Files.createDirectories(stdOut.getParent())
+    }
+
+    void cleanup() {
+        this.grpcServerRule.getChannel().shutdownNow()
+    }
+
+    def "Double start, double stop"() {
+        when:
+        outputTailService.start(jobId, temporaryFolder.getRoot().toPath())
+
+        then:
+        1 * taskScheduler.scheduleWithFixedDelay(_ as Runnable, _ as Long) >> scheduledTask
+
+        when:
+        outputTailService.start(jobId, temporaryFolder.getRoot().toPath())
+
+        then:
+        thrown(IllegalStateException)
+
+        when:
+        outputTailService.stop()
+
+        then:
+        1 * scheduledTask.cancel(false)
+
+        when:
+        outputTailService.stop()
+
+        then:
+        noExceptionThrown()
+    }
+
+    def "Push output only while tailing"() {
+        when:
+        outputTailService.start(jobId, temporaryFolder.getRoot().toPath())
+
+        then:
+        1 * taskScheduler.scheduleWithFixedDelay(_ as Runnable, _ as Long) >> {
+            args ->
+                runnableCapture = args[0] as Runnable
+                return scheduledTask
+        }
+
+        when: "The first run opens the stream and registers the job"
+        Files.write(stdOut, "before\n".getBytes(StandardCharsets.UTF_8))
+        runnableCapture.run()
+
+        then:
+        remoteService.controlObserver != null
+        remoteService.messagesReceived.size() == 1
+        remoteService.messagesReceived.get(0).getJobId() == jobId
+        remoteService.messagesReceived.get(0).getData().isEmpty()
+
+        when: "Nobody is tailing"
+        append("ignored\n")
+        runnableCapture.run()
+
+        then:
+        remoteService.messagesReceived.size() == 1
+
+        when: "Tailing starts from the current end of the file"
+        remoteService.controlObserver.onNext(ServerOutputControlMessage.newBuilder().setTail(true).build())
+        runnableCapture.run()
+        append("hello\n")
+        append("world\n")
+        runnableCapture.run()
+
+        then: "Writes since the previous poll are sent together"
+        remoteService.messagesReceived.size() == 2
+        remoteService.messagesReceived.get(1).getStream() == AgentOutputMessage.Stream.STDOUT
+        remoteService.messagesReceived.get(1).getOffset() == "before\nignored\n".length()
+        remoteService.messagesReceived.get(1).getData().toStringUtf8() == "hello\nworld\n"
+
+        when: "Tailing stops"
+        remoteService.controlObserver.onNext(ServerOutputControlMessage.newBuilder().setTail(false).build())
+        append("again\n")
+        runnableCapture.run()
+
+        then:
+        remoteService.messagesReceived.size() == 2
+
+        when:
+        outputTailService.stop()
+
+        then:
+        1 * scheduledTask.cancel(false)
+        remoteService.completed
+    }
+
+    def "Reconnect after stream error is delayed"() {
+        when:
+        outputTailService.start(jobId, temporaryFolder.getRoot().toPath())
+        runnableCapture.run()
+
+        then:
+        1 * taskScheduler.scheduleWithFixedDelay(_ as Runnable, _ as Long) >> {
+            args ->
+                runnableCapture = args[0] as Runnable
+                return scheduledTask
+        }
+        remoteService.streamsOpened == 1
+
+        when:
+        remoteService.controlObserver.onError(new RuntimeException("..."))
+        runnableCapture.run()
+
+        then:
+        remoteService.streamsOpened == 1
+    }
+
+    private void append(final String text) {
+        Files.write(stdOut, text.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND)
+    }
+
+    class RemoteService extends JobOutputServiceGrpc.JobOutputServiceImplBase {
+        List<AgentOutputMessage> messagesReceived = Lists.newArrayList()
+        StreamObserver<ServerOutputControlMessage> controlObserver
+        int streamsOpened
+        boolean completed
+
+        @Override
+        StreamObserver<AgentOutputMessage> tail(final StreamObserver<ServerOutputControlMessage> responseObserver) {
+            this.controlObserver = responseObserver
+            this.streamsOpened++
+            return new StreamObserver<AgentOutputMessage>() {
+                @Override
+                void onNext(final AgentOutputMessage value) {
+                    messagesReceived.add(value)
+                }
+
+                @Override
+                void onError(final Throwable t) {
+                }
+
+                @Override
+                void onCompleted() {
+                    completed = true
+                    responseObserver.onCompleted()
+                }
+            }
+        }
+    }
+}
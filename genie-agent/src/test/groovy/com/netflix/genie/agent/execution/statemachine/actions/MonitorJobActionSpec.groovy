@@ -23,6 +23,7 @@ import com.netflix.genie.agent.execution.services.AgentJobService
 import com.netflix.genie.agent.execution.services.LaunchJobService
 import com.netflix.genie.agent.execution.statemachine.Events
 import com.netflix.genie.common.dto.JobStatus
+import com.netflix.genie.common.dto.JobStatusMessages
 import spock.lang.Specification
 import spock.lang.Unroll
 
@@ -50,8 +51,16 @@ class MonitorJobActionSpec extends Specification {
 
         then:
         1 * launchJobService.waitFor() >> expectedJobStatus
+        1 * launchJobService.getStdOutBytes() >> 100
+        1 * launchJobService.getStdErrBytes() >> 10
+        1 * launchJobService.getOutputLimitExceededMessage() >> Optional.empty()
         1 * executionContext.getClaimedJobId() >> Optional.of(id)
-        1 * agentJobService.changeJobStatus(id, JobStatus.RUNNING, expectedJobStatus, _ as String)
+        1 * agentJobService.changeJobStatus(
+            id,
+            JobStatus.RUNNING,
+            expectedJobStatus,
+            "Job process completed with final status " + expectedJobStatus
+        )
         1 * executionContext.setCurrentJobStatus(expectedJobStatus)
         1 * executionContext.setFinalJobStatus(expectedJobStatus)
 
@@ -65,6 +74,28 @@ class MonitorJobActionSpec extends Specification {
         _ | JobStatus.KILLED
     }
 
+    def "Killed for exceeding output limit"() {
+        setup:
+        String message = JobStatusMessages.JOB_EXCEEDED_STDERR_LENGTH
+
+        when:
+        def event = action.executeStateAction(executionContext)
+
+        then:
+        1 * launchJobService.waitFor() >> JobStatus.KILLED
+        1 * launchJobService.getOutputLimitExceededMessage() >> Optional.of(message)
+        1 * executionContext.getClaimedJobId() >> Optional.of(id)
+        1 * agentJobService.changeJobStatus(
+            id,
+            JobStatus.RUNNING,
+            JobStatus.KILLED,
+            message
+        )
+        1 * executionContext.setCurrentJobStatus(JobStatus.KILLED)
+        1 * executionContext.setFinalJobStatus(JobStatus.KILLED)
+        event == Events.MONITOR_JOB_COMPLETE
+    }
+
     def "Interrupt while monitoring"() {
         setup:
         def exception = new InterruptedException("...")
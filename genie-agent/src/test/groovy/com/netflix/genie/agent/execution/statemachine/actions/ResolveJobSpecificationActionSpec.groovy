@@ -146,6 +146,9 @@ class ResolveJobSpecificationActionSpec extends Specification {
         1 * agentMetadata.getAgentPid() >> String.valueOf(pid)
         1 * arguments.isJobRequestedViaAPI() >> false
         1 * converter.agentJobRequestArgsToDTO(arguments) >> agentJobRequest
+        1 * agentJobService.bootstrapJob(agentJobRequest, _ as AgentClientMetadata) >> {
+            throw new UnsupportedOperationException("...")
+        }
         1 * agentJobService.reserveJobId(agentJobRequest, _ as AgentClientMetadata) >> {
             args ->
                 AgentClientMetadata agentClientMetadata = args[1] as AgentClientMetadata
@@ -174,6 +177,69 @@ class ResolveJobSpecificationActionSpec extends Specification {
         event == Events.RESOLVE_JOB_SPECIFICATION_COMPLETE
     }
 
+    def "CLI job -- Bootstrap successful"() {
+        AgentJobRequest agentJobRequest = Mock(AgentJobRequest)
+        JobSpecification.ExecutionResource job = Mock(JobSpecification.ExecutionResource) {
+            getId() >> id
+        }
+
+        when:
+        def event = action.executeStateAction(executionContext)
+
+        then:
+        1 * agentMetadata.getAgentHostName() >> hostname
+        1 * agentMetadata.getAgentVersion() >> version
+        1 * agentMetadata.getAgentPid() >> String.valueOf(pid)
+        1 * arguments.isJobRequestedViaAPI() >> false
+        1 * converter.agentJobRequestArgsToDTO(arguments) >> agentJobRequest
+        1 * agentJobService.bootstrapJob(agentJobRequest, _ as AgentClientMetadata) >> {
+            args ->
+                AgentClientMetadata agentClientMetadata = args[1] as AgentClientMetadata
+                assert agentClientMetadata != null
+                assert agentClientMetadata.getHostname().get() == hostname
+                assert agentClientMetadata.getVersion().get() == version
+                assert agentClientMetadata.getPid().get() == pid
+                return spec
+        }
+        1 * spec.getJob() >> job
+        0 * agentJobService.reserveJobId(_, _)
+        0 * agentJobService.resolveJobSpecification(_)
+        0 * agentJobService.claimJob(_, _)
+        0 * executionContext.setCurrentJobStatus(JobStatus.RESERVED)
+        0 * executionContext.setCurrentJobStatus(JobStatus.RESOLVED)
+        1 * executionContext.setCurrentJobStatus(JobStatus.CLAIMED)
+        1 * executionContext.setJobSpecification(spec)
+        1 * executionContext.setClaimedJobId(id)
+
+        expect:
+        event == Events.RESOLVE_JOB_SPECIFICATION_COMPLETE
+    }
+
+    def "CLI job -- Bootstrap exception"() {
+        AgentJobRequest agentJobRequest = Mock(AgentJobRequest)
+
+        when:
+        action.executeStateAction(executionContext)
+
+        then:
+        1 * agentMetadata.getAgentHostName() >> hostname
+        1 * agentMetadata.getAgentVersion() >> version
+        1 * agentMetadata.getAgentPid() >> String.valueOf(pid)
+        1 * arguments.isJobRequestedViaAPI() >> false
+        1 * converter.agentJobRequestArgsToDTO(arguments) >> agentJobRequest
+        1 * agentJobService.bootstrapJob(agentJobRequest, _ as AgentClientMetadata) >> { throw exception }
+        0 * agentJobService.reserveJobId(_, _)
+        0 * executionContext.setClaimedJobId(_)
+        Throwable e = thrown(RuntimeException)
+        e.getCause() == exception
+
+        where:
+        exception                                         | _
+        new JobIdUnavailableException("...")              | _
+        new JobReservationException("...")                | _
+        new JobSpecificationResolutionException("...")    | _
+    }
+
     def "CLI job -- Conversion exception"() {
         ConstraintViolation constraintViolation = Mock()
         Exception exception = new JobRequestConverter.ConversionException(Sets.<ConstraintViolation<AgentJobRequest>> newHashSet([constraintViolation]))
@@ -206,6 +272,9 @@ class ResolveJobSpecificationActionSpec extends Specification {
         1 * agentMetadata.getAgentPid() >> String.valueOf(pid)
         1 * arguments.isJobRequestedViaAPI() >> false
         1 * converter.agentJobRequestArgsToDTO(arguments) >> agentJobRequest
+        1 * agentJobService.bootstrapJob(agentJobRequest, _ as AgentClientMetadata) >> {
+            throw new UnsupportedOperationException("...")
+        }
         1 * agentJobService.reserveJobId(agentJobRequest, _ as AgentClientMetadata) >> {
             args ->
                 AgentClientMetadata agentClientMetadata = args[1] as AgentClientMetadata
@@ -234,6 +303,9 @@ class ResolveJobSpecificationActionSpec extends Specification {
         1 * agentMetadata.getAgentPid() >> String.valueOf(pid)
         1 * arguments.isJobRequestedViaAPI() >> false
         1 * converter.agentJobRequestArgsToDTO(arguments) >> agentJobRequest
+        1 * agentJobService.bootstrapJob(agentJobRequest, _ as AgentClientMetadata) >> {
+            throw new UnsupportedOperationException("...")
+        }
         1 * agentJobService.reserveJobId(agentJobRequest, _ as AgentClientMetadata) >> {
             args ->
                 AgentClientMetadata agentClientMetadata = args[1] as AgentClientMetadata
@@ -274,6 +346,9 @@ class ResolveJobSpecificationActionSpec extends Specification {
         1 * agentMetadata.getAgentPid() >> String.valueOf(pid)
         1 * arguments.isJobRequestedViaAPI() >> false
         1 * converter.agentJobRequestArgsToDTO(arguments) >> agentJobRequest
+        1 * agentJobService.bootstrapJob(agentJobRequest, _ as AgentClientMetadata) >> {
+            throw new UnsupportedOperationException("...")
+        }
         1 * agentJobService.reserveJobId(agentJobRequest, _ as AgentClientMetadata) >> {
             args ->
                 AgentClientMetadata agentClientMetadata = args[1] as AgentClientMetadata
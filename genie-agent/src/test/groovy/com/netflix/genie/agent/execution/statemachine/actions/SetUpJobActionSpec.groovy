@@ -27,6 +27,7 @@ import com.netflix.genie.agent.execution.services.AgentFileStreamService
 import com.netflix.genie.agent.execution.services.AgentHeartBeatService
 import com.netflix.genie.agent.execution.services.AgentJobKillService
 import com.netflix.genie.agent.execution.services.AgentJobService
+import com.netflix.genie.agent.execution.services.AgentOutputTailService
 import com.netflix.genie.agent.execution.services.DownloadService
 import com.netflix.genie.agent.execution.statemachine.Events
 import com.netflix.genie.agent.utils.EnvUtils
@@ -38,6 +39,7 @@ import com.netflix.genie.common.internal.jobs.JobConstants
 import org.assertj.core.util.Sets
 import org.junit.Rule
 import org.junit.rules.TemporaryFolder
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor
 import spock.lang.Specification
 
 import java.nio.charset.StandardCharsets
@@ -59,7 +61,9 @@ class SetUpJobActionSpec extends Specification {
     AgentHeartBeatService heartbeatService
     AgentJobKillService killService
     AgentFileStreamService fileStreamService
+    AgentOutputTailService outputTailService
     ArgumentDelegates.CleanupArguments cleanupArguments
+    ThreadPoolTaskExecutor setUpTaskExecutor
     SetUpJobAction action
 
     JobSpecification spec
@@ -125,7 +129,11 @@ class SetUpJobActionSpec extends Specification {
         this.heartbeatService = Mock(AgentHeartBeatService)
         this.killService = Mock(AgentJobKillService)
         this.fileStreamService = Mock(AgentFileStreamService)
+        this.outputTailService = Mock(AgentOutputTailService)
         this.cleanupArguments = Mock(ArgumentDelegates.CleanupArguments)
+        this.setUpTaskExecutor = new ThreadPoolTaskExecutor()
+        this.setUpTaskExecutor.setCorePoolSize(4)
+        this.setUpTaskExecutor.initialize()
 
         this.jobId = UUID.randomUUID().toString()
         this.jobDir = new File(temporaryFolder.getRoot(), jobId)
@@ -219,10 +227,21 @@ class SetUpJobActionSpec extends Specification {
             _ * getEnvironmentVariables() >> jobServerEnvMap
         }
 
-        this.action = new SetUpJobAction(executionContext, downloadService, agentJobService, heartbeatService, killService, fileStreamService, cleanupArguments)
+        this.action = new SetUpJobAction(
+            executionContext,
+            downloadService,
+            agentJobService,
+            heartbeatService,
+            killService,
+            fileStreamService,
+            outputTailService,
+            cleanupArguments,
+            setUpTaskExecutor
+        )
     }
 
     void cleanup() {
+        setUpTaskExecutor.shutdown()
         File file = new File("created-by-setup-file.txt")
         if (file.exists()) {
             file.delete()
@@ -245,9 +264,10 @@ class SetUpJobActionSpec extends Specification {
         1 * executionContext.setCurrentJobStatus(JobStatus.INIT)
         1 * executionContext.setJobDirectory(jobDir)
         1 * fileStreamService.start(jobId, jobDir.toPath())
-        1 * downloadService.newManifestBuilder() >> manifestBuilder
-        1 * manifestBuilder.build() >> manifest
-        1 * downloadService.download(manifest)
+        1 * outputTailService.start(jobId, jobDir.toPath())
+        5 * downloadService.newManifestBuilder() >> manifestBuilder
+        5 * manifestBuilder.build() >> manifest
+        5 * downloadService.download(manifest)
         1 * executionContext.setJobEnvironment(_ as Map<String, String>) >> { args ->
             envMap = (Map<String, String>) args.getAt(0)
         }
@@ -312,9 +332,10 @@ class SetUpJobActionSpec extends Specification {
         1 * executionContext.setCurrentJobStatus(JobStatus.INIT)
         1 * executionContext.setJobDirectory(jobDir)
         1 * fileStreamService.start(jobId, jobDir.toPath())
-        1 * downloadService.newManifestBuilder() >> manifestBuilder
-        1 * manifestBuilder.build() >> manifest
-        1 * downloadService.download(manifest)
+        1 * outputTailService.start(jobId, jobDir.toPath())
+        5 * downloadService.newManifestBuilder() >> manifestBuilder
+        5 * manifestBuilder.build() >> manifest
+        5 * downloadService.download(manifest)
         1 * executionContext.setJobEnvironment(_ as Map<String, String>) >> { args ->
             envMap = (Map<String, String>) args.getAt(0)
         }
@@ -412,8 +433,9 @@ class SetUpJobActionSpec extends Specification {
         1 * executionContext.setCurrentJobStatus(JobStatus.INIT)
         1 * executionContext.setJobDirectory(jobDir)
         1 * fileStreamService.start(jobId, jobDir.toPath())
-        1 * downloadService.newManifestBuilder() >> manifestBuilder
-        1 * manifestBuilder.build() >> manifest
+        1 * outputTailService.start(jobId, jobDir.toPath())
+        5 * downloadService.newManifestBuilder() >> manifestBuilder
+        5 * manifestBuilder.build() >> manifest
         1 * manifestBuilder.addFileWithTargetDirectory(setupFileUri, jobDir)
         1 * manifest.getTargetLocation(setupFileUri) >> null
         def e = thrown(RuntimeException)
@@ -435,7 +457,8 @@ class SetUpJobActionSpec extends Specification {
         1 * agentJobService.changeJobStatus(jobId, JobStatus.CLAIMED, JobStatus.INIT, _ as String)
         1 * executionContext.setJobDirectory(jobDir)
         1 * fileStreamService.start(jobId, jobDir.toPath())
-        1 * downloadService.newManifestBuilder() >> manifestBuilder
+        1 * outputTailService.start(jobId, jobDir.toPath())
+        5 * downloadService.newManifestBuilder() >> manifestBuilder
         def e = thrown(RuntimeException)
         e.getCause().getClass() == SetUpJobException
         e.getCause().getCause().getClass() == URISyntaxException
@@ -455,9 +478,10 @@ class SetUpJobActionSpec extends Specification {
         1 * agentJobService.changeJobStatus(jobId, JobStatus.CLAIMED, JobStatus.INIT, _ as String)
         1 * executionContext.setJobDirectory(jobDir)
         1 * fileStreamService.start(jobId, jobDir.toPath())
-        1 * downloadService.newManifestBuilder() >> manifestBuilder
-        1 * manifestBuilder.build() >> manifest
-        1 * downloadService.download(manifest) >> { throw new DownloadException("") }
+        1 * outputTailService.start(jobId, jobDir.toPath())
+        5 * downloadService.newManifestBuilder() >> manifestBuilder
+        5 * manifestBuilder.build() >> manifest
+        5 * downloadService.download(manifest) >> { throw new DownloadException("") }
         def e = thrown(RuntimeException)
         e.getCause().getClass() == SetUpJobException
         e.getCause().getCause().getClass() == DownloadException
@@ -480,9 +504,10 @@ class SetUpJobActionSpec extends Specification {
         1 * agentJobService.changeJobStatus(jobId, JobStatus.CLAIMED, JobStatus.INIT, _ as String)
         1 * executionContext.setJobDirectory(jobDir)
         1 * fileStreamService.start(jobId, jobDir.toPath())
-        1 * downloadService.newManifestBuilder() >> manifestBuilder
-        1 * manifestBuilder.build() >> manifest
-        1 * downloadService.download(manifest)
+        1 * outputTailService.start(jobId, jobDir.toPath())
+        5 * downloadService.newManifestBuilder() >> manifestBuilder
+        5 * manifestBuilder.build() >> manifest
+        5 * downloadService.download(manifest)
         1 * manifestBuilder.addFileWithTargetDirectory(setupFileUri, jobDir)
         1 * manifest.getTargetLocation(setupFileUri) >> dummyFile
         def e = thrown(RuntimeException)
@@ -512,9 +537,10 @@ class SetUpJobActionSpec extends Specification {
         1 * agentJobService.changeJobStatus(jobId, JobStatus.CLAIMED, JobStatus.INIT, _ as String)
         1 * executionContext.setJobDirectory(jobDir)
         1 * fileStreamService.start(jobId, jobDir.toPath())
-        1 * downloadService.newManifestBuilder() >> manifestBuilder
-        1 * manifestBuilder.build() >> manifest
-        1 * downloadService.download(manifest)
+        1 * outputTailService.start(jobId, jobDir.toPath())
+        5 * downloadService.newManifestBuilder() >> manifestBuilder
+        5 * manifestBuilder.build() >> manifest
+        5 * downloadService.download(manifest)
         1 * manifestBuilder.addFileWithTargetDirectory(setupFileUri, jobDir)
         1 * manifest.getTargetLocation(setupFileUri) >> dummyFile
         def e = thrown(RuntimeException)
@@ -17,9 +17,11 @@
  */
 package com.netflix.genie.agent.configs;
 
+import com.netflix.genie.agent.configs.processors.LazyInitBeanFactoryPostProcessor;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 /**
@@ -50,4 +52,25 @@ public class AgentAutoConfigurationTest {
             this.config.sharedAgentTaskExecutor() instanceof ThreadPoolTaskExecutor
         );
     }
+
+    /**
+     * Make sure the job setup executor bean is of the right type and sized for concurrent downloads.
+     */
+    @Test
+    public void canGetJobSetUpTaskExecutor() {
+        final TaskExecutor taskExecutor = this.config.jobSetUpTaskExecutor();
+        Assert.assertTrue(taskExecutor instanceof ThreadPoolTaskExecutor);
+        Assert.assertTrue(((ThreadPoolTaskExecutor) taskExecutor).getCorePoolSize() > 1);
+    }
+
+    /**
+     * Make sure the fast start post processor bean can be created.
+     */
+    @Test
+    public void canGetLazyInitBeanFactoryPostProcessor() {
+        Assert.assertNotNull(AgentAutoConfiguration.lazyInitBeanFactoryPostProcessor());
+        Assert.assertTrue(
+            AgentAutoConfiguration.lazyInitBeanFactoryPostProcessor() instanceof LazyInitBeanFactoryPostProcessor
+        );
+    }
 }
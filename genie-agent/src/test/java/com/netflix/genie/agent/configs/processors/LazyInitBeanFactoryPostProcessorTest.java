@@ -0,0 +1,57 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.agent.configs.processors;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+/**
+ * Tests for {@link LazyInitBeanFactoryPostProcessor}.
+ *
+ * @author mprimi
+ * @since 4.0.0
+ */
+public class LazyInitBeanFactoryPostProcessorTest {
+
+    /**
+     * Make sure application beans are made lazy and infrastructure beans are left alone.
+     */
+    @Test
+    public void canMakeApplicationBeansLazy() {
+        final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition(
+            "applicationBean",
+            BeanDefinitionBuilder.genericBeanDefinition(Object.class).getBeanDefinition()
+        );
+        beanFactory.registerBeanDefinition(
+            "infrastructureBean",
+            BeanDefinitionBuilder
+                .genericBeanDefinition(Object.class)
+                .setRole(BeanDefinition.ROLE_INFRASTRUCTURE)
+                .getBeanDefinition()
+        );
+
+        new LazyInitBeanFactoryPostProcessor().postProcessBeanFactory(beanFactory);
+
+        Assert.assertTrue(beanFactory.getBeanDefinition("applicationBean").isLazyInit());
+        Assert.assertFalse(beanFactory.getBeanDefinition("infrastructureBean").isLazyInit());
+    }
+}
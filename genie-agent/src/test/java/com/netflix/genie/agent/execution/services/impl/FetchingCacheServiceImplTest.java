@@ -736,6 +736,71 @@ public class FetchingCacheServiceImplTest {
         );
     }
 
+    /**
+     * Fetch the same resource concurrently through a single cache instance using real file locks.
+     * Make sure both fetches succeed (file locks can't be acquired twice by the same JVM) and only one downloads.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void cacheConcurrentFetchesSameInstance() throws Exception {
+        final AtomicInteger numOfCacheMisses = new AtomicInteger(0);
+        final ResourceLoader resourceLoader = Mockito.mock(ResourceLoader.class);
+        final Resource resource = Mockito.mock(Resource.class);
+        Mockito.when(resourceLoader.getResource(Mockito.anyString())).thenReturn(resource);
+        Mockito.when(resource.exists()).thenReturn(true);
+        Mockito.when(resource.lastModified()).thenReturn(1L);
+        Mockito.when(
+            resource.getInputStream()
+        ).thenAnswer(
+            (Answer<InputStream>) invocation -> {
+                numOfCacheMisses.incrementAndGet();
+                return simulateDownloadWithWait();
+            }
+        );
+
+        final FetchingCacheServiceImpl cache = new FetchingCacheServiceImpl(
+            resourceLoader,
+            cacheArguments,
+            new FileLockFactory(),
+            cleanUpTaskExecutor
+        );
+
+        final File targetFile1 = new File(temporaryFolder.getRoot(), "target1");
+        final File targetFile2 = new File(temporaryFolder.getRoot(), "target2");
+        downloadCompleted.set(false);
+        final CountDownLatch allFetchesDone = new CountDownLatch(2);
+        final AtomicInteger numOfFailures = new AtomicInteger(0);
+
+        for (final File target : new File[]{targetFile1, targetFile2}) {
+            executorService.submit(() -> {
+                try {
+                    cache.get(uri, target);
+                } catch (Exception e) {
+                    numOfFailures.incrementAndGet();
+                } finally {
+                    allFetchesDone.countDown();
+                }
+            });
+        }
+
+        //Let the download complete
+        downloadCompleted.set(true);
+        simulateDownloadLock.lock();
+        try {
+            downloadComplete.signal();
+        } finally {
+            simulateDownloadLock.unlock();
+        }
+
+        allFetchesDone.await();
+
+        Assert.assertEquals(0, numOfFailures.get());
+        Assert.assertEquals(1, numOfCacheMisses.get());
+        Assert.assertTrue(targetFile1.exists());
+        Assert.assertTrue(targetFile2.exists());
+    }
+
     /**
      * Simulate a download while waiting until notified.
      *
@@ -27,6 +27,7 @@ import com.netflix.genie.common.dto.Command;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.Interceptor;
 import org.apache.commons.lang3.StringUtils;
+import retrofit2.Response;
 import retrofit2.Retrofit;
 
 import javax.annotation.Nullable;
@@ -36,6 +37,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Client library for the Application Service.
@@ -102,6 +104,23 @@ public class ApplicationClient {
         return GenieClientUtils.getIdFromLocation(locationHeader);
     }
 
+    /**
+     * Create a application in genie without blocking the calling thread.
+     *
+     * @param application A application object.
+     * @return A future completed with the id of the application created, or exceptionally with a
+     * {@link GenieClientException} if the response received is not 2xx or an {@link IOException} for network and
+     * other IO issues.
+     */
+    public CompletableFuture<String> createApplicationAsync(final Application application) {
+        if (application == null) {
+            throw new IllegalArgumentException("Application cannot be null.");
+        }
+        return GenieClientUtils
+            .executeAsync(this.applicationService.createApplication(application))
+            .thenApply(GenieClientUtils::getIdFromLocationHeader);
+    }
+
     /**
      * Method to get a list of all the applications.
      *
@@ -165,6 +184,23 @@ public class ApplicationClient {
         return this.applicationService.getApplication(applicationId).execute().body();
     }
 
+    /**
+     * Method to get a Application from Genie without blocking the calling thread.
+     *
+     * @param applicationId The id of the application to get.
+     * @return A future completed with the application details, or exceptionally with a
+     * {@link GenieClientException} if the response received is not 2xx or an {@link IOException} for network and
+     * other IO issues.
+     */
+    public CompletableFuture<Application> getApplicationAsync(final String applicationId) {
+        if (StringUtils.isEmpty(applicationId)) {
+            throw new IllegalArgumentException("Missing required parameter: applicationId.");
+        }
+        return GenieClientUtils
+            .executeAsync(this.applicationService.getApplication(applicationId))
+            .thenApply(Response::body);
+    }
+
     /**
      * Method to delete a application from Genie.
      *
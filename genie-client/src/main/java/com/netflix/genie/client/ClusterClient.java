@@ -27,6 +27,7 @@ import com.netflix.genie.common.dto.Command;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.Interceptor;
 import org.apache.commons.lang3.StringUtils;
+import retrofit2.Response;
 import retrofit2.Retrofit;
 
 import javax.annotation.Nullable;
@@ -36,6 +37,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Client library for the Cluster Service.
@@ -103,6 +105,23 @@ public class ClusterClient {
         return GenieClientUtils.getIdFromLocation(locationHeader);
     }
 
+    /**
+     * Create a cluster in genie without blocking the calling thread.
+     *
+     * @param cluster A cluster object.
+     * @return A future completed with the id of the cluster created, or exceptionally with a
+     * {@link GenieClientException} if the response received is not 2xx or an {@link IOException} for network and
+     * other IO issues.
+     */
+    public CompletableFuture<String> createClusterAsync(final Cluster cluster) {
+        if (cluster == null) {
+            throw new IllegalArgumentException("Cluster cannot be null.");
+        }
+        return GenieClientUtils
+            .executeAsync(this.clusterService.createCluster(cluster))
+            .thenApply(GenieClientUtils::getIdFromLocationHeader);
+    }
+
     /**
      * Method to get a list of all the clusters.
      *
@@ -175,6 +194,20 @@ public class ClusterClient {
         return clusterService.getCluster(clusterId).execute().body();
     }
 
+    /**
+     * Method to get a Cluster from Genie without blocking the calling thread.
+     *
+     * @param clusterId The id of the cluster to get.
+     * @return A future completed with the cluster details, or exceptionally with a {@link GenieClientException} if
+     * the response received is not 2xx or an {@link IOException} for network and other IO issues.
+     */
+    public CompletableFuture<Cluster> getClusterAsync(final String clusterId) {
+        if (StringUtils.isEmpty(clusterId)) {
+            throw new IllegalArgumentException("Missing required parameter: clusterId.");
+        }
+        return GenieClientUtils.executeAsync(this.clusterService.getCluster(clusterId)).thenApply(Response::body);
+    }
+
     /**
      * Method to delete a cluster from Genie.
      *
@@ -28,6 +28,7 @@ import com.netflix.genie.common.dto.Command;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.Interceptor;
 import org.apache.commons.lang3.StringUtils;
+import retrofit2.Response;
 import retrofit2.Retrofit;
 
 import javax.annotation.Nullable;
@@ -37,6 +38,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Client library for the Command Service.
@@ -104,6 +106,23 @@ public class CommandClient {
         return GenieClientUtils.getIdFromLocation(locationHeader);
     }
 
+    /**
+     * Create a command in genie without blocking the calling thread.
+     *
+     * @param command A command object.
+     * @return A future completed with the id of the command created, or exceptionally with a
+     * {@link GenieClientException} if the response received is not 2xx or an {@link IOException} for network and
+     * other IO issues.
+     */
+    public CompletableFuture<String> createCommandAsync(final Command command) {
+        if (command == null) {
+            throw new IllegalArgumentException("Command cannot be null.");
+        }
+        return GenieClientUtils
+            .executeAsync(this.commandService.createCommand(command))
+            .thenApply(GenieClientUtils::getIdFromLocationHeader);
+    }
+
     /**
      * Method to get a list of all the commands.
      *
@@ -166,6 +185,20 @@ public class CommandClient {
         return commandService.getCommand(commandId).execute().body();
     }
 
+    /**
+     * Method to get a Command from Genie without blocking the calling thread.
+     *
+     * @param commandId The id of the command to get.
+     * @return A future completed with the command details, or exceptionally with a {@link GenieClientException} if
+     * the response received is not 2xx or an {@link IOException} for network and other IO issues.
+     */
+    public CompletableFuture<Command> getCommandAsync(final String commandId) {
+        if (StringUtils.isEmpty(commandId)) {
+            throw new IllegalArgumentException("Missing required parameter: commandId.");
+        }
+        return GenieClientUtils.executeAsync(this.commandService.getCommand(commandId)).thenApply(Response::body);
+    }
+
     /**
      * Method to delete a command from Genie.
      *
@@ -0,0 +1,74 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.client;
+
+import com.netflix.genie.client.configs.GenieNetworkConfiguration;
+import com.netflix.genie.client.exceptions.GenieClientException;
+import lombok.Getter;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import retrofit2.Retrofit;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.NotBlank;
+import java.util.List;
+
+/**
+ * Creates the clients for the different Genie resources on top of a single HTTP client so they share one connection
+ * pool and dispatcher. Connections negotiate HTTP/2 when the server supports it, in which case concurrent requests
+ * are multiplexed over a single connection. The clients are thread safe and should be reused.
+ *
+ * @author tgianos
+ * @since 4.0.0
+ */
+@Getter
+public class GenieClientFactory {
+
+    private final OkHttpClient httpClient;
+    private final Retrofit retrofit;
+    private final ApplicationClient applicationClient;
+    private final ClusterClient clusterClient;
+    private final CommandClient commandClient;
+    private final JobClient jobClient;
+
+    /**
+     * Constructor.
+     *
+     * @param url                       The endpoint URL of the Genie API. Not null or empty
+     * @param interceptors              Any interceptors to configure the clients with, can include security ones
+     * @param genieNetworkConfiguration The network configuration parameters. Could be null
+     * @throws GenieClientException On error
+     */
+    public GenieClientFactory(
+        @NotBlank final String url,
+        @Nullable final List<Interceptor> interceptors,
+        @Nullable final GenieNetworkConfiguration genieNetworkConfiguration
+    ) throws GenieClientException {
+        this.httpClient = GenieClientUtils.createHttpClient(interceptors, genieNetworkConfiguration);
+        this.retrofit = GenieClientUtils.createRetrofitInstance(url, this.httpClient);
+        this.applicationClient = new ApplicationClient(this.retrofit);
+        this.clusterClient = new ClusterClient(this.retrofit);
+        this.commandClient = new CommandClient(this.retrofit);
+        this.jobClient = new JobClient(
+            this.retrofit,
+            genieNetworkConfiguration == null
+                ? GenieNetworkConfiguration.DEFAULT_NUM_RETRIES
+                : genieNetworkConfiguration.getMaxStatusRetries()
+        );
+    }
+}
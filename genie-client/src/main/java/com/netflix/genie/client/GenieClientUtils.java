@@ -22,16 +22,28 @@ import com.netflix.genie.client.configs.GenieNetworkConfiguration;
 import com.netflix.genie.client.exceptions.GenieClientException;
 import com.netflix.genie.client.interceptors.ResponseMappingInterceptor;
 import com.netflix.genie.common.util.GenieObjectMapper;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import org.apache.commons.lang3.StringUtils;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
 import retrofit2.Retrofit;
 import retrofit2.converter.jackson.JacksonConverterFactory;
 
 import javax.annotation.Nullable;
 import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -45,6 +57,33 @@ final class GenieClientUtils {
     static final String LOCATION_HEADER = "location";
     private static final String SLASH = "/";
 
+    // Every client created with default pool settings shares this connection pool and dispatcher
+    private static final OkHttpClient SHARED_HTTP_CLIENT = new OkHttpClient.Builder()
+        .connectionPool(
+            new ConnectionPool(
+                GenieNetworkConfiguration.DEFAULT_MAX_IDLE_CONNECTIONS,
+                GenieNetworkConfiguration.DEFAULT_KEEP_ALIVE_DURATION,
+                TimeUnit.MILLISECONDS
+            )
+        )
+        .dispatcher(
+            createDispatcher(
+                GenieNetworkConfiguration.DEFAULT_MAX_REQUESTS,
+                GenieNetworkConfiguration.DEFAULT_MAX_REQUESTS_PER_HOST
+            )
+        )
+        .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+        .build();
+
+    // Completes the delays of asynchronous calls. A daemon so it never keeps the JVM of a client alive.
+    private static final ScheduledExecutorService DELAY_SCHEDULER = Executors.newSingleThreadScheduledExecutor(
+        runnable -> {
+            final Thread thread = new Thread(runnable, "genie-client-delay");
+            thread.setDaemon(true);
+            return thread;
+        }
+    );
+
     /**
      * Utility class doesn't need a public constructor.
      */
@@ -64,12 +103,48 @@ final class GenieClientUtils {
         @NotBlank final String url,
         @Nullable final List<Interceptor> interceptors,
         @Nullable final GenieNetworkConfiguration genieNetworkConfiguration
+    ) throws GenieClientException {
+        return createRetrofitInstance(url, createHttpClient(interceptors, genieNetworkConfiguration));
+    }
+
+    /**
+     * Get a {@link Retrofit} instance which sends its requests through the given HTTP client.
+     *
+     * @param url        The url of the Genie Service.
+     * @param httpClient The HTTP client to use
+     * @return A {@link Retrofit} instance configured with the given information
+     * @throws GenieClientException If there is any problem creating the constructor
+     */
+    static Retrofit createRetrofitInstance(
+        @NotBlank final String url,
+        @NotNull final OkHttpClient httpClient
     ) throws GenieClientException {
         if (StringUtils.isBlank(url)) {
             throw new GenieClientException("Service URL cannot be empty or null");
         }
 
-        final OkHttpClient.Builder builder = new OkHttpClient.Builder();
+        return new Retrofit
+            .Builder()
+            .baseUrl(url)
+            .addConverterFactory(JacksonConverterFactory.create(GenieObjectMapper.getMapper()))
+            .client(httpClient)
+            .build();
+    }
+
+    /**
+     * Get an {@link OkHttpClient} given the parameters. Unless the configuration asks for different pool or
+     * concurrency settings the client shares its connection pool and dispatcher with every other client created here,
+     * so creating several Genie clients doesn't multiply connections and threads.
+     *
+     * @param interceptors              All desired interceptors for the client to be created
+     * @param genieNetworkConfiguration A configuration object that provides network settings for HTTP calls.
+     * @return A {@link OkHttpClient} instance configured with the given information
+     */
+    static OkHttpClient createHttpClient(
+        @Nullable final List<Interceptor> interceptors,
+        @Nullable final GenieNetworkConfiguration genieNetworkConfiguration
+    ) {
+        final OkHttpClient.Builder builder = SHARED_HTTP_CLIENT.newBuilder();
 
         if (genieNetworkConfiguration != null) {
             if (genieNetworkConfiguration.getConnectTimeout() != GenieNetworkConfiguration.DEFAULT_TIMEOUT) {
@@ -85,6 +160,34 @@ final class GenieClientUtils {
             }
 
             builder.retryOnConnectionFailure(genieNetworkConfiguration.isRetryOnConnectionFailure());
+
+            if (
+                genieNetworkConfiguration.getMaxIdleConnections()
+                    != GenieNetworkConfiguration.DEFAULT_MAX_IDLE_CONNECTIONS
+                    || genieNetworkConfiguration.getKeepAliveDuration()
+                    != GenieNetworkConfiguration.DEFAULT_KEEP_ALIVE_DURATION
+            ) {
+                builder.connectionPool(
+                    new ConnectionPool(
+                        genieNetworkConfiguration.getMaxIdleConnections(),
+                        genieNetworkConfiguration.getKeepAliveDuration(),
+                        TimeUnit.MILLISECONDS
+                    )
+                );
+            }
+
+            if (
+                genieNetworkConfiguration.getMaxRequests() != GenieNetworkConfiguration.DEFAULT_MAX_REQUESTS
+                    || genieNetworkConfiguration.getMaxRequestsPerHost()
+                    != GenieNetworkConfiguration.DEFAULT_MAX_REQUESTS_PER_HOST
+            ) {
+                builder.dispatcher(
+                    createDispatcher(
+                        genieNetworkConfiguration.getMaxRequests(),
+                        genieNetworkConfiguration.getMaxRequestsPerHost()
+                    )
+                );
+            }
         }
 
         // Add the interceptor to map the retrofit response code to corresponding Genie Exceptions in case of
@@ -94,12 +197,58 @@ final class GenieClientUtils {
             interceptors.forEach(builder::addInterceptor);
         }
 
-        return new Retrofit
-            .Builder()
-            .baseUrl(url)
-            .addConverterFactory(JacksonConverterFactory.create(GenieObjectMapper.getMapper()))
-            .client(builder.build())
-            .build();
+        return builder.build();
+    }
+
+    /**
+     * Execute the call asynchronously on the dispatcher of the HTTP client rather than on the calling thread.
+     * Cancelling the returned future cancels the call. Dependent stages run on the dispatcher threads unless an
+     * executor is given, so they shouldn't block.
+     *
+     * @param call The call to execute
+     * @param <T>  The type of the response body
+     * @return A future completed with the response, or exceptionally with a {@link GenieClientException} if the
+     * response received is not 2xx or an {@link IOException} for network and other IO issues
+     */
+    static <T> CompletableFuture<Response<T>> executeAsync(final Call<T> call) {
+        final CompletableFuture<Response<T>> future = new CompletableFuture<>();
+        future.whenComplete(
+            (response, throwable) -> {
+                if (future.isCancelled()) {
+                    call.cancel();
+                }
+            }
+        );
+        call.enqueue(
+            new Callback<T>() {
+                @Override
+                public void onResponse(final Call<T> c, final Response<T> response) {
+                    future.complete(response);
+                }
+
+                @Override
+                public void onFailure(final Call<T> c, final Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            }
+        );
+        return future;
+    }
+
+    /**
+     * Get a future completed once the given delay has elapsed, without holding a thread in the meantime. Dependent
+     * stages run on a single shared thread unless an executor is given, so they shouldn't block.
+     *
+     * @param delay The delay in milliseconds
+     * @return A future completed after the delay
+     */
+    static CompletableFuture<Void> delay(final long delay) {
+        if (delay <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        DELAY_SCHEDULER.schedule(() -> future.complete(null), delay, TimeUnit.MILLISECONDS);
+        return future;
     }
 
     /**
@@ -124,4 +273,27 @@ final class GenieClientUtils {
     static String getIdFromLocation(final String location) {
         return location.substring(location.lastIndexOf(SLASH) + 1);
     }
+
+    /**
+     * Helper method to parse the id of a created entity out of the location header of a response, for use in
+     * asynchronous stages.
+     *
+     * @param response The response to a create request
+     * @return The id of the entity created
+     * @throws CompletionException wrapping a {@link GenieClientException} if there is no location header
+     */
+    static String getIdFromLocationHeader(final Response<?> response) {
+        final String locationHeader = response.headers().get(LOCATION_HEADER);
+        if (StringUtils.isBlank(locationHeader)) {
+            throw new CompletionException(new GenieClientException("No location header. Unable to get ID"));
+        }
+        return getIdFromLocation(locationHeader);
+    }
+
+    private static Dispatcher createDispatcher(final int maxRequests, final int maxRequestsPerHost) {
+        final Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxRequests);
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+        return dispatcher;
+    }
 }
@@ -31,14 +31,17 @@ import com.netflix.genie.common.dto.JobMetadata;
 import com.netflix.genie.common.dto.JobRequest;
 import com.netflix.genie.common.dto.JobStatus;
 import com.netflix.genie.common.dto.search.JobSearchResult;
+import com.netflix.genie.common.dto.search.JobStatusSearchResult;
 import com.netflix.genie.common.exceptions.GeniePreconditionException;
 import com.netflix.genie.common.exceptions.GenieTimeoutException;
 import okhttp3.Interceptor;
 import okhttp3.MediaType;
 import okhttp3.MultipartBody;
+import okhttp3.OkHttpClient;
 import okhttp3.RequestBody;
 import okio.BufferedSink;
 import org.apache.commons.lang3.StringUtils;
+import retrofit2.Response;
 import retrofit2.Retrofit;
 
 import javax.annotation.Nullable;
@@ -50,6 +53,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 
 /**
  * Client library for the Job Service.
@@ -62,9 +68,16 @@ public class JobClient {
     private static final String STATUS = "status";
     private static final String ATTACHMENT = "attachment";
     private static final String APPLICATION_OCTET_STREAM = "application/octet-stream";
+    private static final long MAX_STATUS_WAIT = 60_000L;
+    private static final long DEFAULT_STATUS_WAIT = 5_000L;
+    // How often to poll servers which answer right away rather than waiting for the status to change
+    private static final long STATUS_POLL_INTERVAL = 5_000L;
+    private static final long INITIAL_RETRY_BACKOFF = 500L;
+    private static final long MAX_RETRY_BACKOFF = 10_000L;
 
     private final JobService jobService;
     private final int maxStatusRetries;
+    private final long maxStatusWait;
 
     /**
      * Constructor.
@@ -75,6 +88,7 @@ public class JobClient {
     public JobClient(@NotNull final Retrofit retrofit, final int maxStatusRetries) {
         this.jobService = retrofit.create(JobService.class);
         this.maxStatusRetries = maxStatusRetries;
+        this.maxStatusWait = getMaxStatusWait(retrofit);
     }
 
     /**
@@ -126,6 +140,23 @@ public class JobClient {
         return GenieClientUtils.getIdFromLocation(locationHeader);
     }
 
+    /**
+     * Submit a job to genie using the jobRequest provided without blocking the calling thread.
+     *
+     * @param jobRequest A job request containing all the details for running a job.
+     * @return A future completed with the id of the job submitted, or exceptionally with a
+     * {@link GenieClientException} if the response received is not 2xx or an {@link IOException} for network and
+     * other IO issues.
+     */
+    public CompletableFuture<String> submitJobAsync(final JobRequest jobRequest) {
+        if (jobRequest == null) {
+            throw new IllegalArgumentException("Job Request cannot be null.");
+        }
+        return GenieClientUtils
+            .executeAsync(this.jobService.submitJob(jobRequest))
+            .thenApply(GenieClientUtils::getIdFromLocationHeader);
+    }
+
     /**
      * Submit a job to genie using the jobRequest and attachments provided.
      *
@@ -361,6 +392,20 @@ public class JobClient {
         return jobService.getJob(jobId).execute().body();
     }
 
+    /**
+     * Method to get a job from Genie without blocking the calling thread.
+     *
+     * @param jobId The id of the job to get.
+     * @return A future completed with the job details, or exceptionally with a {@link GenieClientException} if the
+     * response received is not 2xx or an {@link IOException} for network and other IO issues.
+     */
+    public CompletableFuture<Job> getJobAsync(final String jobId) {
+        if (StringUtils.isEmpty(jobId)) {
+            throw new IllegalArgumentException("Missing required parameter: jobId.");
+        }
+        return GenieClientUtils.executeAsync(this.jobService.getJob(jobId)).thenApply(Response::body);
+    }
+
     /**
      * Method to get the cluster on which the job executes.
      *
@@ -512,12 +557,110 @@ public class JobClient {
         if (StringUtils.isEmpty(jobId)) {
             throw new IllegalArgumentException("Missing required parameter: jobId.");
         }
-        final JsonNode jsonNode = jobService.getJobStatus(jobId).execute().body();
-        try {
-            return JobStatus.parse(jsonNode.get(STATUS).asText());
-        } catch (GeniePreconditionException ge) {
-            throw new GenieClientException(ge.getMessage());
+        return this.parseStatus(jobService.getJobStatus(jobId).execute().body());
+    }
+
+    /**
+     * Method to fetch the status of a job without blocking the calling thread.
+     *
+     * @param jobId The id of the job.
+     * @return A future completed with the status of the job, or exceptionally with a {@link GenieClientException} if
+     * the response received is not 2xx or an {@link IOException} for network and other IO issues.
+     */
+    public CompletableFuture<JobStatus> getJobStatusAsync(final String jobId) {
+        if (StringUtils.isEmpty(jobId)) {
+            throw new IllegalArgumentException("Missing required parameter: jobId.");
         }
+        return GenieClientUtils
+            .executeAsync(this.jobService.getJobStatus(jobId))
+            .thenApply(response -> this.parseStatusUnchecked(response.body()));
+    }
+
+    /**
+     * Method to fetch the status, timestamps and exit code of many jobs in a single request.
+     *
+     * @param jobIds The ids of the jobs. At most 10,000 per call.
+     * @return The statuses of the jobs found. Ids which don't match any job are left out.
+     * @throws GenieClientException If the response recieved is not 2xx.
+     * @throws IOException          For Network and other IO issues.
+     */
+    public List<JobStatusSearchResult> getJobStatuses(
+        final Set<String> jobIds
+    ) throws IOException, GenieClientException {
+        if (jobIds == null || jobIds.isEmpty()) {
+            throw new IllegalArgumentException("Missing required parameter: jobIds.");
+        }
+        return jobService.getJobStatuses(jobIds).execute().body();
+    }
+
+    /**
+     * Method to fetch the status, timestamps and exit code of many jobs in a single request without blocking the
+     * calling thread.
+     *
+     * @param jobIds The ids of the jobs. At most 10,000 per call.
+     * @return A future completed with the statuses of the jobs found, or exceptionally with a
+     * {@link GenieClientException} if the response received is not 2xx or an {@link IOException} for network and
+     * other IO issues.
+     */
+    public CompletableFuture<List<JobStatusSearchResult>> getJobStatusesAsync(final Set<String> jobIds) {
+        if (jobIds == null || jobIds.isEmpty()) {
+            throw new IllegalArgumentException("Missing required parameter: jobIds.");
+        }
+        return GenieClientUtils.executeAsync(this.jobService.getJobStatuses(jobIds)).thenApply(Response::body);
+    }
+
+    /**
+     * Method to wait for the status of a job to change. The server answers as soon as the status of the job differs
+     * from the given one, or with the unchanged status once the given time elapsed.
+     *
+     * @param jobId         The id of the job.
+     * @param currentStatus The status of the job last seen.
+     * @param waitTime      The maximum time to wait for a change (in ms). The server may wait less.
+     * @return The status of the job, which is the current status if it didn't change in time.
+     * @throws GenieClientException If the response recieved is not 2xx.
+     * @throws IOException          For Network and other IO issues.
+     */
+    public JobStatus waitForStatusChange(
+        final String jobId,
+        final JobStatus currentStatus,
+        final long waitTime
+    ) throws IOException, GenieClientException {
+        if (StringUtils.isEmpty(jobId)) {
+            throw new IllegalArgumentException("Missing required parameter: jobId.");
+        }
+        if (currentStatus == null) {
+            throw new IllegalArgumentException("Missing required parameter: currentStatus.");
+        }
+        return this.parseStatus(
+            jobService.waitForJobStatusChange(jobId, currentStatus.toString(), waitTime).execute().body()
+        );
+    }
+
+    /**
+     * Method to wait for the status of a job to change without blocking the calling thread. No thread is held while
+     * the server waits for a change.
+     *
+     * @param jobId         The id of the job.
+     * @param currentStatus The status of the job last seen.
+     * @param waitTime      The maximum time to wait for a change (in ms). The server may wait less.
+     * @return A future completed with the status of the job, which is the current status if it didn't change in time,
+     * or exceptionally with a {@link GenieClientException} if the response received is not 2xx or an
+     * {@link IOException} for network and other IO issues.
+     */
+    public CompletableFuture<JobStatus> waitForStatusChangeAsync(
+        final String jobId,
+        final JobStatus currentStatus,
+        final long waitTime
+    ) {
+        if (StringUtils.isEmpty(jobId)) {
+            throw new IllegalArgumentException("Missing required parameter: jobId.");
+        }
+        if (currentStatus == null) {
+            throw new IllegalArgumentException("Missing required parameter: currentStatus.");
+        }
+        return GenieClientUtils
+            .executeAsync(this.jobService.waitForJobStatusChange(jobId, currentStatus.toString(), waitTime))
+            .thenApply(response -> this.parseStatusUnchecked(response.body()));
     }
 
     /**
@@ -534,6 +677,21 @@ public class JobClient {
         jobService.killJob(jobId).execute();
     }
 
+    /**
+     * Method to send a kill job request to Genie without blocking the calling thread.
+     *
+     * @param jobId The id of the job.
+     * @return A future completed once the request was accepted, or exceptionally with a
+     * {@link GenieClientException} if the response received is not 2xx or an {@link IOException} for network and
+     * other IO issues.
+     */
+    public CompletableFuture<Void> killJobAsync(final String jobId) {
+        if (StringUtils.isEmpty(jobId)) {
+            throw new IllegalArgumentException("Missing required parameter: jobId.");
+        }
+        return GenieClientUtils.executeAsync(this.jobService.killJob(jobId)).thenApply(response -> null);
+    }
+
     /**
      * Wait for job to complete, until the given timeout.
      *
@@ -603,4 +761,174 @@ public class JobClient {
         final long pollTime = 10000L;
         return waitForCompletion(jobId, blockTimeout, pollTime);
     }
+
+    /**
+     * Wait for job to complete, until the given timeout. Rather than polling, the server is asked to answer as soon
+     * as the job status changes, so completion is noticed right away. Servers which don't support waiting for status
+     * changes answer right away, in which case the status is polled every few seconds instead. Failed requests are
+     * retried with an exponential backoff.
+     *
+     * @param jobId        the Genie job ID to wait for completion.
+     * @param blockTimeout the time to block for (in ms), after which a
+     *                     GenieTimeoutException will be thrown.
+     * @return The job status for the job after completion.
+     * @throws InterruptedException  on thread errors.
+     * @throws GenieClientException  If the response received is not 2xx.
+     * @throws IOException           For Network and other IO issues.
+     * @throws GenieTimeoutException If the job times out.
+     */
+    public JobStatus awaitCompletion(final String jobId, final long blockTimeout)
+        throws GenieClientException, InterruptedException, IOException, GenieTimeoutException {
+        if (StringUtils.isEmpty(jobId)) {
+            throw new IllegalArgumentException("Missing required parameter: jobId.");
+        }
+
+        final long deadline = System.currentTimeMillis() + blockTimeout;
+        int errorCount = 0;
+        JobStatus status = null;
+
+        while (true) {
+            final long requestTime = System.currentTimeMillis();
+            final long remaining = deadline - requestTime;
+            if (remaining <= 0) {
+                throw new GenieTimeoutException("Timed out waiting for job to finish");
+            }
+
+            final long wait = Math.min(remaining, this.maxStatusWait);
+            try {
+                final JobStatus newStatus = status == null
+                    ? this.getJobStatus(jobId)
+                    : this.waitForStatusChange(jobId, status, wait);
+
+                if (newStatus.isFinished()) {
+                    return newStatus;
+                }
+
+                // reset the error count
+                errorCount = 0;
+                final boolean unchanged = newStatus == status;
+                status = newStatus;
+                if (unchanged) {
+                    Thread.sleep(getPollDelay(requestTime, wait, deadline));
+                }
+            } catch (final IOException ioe) {
+                errorCount++;
+                if (errorCount >= this.maxStatusRetries) {
+                    throw ioe;
+                }
+                Thread.sleep(getRetryDelay(errorCount, deadline));
+            }
+        }
+    }
+
+    /**
+     * Wait for the job to complete without blocking the calling thread. Like {@link #awaitCompletion(String, long)}
+     * the status is long polled, so many jobs can be awaited concurrently with only a few threads.
+     *
+     * @param jobId        The id of the job.
+     * @param blockTimeout The time to wait for (in ms), after which the future fails with a GenieTimeoutException.
+     * @return A future completed with the job status for the job after completion, or exceptionally with a
+     * {@link GenieTimeoutException} if the job times out, a {@link GenieClientException} if the response received is
+     * not 2xx or an {@link IOException} for network and other IO issues.
+     */
+    public CompletableFuture<JobStatus> awaitCompletionAsync(final String jobId, final long blockTimeout) {
+        if (StringUtils.isEmpty(jobId)) {
+            throw new IllegalArgumentException("Missing required parameter: jobId.");
+        }
+        return this.awaitCompletionAsync(jobId, null, System.currentTimeMillis() + blockTimeout, 0);
+    }
+
+    private CompletableFuture<JobStatus> awaitCompletionAsync(
+        final String jobId,
+        @Nullable final JobStatus status,
+        final long deadline,
+        final int errorCount
+    ) {
+        if (status != null && status.isFinished()) {
+            return CompletableFuture.completedFuture(status);
+        }
+
+        final long remaining = deadline - System.currentTimeMillis();
+        if (remaining <= 0) {
+            final CompletableFuture<JobStatus> timedOut = new CompletableFuture<>();
+            timedOut.completeExceptionally(new GenieTimeoutException("Timed out waiting for job to finish"));
+            return timedOut;
+        }
+
+        final long requestTime = System.currentTimeMillis();
+        final long wait = Math.min(remaining, this.maxStatusWait);
+        final CompletableFuture<JobStatus> next = status == null
+            ? this.getJobStatusAsync(jobId)
+            : this.waitForStatusChangeAsync(jobId, status, wait);
+
+        return next
+            .handle(
+                (newStatus, throwable) -> {
+                    if (throwable == null) {
+                        // reset the error count
+                        if (newStatus == status && !newStatus.isFinished()) {
+                            return GenieClientUtils
+                                .delay(getPollDelay(requestTime, wait, deadline))
+                                .thenCompose(ignored -> this.awaitCompletionAsync(jobId, newStatus, deadline, 0));
+                        }
+                        return this.awaitCompletionAsync(jobId, newStatus, deadline, 0);
+                    }
+                    final Throwable cause = throwable instanceof CompletionException
+                        ? throwable.getCause()
+                        : throwable;
+                    if (cause instanceof IOException && errorCount + 1 < this.maxStatusRetries) {
+                        return GenieClientUtils
+                            .delay(getRetryDelay(errorCount + 1, deadline))
+                            .thenCompose(ignored -> this.awaitCompletionAsync(jobId, status, deadline, errorCount + 1));
+                    }
+                    final CompletableFuture<JobStatus> failed = new CompletableFuture<>();
+                    failed.completeExceptionally(cause);
+                    return failed;
+                }
+            )
+            .thenCompose(Function.identity());
+    }
+
+    /**
+     * Get how long to wait before asking again for a status change which the server answered without. Servers which
+     * support waiting only do so once the wait elapsed, older ones ignore it and answer right away.
+     */
+    private static long getPollDelay(final long requestTime, final long wait, final long deadline) {
+        final long now = System.currentTimeMillis();
+        final long unusedWait = wait - (now - requestTime);
+        if (unusedWait <= 0) {
+            return 0L;
+        }
+        return Math.max(0L, Math.min(Math.min(unusedWait, STATUS_POLL_INTERVAL), deadline - now));
+    }
+
+    private static long getRetryDelay(final int errorCount, final long deadline) {
+        final long backOff = Math.min(MAX_RETRY_BACKOFF, INITIAL_RETRY_BACKOFF << Math.min(errorCount - 1, 16));
+        return Math.max(0L, Math.min(backOff, deadline - System.currentTimeMillis()));
+    }
+
+    private static long getMaxStatusWait(final Retrofit retrofit) {
+        // Have the server answer well before the client would give up reading the response
+        if (retrofit.callFactory() instanceof OkHttpClient) {
+            final long readTimeout = ((OkHttpClient) retrofit.callFactory()).readTimeoutMillis();
+            return readTimeout == 0 ? MAX_STATUS_WAIT : Math.max(1L, Math.min(readTimeout / 2, MAX_STATUS_WAIT));
+        }
+        return DEFAULT_STATUS_WAIT;
+    }
+
+    private JobStatus parseStatus(final JsonNode jsonNode) throws GenieClientException {
+        try {
+            return JobStatus.parse(jsonNode.get(STATUS).asText());
+        } catch (GeniePreconditionException ge) {
+            throw new GenieClientException(ge.getMessage());
+        }
+    }
+
+    private JobStatus parseStatusUnchecked(final JsonNode jsonNode) {
+        try {
+            return this.parseStatus(jsonNode);
+        } catch (final GenieClientException gce) {
+            throw new CompletionException(gce);
+        }
+    }
 }
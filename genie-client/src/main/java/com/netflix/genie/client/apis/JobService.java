@@ -25,6 +25,7 @@ import com.netflix.genie.common.dto.Job;
 import com.netflix.genie.common.dto.JobExecution;
 import com.netflix.genie.common.dto.JobMetadata;
 import com.netflix.genie.common.dto.JobRequest;
+import com.netflix.genie.common.dto.search.JobStatusSearchResult;
 import okhttp3.MultipartBody;
 import okhttp3.ResponseBody;
 import retrofit2.Call;
@@ -153,6 +154,30 @@ public interface JobService {
     @GET(JOBS_URL_SUFFIX + "/{id}/status")
     Call<JsonNode> getJobStatus(@Path("id") String jobId);
 
+    /**
+     * Method to get the status of many jobs at once.
+     *
+     * @param jobIds The ids of the jobs whose statuses are desired.
+     * @return A callable object.
+     */
+    @POST(JOBS_URL_SUFFIX + "/statuses")
+    Call<List<JobStatusSearchResult>> getJobStatuses(@Body Set<String> jobIds);
+
+    /**
+     * Method to wait for the status of a job to change.
+     *
+     * @param jobId       The id of the job whose status is desired.
+     * @param changedFrom The status of the job last seen.
+     * @param timeout     The maximum time the server should wait for a change, in milliseconds.
+     * @return A callable object.
+     */
+    @GET(JOBS_URL_SUFFIX + "/{id}/status")
+    Call<JsonNode> waitForJobStatusChange(
+        @Path("id") String jobId,
+        @Query("changedFrom") String changedFrom,
+        @Query("timeout") long timeout
+    );
+
     /**
      * Method to get the cluster information on which a job is run.
      *
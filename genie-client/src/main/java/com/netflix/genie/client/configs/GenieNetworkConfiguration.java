@@ -40,6 +40,27 @@ public class GenieNetworkConfiguration {
      */
     public static final int DEFAULT_NUM_RETRIES = 5;
 
+    /**
+     * The default maximum number of idle connections kept in the shared connection pool.
+     */
+    public static final int DEFAULT_MAX_IDLE_CONNECTIONS = 20;
+
+    /**
+     * The default time (in ms) an idle connection is kept alive in the shared connection pool.
+     */
+    public static final long DEFAULT_KEEP_ALIVE_DURATION = 300_000L;
+
+    /**
+     * The default maximum number of requests executing concurrently.
+     */
+    public static final int DEFAULT_MAX_REQUESTS = 256;
+
+    /**
+     * The default maximum number of requests executing concurrently against a single host. Clients usually talk to a
+     * single Genie endpoint so this defaults to the overall limit.
+     */
+    public static final int DEFAULT_MAX_REQUESTS_PER_HOST = DEFAULT_MAX_REQUESTS;
+
     // The default read timeout for new connections.
     private long readTimeout = DEFAULT_TIMEOUT;
 
@@ -54,4 +75,16 @@ public class GenieNetworkConfiguration {
 
     // The number of times to retry checks for job status within wait for completion
     private int maxStatusRetries = DEFAULT_NUM_RETRIES;
+
+    // The maximum number of idle connections to keep. Clients with non default pool settings get their own pool.
+    private int maxIdleConnections = DEFAULT_MAX_IDLE_CONNECTIONS;
+
+    // The time in milliseconds to keep idle connections alive
+    private long keepAliveDuration = DEFAULT_KEEP_ALIVE_DURATION;
+
+    // The maximum number of concurrent requests. Clients with non default limits get their own dispatcher.
+    private int maxRequests = DEFAULT_MAX_REQUESTS;
+
+    // The maximum number of concurrent requests to a single host
+    private int maxRequestsPerHost = DEFAULT_MAX_REQUESTS_PER_HOST;
 }
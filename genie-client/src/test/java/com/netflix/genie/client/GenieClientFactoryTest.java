@@ -0,0 +1,51 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.client;
+
+import com.netflix.genie.client.configs.GenieNetworkConfiguration;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for the GenieClientFactory class.
+ *
+ * @author tgianos
+ * @since 4.0.0
+ */
+public class GenieClientFactoryTest {
+
+    /**
+     * Make sure all the clients are created on top of the same HTTP client.
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void canCreateClients() throws Exception {
+        final GenieNetworkConfiguration configuration = new GenieNetworkConfiguration();
+        configuration.setMaxRequestsPerHost(16);
+        final GenieClientFactory factory = new GenieClientFactory("http://localhost:8080", null, configuration);
+
+        Assert.assertThat(factory.getRetrofit().callFactory(), Matchers.sameInstance(factory.getHttpClient()));
+        Assert.assertThat(factory.getHttpClient().dispatcher().getMaxRequestsPerHost(), Matchers.is(16));
+        Assert.assertThat(factory.getApplicationClient(), Matchers.notNullValue());
+        Assert.assertThat(factory.getClusterClient(), Matchers.notNullValue());
+        Assert.assertThat(factory.getCommandClient(), Matchers.notNullValue());
+        Assert.assertThat(factory.getJobClient(), Matchers.notNullValue());
+    }
+}
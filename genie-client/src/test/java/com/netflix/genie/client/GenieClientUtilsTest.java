@@ -0,0 +1,195 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.client;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.Options;
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.netflix.genie.client.configs.GenieNetworkConfiguration;
+import com.netflix.genie.client.exceptions.GenieClientException;
+import com.netflix.genie.common.dto.JobRequest;
+import com.netflix.genie.common.dto.JobStatus;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import retrofit2.Retrofit;
+
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for the GenieClientUtils class.
+ *
+ * @author tgianos
+ * @since 4.0.0
+ */
+public class GenieClientUtilsTest {
+
+    /**
+     * Create a mock server.
+     */
+    @Rule
+    @SuppressFBWarnings("URF_UNREAD_PUBLIC_OR_PROTECTED_FIELD")
+    public WireMockRule wireMock = new WireMockRule(Options.DYNAMIC_PORT);
+
+    /**
+     * Make sure clients created with default settings share their connection pool and dispatcher.
+     */
+    @Test
+    public void canShareConnectionPoolAndDispatcher() {
+        final GenieNetworkConfiguration configuration = new GenieNetworkConfiguration();
+        configuration.setReadTimeout(20_000L);
+
+        final OkHttpClient client1 = GenieClientUtils.createHttpClient(null, null);
+        final OkHttpClient client2 = GenieClientUtils.createHttpClient(null, configuration);
+
+        Assert.assertThat(client1.connectionPool(), Matchers.sameInstance(client2.connectionPool()));
+        Assert.assertThat(client1.dispatcher(), Matchers.sameInstance(client2.dispatcher()));
+        Assert.assertThat(client2.readTimeoutMillis(), Matchers.is(20_000));
+        Assert.assertThat(
+            client1.dispatcher().getMaxRequests(),
+            Matchers.is(GenieNetworkConfiguration.DEFAULT_MAX_REQUESTS)
+        );
+        Assert.assertThat(
+            client1.dispatcher().getMaxRequestsPerHost(),
+            Matchers.is(GenieNetworkConfiguration.DEFAULT_MAX_REQUESTS_PER_HOST)
+        );
+        Assert.assertThat(client1.protocols(), Matchers.contains(Protocol.HTTP_2, Protocol.HTTP_1_1));
+    }
+
+    /**
+     * Make sure clients configured with their own pool or concurrency settings don't change the shared ones.
+     */
+    @Test
+    public void canCreateDedicatedConnectionPoolAndDispatcher() {
+        final GenieNetworkConfiguration configuration = new GenieNetworkConfiguration();
+        configuration.setMaxIdleConnections(2);
+        configuration.setKeepAliveDuration(TimeUnit.MINUTES.toMillis(1));
+        configuration.setMaxRequests(10);
+        configuration.setMaxRequestsPerHost(3);
+
+        final OkHttpClient sharedClient = GenieClientUtils.createHttpClient(null, null);
+        final OkHttpClient client = GenieClientUtils.createHttpClient(null, configuration);
+
+        Assert.assertThat(client.connectionPool(), Matchers.not(Matchers.sameInstance(sharedClient.connectionPool())));
+        Assert.assertThat(client.dispatcher(), Matchers.not(Matchers.sameInstance(sharedClient.dispatcher())));
+        Assert.assertThat(client.dispatcher().getMaxRequests(), Matchers.is(10));
+        Assert.assertThat(client.dispatcher().getMaxRequestsPerHost(), Matchers.is(3));
+        Assert.assertThat(
+            sharedClient.dispatcher().getMaxRequests(),
+            Matchers.is(GenieNetworkConfiguration.DEFAULT_MAX_REQUESTS)
+        );
+    }
+
+    /**
+     * Make sure calls can be executed asynchronously.
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void canExecuteAsync() throws Exception {
+        final String jobId = UUID.randomUUID().toString();
+        WireMock
+            .stubFor(
+                WireMock
+                    .get(WireMock.urlEqualTo("/api/v3/jobs/" + jobId + "/status"))
+                    .willReturn(
+                        WireMock
+                            .aResponse()
+                            .withStatus(HttpStatus.OK.value())
+                            .withHeader("Content-Type", "application/json")
+                            .withBody("{\"status\":\"RUNNING\"}")
+                    )
+            );
+        WireMock
+            .stubFor(
+                WireMock
+                    .post(WireMock.urlEqualTo("/api/v3/jobs"))
+                    .willReturn(
+                        WireMock
+                            .aResponse()
+                            .withStatus(HttpStatus.ACCEPTED.value())
+                            .withHeader(GenieClientUtils.LOCATION_HEADER, "http://genie/api/v3/jobs/" + jobId)
+                    )
+            );
+
+        final JobClient jobClient = new JobClient(this.createRetrofit(), GenieNetworkConfiguration.DEFAULT_NUM_RETRIES);
+
+        Assert.assertThat(jobClient.getJobStatusAsync(jobId).get(), Matchers.is(JobStatus.RUNNING));
+        Assert.assertThat(
+            jobClient
+                .submitJobAsync(
+                    new JobRequest.Builder(
+                        UUID.randomUUID().toString(),
+                        UUID.randomUUID().toString(),
+                        UUID.randomUUID().toString(),
+                        Lists.newArrayList(),
+                        Sets.newHashSet(UUID.randomUUID().toString())
+                    ).build()
+                )
+                .get(),
+            Matchers.is(jobId)
+        );
+    }
+
+    /**
+     * Make sure errors are mapped when calls are executed asynchronously.
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void canExecuteAsyncWithError() throws Exception {
+        final String jobId = UUID.randomUUID().toString();
+        WireMock
+            .stubFor(
+                WireMock
+                    .get(WireMock.urlEqualTo("/api/v3/jobs/" + jobId))
+                    .willReturn(
+                        WireMock
+                            .aResponse()
+                            .withStatus(HttpStatus.NOT_FOUND.value())
+                            .withBody((String) null)
+                    )
+            );
+
+        final JobClient jobClient = new JobClient(this.createRetrofit(), GenieNetworkConfiguration.DEFAULT_NUM_RETRIES);
+
+        try {
+            jobClient.getJobAsync(jobId).get();
+            Assert.fail();
+        } catch (final ExecutionException ee) {
+            Assert.assertThat(ee.getCause(), Matchers.instanceOf(GenieClientException.class));
+            Assert.assertThat(
+                ((GenieClientException) ee.getCause()).getErrorCode(),
+                Matchers.is(HttpStatus.NOT_FOUND.value())
+            );
+        }
+    }
+
+    private Retrofit createRetrofit() throws GenieClientException {
+        return GenieClientUtils.createRetrofitInstance("http://localhost:" + this.wireMock.port(), null, null);
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.client;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.Options;
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import com.netflix.genie.client.exceptions.GenieClientException;
+import com.netflix.genie.common.dto.JobStatus;
+import com.netflix.genie.common.exceptions.GenieTimeoutException;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Unit tests for waiting on job completion with the JobClient class.
+ *
+ * @author tgianos
+ * @since 4.0.0
+ */
+public class JobClientTest {
+
+    /**
+     * Create a mock server.
+     */
+    @Rule
+    @SuppressFBWarnings("URF_UNREAD_PUBLIC_OR_PROTECTED_FIELD")
+    public WireMockRule wireMock = new WireMockRule(Options.DYNAMIC_PORT);
+
+    private String jobId;
+    private JobClient jobClient;
+
+    /**
+     * Setup for the tests.
+     *
+     * @throws GenieClientException on error
+     */
+    @Before
+    public void setup() throws GenieClientException {
+        this.jobId = UUID.randomUUID().toString();
+        this.jobClient = new JobClient(
+            GenieClientUtils.createRetrofitInstance("http://localhost:" + this.wireMock.port(), null, null),
+            3
+        );
+    }
+
+    /**
+     * Make sure a server which ignores the request to wait for a status change isn't asked again right away.
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void awaitCompletionDoesNotSpinOnServersWhichDontWait() throws Exception {
+        this.stubStatus(HttpStatus.OK, "{\"status\":\"RUNNING\"}");
+
+        try {
+            this.jobClient.awaitCompletion(this.jobId, 2_000L);
+            Assert.fail();
+        } catch (final GenieTimeoutException e) {
+            Assert.assertThat(this.countStatusRequests(), Matchers.lessThanOrEqualTo(3));
+        }
+    }
+
+    /**
+     * Make sure a server which ignores the request to wait for a status change isn't asked again right away when
+     * waiting asynchronously.
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void awaitCompletionAsyncDoesNotSpinOnServersWhichDontWait() throws Exception {
+        this.stubStatus(HttpStatus.OK, "{\"status\":\"RUNNING\"}");
+
+        try {
+            this.jobClient.awaitCompletionAsync(this.jobId, 2_000L).get();
+            Assert.fail();
+        } catch (final ExecutionException e) {
+            Assert.assertThat(e.getCause(), Matchers.instanceOf(GenieTimeoutException.class));
+            Assert.assertThat(this.countStatusRequests(), Matchers.lessThanOrEqualTo(3));
+        }
+    }
+
+    /**
+     * Make sure failed requests are retried with a back off.
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void awaitCompletionBacksOffBetweenRetries() throws Exception {
+        this.stubStatus(HttpStatus.SERVICE_UNAVAILABLE, "{}");
+
+        final long start = System.currentTimeMillis();
+        try {
+            this.jobClient.awaitCompletion(this.jobId, 60_000L);
+            Assert.fail();
+        } catch (final GenieClientException e) {
+            Assert.assertThat(System.currentTimeMillis() - start, Matchers.greaterThanOrEqualTo(1_500L));
+            Assert.assertThat(this.countStatusRequests(), Matchers.is(3));
+        }
+    }
+
+    /**
+     * Make sure failed requests are retried with a back off when waiting asynchronously.
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void awaitCompletionAsyncBacksOffBetweenRetries() throws Exception {
+        this.stubStatus(HttpStatus.SERVICE_UNAVAILABLE, "{}");
+
+        final long start = System.currentTimeMillis();
+        try {
+            this.jobClient.awaitCompletionAsync(this.jobId, 60_000L).get();
+            Assert.fail();
+        } catch (final ExecutionException e) {
+            Assert.assertThat(e.getCause(), Matchers.instanceOf(GenieClientException.class));
+            Assert.assertThat(System.currentTimeMillis() - start, Matchers.greaterThanOrEqualTo(1_500L));
+            Assert.assertThat(this.countStatusRequests(), Matchers.is(3));
+        }
+    }
+
+    /**
+     * Make sure completion is returned once the job finishes.
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void canAwaitCompletion() throws Exception {
+        this.stubStatus(HttpStatus.OK, "{\"status\":\"SUCCEEDED\"}");
+
+        Assert.assertThat(this.jobClient.awaitCompletion(this.jobId, 2_000L), Matchers.is(JobStatus.SUCCEEDED));
+        Assert.assertThat(
+            this.jobClient.awaitCompletionAsync(this.jobId, 2_000L).get(),
+            Matchers.is(JobStatus.SUCCEEDED)
+        );
+    }
+
+    private void stubStatus(final HttpStatus status, final String body) {
+        WireMock
+            .stubFor(
+                WireMock
+                    .get(WireMock.urlPathEqualTo("/api/v3/jobs/" + this.jobId + "/status"))
+                    .willReturn(
+                        WireMock
+                            .aResponse()
+                            .withStatus(status.value())
+                            .withHeader("Content-Type", "application/json")
+                            .withBody(body)
+                    )
+            );
+    }
+
+    private int countStatusRequests() {
+        return WireMock
+            .findAll(WireMock.getRequestedFor(WireMock.urlPathEqualTo("/api/v3/jobs/" + this.jobId + "/status")))
+            .size();
+    }
+}
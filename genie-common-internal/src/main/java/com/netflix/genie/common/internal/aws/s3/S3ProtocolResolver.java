@@ -20,7 +20,6 @@ package com.netflix.genie.common.internal.aws.s3;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3URI;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cloud.aws.core.io.s3.SimpleStorageResource;
 import org.springframework.core.io.ProtocolResolver;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
@@ -77,7 +76,7 @@ public class S3ProtocolResolver implements ProtocolResolver {
 
         // TODO: This implementation from Spring Cloud AWS always wraps the passed in client with a proxy that follows
         //       redirects. I'm not sure if we want that or not. Probably ok for now but maybe revisit later?
-        return new SimpleStorageResource(
+        return new S3Resource(
             client,
             s3URI.getBucket(),
             s3URI.getKey(),
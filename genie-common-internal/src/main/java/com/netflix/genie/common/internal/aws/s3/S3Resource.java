@@ -0,0 +1,90 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.common.internal.aws.s3;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.GetObjectMetadataRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.cloud.aws.core.io.s3.SimpleStorageResource;
+import org.springframework.core.task.TaskExecutor;
+
+import javax.annotation.Nullable;
+import java.util.Optional;
+
+/**
+ * A {@link SimpleStorageResource} which also exposes the entity tag (ETag) of the underlying S3 object, allowing
+ * consumers to identify identical content stored under different keys without downloading it.
+ *
+ * @author tgianos
+ * @since 4.0.0
+ */
+@Slf4j
+public class S3Resource extends SimpleStorageResource {
+
+    private final AmazonS3 client;
+    private final String bucketName;
+    private final String objectName;
+    private final String versionId;
+
+    /**
+     * Constructor.
+     *
+     * @param client       The S3 client to use
+     * @param bucketName   The name of the bucket
+     * @param objectName   The key of the object
+     * @param taskExecutor The task executor to use for uploads
+     * @param versionId    The version of the object, or null for the latest
+     */
+    public S3Resource(
+        final AmazonS3 client,
+        final String bucketName,
+        final String objectName,
+        final TaskExecutor taskExecutor,
+        @Nullable final String versionId
+    ) {
+        super(client, bucketName, objectName, taskExecutor, versionId);
+        this.client = client;
+        this.bucketName = bucketName;
+        this.objectName = objectName;
+        this.versionId = versionId;
+    }
+
+    /**
+     * Get the entity tag of the object.
+     * Note that the ETag of objects uploaded in multiple parts is not a checksum of the content, but it is still the
+     * same for identical objects uploaded in the same way.
+     *
+     * @return the ETag of the object, or empty if the object does not exist or the ETag could not be retrieved
+     */
+    public Optional<String> getETag() {
+        try {
+            final ObjectMetadata objectMetadata = this.client.getObjectMetadata(
+                new GetObjectMetadataRequest(this.bucketName, this.objectName, this.versionId)
+            );
+            if (objectMetadata == null || StringUtils.isBlank(objectMetadata.getETag())) {
+                return Optional.empty();
+            }
+            return Optional.of(objectMetadata.getETag());
+        } catch (final RuntimeException e) {
+            log.warn("Failed to retrieve ETag of s3://{}/{}", this.bucketName, this.objectName, e);
+            return Optional.empty();
+        }
+    }
+}
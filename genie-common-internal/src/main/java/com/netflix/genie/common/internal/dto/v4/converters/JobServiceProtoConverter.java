@@ -36,6 +36,8 @@ import com.netflix.genie.common.internal.dto.v4.JobSpecification;
 import com.netflix.genie.common.internal.exceptions.GenieConversionException;
 import com.netflix.genie.common.util.GenieObjectMapper;
 import com.netflix.genie.proto.AgentMetadata;
+import com.netflix.genie.proto.BootstrapJobRequest;
+import com.netflix.genie.proto.BootstrapJobResponse;
 import com.netflix.genie.proto.ChangeJobStatusRequest;
 import com.netflix.genie.proto.ClaimJobRequest;
 import com.netflix.genie.proto.DryRunJobSpecificationRequest;
@@ -322,6 +324,25 @@ public class JobServiceProtoConverter {
         return builder.build();
     }
 
+    /**
+     * Convert a V4 Job Request DTO into a gRPC bootstrap job request to be sent to the server. The server will
+     * reserve the id, resolve the specification and claim the job on behalf of the agent in one call.
+     *
+     * @param jobRequest          The job request to convert
+     * @param agentClientMetadata The metadata about the agent
+     * @return The request that should be sent to the server to bootstrap a new job given the parameters
+     * @throws GenieConversionException if conversion fails
+     */
+    public BootstrapJobRequest toProtoBootstrapJobRequest(
+        final AgentJobRequest jobRequest,
+        final AgentClientMetadata agentClientMetadata
+    ) throws GenieConversionException {
+        return BootstrapJobRequest
+            .newBuilder()
+            .setReservation(this.toProtoReserveJobIdRequest(jobRequest, agentClientMetadata))
+            .build();
+    }
+
     /**
      * Generate a {@link JobSpecificationRequest} from the given job id.
      *
@@ -412,6 +433,19 @@ public class JobServiceProtoConverter {
             .build();
     }
 
+    /**
+     * Build a {@link BootstrapJobResponse} out of the given {@link JobSpecification}.
+     *
+     * @param jobSpecification The job specification resolved for the newly bootstrapped job
+     * @return The response instance
+     */
+    public BootstrapJobResponse toProtoBootstrapJobResponse(final JobSpecification jobSpecification) {
+        return BootstrapJobResponse
+            .newBuilder()
+            .setSpecification(toProtoJobSpecification(jobSpecification))
+            .build();
+    }
+
     /**
      * Convert a response from server into a Job Specification DTO which can be used in the codebase free of gRPC.
      *
@@ -44,7 +44,9 @@ public interface JobArchiveService {
 
     /**
      * Backup the contents of the given directory to the target location. This will recursively backup ALL the files
-     * and sub-directories within the given directory to the target.
+     * and sub-directories within the given directory to the target. A manifest of the directory is archived to
+     * {@link #MANIFEST_DIRECTORY}/{@link #MANIFEST_NAME} only after all the other files, so its presence in the
+     * target means the archive is complete.
      *
      * @param directory {@link Path} to the directory to archive
      * @param targetURI target {@link URI} for the root archive location
@@ -94,6 +94,10 @@ public class FileSystemJobArchiverImpl implements JobArchiver {
         @Override
         public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) throws IOException {
             final Path newDirectory = this.target.resolve(this.source.relativize(dir));
+            if (Files.isDirectory(newDirectory)) {
+                // Copying over an existing non-empty directory fails. Merge into it instead.
+                return FileVisitResult.CONTINUE;
+            }
             try {
                 Files.copy(dir, newDirectory, COPY_OPTIONS);
             } catch (final IOException ioe) {
@@ -30,7 +30,9 @@ import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Default implementation of the {@link JobArchiveService}.
@@ -41,6 +43,8 @@ import java.util.List;
 @Slf4j
 public class JobArchiveServiceImpl implements JobArchiveService {
 
+    private static final String MANIFEST_STAGING_PREFIX = "genie-job-manifest-";
+
     private final ImmutableList<JobArchiver> jobArchivers;
 
     /**
@@ -59,30 +63,58 @@ public class JobArchiveServiceImpl implements JobArchiveService {
     public void archiveDirectory(final Path directory, final URI target) throws JobArchiveException {
         // TODO: This relies highly on convention. Might be nicer to better abstract with database
         //       record that points directly to where the manifest is or other solution?
+        final byte[] manifestBytes;
         try {
             final JobDirectoryManifest manifest = new JobDirectoryManifest(directory);
-            final Path manifestDirectoryPath = StringUtils.isBlank(JobArchiveService.MANIFEST_DIRECTORY)
-                ? directory
-                : directory.resolve(JobArchiveService.MANIFEST_DIRECTORY);
-            if (Files.notExists(manifestDirectoryPath)) {
-                Files.createDirectories(manifestDirectoryPath);
-            } else if (!Files.isDirectory(manifestDirectoryPath)) {
-                throw new JobArchiveException(
-                    manifestDirectoryPath + " is not a directory. Unable to create job manifest. Unable to archive"
-                );
-            }
-            final Path manifestPath = manifestDirectoryPath.resolve(JobArchiveService.MANIFEST_NAME);
-            Files.write(manifestPath, GenieObjectMapper.getMapper().writeValueAsBytes(manifest));
-            log.debug("Wrote job directory manifest to {}", manifestPath);
+            manifestBytes = GenieObjectMapper.getMapper().writeValueAsBytes(manifest);
         } catch (final IOException ioe) {
             throw new JobArchiveException("Unable to create job directory manifest. Unable to archive", ioe);
         }
 
-        // Attempt to archive the job directory, now including the manifest file, using available implementations
+        // Readers of the archive treat it as complete once the manifest exists. Stage the manifest outside the job
+        // directory so it can be archived on its own once all the other files have been
+        final Path stagingDirectory;
+        try {
+            stagingDirectory = Files.createTempDirectory(MANIFEST_STAGING_PREFIX);
+        } catch (final IOException ioe) {
+            throw new JobArchiveException("Unable to create staging directory for the job manifest", ioe);
+        }
+
+        try {
+            final Path stagedManifestPath = this.writeManifest(stagingDirectory, manifestBytes);
+            log.debug("Staged job directory manifest at {}", stagedManifestPath);
+
+            this.archiveDirectoryThenManifest(directory, stagingDirectory, target);
+        } catch (final IOException ioe) {
+            throw new JobArchiveException("Unable to stage job directory manifest. Unable to archive", ioe);
+        } finally {
+            this.deleteStagingDirectory(stagingDirectory);
+        }
+
+        // Keep a copy of the manifest within the job directory as well
+        try {
+            final Path manifestPath = this.writeManifest(directory, manifestBytes);
+            log.debug("Wrote job directory manifest to {}", manifestPath);
+        } catch (final IOException ioe) {
+            throw new JobArchiveException("Unable to write job directory manifest into " + directory, ioe);
+        }
+    }
+
+    private void archiveDirectoryThenManifest(
+        final Path directory,
+        final Path manifestDirectory,
+        final URI target
+    ) throws JobArchiveException {
+        // Attempt to archive the job directory and then the manifest using available implementations
         final String uriString = target.toString();
         for (final JobArchiver archiver : this.jobArchivers) {
             // TODO: Perhaps we should pass the manifest down to the archive implementations if they want to use it?
             if (archiver.archiveDirectory(directory, target)) {
+                if (!archiver.archiveDirectory(manifestDirectory, target)) {
+                    throw new JobArchiveException(
+                        "Unable to archive the manifest of job directory " + directory + " to " + uriString
+                    );
+                }
                 log.debug(
                     "Successfully archived job directory {} to {} using {}",
                     directory.toString(),
@@ -100,4 +132,38 @@ public class JobArchiveServiceImpl implements JobArchiveService {
             uriString
         );
     }
+
+    private Path writeManifest(final Path root, final byte[] manifestBytes) throws IOException, JobArchiveException {
+        final Path manifestDirectoryPath = StringUtils.isBlank(JobArchiveService.MANIFEST_DIRECTORY)
+            ? root
+            : root.resolve(JobArchiveService.MANIFEST_DIRECTORY);
+        if (Files.notExists(manifestDirectoryPath)) {
+            Files.createDirectories(manifestDirectoryPath);
+        } else if (!Files.isDirectory(manifestDirectoryPath)) {
+            throw new JobArchiveException(
+                manifestDirectoryPath + " is not a directory. Unable to create job manifest. Unable to archive"
+            );
+        }
+        final Path manifestPath = manifestDirectoryPath.resolve(JobArchiveService.MANIFEST_NAME);
+        Files.write(manifestPath, manifestBytes);
+        return manifestPath;
+    }
+
+    private void deleteStagingDirectory(final Path stagingDirectory) {
+        try (Stream<Path> paths = Files.walk(stagingDirectory)) {
+            paths
+                .sorted(Comparator.reverseOrder())
+                .forEach(
+                    path -> {
+                        try {
+                            Files.delete(path);
+                        } catch (final IOException ioe) {
+                            log.warn("Unable to delete {}", path, ioe);
+                        }
+                    }
+                );
+        } catch (final IOException ioe) {
+            log.warn("Unable to delete job manifest staging directory {}", stagingDirectory, ioe);
+        }
+    }
 }
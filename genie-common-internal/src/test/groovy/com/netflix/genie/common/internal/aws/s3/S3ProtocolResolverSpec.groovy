@@ -19,7 +19,6 @@ package com.netflix.genie.common.internal.aws.s3
 
 import com.amazonaws.services.s3.AmazonS3
 import com.amazonaws.services.s3.AmazonS3URI
-import org.springframework.cloud.aws.core.io.s3.SimpleStorageResource
 import org.springframework.core.io.ResourceLoader
 import org.springframework.core.task.TaskExecutor
 import spock.lang.Shared
@@ -34,7 +33,7 @@ import spock.lang.Unroll
 class S3ProtocolResolverSpec extends Specification {
 
     @Shared
-    def successClosure = { result -> result != null && result instanceof SimpleStorageResource }
+    def successClosure = { result -> result != null && result instanceof S3Resource }
 
     @Shared
     def failedClosure = { result -> result == null }
@@ -0,0 +1,74 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.common.internal.aws.s3
+
+import com.amazonaws.services.s3.AmazonS3
+import com.amazonaws.services.s3.model.GetObjectMetadataRequest
+import com.amazonaws.services.s3.model.ObjectMetadata
+import org.springframework.core.task.TaskExecutor
+import spock.lang.Specification
+
+/**
+ * Specifications for {@link S3Resource}.
+ *
+ * @author tgianos
+ */
+class S3ResourceSpec extends Specification {
+
+    AmazonS3 client
+    S3Resource resource
+
+    def setup() {
+        this.client = Mock(AmazonS3)
+        this.resource = new S3Resource(this.client, "aBucket", "key/path/file.tar.gz", Mock(TaskExecutor), "v1")
+    }
+
+    def "Can get ETag"() {
+        def metadata = Mock(ObjectMetadata)
+
+        when:
+        def eTag = this.resource.getETag()
+
+        then:
+        1 * this.client.getObjectMetadata(
+            {
+                it.getBucketName() == "aBucket" && it.getKey() == "key/path/file.tar.gz" && it.getVersionId() == "v1"
+            } as GetObjectMetadataRequest
+        ) >> metadata
+        1 * metadata.getETag() >> "d41d8cd98f00b204e9800998ecf8427e"
+        eTag == Optional.of("d41d8cd98f00b204e9800998ecf8427e")
+    }
+
+    def "ETag is empty if metadata can't be retrieved"() {
+        when:
+        def eTag = this.resource.getETag()
+
+        then:
+        1 * this.client.getObjectMetadata(_ as GetObjectMetadataRequest) >> {
+            throw new RuntimeException("Not found")
+        }
+        !eTag.isPresent()
+
+        when:
+        eTag = this.resource.getETag()
+
+        then:
+        1 * this.client.getObjectMetadata(_ as GetObjectMetadataRequest) >> null
+        !eTag.isPresent()
+    }
+}
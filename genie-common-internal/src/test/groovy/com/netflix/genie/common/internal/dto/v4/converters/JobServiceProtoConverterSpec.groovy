@@ -335,6 +335,36 @@ class JobServiceProtoConverterSpec extends Specification {
         jobSpecification3 == jobSpecification
     }
 
+    def "Can convert JobRequest to BootstrapJobRequest and vice versa"() {
+        def jobRequest = createJobRequest(id, requestedArchiveLocationPrefix)
+        def agentClientMetadata = createAgentClientMetadata()
+
+        when:
+        def bootstrapJobRequest = converter.toProtoBootstrapJobRequest(jobRequest, agentClientMetadata)
+        def jobRequest1 = converter.toJobRequestDTO(bootstrapJobRequest.getReservation())
+        def agentClientMetadata1 = converter.toAgentClientMetadataDTO(
+            bootstrapJobRequest.getReservation().getAgentMetadata()
+        )
+
+        then:
+        bootstrapJobRequest.hasReservation()
+        jobRequest1 == jobRequest
+        agentClientMetadata1 == agentClientMetadata
+    }
+
+    def "Can convert JobSpecification to BootstrapJobResponse and vice versa"() {
+        def jobSpecification = createJobSpecification()
+
+        when:
+        def bootstrapJobResponse = converter.toProtoBootstrapJobResponse(jobSpecification)
+        def jobSpecification1 = converter.toJobSpecificationDTO(bootstrapJobResponse.getSpecification())
+
+        then:
+        bootstrapJobResponse.hasSpecification()
+        !bootstrapJobResponse.hasError()
+        jobSpecification1 == jobSpecification
+    }
+
     def "Can convert id and AgentMetadata to ClaimJobRequest"() {
         def agentClientMetadata = createAgentClientMetadata()
 
@@ -80,6 +80,25 @@ class FileSystemJobArchiverImplSpec extends Specification {
         result
     }
 
+    def "Can archive job directory into a target which already has content"() {
+        def archiver = new FileSystemJobArchiverImpl()
+        def manifestDirectory = temporaryFolder.newFolder().toPath()
+        def manifest = Files.createDirectory(manifestDirectory.resolve("genie")).resolve("manifest.json")
+        Files.write(manifest, UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8))
+
+        when: "We archive the source and then another directory to the same target"
+        archiver.archiveDirectory(this.source, this.target.toUri())
+        archiver.archiveDirectory(manifestDirectory, this.target.toUri())
+        def sourceVisitor = new DirectoryComparator(this.source, this.target)
+        Files.walkFileTree(this.source, sourceVisitor)
+        def manifestVisitor = new DirectoryComparator(manifestDirectory, this.target)
+        Files.walkFileTree(manifestDirectory, manifestVisitor)
+
+        then: "The target contains both"
+        sourceVisitor.isSame()
+        manifestVisitor.isSame()
+    }
+
     private static class DirectoryComparator extends SimpleFileVisitor<Path> {
         private final Path source
         private final Path target
@@ -71,4 +71,38 @@ class JobArchiveServiceImplSpec extends Specification {
         manifest.getNumDirectories() == 2
         manifest.getNumFiles() == 1
     }
+
+    def "The manifest is archived on its own after the rest of the job directory"() {
+        def archivedDirectories = []
+        def archivedManifests = []
+        def jobDirectory = this.temporaryFolder.newFolder().toPath()
+        def manifestPath = { Path root ->
+            StringUtils.isBlank(JobArchiveService.MANIFEST_DIRECTORY)
+                ? root.resolve(JobArchiveService.MANIFEST_NAME)
+                : root.resolve(JobArchiveService.MANIFEST_DIRECTORY).resolve(JobArchiveService.MANIFEST_NAME)
+        }
+        def archiver = new JobArchiver() {
+            @Override
+            boolean archiveDirectory(final Path directory, final URI target) throws JobArchiveException {
+                archivedDirectories.add(directory)
+                archivedManifests.add(Files.exists(manifestPath(directory)))
+                return true
+            }
+        }
+        def service = new JobArchiveServiceImpl([archiver])
+        Files.write(jobDirectory.resolve("stdout"), UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8))
+        def target = this.temporaryFolder.newFolder().toURI()
+
+        when:
+        service.archiveDirectory(jobDirectory, target)
+
+        then:
+        archivedDirectories.size() == 2
+        archivedDirectories.get(0) == jobDirectory
+        !archivedManifests.get(0)
+        archivedDirectories.get(1) != jobDirectory
+        archivedManifests.get(1)
+        Files.notExists(archivedDirectories.get(1))
+        Files.exists(manifestPath(jobDirectory))
+    }
 }
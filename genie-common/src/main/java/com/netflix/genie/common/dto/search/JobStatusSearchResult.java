@@ -0,0 +1,124 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.common.dto.search;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.netflix.genie.common.dto.JobStatus;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * The status of a job along with its timestamps and exit code, as returned when looking up many jobs at once.
+ *
+ * @author tgianos
+ * @since 4.0.0
+ */
+@Getter
+@EqualsAndHashCode(callSuper = true)
+public class JobStatusSearchResult extends BaseSearchResult {
+
+    private static final long serialVersionUID = 6395245384364208537L;
+
+    private final JobStatus status;
+    private final String statusMsg;
+    private final Instant created;
+    private final Instant updated;
+    private final Instant started;
+    private final Instant finished;
+    private final Integer exitCode;
+
+    /**
+     * Constructor.
+     *
+     * @param id        The id of the job
+     * @param name      The name of the job
+     * @param user      The user of the job
+     * @param status    The current status of the job
+     * @param statusMsg The message associated with the current status of the job
+     * @param created   The time the job was created
+     * @param updated   The time the job was last updated
+     * @param started   The start time of the job
+     * @param finished  The finish time of the job
+     * @param exitCode  The exit code of the job process
+     */
+    @JsonCreator
+    public JobStatusSearchResult(
+        @JsonProperty("id") @NotBlank final String id,
+        @JsonProperty("name") @NotBlank final String name,
+        @JsonProperty("user") @NotBlank final String user,
+        @JsonProperty("status") @NotNull final JobStatus status,
+        @JsonProperty("statusMsg") @Nullable final String statusMsg,
+        @JsonProperty("created") @NotNull final Instant created,
+        @JsonProperty("updated") @NotNull final Instant updated,
+        @JsonProperty("started") @Nullable final Instant started,
+        @JsonProperty("finished") @Nullable final Instant finished,
+        @JsonProperty("exitCode") @Nullable final Integer exitCode
+    ) {
+        super(id, name, user);
+        this.status = status;
+        this.statusMsg = statusMsg;
+        this.created = created;
+        this.updated = updated;
+        this.started = started;
+        this.finished = finished;
+        this.exitCode = exitCode;
+    }
+
+    /**
+     * Get the message associated with the current status of the job.
+     *
+     * @return The status message or empty if there isn't one
+     */
+    public Optional<String> getStatusMsg() {
+        return Optional.ofNullable(this.statusMsg);
+    }
+
+    /**
+     * Get the time the job started.
+     *
+     * @return The started time or empty if not set
+     */
+    public Optional<Instant> getStarted() {
+        return Optional.ofNullable(this.started);
+    }
+
+    /**
+     * Get the time the job finished.
+     *
+     * @return The finished time or empty if not set
+     */
+    public Optional<Instant> getFinished() {
+        return Optional.ofNullable(this.finished);
+    }
+
+    /**
+     * Get the exit code of the job process.
+     *
+     * @return The exit code or empty if the job hasn't finished running
+     */
+    public Optional<Integer> getExitCode() {
+        return Optional.ofNullable(this.exitCode);
+    }
+}
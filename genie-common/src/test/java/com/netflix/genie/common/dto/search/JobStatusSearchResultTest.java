@@ -0,0 +1,108 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.common.dto.search;
+
+import com.netflix.genie.common.dto.JobStatus;
+import com.netflix.genie.common.util.GenieObjectMapper;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Tests for the JobStatusSearchResult DTO.
+ *
+ * @author tgianos
+ * @since 4.0.0
+ */
+public class JobStatusSearchResultTest {
+
+    /**
+     * Make sure constructor works.
+     */
+    @Test
+    public void canConstruct() {
+        final String id = UUID.randomUUID().toString();
+        final String name = UUID.randomUUID().toString();
+        final String user = UUID.randomUUID().toString();
+        final JobStatus status = JobStatus.FAILED;
+        final String statusMsg = UUID.randomUUID().toString();
+        final Instant created = Instant.now();
+        final Instant updated = Instant.now();
+        final Instant started = Instant.now();
+        final Instant finished = Instant.now();
+        final JobStatusSearchResult result = new JobStatusSearchResult(
+            id, name, user, status, statusMsg, created, updated, started, finished, 137
+        );
+
+        Assert.assertThat(result.getId(), Matchers.is(id));
+        Assert.assertThat(result.getName(), Matchers.is(name));
+        Assert.assertThat(result.getUser(), Matchers.is(user));
+        Assert.assertThat(result.getStatus(), Matchers.is(status));
+        Assert.assertThat(result.getStatusMsg().orElseThrow(IllegalArgumentException::new), Matchers.is(statusMsg));
+        Assert.assertThat(result.getCreated(), Matchers.is(created));
+        Assert.assertThat(result.getUpdated(), Matchers.is(updated));
+        Assert.assertThat(result.getStarted().orElseThrow(IllegalArgumentException::new), Matchers.is(started));
+        Assert.assertThat(result.getFinished().orElseThrow(IllegalArgumentException::new), Matchers.is(finished));
+        Assert.assertThat(result.getExitCode().orElseThrow(IllegalArgumentException::new), Matchers.is(137));
+
+        final JobStatusSearchResult result2 = new JobStatusSearchResult(
+            id, name, user, JobStatus.INIT, null, created, updated, null, null, null
+        );
+
+        Assert.assertThat(result2.getStatus(), Matchers.is(JobStatus.INIT));
+        Assert.assertFalse(result2.getStatusMsg().isPresent());
+        Assert.assertFalse(result2.getStarted().isPresent());
+        Assert.assertFalse(result2.getFinished().isPresent());
+        Assert.assertFalse(result2.getExitCode().isPresent());
+    }
+
+    /**
+     * Make sure the result survives a round trip through JSON.
+     *
+     * @throws IOException on error
+     */
+    @Test
+    public void canSerializeAndDeserialize() throws IOException {
+        final Instant now = Instant.now();
+        final JobStatusSearchResult result = new JobStatusSearchResult(
+            UUID.randomUUID().toString(),
+            UUID.randomUUID().toString(),
+            UUID.randomUUID().toString(),
+            JobStatus.SUCCEEDED,
+            UUID.randomUUID().toString(),
+            now,
+            now,
+            now,
+            now,
+            0
+        );
+
+        final JobStatusSearchResult result2 = GenieObjectMapper.getMapper().readValue(
+            GenieObjectMapper.getMapper().writeValueAsString(result),
+            JobStatusSearchResult.class
+        );
+
+        Assert.assertThat(result2, Matchers.is(result));
+        Assert.assertThat(result2.getExitCode().orElseThrow(IllegalArgumentException::new), Matchers.is(0));
+        Assert.assertThat(result2.getFinished().orElseThrow(IllegalArgumentException::new), Matchers.is(now));
+    }
+}
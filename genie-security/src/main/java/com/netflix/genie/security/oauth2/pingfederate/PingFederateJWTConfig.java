@@ -25,6 +25,7 @@ import org.jose4j.keys.RsaKeyUtil;
 import org.jose4j.lang.JoseException;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
@@ -46,6 +47,7 @@ import java.security.spec.InvalidKeySpecException;
  */
 @Configuration
 @Conditional(PingFederateSecurityConditions.PingFederateJWTEnabled.class)
+@EnableConfigurationProperties(PingFederateTokenCacheProperties.class)
 public class PingFederateJWTConfig {
 
     /**
@@ -119,16 +121,18 @@ public class PingFederateJWTConfig {
     /**
      * The token services class used to take a JWT token and produce a Spring Security Authentication object.
      *
-     * @param jwtConsumer The JWT consumer used to verify and parse the JWT tokens
-     * @param registry    The metrics registry to use for collecting metrics
+     * @param jwtConsumer     The JWT consumer used to verify and parse the JWT tokens
+     * @param registry        The metrics registry to use for collecting metrics
+     * @param cacheProperties The properties of the cache of verified tokens
      * @return The Token services class
      */
     @Bean
     @Primary
     public PingFederateJWTTokenServices pingFederateJWTTokenServices(
         final JwtConsumer jwtConsumer,
-        final MeterRegistry registry
+        final MeterRegistry registry,
+        final PingFederateTokenCacheProperties cacheProperties
     ) {
-        return new PingFederateJWTTokenServices(jwtConsumer, registry);
+        return new PingFederateJWTTokenServices(jwtConsumer, registry, cacheProperties);
     }
 }
@@ -23,6 +23,7 @@ import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.jose4j.jwt.JwtClaims;
 import org.jose4j.jwt.MalformedClaimException;
+import org.jose4j.jwt.NumericDate;
 import org.jose4j.jwt.consumer.InvalidJwtException;
 import org.jose4j.jwt.consumer.JwtConsumer;
 import org.springframework.security.core.AuthenticationException;
@@ -36,11 +37,15 @@ import org.springframework.security.oauth2.provider.token.ResourceServerTokenSer
 import javax.validation.constraints.NotNull;
 import java.util.Collection;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
  * An implementation of the ResourceServerTokenServices interface which validates JWT tokens sent by Ping Federate.
+ * Verified tokens are cached until they expire so a token presented repeatedly, for instance by a service account, is
+ * only verified and parsed once.
  *
  * @author tgianos
  * @since 3.0.0
@@ -56,19 +61,25 @@ public class PingFederateJWTTokenServices implements ResourceServerTokenServices
     private static final SimpleGrantedAuthority ADMIN = new SimpleGrantedAuthority("ROLE_ADMIN");
 
     private final JwtConsumer jwtConsumer;
+    private final PingFederateTokenCache tokenCache;
+    // The set of scopes is small so reuse the authority built for each one
+    private final ConcurrentMap<String, SimpleGrantedAuthority> scopeAuthorities = new ConcurrentHashMap<>();
     private final Timer loadAuthenticationTimer;
 
     /**
      * Constructor.
      *
-     * @param jwtConsumer The JWT consumer to use
-     * @param registry    The metrics registry to use
+     * @param jwtConsumer     The JWT consumer to use
+     * @param registry        The metrics registry to use
+     * @param cacheProperties The properties of the cache of verified tokens
      */
     public PingFederateJWTTokenServices(
         @NotNull final JwtConsumer jwtConsumer,
-        @NotNull final MeterRegistry registry
+        @NotNull final MeterRegistry registry,
+        @NotNull final PingFederateTokenCacheProperties cacheProperties
     ) {
         this.jwtConsumer = jwtConsumer;
+        this.tokenCache = new PingFederateTokenCache(cacheProperties, registry);
         this.loadAuthenticationTimer = registry.timer("genie.security.oauth2.pingFederate.authentication.timer");
     }
 
@@ -86,11 +97,7 @@ public class PingFederateJWTTokenServices implements ResourceServerTokenServices
         final long start = System.nanoTime();
 
         try {
-            final JwtClaims claims = this.jwtConsumer.processToClaims(accessToken);
-            log.debug("Ping Federate JWT Claims: {}", claims);
-            return new OAuth2Authentication(this.getOAuth2Request(claims), null);
-        } catch (final InvalidJwtException | MalformedClaimException e) {
-            throw new InvalidTokenException(e.getMessage(), e);
+            return this.tokenCache.getAuthentication(accessToken, this::verifyToken);
         } finally {
             this.loadAuthenticationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
@@ -106,6 +113,21 @@ public class PingFederateJWTTokenServices implements ResourceServerTokenServices
         throw new UnsupportedOperationException("readAccessToken not implemented");
     }
 
+    private PingFederateTokenCache.ValidatedToken verifyToken(final String accessToken) {
+        try {
+            final JwtClaims claims = this.jwtConsumer.processToClaims(accessToken);
+            log.debug("Ping Federate JWT Claims: {}", claims);
+            // The consumer requires an expiration time but the cache will bound the entry anyway if it's missing
+            final NumericDate expirationTime = claims.getExpirationTime();
+            return new PingFederateTokenCache.ValidatedToken(
+                new OAuth2Authentication(this.getOAuth2Request(claims), null),
+                expirationTime == null ? Long.MAX_VALUE : expirationTime.getValueInMillis()
+            );
+        } catch (final InvalidJwtException | MalformedClaimException e) {
+            throw new InvalidTokenException(e.getMessage(), e);
+        }
+    }
+
     private OAuth2Request getOAuth2Request(
         @NotNull final JwtClaims claims
     ) throws MalformedClaimException, InvalidTokenException {
@@ -115,15 +137,7 @@ public class PingFederateJWTTokenServices implements ResourceServerTokenServices
 
         final Set<SimpleGrantedAuthority> authorities = scopes
             .stream()
-            .map(
-                scope -> {
-                    if (scope.startsWith(GENIE_SCOPE_PREFIX)) {
-                        scope = scope.substring(GENIE_SCOPE_PREFIX_LENGTH);
-                    }
-
-                    return new SimpleGrantedAuthority(ROLE + scope.toUpperCase());
-                }
-            )
+            .map(scope -> this.scopeAuthorities.computeIfAbsent(scope, this::toAuthority))
             .collect(Collectors.toSet());
 
         if (authorities.isEmpty()) {
@@ -137,4 +151,9 @@ public class PingFederateJWTTokenServices implements ResourceServerTokenServices
 
         return new OAuth2Request(null, clientId, authorities, true, scopes, null, null, null, null);
     }
+
+    private SimpleGrantedAuthority toAuthority(final String scope) {
+        final String role = scope.startsWith(GENIE_SCOPE_PREFIX) ? scope.substring(GENIE_SCOPE_PREFIX_LENGTH) : scope;
+        return new SimpleGrantedAuthority(ROLE + role.toUpperCase());
+    }
 }
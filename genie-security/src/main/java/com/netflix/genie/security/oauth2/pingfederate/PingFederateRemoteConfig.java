@@ -19,6 +19,7 @@ package com.netflix.genie.security.oauth2.pingfederate;
 
 import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.boot.autoconfigure.security.oauth2.resource.ResourceServerProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
@@ -37,6 +38,7 @@ import javax.validation.constraints.NotNull;
  */
 @Configuration
 @Conditional(PingFederateSecurityConditions.PingFederateRemoteEnabled.class)
+@EnableConfigurationProperties(PingFederateTokenCacheProperties.class)
 public class PingFederateRemoteConfig {
 
     /**
@@ -70,6 +72,7 @@ public class PingFederateRemoteConfig {
      * @param converter                The access token converter to use
      * @param resourceServerProperties The properties to use to configure the token services
      * @param registry                 The metrics registry to use
+     * @param cacheProperties          The properties of the cache of validated tokens
      * @return The ping federate configuration.
      */
     @Bean
@@ -77,8 +80,9 @@ public class PingFederateRemoteConfig {
     public PingFederateRemoteTokenServices pingFederateTokenServices(
         final DefaultAccessTokenConverter converter,
         final ResourceServerProperties resourceServerProperties,
-        final MeterRegistry registry
+        final MeterRegistry registry,
+        final PingFederateTokenCacheProperties cacheProperties
     ) {
-        return new PingFederateRemoteTokenServices(resourceServerProperties, converter, registry);
+        return new PingFederateRemoteTokenServices(resourceServerProperties, converter, registry, cacheProperties);
     }
 }
@@ -74,10 +74,13 @@ public class PingFederateRemoteTokenServices extends RemoteTokenServices {
     private static final String CLIENT_SECRET_KEY = "client_secret";
     private static final String GRANT_TYPE_KEY = "grant_type";
     private static final String GRANT_TYPE = "urn:pingidentity.com:oauth2:grant_type:validate_bearer";
+    private static final String EXPIRATION_KEY = "exp";
+    private static final String EXPIRES_IN_KEY = "expires_in";
     private final AccessTokenConverter converter;
     private final String checkTokenEndpointUrl;
     private final String clientId;
     private final String clientSecret;
+    private final PingFederateTokenCache tokenCache;
     // Metrics
     private final Timer authenticationTimer;
     private final Timer pingFederateAPITimer;
@@ -89,11 +92,13 @@ public class PingFederateRemoteTokenServices extends RemoteTokenServices {
      * @param serverProperties The properties of the resource server (Genie)
      * @param converter        The access token converter to use
      * @param registry         The metrics registry to use
+     * @param cacheProperties  The properties of the cache of validated tokens
      */
     public PingFederateRemoteTokenServices(
         @NotNull final ResourceServerProperties serverProperties,
         @NotNull final AccessTokenConverter converter,
-        @NotNull final MeterRegistry registry
+        @NotNull final MeterRegistry registry,
+        @NotNull final PingFederateTokenCacheProperties cacheProperties
     ) {
         super();
         this.authenticationTimer = registry.timer(AUTHENTICATION_TIMER_NAME);
@@ -148,6 +153,7 @@ public class PingFederateRemoteTokenServices extends RemoteTokenServices {
         log.debug("clientSecret = {}", this.clientSecret);
 
         this.converter = converter;
+        this.tokenCache = new PingFederateTokenCache(cacheProperties, registry);
     }
 
     /**
@@ -158,30 +164,7 @@ public class PingFederateRemoteTokenServices extends RemoteTokenServices {
         throws AuthenticationException, InvalidTokenException {
         final long start = System.nanoTime();
         try {
-            final MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
-            formData.add(TOKEN_NAME_KEY, accessToken);
-            formData.add(CLIENT_ID_KEY, this.clientId);
-            formData.add(CLIENT_SECRET_KEY, this.clientSecret);
-            formData.add(GRANT_TYPE_KEY, GRANT_TYPE);
-
-            final Map<String, Object> map = this.postForMap(this.checkTokenEndpointUrl, formData);
-
-            if (map.containsKey(ERROR_KEY)) {
-                final String error = map.get(ERROR_KEY).toString();
-                log.debug("Validating the token produced an error: {}", error);
-                throw new InvalidTokenException(error);
-            }
-
-            Assert.state(map.containsKey(CLIENT_ID_KEY), "Client id must be present in response from auth server");
-            Assert.state(map.containsKey(SCOPE_KEY), "No scopes included in response from authentication server");
-            this.convertScopes(map);
-            final OAuth2Authentication authentication = this.converter.extractAuthentication(map);
-            log.info(
-                "User {} authenticated with authorities {}",
-                authentication.getPrincipal(),
-                authentication.getAuthorities()
-            );
-            return authentication;
+            return this.tokenCache.getAuthentication(accessToken, this::validateToken);
         } finally {
             final long finished = System.nanoTime();
             this.authenticationTimer.record(finished - start, TimeUnit.NANOSECONDS);
@@ -198,6 +181,47 @@ public class PingFederateRemoteTokenServices extends RemoteTokenServices {
         this.localRestTemplate = restTemplate;
     }
 
+    private PingFederateTokenCache.ValidatedToken validateToken(final String accessToken) {
+        final MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
+        formData.add(TOKEN_NAME_KEY, accessToken);
+        formData.add(CLIENT_ID_KEY, this.clientId);
+        formData.add(CLIENT_SECRET_KEY, this.clientSecret);
+        formData.add(GRANT_TYPE_KEY, GRANT_TYPE);
+
+        final Map<String, Object> map = this.postForMap(this.checkTokenEndpointUrl, formData);
+
+        if (map.containsKey(ERROR_KEY)) {
+            final String error = map.get(ERROR_KEY).toString();
+            log.debug("Validating the token produced an error: {}", error);
+            throw new InvalidTokenException(error);
+        }
+
+        Assert.state(map.containsKey(CLIENT_ID_KEY), "Client id must be present in response from auth server");
+        Assert.state(map.containsKey(SCOPE_KEY), "No scopes included in response from authentication server");
+        final long expiresAt = this.getExpiresAt(map);
+        this.convertScopes(map);
+        final OAuth2Authentication authentication = this.converter.extractAuthentication(map);
+        log.info(
+            "User {} authenticated with authorities {}",
+            authentication.getPrincipal(),
+            authentication.getAuthorities()
+        );
+        return new PingFederateTokenCache.ValidatedToken(authentication, expiresAt);
+    }
+
+    private long getExpiresAt(final Map<String, Object> oauth2Map) {
+        final Object expiration = oauth2Map.get(EXPIRATION_KEY);
+        if (expiration instanceof Number) {
+            return TimeUnit.SECONDS.toMillis(((Number) expiration).longValue());
+        }
+        final Object expiresIn = oauth2Map.get(EXPIRES_IN_KEY);
+        if (expiresIn instanceof Number) {
+            return System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(((Number) expiresIn).longValue());
+        }
+        // No expiration in the response. The cache will still validate the token again after its maximum TTL.
+        return Long.MAX_VALUE;
+    }
+
     private Map<String, Object> postForMap(final String path, final MultiValueMap<String, String> formData) {
         final HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
@@ -0,0 +1,180 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.security.oauth2.pingfederate;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.oauth2.common.exceptions.InvalidTokenException;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+
+import javax.annotation.Nullable;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * A bounded cache of validated bearer tokens shared by the Ping Federate token services. Tokens are keyed by their
+ * SHA-256 hash so the tokens themselves aren't kept in memory. Valid tokens are kept until they expire, or at most
+ * for the configured maximum TTL, and invalid tokens for a shorter time so retries with a bad token don't reach the
+ * authorization server. Concurrent requests presenting the same uncached token wait for a single validation.
+ *
+ * @author tgianos
+ * @since 4.0.0
+ */
+@Slf4j
+class PingFederateTokenCache {
+
+    static final String CACHE_HIT_COUNTER_NAME = "genie.security.oauth2.pingFederate.tokenCache.hit.counter";
+    static final String CACHE_MISS_COUNTER_NAME = "genie.security.oauth2.pingFederate.tokenCache.miss.counter";
+
+    private final boolean enabled;
+    private final long maxTtl;
+    private final long invalidTtl;
+    private final Cache<String, CachedToken> cache;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    /**
+     * Constructor.
+     *
+     * @param properties The cache properties
+     * @param registry   The metrics registry to record hits and misses in
+     */
+    PingFederateTokenCache(final PingFederateTokenCacheProperties properties, final MeterRegistry registry) {
+        this.enabled = properties.isEnabled();
+        this.maxTtl = properties.getMaxTtl();
+        this.invalidTtl = properties.getInvalidTtl();
+        this.cache = CacheBuilder
+            .newBuilder()
+            .maximumSize(properties.getMaxSize())
+            .expireAfterWrite(Math.max(properties.getMaxTtl(), properties.getInvalidTtl()), TimeUnit.MILLISECONDS)
+            .build();
+        this.hitCounter = registry.counter(CACHE_HIT_COUNTER_NAME);
+        this.missCounter = registry.counter(CACHE_MISS_COUNTER_NAME);
+    }
+
+    /**
+     * Get the authentication for the given token from the cache, validating the token with the given function if it
+     * isn't cached or its cache entry expired.
+     *
+     * @param accessToken The bearer token
+     * @param validator   The function validating a token. Throws {@link InvalidTokenException} for invalid tokens.
+     *                    Any other exception is propagated and not cached.
+     * @return A new authentication instance for the token, as callers may modify it
+     * @throws InvalidTokenException If the token is invalid
+     */
+    OAuth2Authentication getAuthentication(
+        final String accessToken,
+        final Function<String, ValidatedToken> validator
+    ) throws InvalidTokenException {
+        if (!this.enabled) {
+            return validator.apply(accessToken).getAuthentication();
+        }
+
+        final String key = Hashing.sha256().hashString(accessToken, StandardCharsets.UTF_8).toString();
+        CachedToken cachedToken = this.cache.getIfPresent(key);
+        if (cachedToken != null && cachedToken.getExpiresAt() <= System.currentTimeMillis()) {
+            this.cache.asMap().remove(key, cachedToken);
+            cachedToken = null;
+        }
+
+        if (cachedToken != null) {
+            this.hitCounter.increment();
+        } else {
+            try {
+                cachedToken = this.cache.get(
+                    key,
+                    () -> {
+                        this.missCounter.increment();
+                        return this.validate(accessToken, validator);
+                    }
+                );
+            } catch (final ExecutionException | UncheckedExecutionException e) {
+                // Rethrow what the validation threw, for instance the error calling the authorization server
+                Throwables.throwIfUnchecked(e.getCause());
+                throw new IllegalStateException(e.getCause());
+            }
+
+            if (cachedToken.getExpiresAt() <= System.currentTimeMillis()) {
+                // Already expired. Still answer this request as the token was valid when checked.
+                this.cache.asMap().remove(key, cachedToken);
+            }
+        }
+
+        return cachedToken.toAuthentication();
+    }
+
+    private CachedToken validate(final String accessToken, final Function<String, ValidatedToken> validator) {
+        final long now = System.currentTimeMillis();
+        try {
+            final ValidatedToken validatedToken = validator.apply(accessToken);
+            return new CachedToken(
+                validatedToken.getAuthentication(),
+                null,
+                Math.min(validatedToken.getExpiresAt(), now + this.maxTtl)
+            );
+        } catch (final InvalidTokenException ite) {
+            log.debug("Caching invalid token result: {}", ite.getMessage());
+            return new CachedToken(null, ite.getMessage(), now + this.invalidTtl);
+        }
+    }
+
+    /**
+     * The result of a successful token validation.
+     *
+     * @author tgianos
+     * @since 4.0.0
+     */
+    @Getter
+    @AllArgsConstructor
+    static class ValidatedToken {
+        private final OAuth2Authentication authentication;
+        // Epoch milliseconds after which the token isn't valid anymore
+        private final long expiresAt;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class CachedToken {
+        @Nullable
+        private final OAuth2Authentication authentication;
+        @Nullable
+        private final String error;
+        private final long expiresAt;
+
+        OAuth2Authentication toAuthentication() throws InvalidTokenException {
+            if (this.authentication == null) {
+                throw new InvalidTokenException(this.error);
+            }
+            // Spring sets the request details on the authentication it gets so never hand out the cached instance
+            return new OAuth2Authentication(
+                this.authentication.getOAuth2Request(),
+                this.authentication.getUserAuthentication()
+            );
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.security.oauth2.pingfederate;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Min;
+
+/**
+ * Properties controlling the cache of validated Ping Federate bearer tokens.
+ *
+ * @author tgianos
+ * @since 4.0.0
+ */
+@ConfigurationProperties(prefix = PingFederateTokenCacheProperties.PROPERTY_PREFIX)
+@Getter
+@Setter
+@Validated
+public class PingFederateTokenCacheProperties {
+
+    /**
+     * The property prefix for all properties in this group.
+     */
+    public static final String PROPERTY_PREFIX = "genie.security.oauth2.pingfederate.cache";
+
+    /**
+     * Whether validated tokens are cached or every request is validated from scratch.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The maximum number of tokens kept in the cache.
+     */
+    @Min(1)
+    private long maxSize = 10_000L;
+
+    /**
+     * The maximum time (in ms) a valid token is trusted without validating it again, even if it expires later.
+     */
+    @Min(1)
+    private long maxTtl = 300_000L;
+
+    /**
+     * The time (in ms) a token found to be invalid is rejected without validating it again.
+     */
+    @Min(0)
+    private long invalidTtl = 30_000L;
+}
@@ -115,6 +115,8 @@ public class PingFederateJWTConfigTest {
     public void canGetTokenServices() {
         final JwtConsumer consumer = Mockito.mock(JwtConsumer.class);
         final MeterRegistry registry = Mockito.mock(MeterRegistry.class);
-        Assert.assertNotNull(this.config.pingFederateJWTTokenServices(consumer, registry));
+        Assert.assertNotNull(
+            this.config.pingFederateJWTTokenServices(consumer, registry, new PingFederateTokenCacheProperties())
+        );
     }
 }
@@ -18,12 +18,14 @@
 package com.netflix.genie.security.oauth2.pingfederate;
 
 import com.google.common.collect.Sets;
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.assertj.core.util.Lists;
 import org.hamcrest.Matchers;
 import org.jose4j.jwt.JwtClaims;
 import org.jose4j.jwt.MalformedClaimException;
+import org.jose4j.jwt.NumericDate;
 import org.jose4j.jwt.consumer.InvalidJwtException;
 import org.jose4j.jwt.consumer.JwtConsumer;
 import org.jose4j.jwt.consumer.JwtContext;
@@ -62,8 +64,13 @@ public class PingFederateJWTTokenServicesTest {
         this.loadAuthenticationTimer = Mockito.mock(Timer.class);
         final MeterRegistry registry = Mockito.mock(MeterRegistry.class);
         Mockito.when(registry.timer(Mockito.anyString())).thenReturn(this.loadAuthenticationTimer);
+        Mockito.when(registry.counter(Mockito.anyString())).thenReturn(Mockito.mock(Counter.class));
         this.jwtConsumer = Mockito.mock(JwtConsumer.class);
-        this.tokenServices = new PingFederateJWTTokenServices(this.jwtConsumer, registry);
+        this.tokenServices = new PingFederateJWTTokenServices(
+            this.jwtConsumer,
+            registry,
+            new PingFederateTokenCacheProperties()
+        );
     }
 
     /**
@@ -169,6 +176,48 @@ public class PingFederateJWTTokenServicesTest {
             .record(Mockito.anyLong(), Mockito.eq(TimeUnit.NANOSECONDS));
     }
 
+    /**
+     * Make sure a token presented again is authenticated without verifying it again until it expires.
+     *
+     * @throws AuthenticationException On error
+     * @throws InvalidTokenException   When the token is invalid
+     * @throws InvalidJwtException     On invalid JWT token
+     * @throws MalformedClaimException A bad claim
+     */
+    @Test
+    public void canCacheVerifiedTokens()
+        throws AuthenticationException, InvalidTokenException, InvalidJwtException, MalformedClaimException {
+        final JwtClaims claims = Mockito.mock(JwtClaims.class);
+        final String clientId = UUID.randomUUID().toString();
+        Mockito.when(claims.getClaimValue("client_id", String.class)).thenReturn(clientId);
+        Mockito.when(claims.getClaimValue("scope", Collection.class)).thenReturn(Sets.newHashSet("genie_user"));
+        Mockito
+            .when(claims.getExpirationTime())
+            .thenReturn(NumericDate.fromMilliseconds(System.currentTimeMillis() + 60_000L));
+        Mockito.when(this.jwtConsumer.processToClaims(Mockito.anyString())).thenReturn(claims);
+
+        final String accessToken = UUID.randomUUID().toString();
+        final OAuth2Authentication authentication1 = this.tokenServices.loadAuthentication(accessToken);
+        final OAuth2Authentication authentication2 = this.tokenServices.loadAuthentication(accessToken);
+
+        Assert.assertThat(authentication2, Matchers.not(Matchers.sameInstance(authentication1)));
+        Assert.assertThat(authentication2.getPrincipal(), Matchers.is(clientId));
+        Assert.assertThat(
+            authentication2.getAuthorities(),
+            Matchers.contains(new SimpleGrantedAuthority("ROLE_USER"))
+        );
+        Mockito.verify(this.jwtConsumer, Mockito.times(1)).processToClaims(accessToken);
+
+        // Expired tokens are verified again
+        Mockito
+            .when(claims.getExpirationTime())
+            .thenReturn(NumericDate.fromMilliseconds(System.currentTimeMillis() - 1_000L));
+        final String expiredToken = UUID.randomUUID().toString();
+        this.tokenServices.loadAuthentication(expiredToken);
+        this.tokenServices.loadAuthentication(expiredToken);
+        Mockito.verify(this.jwtConsumer, Mockito.times(2)).processToClaims(expiredToken);
+    }
+
     /**
      * This method shouldn't be supported by this implementation.
      */
@@ -50,6 +50,7 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import javax.annotation.Nullable;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -77,6 +78,8 @@ public class PingFederateRemoteTokenServicesTest {
     private ResourceServerProperties resourceServerProperties;
     private MeterRegistry registry;
     private Timer authenticationTimer;
+    private PingFederateTokenCacheProperties cacheProperties;
+    private Counter cacheHitCounter;
 
     /**
      * Setup for the tests.
@@ -94,6 +97,14 @@ public class PingFederateRemoteTokenServicesTest {
         Mockito
             .when(this.registry.timer(PingFederateRemoteTokenServices.API_TIMER_NAME))
             .thenReturn(pingFederateAPITimer);
+        this.cacheProperties = new PingFederateTokenCacheProperties();
+        this.cacheHitCounter = Mockito.mock(Counter.class);
+        Mockito
+            .when(this.registry.counter(PingFederateTokenCache.CACHE_HIT_COUNTER_NAME))
+            .thenReturn(this.cacheHitCounter);
+        Mockito
+            .when(this.registry.counter(PingFederateTokenCache.CACHE_MISS_COUNTER_NAME))
+            .thenReturn(Mockito.mock(Counter.class));
     }
 
     /**
@@ -103,7 +114,7 @@ public class PingFederateRemoteTokenServicesTest {
     public void cantConstructWithoutClientId() {
         final ResourceServerProperties properties = new ResourceServerProperties(null, null);
         final AccessTokenConverter converter = new DefaultAccessTokenConverter();
-        new PingFederateRemoteTokenServices(properties, converter, this.registry);
+        new PingFederateRemoteTokenServices(properties, converter, this.registry, this.cacheProperties);
     }
 
     /**
@@ -113,7 +124,7 @@ public class PingFederateRemoteTokenServicesTest {
     public void cantConstructWithoutClientSecret() {
         final ResourceServerProperties properties = new ResourceServerProperties("AnID", null);
         final AccessTokenConverter converter = new DefaultAccessTokenConverter();
-        new PingFederateRemoteTokenServices(properties, converter, this.registry);
+        new PingFederateRemoteTokenServices(properties, converter, this.registry, this.cacheProperties);
     }
 
     /**
@@ -123,7 +134,12 @@ public class PingFederateRemoteTokenServicesTest {
     public void cantConstructWithoutCheckTokenURL() {
         this.resourceServerProperties.setTokenInfoUri(null);
         final AccessTokenConverter converter = new DefaultAccessTokenConverter();
-        new PingFederateRemoteTokenServices(this.resourceServerProperties, converter, this.registry);
+        new PingFederateRemoteTokenServices(
+            this.resourceServerProperties,
+            converter,
+            this.registry,
+            this.cacheProperties
+        );
     }
 
     /**
@@ -134,7 +150,12 @@ public class PingFederateRemoteTokenServicesTest {
         final AccessTokenConverter converter = Mockito.mock(AccessTokenConverter.class);
         final RestTemplate restTemplate = Mockito.mock(RestTemplate.class);
         final PingFederateRemoteTokenServices services
-            = new PingFederateRemoteTokenServices(this.resourceServerProperties, converter, this.registry);
+            = new PingFederateRemoteTokenServices(
+                this.resourceServerProperties,
+                converter,
+                this.registry,
+                this.cacheProperties
+            );
         services.setRestTemplate(restTemplate);
         final String accessToken = UUID.randomUUID().toString();
 
@@ -199,7 +220,12 @@ public class PingFederateRemoteTokenServicesTest {
         final AccessTokenConverter converter = Mockito.mock(AccessTokenConverter.class);
         final RestTemplate restTemplate = Mockito.mock(RestTemplate.class);
         final PingFederateRemoteTokenServices services
-            = new PingFederateRemoteTokenServices(this.resourceServerProperties, converter, this.registry);
+            = new PingFederateRemoteTokenServices(
+                this.resourceServerProperties,
+                converter,
+                this.registry,
+                this.cacheProperties
+            );
         services.setRestTemplate(restTemplate);
         final String accessToken = UUID.randomUUID().toString();
 
@@ -239,7 +265,12 @@ public class PingFederateRemoteTokenServicesTest {
         // Some resource no one should ever have
         this.resourceServerProperties.setTokenInfoUri(uri);
         final PingFederateRemoteTokenServices services
-            = new PingFederateRemoteTokenServices(this.resourceServerProperties, converter, this.registry);
+            = new PingFederateRemoteTokenServices(
+                this.resourceServerProperties,
+                converter,
+                this.registry,
+                this.cacheProperties
+            );
         final String accessToken = UUID.randomUUID().toString();
         final Counter restErrorCounter = Mockito.mock(Counter.class);
         Mockito
@@ -259,6 +290,140 @@ public class PingFederateRemoteTokenServicesTest {
         }
     }
 
+    /**
+     * Make sure validated tokens are cached.
+     */
+    @Test
+    public void canCacheAuthentication() {
+        final RestTemplate restTemplate = Mockito.mock(RestTemplate.class);
+        final PingFederateRemoteTokenServices services = this.createServicesWithValidToken(restTemplate, null);
+        final String accessToken = UUID.randomUUID().toString();
+
+        final OAuth2Authentication result1 = services.loadAuthentication(accessToken);
+        final OAuth2Authentication result2 = services.loadAuthentication(accessToken);
+
+        Assert.assertThat(result2, Matchers.is(result1));
+        Assert.assertThat(result2, Matchers.not(Matchers.sameInstance(result1)));
+        Mockito
+            .verify(restTemplate, Mockito.times(1))
+            .exchange(
+                Mockito.eq(CHECK_TOKEN_ENDPOINT_URL),
+                Mockito.eq(HttpMethod.POST),
+                Mockito.any(HttpEntity.class),
+                Mockito.eq(Map.class)
+            );
+        Mockito.verify(this.cacheHitCounter, Mockito.times(1)).increment();
+
+        // A different token is validated on its own
+        services.loadAuthentication(UUID.randomUUID().toString());
+        Mockito
+            .verify(restTemplate, Mockito.times(2))
+            .exchange(
+                Mockito.eq(CHECK_TOKEN_ENDPOINT_URL),
+                Mockito.eq(HttpMethod.POST),
+                Mockito.any(HttpEntity.class),
+                Mockito.eq(Map.class)
+            );
+    }
+
+    /**
+     * Make sure tokens are validated again once they expired.
+     */
+    @Test
+    public void wontCacheExpiredTokens() {
+        final RestTemplate restTemplate = Mockito.mock(RestTemplate.class);
+        final PingFederateRemoteTokenServices services = this.createServicesWithValidToken(
+            restTemplate,
+            TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) - 10
+        );
+        final String accessToken = UUID.randomUUID().toString();
+
+        services.loadAuthentication(accessToken);
+        services.loadAuthentication(accessToken);
+
+        Mockito
+            .verify(restTemplate, Mockito.times(2))
+            .exchange(
+                Mockito.eq(CHECK_TOKEN_ENDPOINT_URL),
+                Mockito.eq(HttpMethod.POST),
+                Mockito.any(HttpEntity.class),
+                Mockito.eq(Map.class)
+            );
+        Mockito.verify(this.cacheHitCounter, Mockito.never()).increment();
+    }
+
+    /**
+     * Make sure every request is validated when the cache is disabled.
+     */
+    @Test
+    public void canDisableCache() {
+        this.cacheProperties.setEnabled(false);
+        final RestTemplate restTemplate = Mockito.mock(RestTemplate.class);
+        final PingFederateRemoteTokenServices services = this.createServicesWithValidToken(restTemplate, null);
+        final String accessToken = UUID.randomUUID().toString();
+
+        services.loadAuthentication(accessToken);
+        services.loadAuthentication(accessToken);
+
+        Mockito
+            .verify(restTemplate, Mockito.times(2))
+            .exchange(
+                Mockito.eq(CHECK_TOKEN_ENDPOINT_URL),
+                Mockito.eq(HttpMethod.POST),
+                Mockito.any(HttpEntity.class),
+                Mockito.eq(Map.class)
+            );
+    }
+
+    /**
+     * Make sure invalid tokens are cached too.
+     */
+    @Test
+    public void canCacheInvalidTokens() {
+        final AccessTokenConverter converter = Mockito.mock(AccessTokenConverter.class);
+        final RestTemplate restTemplate = Mockito.mock(RestTemplate.class);
+        final PingFederateRemoteTokenServices services = new PingFederateRemoteTokenServices(
+            this.resourceServerProperties,
+            converter,
+            this.registry,
+            this.cacheProperties
+        );
+        services.setRestTemplate(restTemplate);
+        final String accessToken = UUID.randomUUID().toString();
+
+        final Map<String, Object> map = Maps.newHashMap();
+        final String error = UUID.randomUUID().toString();
+        map.put(PingFederateRemoteTokenServices.ERROR_KEY, error);
+
+        @SuppressWarnings("unchecked") final ResponseEntity<Map> response = Mockito.mock(ResponseEntity.class);
+        Mockito.when(
+            restTemplate.exchange(
+                Mockito.eq(CHECK_TOKEN_ENDPOINT_URL),
+                Mockito.eq(HttpMethod.POST),
+                Mockito.any(HttpEntity.class),
+                Mockito.eq(Map.class)
+            )
+        ).thenReturn(response);
+        Mockito.when(response.getBody()).thenReturn(map);
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                services.loadAuthentication(accessToken);
+                Assert.fail();
+            } catch (final InvalidTokenException ite) {
+                Assert.assertThat(ite.getMessage(), Matchers.is(error));
+            }
+        }
+        Mockito
+            .verify(restTemplate, Mockito.times(1))
+            .exchange(
+                Mockito.eq(CHECK_TOKEN_ENDPOINT_URL),
+                Mockito.eq(HttpMethod.POST),
+                Mockito.any(HttpEntity.class),
+                Mockito.eq(Map.class)
+            );
+    }
+
     /**
      * This method isn't implemented for Ping Federate currently. Make sure this fails in case we ever implement it
      * and need to update the tests.
@@ -267,7 +432,55 @@ public class PingFederateRemoteTokenServicesTest {
     public void cantReadAccessToken() {
         final AccessTokenConverter converter = new DefaultAccessTokenConverter();
         final PingFederateRemoteTokenServices services
-            = new PingFederateRemoteTokenServices(this.resourceServerProperties, converter, this.registry);
+            = new PingFederateRemoteTokenServices(
+                this.resourceServerProperties,
+                converter,
+                this.registry,
+                this.cacheProperties
+            );
         services.readAccessToken(UUID.randomUUID().toString());
     }
+
+    private PingFederateRemoteTokenServices createServicesWithValidToken(
+        final RestTemplate restTemplate,
+        @Nullable final Long expiration
+    ) {
+        final AccessTokenConverter converter = Mockito.mock(AccessTokenConverter.class);
+        final PingFederateRemoteTokenServices services = new PingFederateRemoteTokenServices(
+            this.resourceServerProperties,
+            converter,
+            this.registry,
+            this.cacheProperties
+        );
+        services.setRestTemplate(restTemplate);
+
+        final String clientId = UUID.randomUUID().toString();
+        final Map<String, Object> map = Maps.newHashMap();
+        map.put(PingFederateRemoteTokenServices.CLIENT_ID_KEY, clientId);
+        map.put(PingFederateRemoteTokenServices.SCOPE_KEY, UUID.randomUUID().toString());
+        if (expiration != null) {
+            map.put("exp", expiration);
+        }
+
+        @SuppressWarnings("unchecked") final ResponseEntity<Map> response = Mockito.mock(ResponseEntity.class);
+        Mockito.when(
+            restTemplate.exchange(
+                Mockito.eq(CHECK_TOKEN_ENDPOINT_URL),
+                Mockito.eq(HttpMethod.POST),
+                Mockito.any(HttpEntity.class),
+                Mockito.eq(Map.class)
+            )
+        ).thenReturn(response);
+        Mockito.when(response.getBody()).thenReturn(map);
+
+        final Authentication authentication = new UsernamePasswordAuthenticationToken(
+            clientId,
+            "NA",
+            Sets.newHashSet(new SimpleGrantedAuthority(UUID.randomUUID().toString()))
+        );
+        Mockito
+            .when(converter.extractAuthentication(Mockito.anyMap()))
+            .thenReturn(new OAuth2Authentication(Mockito.mock(OAuth2Request.class), authentication));
+        return services;
+    }
 }
@@ -0,0 +1,194 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.security.oauth2.pingfederate;
+
+import com.google.common.collect.Sets;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.common.exceptions.InvalidTokenException;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Unit tests for the PingFederateTokenCache class.
+ *
+ * @author tgianos
+ * @since 4.0.0
+ */
+public class PingFederateTokenCacheTest {
+
+    private MeterRegistry registry;
+    private PingFederateTokenCacheProperties properties;
+    private OAuth2Authentication authentication;
+
+    /**
+     * Setup for the tests.
+     */
+    @Before
+    public void setup() {
+        this.registry = new SimpleMeterRegistry();
+        this.properties = new PingFederateTokenCacheProperties();
+        this.authentication = new OAuth2Authentication(
+            Mockito.mock(OAuth2Request.class),
+            new UsernamePasswordAuthenticationToken(
+                UUID.randomUUID().toString(),
+                "NA",
+                Sets.newHashSet(new SimpleGrantedAuthority(UUID.randomUUID().toString()))
+            )
+        );
+    }
+
+    /**
+     * Make sure concurrent requests with the same token only validate it once.
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void canValidateConcurrentRequestsOnce() throws Exception {
+        final PingFederateTokenCache cache = new PingFederateTokenCache(this.properties, this.registry);
+        final String accessToken = UUID.randomUUID().toString();
+        final AtomicInteger validations = new AtomicInteger();
+        final CountDownLatch validating = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Function<String, PingFederateTokenCache.ValidatedToken> validator = token -> {
+            validations.incrementAndGet();
+            validating.countDown();
+            try {
+                release.await();
+            } catch (final InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+            return new PingFederateTokenCache.ValidatedToken(this.authentication, Long.MAX_VALUE);
+        };
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<OAuth2Authentication> first
+                = executor.submit(() -> cache.getAuthentication(accessToken, validator));
+            Assert.assertTrue(validating.await(10, TimeUnit.SECONDS));
+            final Future<OAuth2Authentication> second
+                = executor.submit(() -> cache.getAuthentication(accessToken, validator));
+            release.countDown();
+
+            Assert.assertThat(first.get(10, TimeUnit.SECONDS), Matchers.is(this.authentication));
+            Assert.assertThat(second.get(10, TimeUnit.SECONDS), Matchers.is(this.authentication));
+            Assert.assertThat(validations.get(), Matchers.is(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Make sure valid tokens aren't trusted for longer than the maximum TTL.
+     */
+    @Test
+    public void canExpireAfterMaxTtl() {
+        this.properties.setMaxTtl(1L);
+        final PingFederateTokenCache cache = new PingFederateTokenCache(this.properties, this.registry);
+        final String accessToken = UUID.randomUUID().toString();
+        final AtomicInteger validations = new AtomicInteger();
+        final Function<String, PingFederateTokenCache.ValidatedToken> validator = token -> {
+            validations.incrementAndGet();
+            return new PingFederateTokenCache.ValidatedToken(this.authentication, Long.MAX_VALUE);
+        };
+
+        cache.getAuthentication(accessToken, validator);
+        Assert.assertThat(validations.get(), Matchers.is(1));
+        sleep(10L);
+        cache.getAuthentication(accessToken, validator);
+        Assert.assertThat(validations.get(), Matchers.is(2));
+        Assert.assertThat(
+            this.registry.counter(PingFederateTokenCache.CACHE_MISS_COUNTER_NAME).count(),
+            Matchers.is(2.0)
+        );
+    }
+
+    /**
+     * Make sure invalid tokens are rejected from the cache until the invalid TTL elapsed.
+     */
+    @Test
+    public void canCacheInvalidTokens() {
+        this.properties.setInvalidTtl(1L);
+        final PingFederateTokenCache cache = new PingFederateTokenCache(this.properties, this.registry);
+        final String accessToken = UUID.randomUUID().toString();
+        final AtomicInteger validations = new AtomicInteger();
+        final Function<String, PingFederateTokenCache.ValidatedToken> validator = token -> {
+            validations.incrementAndGet();
+            throw new InvalidTokenException("bad token");
+        };
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                cache.getAuthentication(accessToken, validator);
+                Assert.fail();
+            } catch (final InvalidTokenException ite) {
+                Assert.assertThat(ite.getMessage(), Matchers.is("bad token"));
+            }
+            sleep(10L);
+        }
+        Assert.assertThat(validations.get(), Matchers.is(2));
+    }
+
+    /**
+     * Make sure other errors aren't cached.
+     */
+    @Test
+    public void wontCacheErrors() {
+        final PingFederateTokenCache cache = new PingFederateTokenCache(this.properties, this.registry);
+        final String accessToken = UUID.randomUUID().toString();
+        final AtomicInteger validations = new AtomicInteger();
+        final Function<String, PingFederateTokenCache.ValidatedToken> validator = token -> {
+            validations.incrementAndGet();
+            throw new IllegalStateException("server unavailable");
+        };
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                cache.getAuthentication(accessToken, validator);
+                Assert.fail();
+            } catch (final IllegalStateException ise) {
+                Assert.assertThat(ise.getMessage(), Matchers.is("server unavailable"));
+            }
+        }
+        Assert.assertThat(validations.get(), Matchers.is(2));
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
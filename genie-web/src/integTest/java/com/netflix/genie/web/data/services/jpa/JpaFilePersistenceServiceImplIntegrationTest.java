@@ -35,6 +35,7 @@ import java.time.Instant;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Integration tests for the JpaFilePersistenceServiceImpl class.
@@ -161,4 +162,34 @@ public class JpaFilePersistenceServiceImplIntegrationTest extends DBIntegrationT
         Assert.assertThat(files.size(), Matchers.is(1));
         Assert.assertThat(files, Matchers.hasItem(fileEntity1));
     }
+
+    /**
+     * Make sure files can be created and fetched in bulk and that existing files are reused.
+     */
+    @Test
+    public void canCreateAndGetFiles() {
+        Assert.assertThat(this.fileRepository.count(), Matchers.is(0L));
+        final String file1 = UUID.randomUUID().toString();
+        final String file2 = UUID.randomUUID().toString();
+        final String file3 = UUID.randomUUID().toString();
+        this.filePersistenceService.createFileIfNotExists(file1);
+        final FileEntity fileEntity1
+            = this.filePersistenceService.getFile(file1).orElseThrow(IllegalArgumentException::new);
+
+        Set<FileEntity> files = this.filePersistenceService.createAndGetFiles(Sets.newHashSet(file1, file2));
+        Assert.assertThat(this.fileRepository.count(), Matchers.is(2L));
+        Assert.assertThat(files.size(), Matchers.is(2));
+        Assert.assertThat(files, Matchers.hasItem(fileEntity1));
+        Assert.assertThat(
+            files.stream().filter(fileEntity1::equals).findFirst().map(FileEntity::getId),
+            Matchers.is(Optional.of(fileEntity1.getId()))
+        );
+
+        files = this.filePersistenceService.createAndGetFiles(Sets.newHashSet(file1, file2, file3));
+        Assert.assertThat(this.fileRepository.count(), Matchers.is(3L));
+        Assert.assertThat(
+            files.stream().map(FileEntity::getFile).collect(Collectors.toSet()),
+            Matchers.is(Sets.newHashSet(file1, file2, file3))
+        );
+    }
 }
@@ -0,0 +1,202 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.data.services.jpa;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.netflix.genie.common.internal.dto.v4.AgentClientMetadata;
+import com.netflix.genie.common.internal.dto.v4.AgentConfigRequest;
+import com.netflix.genie.common.internal.dto.v4.AgentEnvironmentRequest;
+import com.netflix.genie.common.internal.dto.v4.ApiClientMetadata;
+import com.netflix.genie.common.internal.dto.v4.Criterion;
+import com.netflix.genie.common.internal.dto.v4.ExecutionEnvironment;
+import com.netflix.genie.common.internal.dto.v4.ExecutionResourceCriteria;
+import com.netflix.genie.common.internal.dto.v4.JobArchivalDataRequest;
+import com.netflix.genie.common.internal.dto.v4.JobMetadata;
+import com.netflix.genie.common.internal.dto.v4.JobRequest;
+import com.netflix.genie.common.internal.dto.v4.JobRequestMetadata;
+import com.netflix.genie.web.services.JobPersistenceService;
+import org.hamcrest.Matchers;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Submission throughput benchmark for {@link JpaJobPersistenceServiceImpl} with JDBC batching enabled. The same set
+ * of job requests is saved once with batching effectively disabled for the session and once with the configured
+ * batch size so the number of JDBC statements prepared and the submission rate can be compared against whichever
+ * database profile is active.
+ *
+ * @author tgianos
+ * @since 4.0.0
+ */
+@TestPropertySource(
+    properties = {
+        "genie.data.jdbc-batch.size=" + JpaJobPersistenceServiceImplBatchingIntegrationTest.BATCH_SIZE,
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+    }
+)
+public class JpaJobPersistenceServiceImplBatchingIntegrationTest extends DBIntegrationTestBase {
+
+    static final int BATCH_SIZE = 50;
+
+    private static final Logger LOG
+        = LoggerFactory.getLogger(JpaJobPersistenceServiceImplBatchingIntegrationTest.class);
+    private static final int NUM_REQUESTS = 25;
+    private static final int NUM_ELEMENTS = 10;
+
+    private final Set<String> tags = this.randomSet();
+    private final Set<String> configs = this.randomSet();
+    private final Set<String> dependencies = this.randomSet();
+
+    @Autowired
+    private JobPersistenceService jobPersistenceService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Setup.
+     */
+    @Before
+    public void setup() {
+        this.statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.transactionTemplate = new TransactionTemplate(this.transactionManager);
+
+        // Make sure the shared tags and files already exist so only the job rows themselves are compared
+        this.submit(1, 1);
+    }
+
+    /**
+     * Make sure batching reduces the number of statements prepared while submitting jobs and report the throughput.
+     */
+    @Test
+    public void batchingReducesStatementsPerSubmission() {
+        final long unbatchedStatements = this.submit(NUM_REQUESTS, 1);
+        final long batchedStatements = this.submit(NUM_REQUESTS, BATCH_SIZE);
+
+        Assert.assertThat(batchedStatements, Matchers.lessThan(unbatchedStatements));
+        Assert.assertThat(this.jobRepository.count(), Matchers.is(2L * NUM_REQUESTS + 1));
+    }
+
+    private long submit(final int numRequests, final int batchSize) {
+        final List<JobRequest> jobRequests = IntStream
+            .range(0, numRequests)
+            .mapToObj(i -> this.createJobRequest())
+            .collect(Collectors.toList());
+        final JobRequestMetadata jobRequestMetadata = this.createJobRequestMetadata();
+
+        this.statistics.clear();
+        final long start = System.nanoTime();
+        for (final JobRequest jobRequest : jobRequests) {
+            this.transactionTemplate.execute(
+                status -> {
+                    this.entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+                    return this.jobPersistenceService.saveJobRequest(jobRequest, jobRequestMetadata);
+                }
+            );
+        }
+        final long elapsed = System.nanoTime() - start;
+        final long statements = this.statistics.getPrepareStatementCount();
+
+        LOG.info(
+            "Batch size {}: {} submissions in {} ms ({} submissions/s, {} statements per submission)",
+            batchSize,
+            numRequests,
+            TimeUnit.NANOSECONDS.toMillis(elapsed),
+            String.format("%.1f", numRequests * (double) TimeUnit.SECONDS.toNanos(1) / elapsed),
+            String.format("%.1f", statements / (double) numRequests)
+        );
+        return statements;
+    }
+
+    private JobRequest createJobRequest() {
+        final JobMetadata jobMetadata = new JobMetadata
+            .Builder(UUID.randomUUID().toString(), UUID.randomUUID().toString(), UUID.randomUUID().toString())
+            .withTags(this.tags)
+            .build();
+        final List<Criterion> clusterCriteria = IntStream
+            .range(0, NUM_ELEMENTS)
+            .mapToObj(i -> new Criterion.Builder().withTags(Sets.newHashSet(UUID.randomUUID().toString())).build())
+            .collect(Collectors.toList());
+        final ExecutionResourceCriteria criteria = new ExecutionResourceCriteria(
+            clusterCriteria,
+            new Criterion.Builder().withTags(Sets.newHashSet(UUID.randomUUID().toString())).build(),
+            Lists.newArrayList(this.randomSet())
+        );
+        final Map<String, String> environmentVariables = this.randomSet()
+            .stream()
+            .collect(Collectors.toMap(key -> key, key -> UUID.randomUUID().toString()));
+
+        return new JobRequest(
+            null,
+            new ExecutionEnvironment(this.configs, this.dependencies, null),
+            Lists.newArrayList(this.randomSet()),
+            jobMetadata,
+            criteria,
+            new AgentEnvironmentRequest.Builder().withRequestedEnvironmentVariables(environmentVariables).build(),
+            new AgentConfigRequest.Builder().build(),
+            new JobArchivalDataRequest.Builder().build()
+        );
+    }
+
+    private JobRequestMetadata createJobRequestMetadata() {
+        return new JobRequestMetadata(
+            new ApiClientMetadata(UUID.randomUUID().toString(), UUID.randomUUID().toString()),
+            new AgentClientMetadata(UUID.randomUUID().toString(), UUID.randomUUID().toString(), 1),
+            0,
+            0L
+        );
+    }
+
+    private Set<String> randomSet() {
+        return IntStream
+            .range(0, NUM_ELEMENTS)
+            .mapToObj(i -> UUID.randomUUID().toString())
+            .collect(Collectors.toSet());
+    }
+}
@@ -27,6 +27,7 @@ import com.netflix.genie.common.dto.JobRequest;
 import com.netflix.genie.common.dto.JobStatus;
 import com.netflix.genie.common.dto.UserResourcesSummary;
 import com.netflix.genie.common.dto.search.JobSearchResult;
+import com.netflix.genie.common.dto.search.JobStatusSearchResult;
 import com.netflix.genie.common.exceptions.GenieException;
 import com.netflix.genie.common.exceptions.GenieNotFoundException;
 import com.netflix.genie.test.suppliers.RandomSuppliers;
@@ -45,6 +46,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Integration tests for the Job Search Service using JPA.
@@ -320,6 +323,29 @@ public class JpaJobSearchServiceImplIntegrationTest extends DBIntegrationTestBas
         }
     }
 
+    /**
+     * Make sure the statuses of many jobs can be read at once and unknown jobs are left out.
+     */
+    @Test
+    public void canGetJobStatuses() {
+        Assert.assertTrue(this.service.getJobStatuses(Sets.newHashSet(UUID.randomUUID().toString())).isEmpty());
+
+        final Map<String, JobStatusSearchResult> results = this.service
+            .getJobStatuses(Sets.newHashSet(JOB_1_ID, JOB_2_ID, JOB_3_ID, UUID.randomUUID().toString()))
+            .stream()
+            .collect(Collectors.toMap(JobStatusSearchResult::getId, Function.identity()));
+
+        Assert.assertThat(results.keySet(), Matchers.containsInAnyOrder(JOB_1_ID, JOB_2_ID, JOB_3_ID));
+        final JobStatusSearchResult job1 = results.get(JOB_1_ID);
+        Assert.assertThat(job1.getStatus(), Matchers.is(JobStatus.SUCCEEDED));
+        Assert.assertThat(job1.getName(), Matchers.is("testSparkJob"));
+        Assert.assertThat(job1.getExitCode().orElseThrow(IllegalArgumentException::new), Matchers.is(0));
+        Assert.assertNotNull(job1.getCreated());
+        Assert.assertNotNull(job1.getUpdated());
+        Assert.assertThat(results.get(JOB_2_ID).getStatus(), Matchers.is(JobStatus.INIT));
+        Assert.assertThat(results.get(JOB_3_ID).getStatus(), Matchers.is(JobStatus.RUNNING));
+    }
+
     /**
      * Make sure the getting job request method works.
      *
@@ -484,7 +510,7 @@ public class JpaJobSearchServiceImplIntegrationTest extends DBIntegrationTestBas
         Assert.assertThat(summaries.keySet(), Matchers.contains("tgianos"));
         final UserResourcesSummary userResourcesSummary = summaries.get("tgianos");
         Assert.assertThat(userResourcesSummary.getUser(), Matchers.is("tgianos"));
-        Assert.assertThat(userResourcesSummary.getRunningJobsCount(), Matchers.is(1L));
+        Assert.assertThat(userResourcesSummary.getRunningJobsCount(), Matchers.is(3L));
         Assert.assertThat(userResourcesSummary.getUsedMemory(), Matchers.is(0L));
     }
 
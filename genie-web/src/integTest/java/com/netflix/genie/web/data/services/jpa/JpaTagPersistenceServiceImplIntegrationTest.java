@@ -34,6 +34,7 @@ import java.time.Instant;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Integration tests for the JpaTagPersistenceServiceImpl class.
@@ -140,4 +141,34 @@ public class JpaTagPersistenceServiceImplIntegrationTest extends DBIntegrationTe
         Assert.assertThat(tags.size(), Matchers.is(1));
         Assert.assertThat(tags, Matchers.hasItem(tagEntity1));
     }
+
+    /**
+     * Make sure tags can be created and fetched in bulk and that existing tags are reused.
+     */
+    @Test
+    public void canCreateAndGetTags() {
+        Assert.assertThat(this.tagRepository.count(), Matchers.is(0L));
+        final String tag1 = UUID.randomUUID().toString();
+        final String tag2 = UUID.randomUUID().toString();
+        final String tag3 = UUID.randomUUID().toString();
+        this.tagPersistenceService.createTagIfNotExists(tag1);
+        final TagEntity tagEntity1
+            = this.tagPersistenceService.getTag(tag1).orElseThrow(IllegalArgumentException::new);
+
+        Set<TagEntity> tags = this.tagPersistenceService.createAndGetTags(Sets.newHashSet(tag1, tag2));
+        Assert.assertThat(this.tagRepository.count(), Matchers.is(2L));
+        Assert.assertThat(tags.size(), Matchers.is(2));
+        Assert.assertThat(tags, Matchers.hasItem(tagEntity1));
+        Assert.assertThat(
+            tags.stream().filter(tagEntity1::equals).findFirst().map(TagEntity::getId),
+            Matchers.is(Optional.of(tagEntity1.getId()))
+        );
+
+        tags = this.tagPersistenceService.createAndGetTags(Sets.newHashSet(tag1, tag2, tag3));
+        Assert.assertThat(this.tagRepository.count(), Matchers.is(3L));
+        Assert.assertThat(
+            tags.stream().map(TagEntity::getTag).collect(Collectors.toSet()),
+            Matchers.is(Sets.newHashSet(tag1, tag2, tag3))
+        );
+    }
 }
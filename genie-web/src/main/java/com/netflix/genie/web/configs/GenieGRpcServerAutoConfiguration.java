@@ -18,12 +18,21 @@
 package com.netflix.genie.web.configs;
 
 import com.netflix.genie.web.properties.GRpcServerProperties;
+import com.netflix.genie.web.rpc.grpc.servers.GRpcNettyServerFactory;
 import lombok.extern.slf4j.Slf4j;
 import net.devh.springboot.autoconfigure.grpc.server.GrpcServerAutoConfiguration;
+import net.devh.springboot.autoconfigure.grpc.server.GrpcServerProperties;
+import net.devh.springboot.autoconfigure.grpc.server.GrpcServiceDefinition;
+import net.devh.springboot.autoconfigure.grpc.server.GrpcServiceDiscoverer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import javax.annotation.PostConstruct;
 
@@ -51,4 +60,48 @@ public class GenieGRpcServerAutoConfiguration {
     public void postConstruct() {
         log.info("gRPC server configuration is ENABLED");
     }
+
+    /**
+     * Provide a server factory which applies Genie's transport tuning. Marked primary so it is used by the server
+     * lifecycle instead of the default factory of the gRPC starter.
+     *
+     * @param grpcServerProperties      The address and port configuration of the gRPC starter
+     * @param genieGRpcServerProperties The Genie gRPC server properties
+     * @param grpcServiceDiscoverer     The discoverer of the gRPC service beans to expose
+     * @return A {@link GRpcNettyServerFactory} instance
+     */
+    @Bean(destroyMethod = "shutdownEventLoopGroups")
+    @Primary
+    public GRpcNettyServerFactory gRpcNettyServerFactory(
+        final GrpcServerProperties grpcServerProperties,
+        final GRpcServerProperties genieGRpcServerProperties,
+        final GrpcServiceDiscoverer grpcServiceDiscoverer
+    ) {
+        final GRpcNettyServerFactory factory = new GRpcNettyServerFactory(
+            grpcServerProperties,
+            genieGRpcServerProperties.getTransport()
+        );
+        for (final GrpcServiceDefinition service : grpcServiceDiscoverer.findGrpcServices()) {
+            factory.addService(service);
+        }
+        return factory;
+    }
+
+    /**
+     * Get the task executor the output pushed by agents is relayed to the clients following it on. Each client is
+     * served by at most one task at a time so a client stalled on a slow connection holds at most one thread.
+     *
+     * @param genieGRpcServerProperties The Genie gRPC server properties
+     * @return The task executor
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "genieJobOutputTailTaskExecutor")
+    public AsyncTaskExecutor genieJobOutputTailTaskExecutor(final GRpcServerProperties genieGRpcServerProperties) {
+        final int threads = genieGRpcServerProperties.getOutputTail().getDeliveryThreads();
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("genie-job-output-tail-");
+        return executor;
+    }
 }
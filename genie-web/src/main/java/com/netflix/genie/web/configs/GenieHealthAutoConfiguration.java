@@ -22,6 +22,7 @@ import com.netflix.genie.web.health.GenieMemoryHealthIndicator;
 import com.netflix.genie.web.properties.JobsProperties;
 import com.netflix.genie.web.services.AgentMetricsService;
 import com.netflix.genie.web.services.JobMetricsService;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -39,14 +40,14 @@ public class GenieHealthAutoConfiguration {
     /**
      * Provide a health indicator related to job memory usage if one hasn't already been provided elsewhere.
      *
-     * @param jobMetricsService Implementation of {@link JobMetricsService} to use
+     * @param jobMetricsService Implementation of {@link JobMetricsService} tracking the jobs launched by this node
      * @param jobsProperties    The {@link JobsProperties} to use
      * @return An instance of {@link GenieMemoryHealthIndicator}
      */
     @Bean
     @ConditionalOnMissingBean(GenieMemoryHealthIndicator.class)
     public GenieMemoryHealthIndicator genieMemoryHealthIndicator(
-        final JobMetricsService jobMetricsService,
+        @Qualifier("jobMonitoringCoordinator") final JobMetricsService jobMetricsService,
         final JobsProperties jobsProperties
     ) {
         return new GenieMemoryHealthIndicator(jobMetricsService, jobsProperties);
@@ -56,11 +57,15 @@ public class GenieHealthAutoConfiguration {
      * Provide a health indicator tied to agent related information if one hasn't already been provided elsewhere.
      *
      * @param agentMetricsService {@link AgentMetricsService} implementation to use
+     * @param jobMetricsService   Implementation of {@link JobMetricsService} tracking all jobs active on this host
      * @return An instance of {@link GenieAgentHealthIndicator}
      */
     @Bean
     @ConditionalOnMissingBean(GenieAgentHealthIndicator.class)
-    public GenieAgentHealthIndicator genieAgentHealthIndicator(final AgentMetricsService agentMetricsService) {
-        return new GenieAgentHealthIndicator(agentMetricsService);
+    public GenieAgentHealthIndicator genieAgentHealthIndicator(
+        final AgentMetricsService agentMetricsService,
+        @Qualifier("jobMetricsService") final JobMetricsService jobMetricsService
+    ) {
+        return new GenieAgentHealthIndicator(agentMetricsService, jobMetricsService);
     }
 }
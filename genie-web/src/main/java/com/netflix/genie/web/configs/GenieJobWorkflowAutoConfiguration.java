@@ -26,6 +26,7 @@ import com.netflix.genie.web.jobs.workflow.impl.JobFailureAndKillHandlerLogicTas
 import com.netflix.genie.web.jobs.workflow.impl.JobKickoffTask;
 import com.netflix.genie.web.jobs.workflow.impl.JobTask;
 import com.netflix.genie.web.properties.JobsProperties;
+import com.netflix.genie.web.properties.JobsSetupProperties;
 import com.netflix.genie.web.services.AttachmentService;
 import com.netflix.genie.web.services.impl.GenieFileTransferService;
 import com.netflix.genie.web.services.impl.HttpFileTransferImpl;
@@ -38,9 +39,12 @@ import org.apache.commons.lang3.SystemUtils;
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
 /**
@@ -50,6 +54,11 @@ import org.springframework.web.client.RestTemplate;
  * @since 3.0.0
  */
 @Configuration
+@EnableConfigurationProperties(
+    {
+        JobsSetupProperties.class
+    }
+)
 // TODO: This is going to go away once the V4 API is in place
 public class GenieJobWorkflowAutoConfiguration {
     /**
@@ -78,6 +87,20 @@ public class GenieJobWorkflowAutoConfiguration {
         return new HttpFileTransferImpl(restTemplate, registry);
     }
 
+    /**
+     * The executor the cluster, command and application tasks download job resources concurrently on.
+     *
+     * @param jobsSetupProperties The job setup properties
+     * @return The task executor
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "genieJobSetupTaskExecutor")
+    public AsyncTaskExecutor genieJobSetupTaskExecutor(final JobsSetupProperties jobsSetupProperties) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(jobsSetupProperties.getDownloadThreads());
+        executor.setThreadNamePrefix(jobsSetupProperties.getDownloadThreadNamePrefix());
+        return executor;
+    }
 
     /**
      * Create a task that adds logic to handle kill requests to a job.
@@ -108,8 +131,9 @@ public class GenieJobWorkflowAutoConfiguration {
     /**
      * Create an Cluster Task bean that processes the cluster needed for a job.
      *
-     * @param registry The metrics registry to use
-     * @param fts      File transfer implementation
+     * @param registry         The metrics registry to use
+     * @param fts              File transfer implementation
+     * @param downloadExecutor The executor to download resources concurrently on
      * @return An cluster task object
      */
     @Bean
@@ -117,16 +141,18 @@ public class GenieJobWorkflowAutoConfiguration {
     @ConditionalOnMissingBean(ClusterTask.class)
     public ClusterTask clusterProcessorTask(
         final MeterRegistry registry,
-        @Qualifier("cacheGenieFileTransferService") final GenieFileTransferService fts
+        @Qualifier("cacheGenieFileTransferService") final GenieFileTransferService fts,
+        @Qualifier("genieJobSetupTaskExecutor") final AsyncTaskExecutor downloadExecutor
     ) {
-        return new ClusterTask(registry, fts);
+        return new ClusterTask(registry, fts, downloadExecutor);
     }
 
     /**
      * Create an Application Task bean that processes all Applications needed for a job.
      *
-     * @param registry The metrics registry to use
-     * @param fts      File transfer implementation
+     * @param registry         The metrics registry to use
+     * @param fts              File transfer implementation
+     * @param downloadExecutor The executor to download resources concurrently on
      * @return An application task object
      */
     @Bean
@@ -134,16 +160,18 @@ public class GenieJobWorkflowAutoConfiguration {
     @ConditionalOnMissingBean(ApplicationTask.class)
     public ApplicationTask applicationProcessorTask(
         final MeterRegistry registry,
-        @Qualifier("cacheGenieFileTransferService") final GenieFileTransferService fts
+        @Qualifier("cacheGenieFileTransferService") final GenieFileTransferService fts,
+        @Qualifier("genieJobSetupTaskExecutor") final AsyncTaskExecutor downloadExecutor
     ) {
-        return new ApplicationTask(registry, fts);
+        return new ApplicationTask(registry, fts, downloadExecutor);
     }
 
     /**
      * Create an Command Task bean that processes the command needed for a job.
      *
-     * @param registry The metrics registry to use
-     * @param fts      File transfer implementation
+     * @param registry         The metrics registry to use
+     * @param fts              File transfer implementation
+     * @param downloadExecutor The executor to download resources concurrently on
      * @return An command task object
      */
     @Bean
@@ -151,9 +179,10 @@ public class GenieJobWorkflowAutoConfiguration {
     @ConditionalOnMissingBean(CommandTask.class)
     public CommandTask commandProcessorTask(
         final MeterRegistry registry,
-        @Qualifier("cacheGenieFileTransferService") final GenieFileTransferService fts
+        @Qualifier("cacheGenieFileTransferService") final GenieFileTransferService fts,
+        @Qualifier("genieJobSetupTaskExecutor") final AsyncTaskExecutor downloadExecutor
     ) {
-        return new CommandTask(registry, fts);
+        return new CommandTask(registry, fts, downloadExecutor);
     }
 
     /**
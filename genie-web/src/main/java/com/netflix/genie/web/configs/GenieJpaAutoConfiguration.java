@@ -34,6 +34,9 @@ import com.netflix.genie.web.data.services.jpa.JpaJobPersistenceServiceImpl;
 import com.netflix.genie.web.data.services.jpa.JpaJobSearchServiceImpl;
 import com.netflix.genie.web.data.services.jpa.JpaTagPersistenceService;
 import com.netflix.genie.web.data.services.jpa.JpaTagPersistenceServiceImpl;
+import com.netflix.genie.web.events.GenieEventBus;
+import com.netflix.genie.web.properties.JdbcBatchProperties;
+import com.netflix.genie.web.properties.JobRequestDocumentProperties;
 import com.netflix.genie.web.services.AgentConnectionPersistenceService;
 import com.netflix.genie.web.services.ApplicationPersistenceService;
 import com.netflix.genie.web.services.ClusterPersistenceService;
@@ -42,8 +45,11 @@ import com.netflix.genie.web.services.FilePersistenceService;
 import com.netflix.genie.web.services.JobPersistenceService;
 import com.netflix.genie.web.services.JobSearchService;
 import com.netflix.genie.web.services.TagPersistenceService;
+import org.hibernate.cfg.AvailableSettings;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
@@ -58,8 +64,37 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 // TODO: Create marker class for base classes scanning for compile time check
 @EnableJpaRepositories("com.netflix.genie.web.data.repositories")
 @EntityScan("com.netflix.genie.web.data.entities")
+@EnableConfigurationProperties(
+    {
+        JdbcBatchProperties.class,
+        JobRequestDocumentProperties.class
+    }
+)
 public class GenieJpaAutoConfiguration {
 
+    /**
+     * Apply the configured JDBC batching settings to Hibernate. When enabled the rows of the join tables and element
+     * collections written for a job or resource, as well as updates, are sent to the database in batches instead of
+     * one round trip per statement. Entities themselves still use identity generated ids so their own inserts are
+     * not batched.
+     *
+     * @param jdbcBatchProperties The {@link JdbcBatchProperties} to use
+     * @return A {@link HibernatePropertiesCustomizer} which sets the batching related Hibernate properties
+     */
+    @Bean
+    public HibernatePropertiesCustomizer genieJdbcBatchHibernatePropertiesCustomizer(
+        final JdbcBatchProperties jdbcBatchProperties
+    ) {
+        return hibernateProperties -> {
+            if (jdbcBatchProperties.getSize() > 0) {
+                hibernateProperties.put(AvailableSettings.STATEMENT_BATCH_SIZE, jdbcBatchProperties.getSize());
+                hibernateProperties.put(AvailableSettings.ORDER_INSERTS, jdbcBatchProperties.isOrderInserts());
+                hibernateProperties.put(AvailableSettings.ORDER_UPDATES, jdbcBatchProperties.isOrderUpdates());
+                hibernateProperties.put(AvailableSettings.BATCH_VERSIONED_DATA, true);
+            }
+        };
+    }
+
     /**
      * The JPA based implementation of the {@link ApplicationPersistenceService} interface.
      *
@@ -179,6 +214,8 @@ public class GenieJpaAutoConfiguration {
      * @param clusterRepository      The {@link JpaClusterRepository} to use
      * @param commandRepository      The {@link JpaCommandRepository} to use
      * @param jobRepository          The {@link JpaJobRepository} to use
+     * @param genieEventBus          The {@link GenieEventBus} to publish job state changes to
+     * @param documentProperties     The {@link JobRequestDocumentProperties} to use
      * @return Instance of {@link JpaJobPersistenceServiceImpl}
      */
     @Bean
@@ -189,7 +226,9 @@ public class GenieJpaAutoConfiguration {
         final JpaApplicationRepository applicationRepository,
         final JpaClusterRepository clusterRepository,
         final JpaCommandRepository commandRepository,
-        final JpaJobRepository jobRepository
+        final JpaJobRepository jobRepository,
+        final GenieEventBus genieEventBus,
+        final JobRequestDocumentProperties documentProperties
     ) {
         return new JpaJobPersistenceServiceImpl(
             tagPersistenceService,
@@ -197,7 +236,9 @@ public class GenieJpaAutoConfiguration {
             applicationRepository,
             clusterRepository,
             commandRepository,
-            jobRepository
+            jobRepository,
+            genieEventBus,
+            documentProperties
         );
     }
 
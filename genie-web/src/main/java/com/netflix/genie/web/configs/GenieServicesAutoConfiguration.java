@@ -29,12 +29,15 @@ import com.netflix.genie.web.properties.ExponentialBackOffTriggerProperties;
 import com.netflix.genie.web.properties.FileCacheProperties;
 import com.netflix.genie.web.properties.HealthProperties;
 import com.netflix.genie.web.properties.JobsActiveLimitProperties;
+import com.netflix.genie.web.properties.JobsArchiveProperties;
 import com.netflix.genie.web.properties.JobsCleanupProperties;
 import com.netflix.genie.web.properties.JobsForwardingProperties;
 import com.netflix.genie.web.properties.JobsLocationsProperties;
 import com.netflix.genie.web.properties.JobsMaxProperties;
 import com.netflix.genie.web.properties.JobsMemoryProperties;
 import com.netflix.genie.web.properties.JobsProperties;
+import com.netflix.genie.web.properties.JobsStatusCacheProperties;
+import com.netflix.genie.web.properties.JobsStatusWatchProperties;
 import com.netflix.genie.web.properties.JobsUsersProperties;
 import com.netflix.genie.web.services.AgentConnectionPersistenceService;
 import com.netflix.genie.web.services.AgentFileStreamService;
@@ -53,10 +56,14 @@ import com.netflix.genie.web.services.JobDirectoryServerService;
 import com.netflix.genie.web.services.JobFileService;
 import com.netflix.genie.web.services.JobKillService;
 import com.netflix.genie.web.services.JobKillServiceV4;
+import com.netflix.genie.web.services.JobMetricsService;
+import com.netflix.genie.web.services.JobOutputTailService;
 import com.netflix.genie.web.services.JobPersistenceService;
 import com.netflix.genie.web.services.JobSearchService;
 import com.netflix.genie.web.services.JobSpecificationService;
 import com.netflix.genie.web.services.JobStateService;
+import com.netflix.genie.web.services.JobStatusCacheService;
+import com.netflix.genie.web.services.JobStatusWatchService;
 import com.netflix.genie.web.services.JobSubmitterService;
 import com.netflix.genie.web.services.MailService;
 import com.netflix.genie.web.services.impl.AgentJobServiceImpl;
@@ -70,7 +77,10 @@ import com.netflix.genie.web.services.impl.JobCoordinatorServiceImpl;
 import com.netflix.genie.web.services.impl.JobDirectoryServerServiceImpl;
 import com.netflix.genie.web.services.impl.JobKillServiceImpl;
 import com.netflix.genie.web.services.impl.JobKillServiceV3;
+import com.netflix.genie.web.services.impl.JobMetricsServiceImpl;
 import com.netflix.genie.web.services.impl.JobSpecificationServiceImpl;
+import com.netflix.genie.web.services.impl.JobStatusCacheServiceImpl;
+import com.netflix.genie.web.services.impl.JobStatusWatchServiceImpl;
 import com.netflix.genie.web.services.impl.LocalFileTransferImpl;
 import com.netflix.genie.web.services.impl.LocalJobRunner;
 import com.netflix.genie.web.tasks.job.JobCompletionService;
@@ -88,7 +98,10 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.retry.support.RetryTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotEmpty;
@@ -97,6 +110,7 @@ import java.net.URI;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Configuration for all the services.
@@ -115,9 +129,12 @@ import java.util.Optional;
         JobsLocationsProperties.class,
         JobsMaxProperties.class,
         JobsMemoryProperties.class,
+        JobsStatusCacheProperties.class,
+        JobsStatusWatchProperties.class,
         JobsUsersProperties.class,
         ExponentialBackOffTriggerProperties.class,
         JobsActiveLimitProperties.class,
+        JobsArchiveProperties.class,
     }
 )
 @AutoConfigureAfter(
@@ -272,6 +289,8 @@ public class GenieServicesAutoConfiguration {
         return new CacheGenieFileTransferService(
             fileTransferFactory,
             fileCacheProperties.getLocation(),
+            fileCacheProperties.getMaxSize(),
+            fileCacheProperties.getRefreshInterval(),
             localFileTransfer,
             registry
         );
@@ -450,17 +469,20 @@ public class GenieServicesAutoConfiguration {
      *
      * @param agentConnectionPersistenceService The persistence service to use for agent connections
      * @param genieHostInfo                     The local genie host information
+     * @param genieEventBus                     The Genie event bus
      * @return A {@link AgentRoutingServiceImpl} instance
      */
     @Bean
     @ConditionalOnMissingBean(AgentRoutingService.class)
     public AgentRoutingService agentRoutingService(
         final AgentConnectionPersistenceService agentConnectionPersistenceService,
-        final GenieHostInfo genieHostInfo
+        final GenieHostInfo genieHostInfo,
+        final GenieEventBus genieEventBus
     ) {
         return new AgentRoutingServiceImpl(
             agentConnectionPersistenceService,
-            genieHostInfo
+            genieHostInfo,
+            genieEventBus
         );
     }
 
@@ -475,6 +497,8 @@ public class GenieServicesAutoConfiguration {
      * @param registry              Registry
      * @param jobsProperties        The jobs properties to use
      * @param retryTemplate         The retry template
+     * @param archiveTaskExecutor   The executor job directories are archived on
+     * @param genieHostInfo         Information about the host this Genie process is running on
      * @return an instance of {@link JobCompletionService}
      * @throws GenieException if the bean fails during construction
      */
@@ -488,7 +512,9 @@ public class GenieServicesAutoConfiguration {
         final MailService mailService,
         final MeterRegistry registry,
         final JobsProperties jobsProperties,
-        @Qualifier("genieRetryTemplate") final RetryTemplate retryTemplate
+        @Qualifier("genieRetryTemplate") final RetryTemplate retryTemplate,
+        @Qualifier("genieJobArchiveTaskExecutor") final AsyncTaskExecutor archiveTaskExecutor,
+        final GenieHostInfo genieHostInfo
     ) throws GenieException {
         return new JobCompletionService(
             jobPersistenceService,
@@ -498,10 +524,34 @@ public class GenieServicesAutoConfiguration {
             mailService,
             registry,
             jobsProperties,
-            retryTemplate
+            retryTemplate,
+            archiveTaskExecutor,
+            genieHostInfo
         );
     }
 
+    /**
+     * Get a bounded task executor the {@link JobCompletionService} archives job directories on. When the queue is full
+     * the completing thread archives the directory itself rather than dropping it. On shutdown it waits a bounded time
+     * for the queued archives, the rest are resumed on the next startup.
+     *
+     * @param properties The job archive properties
+     * @return The task executor
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "genieJobArchiveTaskExecutor")
+    public AsyncTaskExecutor genieJobArchiveTaskExecutor(final JobsArchiveProperties properties) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getThreads());
+        executor.setMaxPoolSize(properties.getThreads());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("genie-job-archive-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(properties.getAwaitTerminationSeconds());
+        return executor;
+    }
+
     /**
      * Get a NOOP/fallback {@link AgentFilterService} instance if there isn't already one.
      *
@@ -521,7 +571,7 @@ public class GenieServicesAutoConfiguration {
      * Provide the default implementation of {@link JobDirectoryServerService} for serving job directory resources.
      *
      * @param resourceLoader         The application resource loader used to get references to resources
-     * @param jobPersistenceService  The job persistence service used to get information about a job
+     * @param jobStatusCacheService  The job status cache service used to get information about a job
      * @param jobFileService         The service responsible for managing the job working directory on disk for V3 Jobs
      * @param agentFileStreamService The service to request a file from an agent running a job
      * @param meterRegistry          The meter registry used to keep track of metrics
@@ -531,14 +581,14 @@ public class GenieServicesAutoConfiguration {
     @ConditionalOnMissingBean(JobDirectoryServerService.class)
     public JobDirectoryServerService jobDirectoryServerService(
         final ResourceLoader resourceLoader,
-        final JobPersistenceService jobPersistenceService,
+        final JobStatusCacheService jobStatusCacheService,
         final JobFileService jobFileService,
         final AgentFileStreamService agentFileStreamService,
         final MeterRegistry meterRegistry
     ) {
         return new JobDirectoryServerServiceImpl(
             resourceLoader,
-            jobPersistenceService,
+            jobStatusCacheService,
             jobFileService,
             agentFileStreamService,
             meterRegistry
@@ -570,6 +620,18 @@ public class GenieServicesAutoConfiguration {
         };
     }
 
+    /**
+     * Get a fallback implementation of {@link JobOutputTailService} in case gRPC is disabled.
+     * No agent can push output to this node, so no job output can be tailed.
+     *
+     * @return a placeholder job output tail service
+     */
+    @Bean
+    @ConditionalOnMissingBean(JobOutputTailService.class)
+    public JobOutputTailService fallbackJobOutputTailService() {
+        return (jobId, subscriber) -> Optional.empty();
+    }
+
     /**
      * Provide an implementation of {@link AgentMetricsService} if one hasn't been provided.
      *
@@ -588,4 +650,94 @@ public class GenieServicesAutoConfiguration {
     ) {
         return new AgentMetricsServiceImpl(genieHostInfo, agentConnectionPersistenceService, registry);
     }
+
+    /**
+     * Provide an in-memory, event maintained implementation of {@link JobMetricsService} for the jobs active on this
+     * host if one hasn't been provided.
+     *
+     * @param genieHostInfo    The Genie host information
+     * @param jobSearchService The job search service used to periodically reconcile the in-memory counts
+     * @param scheduler        The task scheduler to schedule reconciliation with
+     * @param healthProperties The health properties
+     * @param registry         The metrics repository
+     * @return An instance of {@link JobMetricsServiceImpl}
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "jobMetricsService")
+    public JobMetricsServiceImpl jobMetricsService(
+        final GenieHostInfo genieHostInfo,
+        final JobSearchService jobSearchService,
+        @Qualifier("genieTaskScheduler") final TaskScheduler scheduler,
+        final HealthProperties healthProperties,
+        final MeterRegistry registry
+    ) {
+        return new JobMetricsServiceImpl(
+            jobSearchService,
+            genieHostInfo.getHostname(),
+            scheduler,
+            healthProperties.getJobMetricsReconciliationInterval(),
+            registry
+        );
+    }
+
+    /**
+     * Provide an in-memory implementation of {@link JobStatusCacheService} which is kept up to date with the job
+     * status changes persisted by this node if one hasn't been provided.
+     *
+     * @param jobPersistenceService The job persistence service to read statuses from on a cache miss
+     * @param properties            The job status cache properties
+     * @param registry              The metrics repository
+     * @return An instance of {@link JobStatusCacheServiceImpl}
+     */
+    @Bean
+    @ConditionalOnMissingBean(JobStatusCacheService.class)
+    public JobStatusCacheServiceImpl jobStatusCacheService(
+        final JobPersistenceService jobPersistenceService,
+        final JobsStatusCacheProperties properties,
+        final MeterRegistry registry
+    ) {
+        return new JobStatusCacheServiceImpl(jobPersistenceService, properties, registry);
+    }
+
+    /**
+     * Get a task executor job status changes are delivered to the clients watching them on, so clients stalled on a
+     * slow connection can't hold up the shared task scheduler.
+     *
+     * @param properties The job status watch properties
+     * @return The task executor
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "genieJobStatusWatchTaskExecutor")
+    public AsyncTaskExecutor genieJobStatusWatchTaskExecutor(final JobsStatusWatchProperties properties) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getDeliveryThreads());
+        executor.setMaxPoolSize(properties.getDeliveryThreads());
+        executor.setThreadNamePrefix("genie-job-status-watch-");
+        return executor;
+    }
+
+    /**
+     * Provide the default implementation of {@link JobStatusWatchService} if one hasn't been provided.
+     *
+     * @param jobStatusCacheService The job status cache service used to check the status of watched jobs
+     * @param scheduler             The task scheduler to periodically check watched jobs with
+     * @param deliveryExecutor      The task executor to deliver status changes with
+     * @param properties            The job status watch properties
+     * @return An instance of {@link JobStatusWatchServiceImpl}
+     */
+    @Bean
+    @ConditionalOnMissingBean(JobStatusWatchService.class)
+    public JobStatusWatchServiceImpl jobStatusWatchService(
+        final JobStatusCacheService jobStatusCacheService,
+        @Qualifier("genieTaskScheduler") final TaskScheduler scheduler,
+        @Qualifier("genieJobStatusWatchTaskExecutor") final AsyncTaskExecutor deliveryExecutor,
+        final JobsStatusWatchProperties properties
+    ) {
+        return new JobStatusWatchServiceImpl(
+            jobStatusCacheService,
+            scheduler,
+            deliveryExecutor,
+            properties.getCheckInterval()
+        );
+    }
 }
@@ -22,10 +22,12 @@ import com.netflix.genie.web.properties.AgentCleanupProperties;
 import com.netflix.genie.web.properties.ClusterCheckerProperties;
 import com.netflix.genie.web.properties.DatabaseCleanupProperties;
 import com.netflix.genie.web.properties.DiskCleanupProperties;
+import com.netflix.genie.web.properties.HttpProperties;
 import com.netflix.genie.web.properties.JobsProperties;
 import com.netflix.genie.web.properties.TasksExecutorPoolProperties;
 import com.netflix.genie.web.properties.TasksSchedulerPoolProperties;
 import com.netflix.genie.web.properties.UserMetricsProperties;
+import com.netflix.genie.web.services.AgentRoutingService;
 import com.netflix.genie.web.services.ClusterPersistenceService;
 import com.netflix.genie.web.services.FilePersistenceService;
 import com.netflix.genie.web.services.JobPersistenceService;
@@ -40,16 +42,21 @@ import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.commons.exec.DefaultExecutor;
 import org.apache.commons.exec.Executor;
 import org.apache.commons.exec.PumpStreamHandler;
+import org.apache.http.client.HttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.actuate.autoconfigure.endpoint.web.WebEndpointProperties;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.Resource;
 import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
@@ -57,6 +64,8 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
 
 /**
  * Configuration of beans for asynchronous tasks within Genie.
@@ -160,6 +169,7 @@ public class GenieTasksAutoConfiguration {
      * @param restTemplate          The rest template for http calls
      * @param webEndpointProperties The properties where Spring actuator is running
      * @param registry              The spectator registry for getting metrics
+     * @param probeExecutor         The executor used to probe remote nodes concurrently
      * @return The {@link ClusterCheckerTask} instance
      */
     @Bean
@@ -169,9 +179,10 @@ public class GenieTasksAutoConfiguration {
         final ClusterCheckerProperties properties,
         final JobSearchService jobSearchService,
         final JobPersistenceService jobPersistenceService,
-        @Qualifier("genieRestTemplate") final RestTemplate restTemplate,
+        @Qualifier("genieClusterCheckerRestTemplate") final RestTemplate restTemplate,
         final WebEndpointProperties webEndpointProperties,
-        final MeterRegistry registry
+        final MeterRegistry registry,
+        @Qualifier("genieClusterCheckerTaskExecutor") final AsyncTaskExecutor probeExecutor
     ) {
         return new ClusterCheckerTask(
             genieHostInfo,
@@ -180,10 +191,57 @@ public class GenieTasksAutoConfiguration {
             jobPersistenceService,
             restTemplate,
             webEndpointProperties,
-            registry
+            registry,
+            probeExecutor
         );
     }
 
+    /**
+     * Get a bounded task executor the {@link ClusterCheckerTask} uses to probe remote nodes concurrently.
+     *
+     * @param properties The cluster checker properties
+     * @return The task executor
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "genieClusterCheckerTaskExecutor")
+    public AsyncTaskExecutor genieClusterCheckerTaskExecutor(final ClusterCheckerProperties properties) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getProbeThreads());
+        executor.setMaxPoolSize(properties.getProbeThreads());
+        executor.setThreadNamePrefix("genie-cluster-checker-");
+        return executor;
+    }
+
+    /**
+     * Get a {@link RestTemplate} backed by a connection pool sized for concurrent health checks of remote nodes. The
+     * read timeout is the per probe deadline so a hung node can't hold a probe thread past it.
+     *
+     * @param properties          The cluster checker properties
+     * @param httpProperties      The properties related to Genie's HTTP client configuration
+     * @param restTemplateBuilder The Spring REST template builder to use
+     * @return The rest template to use
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "genieClusterCheckerRestTemplate")
+    public RestTemplate genieClusterCheckerRestTemplate(
+        final ClusterCheckerProperties properties,
+        final HttpProperties httpProperties,
+        final RestTemplateBuilder restTemplateBuilder
+    ) {
+        final PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(properties.getProbeThreads());
+        connectionManager.setDefaultMaxPerRoute(properties.getProbeThreads());
+        final HttpClient httpClient = HttpClientBuilder
+            .create()
+            .setConnectionManager(connectionManager)
+            .build();
+        return restTemplateBuilder
+            .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+            .setConnectTimeout(Duration.of(httpProperties.getConnect().getTimeout(), ChronoUnit.MILLIS))
+            .setReadTimeout(Duration.of(properties.getProbeTimeout(), ChronoUnit.MILLIS))
+            .build();
+    }
+
     /**
      * Create a {@link DatabaseCleanupTask} if one is required.
      *
@@ -219,13 +277,14 @@ public class GenieTasksAutoConfiguration {
     /**
      * If required get a {@link DiskCleanupTask} instance for use.
      *
-     * @param properties       The disk cleanup properties to use.
-     * @param scheduler        The scheduler to use to schedule the cron trigger.
-     * @param jobsDir          The resource representing the location of the job directory
-     * @param jobSearchService The service to find jobs with
-     * @param jobsProperties   The jobs properties to use
-     * @param processExecutor  The process executor to use to delete directories
-     * @param registry         The metrics registry
+     * @param properties            The disk cleanup properties to use.
+     * @param scheduler             The scheduler to use to schedule the cron trigger.
+     * @param jobsDir               The resource representing the location of the job directory
+     * @param jobSearchService      The service to find jobs with
+     * @param jobPersistenceService The service to check whether the directory of a job was archived yet with
+     * @param jobsProperties        The jobs properties to use
+     * @param processExecutor       The process executor to use to delete directories
+     * @param registry              The metrics registry
      * @return The {@link DiskCleanupTask} instance
      * @throws IOException When it is unable to open a file reference to the job directory
      */
@@ -237,6 +296,7 @@ public class GenieTasksAutoConfiguration {
         @Qualifier("genieTaskScheduler") final TaskScheduler scheduler,
         final Resource jobsDir,
         final JobSearchService jobSearchService,
+        final JobPersistenceService jobPersistenceService,
         final JobsProperties jobsProperties,
         final Executor processExecutor,
         final MeterRegistry registry
@@ -246,6 +306,7 @@ public class GenieTasksAutoConfiguration {
             scheduler,
             jobsDir,
             jobSearchService,
+            jobPersistenceService,
             jobsProperties,
             processExecutor,
             registry
@@ -280,7 +341,9 @@ public class GenieTasksAutoConfiguration {
      *
      * @param jobSearchService       The job search service
      * @param jobPersistenceService  the job persistence service
+     * @param agentRoutingService    the agent routing service
      * @param agentCleanupProperties the agent cleanup properties
+     * @param scheduler              the task scheduler used to fire AWOL deadlines
      * @param registry               the metrics registry
      * @return a {@link AgentJobCleanupTask}
      */
@@ -290,13 +353,17 @@ public class GenieTasksAutoConfiguration {
     public AgentJobCleanupTask agentJobCleanupTask(
         final JobSearchService jobSearchService,
         final JobPersistenceService jobPersistenceService,
+        final AgentRoutingService agentRoutingService,
         final AgentCleanupProperties agentCleanupProperties,
+        @Qualifier("genieTaskScheduler") final TaskScheduler scheduler,
         final MeterRegistry registry
     ) {
         return new AgentJobCleanupTask(
             jobSearchService,
             jobPersistenceService,
+            agentRoutingService,
             agentCleanupProperties,
+            scheduler,
             registry
         );
     }
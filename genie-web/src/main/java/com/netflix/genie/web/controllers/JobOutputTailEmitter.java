@@ -0,0 +1,108 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.controllers;
+
+import com.netflix.genie.web.services.JobOutputTailService;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+/**
+ * Relays the output of one stream of a job to an HTTP client as Server-Sent Events.
+ * Output is decoded as UTF-8. Since output chunks can end in the middle of a multi-byte character, incomplete trailing
+ * bytes are held back until the next chunk.
+ *
+ * @author mprimi
+ * @since 4.0.0
+ */
+class JobOutputTailEmitter extends SseEmitter implements JobOutputTailService.Subscriber {
+
+    private static final Pattern LINE_BREAK_PATTERN = Pattern.compile("\r\n|\r|\n");
+    private static final byte[] EMPTY = new byte[0];
+
+    private final JobOutputTailService.OutputStream outputStream;
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private byte[] leftover = EMPTY;
+
+    /**
+     * Constructor.
+     *
+     * @param timeout      the timeout of the request in milliseconds
+     * @param outputStream the job output stream to relay, output of other streams is ignored
+     */
+    JobOutputTailEmitter(final long timeout, final JobOutputTailService.OutputStream outputStream) {
+        super(timeout);
+        this.outputStream = outputStream;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void onOutput(
+        final JobOutputTailService.OutputStream stream,
+        final long offset,
+        final byte[] data
+    ) throws IOException {
+        if (stream != this.outputStream) {
+            return;
+        }
+
+        final ByteBuffer input;
+        if (this.leftover.length == 0) {
+            input = ByteBuffer.wrap(data);
+        } else {
+            input = ByteBuffer.allocate(this.leftover.length + data.length);
+            input.put(this.leftover).put(data);
+            input.flip();
+        }
+
+        final CharBuffer chars = CharBuffer.allocate(input.remaining());
+        this.decoder.decode(input, chars, false);
+        chars.flip();
+
+        this.leftover = new byte[input.remaining()];
+        input.get(this.leftover);
+
+        if (chars.hasRemaining()) {
+            // The id is the offset in the file up to which output has been delivered
+            final SseEventBuilder event = event().id(String.valueOf(offset + data.length - this.leftover.length));
+            // SSE data cannot contain line breaks, multiple data lines are joined back with a line feed by clients
+            for (final String line : LINE_BREAK_PATTERN.split(chars, -1)) {
+                event.data(line);
+            }
+            this.send(event);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onCompleted() {
+        this.complete();
+    }
+}
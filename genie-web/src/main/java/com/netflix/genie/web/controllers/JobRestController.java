@@ -19,14 +19,17 @@ package com.netflix.genie.web.controllers;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.google.common.collect.Sets;
 import com.google.common.io.ByteStreams;
 import com.netflix.genie.common.dto.JobMetadata;
 import com.netflix.genie.common.dto.JobRequest;
 import com.netflix.genie.common.dto.JobStatus;
 import com.netflix.genie.common.dto.JobStatusMessages;
 import com.netflix.genie.common.dto.search.JobSearchResult;
+import com.netflix.genie.common.dto.search.JobStatusSearchResult;
 import com.netflix.genie.common.exceptions.GenieException;
 import com.netflix.genie.common.exceptions.GenieNotFoundException;
+import com.netflix.genie.common.exceptions.GeniePreconditionException;
 import com.netflix.genie.common.exceptions.GenieServerException;
 import com.netflix.genie.common.internal.exceptions.unchecked.GenieJobNotFoundException;
 import com.netflix.genie.common.internal.jobs.JobConstants;
@@ -48,12 +51,16 @@ import com.netflix.genie.web.hateoas.resources.JobRequestResource;
 import com.netflix.genie.web.hateoas.resources.JobResource;
 import com.netflix.genie.web.hateoas.resources.JobSearchResultResource;
 import com.netflix.genie.web.properties.JobsProperties;
+import com.netflix.genie.web.properties.JobsStatusWatchProperties;
 import com.netflix.genie.web.services.AgentRoutingService;
 import com.netflix.genie.web.services.AttachmentService;
 import com.netflix.genie.web.services.JobCoordinatorService;
 import com.netflix.genie.web.services.JobDirectoryServerService;
+import com.netflix.genie.web.services.JobOutputTailService;
 import com.netflix.genie.web.services.JobPersistenceService;
 import com.netflix.genie.web.services.JobSearchService;
+import com.netflix.genie.web.services.JobStatusCacheService;
+import com.netflix.genie.web.services.JobStatusWatchService;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
@@ -87,9 +94,12 @@ import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import javax.annotation.Nullable;
@@ -110,6 +120,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 /**
@@ -128,6 +140,9 @@ public class JobRestController {
     private static final String NAME_HEADER_COOKIE = "cookie";
     private static final String JOB_API_TEMPLATE = "/api/v3/jobs/{id}";
     private static final String COMMA = ",";
+    private static final String STDOUT = "stdout";
+    private static final long OUTPUT_TAIL_TIMEOUT_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final int MAX_JOB_STATUS_IDS = 10_000;
 
     private final JobCoordinatorService jobCoordinatorService;
     private final JobSearchService jobSearchService;
@@ -146,6 +161,10 @@ public class JobRestController {
     private final JobsProperties jobsProperties;
     private final AgentRoutingService agentRoutingService;
     private final JobPersistenceService jobPersistenceService;
+    private final JobOutputTailService jobOutputTailService;
+    private final JobStatusCacheService jobStatusCacheService;
+    private final JobStatusWatchService jobStatusWatchService;
+    private final JobsStatusWatchProperties jobsStatusWatchProperties;
 
     // Metrics
     private final Counter submitJobWithoutAttachmentsRate;
@@ -172,6 +191,10 @@ public class JobRestController {
      * @param registry                         The metrics registry to use
      * @param jobPersistenceService            Job persistence service
      * @param agentRoutingService              Agent routing service
+     * @param jobOutputTailService             Service to follow the output of running agent jobs
+     * @param jobStatusCacheService            Service to look up the status of jobs being polled
+     * @param jobStatusWatchService            Service to be notified of job status changes
+     * @param jobsStatusWatchProperties        The properties bounding how long clients can wait for status changes
      */
     @Autowired
     @SuppressWarnings("checkstyle:parameternumber")
@@ -193,7 +216,11 @@ public class JobRestController {
         final JobsProperties jobsProperties,
         final MeterRegistry registry,
         final JobPersistenceService jobPersistenceService,
-        final AgentRoutingService agentRoutingService
+        final AgentRoutingService agentRoutingService,
+        final JobOutputTailService jobOutputTailService,
+        final JobStatusCacheService jobStatusCacheService,
+        final JobStatusWatchService jobStatusWatchService,
+        final JobsStatusWatchProperties jobsStatusWatchProperties
     ) {
         this.jobCoordinatorService = jobCoordinatorService;
         this.jobSearchService = jobSearchService;
@@ -212,6 +239,10 @@ public class JobRestController {
         this.jobsProperties = jobsProperties;
         this.agentRoutingService = agentRoutingService;
         this.jobPersistenceService = jobPersistenceService;
+        this.jobOutputTailService = jobOutputTailService;
+        this.jobStatusCacheService = jobStatusCacheService;
+        this.jobStatusWatchService = jobStatusWatchService;
+        this.jobsStatusWatchProperties = jobsStatusWatchProperties;
 
         // Set up the metrics
         this.submitJobWithoutAttachmentsRate = registry.counter("genie.api.v3.jobs.submitJobWithoutAttachments.rate");
@@ -394,10 +425,109 @@ public class JobRestController {
     @GetMapping(value = "/{id}/status", produces = MediaType.APPLICATION_JSON_VALUE)
     public JsonNode getJobStatus(@PathVariable("id") final String id) throws GenieException {
         log.info("[getJobStatus] Called for job with id: {}", id);
-        final JsonNodeFactory factory = JsonNodeFactory.instance;
-        return factory
-            .objectNode()
-            .set("status", factory.textNode(this.jobPersistenceService.getJobStatus(id).toString()));
+        return this.createStatusNode(this.jobStatusCacheService.getJobStatus(id));
+    }
+
+    /**
+     * Wait for the status of the given job to be different from the one the client last saw. The current status is
+     * returned right away if it already differs, otherwise once it changes or when the wait times out, in which case
+     * it is unchanged.
+     *
+     * @param id          The id of the job to get status for
+     * @param changedFrom The status of the job the client last saw
+     * @param timeout     The maximum time to wait for a change in milliseconds. Capped by the server configuration
+     * @return The status of the job as one of: {@link JobStatus}
+     * @throws GenieException on error
+     */
+    @GetMapping(value = "/{id}/status", params = "changedFrom", produces = MediaType.APPLICATION_JSON_VALUE)
+    public DeferredResult<JsonNode> waitForJobStatusChange(
+        @PathVariable("id") final String id,
+        @RequestParam("changedFrom") final String changedFrom,
+        @RequestParam(value = "timeout", required = false) @Nullable final Long timeout
+    ) throws GenieException {
+        log.info("[waitForJobStatusChange] Called for job with id: {} and status {}", id, changedFrom);
+        final JobStatus fromStatus = JobStatus.parse(changedFrom);
+        final long maxWait = this.jobsStatusWatchProperties.getMaxWait();
+        final long wait = timeout == null || timeout <= 0 ? maxWait : Math.min(timeout, maxWait);
+
+        final DeferredResult<JsonNode> result = new DeferredResult<>(wait);
+        final AtomicReference<JobStatus> currentStatus = new AtomicReference<>();
+        final JobStatusWatchService.Subscription subscription = this.jobStatusWatchService.watch(
+            Sets.newHashSet(id),
+            (jobId, status) -> {
+                currentStatus.set(status);
+                if (status != fromStatus) {
+                    result.setResult(this.createStatusNode(status));
+                }
+            }
+        );
+        // Status is delivered asynchronously, if even the current one wasn't delivered in time it is unchanged
+        result.onTimeout(
+            () -> {
+                final JobStatus status = currentStatus.get();
+                result.setResult(this.createStatusNode(status == null ? fromStatus : status));
+            }
+        );
+        result.onCompletion(subscription::cancel);
+        if (result.isSetOrExpired()) {
+            subscription.cancel();
+        }
+        return result;
+    }
+
+    /**
+     * Follow the status changes of one or more jobs, as Server-Sent Events named {@code status}. The data of each
+     * event is a JSON object with the {@code id} and the new {@code status} of a job. The current status of every job
+     * is sent first. The stream ends once all the jobs have finished.
+     *
+     * @param ids The ids of the jobs to follow
+     * @return The event stream
+     * @throws GenieException if no job id is provided or any of the jobs doesn't exist
+     */
+    @GetMapping(value = "/statuses", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter followJobStatuses(@RequestParam("id") final Set<String> ids) throws GenieException {
+        log.info("[followJobStatuses] Called for jobs with ids: {}", ids);
+        final Set<String> jobIds = ids.stream().filter(StringUtils::isNotBlank).collect(Collectors.toSet());
+        if (jobIds.isEmpty()) {
+            throw new GeniePreconditionException("At least one job id is required");
+        }
+
+        final JobStatusEmitter emitter = new JobStatusEmitter(
+            this.jobsStatusWatchProperties.getStreamTimeout(),
+            jobIds
+        );
+        final JobStatusWatchService.Subscription subscription = this.jobStatusWatchService.watch(jobIds, emitter);
+        final Runnable cancel = subscription::cancel;
+        emitter.onCompletion(cancel);
+        emitter.onTimeout(cancel);
+        emitter.onError(error -> cancel.run());
+        return emitter;
+    }
+
+    /**
+     * Get the status, timestamps and exit code of many jobs in a single request.
+     *
+     * @param ids The ids of the jobs to look up. At most 10,000 per request
+     * @return The statuses of the jobs found. Ids which don't match any job are left out
+     * @throws GenieException if no job id or too many are provided
+     */
+    @PostMapping(
+        value = "/statuses",
+        consumes = MediaType.APPLICATION_JSON_VALUE,
+        produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public List<JobStatusSearchResult> getJobStatuses(@RequestBody final Set<String> ids) throws GenieException {
+        log.info("[getJobStatuses] Called for {} jobs", ids.size());
+        final Set<String> jobIds = ids.stream().filter(StringUtils::isNotBlank).collect(Collectors.toSet());
+        if (jobIds.isEmpty()) {
+            throw new GeniePreconditionException("At least one job id is required");
+        }
+        if (jobIds.size() > MAX_JOB_STATUS_IDS) {
+            throw new GeniePreconditionException(
+                "At most " + MAX_JOB_STATUS_IDS + " job ids can be requested at once. Got " + jobIds.size()
+            );
+        }
+        return this.jobSearchService.getJobStatuses(jobIds);
     }
 
     /**
@@ -728,8 +858,11 @@ public class JobRestController {
         log.info("[getJobOutput] Called to get output path \"{}\" for job with id \"{}\"", path, id);
 
         // if forwarded from isn't null it's already been forwarded to this node. Assume data is on this node.
-        // if the job is finished all file serving is done from the archive it doesn't need to be forwarded anywhere
-        if (jobStatus.isActive() && this.jobsProperties.getForwarding().isEnabled() && forwardedFrom == null) {
+        // if the job is finished file serving is done from the archive and it doesn't need to be forwarded anywhere.
+        // The final status of a job is recorded before its directory is archived though, so while the archival is
+        // pending the directory of a finished V3 job is still only on the node it ran on.
+        final boolean canForward = this.jobsProperties.getForwarding().isEnabled() && forwardedFrom == null;
+        if (canForward && (jobStatus.isActive() || !isV4 && this.jobPersistenceService.isArchivePending(id))) {
             final String jobHostname = this.getJobOwnerHostname(id, isV4);
             if (!this.hostname.equals(jobHostname)) {
                 log.info("Job {} is not run on this node. Forwarding to {}", id, jobHostname);
@@ -753,6 +886,14 @@ public class JobRestController {
                 } catch (final HttpStatusCodeException e) {
                     log.error("Failed getting the remote job output from {}. Error: {}", forwardHost, e.getMessage());
                     response.sendError(e.getStatusCode().value(), e.getStatusText());
+                } catch (final ResourceAccessException e) {
+                    log.error("Failed getting the remote job output from {}. Error: {}", forwardHost, e.getMessage());
+                    if (jobStatus.isActive()) {
+                        response.sendError(HttpStatus.INTERNAL_SERVER_ERROR.value(), e.getMessage());
+                    } else {
+                        // The node the job ran on may be gone for good. Serve whatever this node can instead.
+                        this.jobDirectoryServerService.serveResource(id, baseUrl, path, request, response);
+                    }
                 } catch (final Exception e) {
                     log.error("Failed getting the remote job output from {}. Error: {}", forwardHost, e.getMessage());
                     response.sendError(HttpStatus.INTERNAL_SERVER_ERROR.value(), e.getMessage());
@@ -767,6 +908,76 @@ public class JobRestController {
         this.jobDirectoryServerService.serveResource(id, baseUrl, path, request, response);
     }
 
+    /**
+     * Follow the standard output or standard error of a running job, as Server-Sent Events.
+     * Only output written after the request is received is sent. The data of each event is the text appended to the
+     * file, and its id is the offset in the file up to which output was sent. The stream ends when the job completes.
+     * Only jobs executed by an agent can be followed this way.
+     *
+     * @param id            The id of the job to follow
+     * @param stream        Either stdout or stderr
+     * @param forwardedFrom The host this request was forwarded from if present
+     * @param response      the servlet response
+     * @return The event stream, or null if the client was redirected to the node the job agent is connected to
+     * @throws IOException    on redirect error
+     * @throws GenieException if the job does not exist, is not running, or its output cannot be followed
+     */
+    @GetMapping(
+        value = "/{id}/output/{stream:stdout|stderr}",
+        params = "tail",
+        produces = MediaType.TEXT_EVENT_STREAM_VALUE
+    )
+    public SseEmitter tailJobOutput(
+        @PathVariable("id") final String id,
+        @PathVariable("stream") final String stream,
+        @RequestHeader(name = JobConstants.GENIE_FORWARDED_FROM_HEADER, required = false)
+        @Nullable final String forwardedFrom,
+        final HttpServletResponse response
+    ) throws IOException, GenieException {
+        log.info("[tailJobOutput] Called to follow {} of job {}", stream, id);
+
+        if (!this.jobPersistenceService.getJobStatus(id).isActive()) {
+            throw new GeniePreconditionException("Job " + id + " is not running");
+        }
+        if (!this.jobPersistenceService.isV4(id)) {
+            throw new GeniePreconditionException("Output of job " + id + " can only be followed through its files");
+        }
+
+        final JobOutputTailEmitter emitter = new JobOutputTailEmitter(
+            OUTPUT_TAIL_TIMEOUT_MILLIS,
+            STDOUT.equals(stream) ? JobOutputTailService.OutputStream.STDOUT : JobOutputTailService.OutputStream.STDERR
+        );
+
+        final Optional<JobOutputTailService.Subscription> subscription
+            = this.jobOutputTailService.subscribe(id, emitter);
+
+        if (subscription.isPresent()) {
+            final Runnable cancel = subscription.get()::cancel;
+            emitter.onCompletion(cancel);
+            emitter.onTimeout(cancel);
+            emitter.onError(error -> cancel.run());
+            return emitter;
+        }
+
+        if (this.jobsProperties.getForwarding().isEnabled() && forwardedFrom == null) {
+            final String jobHostname = this.getJobOwnerHostname(id, true);
+            if (!this.hostname.equals(jobHostname)) {
+                log.info("Job {} agent is not connected to this node. Redirecting to {}", id, jobHostname);
+                response.sendRedirect(
+                    this.buildForwardHost(jobHostname) + "/api/v3/jobs/" + id + "/output/" + stream + "?tail"
+                );
+                return null;
+            }
+        }
+
+        throw new GenieNotFoundException("Output of job " + id + " is not available to follow");
+    }
+
+    private JsonNode createStatusNode(final JobStatus status) {
+        final JsonNodeFactory factory = JsonNodeFactory.instance;
+        return factory.objectNode().set("status", factory.textNode(status.toString()));
+    }
+
     private String buildForwardHost(final String jobHostname) {
         return this.jobsProperties.getForwarding().getScheme()
             + "://"
@@ -0,0 +1,77 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.controllers;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.netflix.genie.common.dto.JobStatus;
+import com.netflix.genie.web.services.JobStatusWatchService;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Relays the status changes of jobs to an HTTP client as Server-Sent Events.
+ * The data of each event is a JSON object with the id and the new status of the job. The stream ends once every job
+ * has finished.
+ *
+ * @author tgianos
+ * @since 4.0.0
+ */
+class JobStatusEmitter extends SseEmitter implements JobStatusWatchService.Subscriber {
+
+    static final String STATUS_EVENT_NAME = "status";
+
+    private final Set<String> activeJobIds;
+
+    /**
+     * Constructor.
+     *
+     * @param timeout the timeout of the request in milliseconds
+     * @param jobIds  the ids of the jobs whose statuses are relayed
+     */
+    JobStatusEmitter(final long timeout, final Set<String> jobIds) {
+        super(timeout);
+        this.activeJobIds = new HashSet<>(jobIds);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void onStatusChange(final String jobId, final JobStatus status) throws IOException {
+        final JsonNodeFactory factory = JsonNodeFactory.instance;
+        this.send(
+            event()
+                .name(STATUS_EVENT_NAME)
+                .data(
+                    factory.objectNode().put("id", jobId).put("status", status.toString()),
+                    MediaType.APPLICATION_JSON
+                )
+        );
+
+        if (status.isFinished()) {
+            this.activeJobIds.remove(jobId);
+            if (this.activeJobIds.isEmpty()) {
+                this.complete();
+            }
+        }
+    }
+}
@@ -21,6 +21,7 @@ import com.google.common.collect.Maps;
 import com.netflix.genie.common.dto.JobStatus;
 import com.netflix.genie.web.data.entities.projections.JobApplicationsProjection;
 import com.netflix.genie.web.data.entities.projections.JobArchiveLocationProjection;
+import com.netflix.genie.web.data.entities.projections.JobArchivePendingProjection;
 import com.netflix.genie.web.data.entities.projections.JobClusterProjection;
 import com.netflix.genie.web.data.entities.projections.JobCommandProjection;
 import com.netflix.genie.web.data.entities.projections.JobExecutionProjection;
@@ -28,8 +29,10 @@ import com.netflix.genie.web.data.entities.projections.JobMetadataProjection;
 import com.netflix.genie.web.data.entities.projections.JobProjection;
 import com.netflix.genie.web.data.entities.projections.JobRequestProjection;
 import com.netflix.genie.web.data.entities.projections.JobSearchProjection;
+import com.netflix.genie.web.data.entities.projections.JobStatusSearchProjection;
 import com.netflix.genie.web.data.entities.projections.v4.IsV4JobProjection;
 import com.netflix.genie.web.data.entities.projections.v4.JobSpecificationProjection;
+import com.netflix.genie.web.data.entities.projections.v4.JobStatusInfoProjection;
 import com.netflix.genie.web.data.entities.projections.v4.V4JobRequestProjection;
 import com.netflix.genie.web.data.repositories.jpa.specifications.JpaSpecificationUtils;
 import lombok.AccessLevel;
@@ -112,6 +115,7 @@ import java.util.Set;
         "memoryUsed",
         "timeout",
         "archiveLocation",
+        "archivePending",
         "requestedJobDirectoryLocation",
         "jobDirectoryLocation",
         "resolved",
@@ -132,10 +136,13 @@ public class JobEntity extends BaseEntity implements
     JobClusterProjection,
     JobCommandProjection,
     JobSearchProjection,
+    JobStatusSearchProjection,
     V4JobRequestProjection,
     JobSpecificationProjection,
     JobArchiveLocationProjection,
-    IsV4JobProjection {
+    JobArchivePendingProjection,
+    IsV4JobProjection,
+    JobStatusInfoProjection {
 
     private static final long serialVersionUID = 2849367731657512224L;
 
@@ -302,6 +309,10 @@ public class JobEntity extends BaseEntity implements
     @Size(max = 1024, message = "Max length in database is 1024 characters")
     private String archiveLocation;
 
+    @Basic(optional = false)
+    @Column(name = "archive_pending", nullable = false)
+    private boolean archivePending;
+
     @Basic
     @Column(name = "requested_archive_location_prefix", length = 1024)
     @Size(max = 1024, message = "Max length in database is 1024 characters")
@@ -341,6 +352,11 @@ public class JobEntity extends BaseEntity implements
     @Column(name = "requested_agent_environment_ext", updatable = false, columnDefinition = "TEXT DEFAULT NULL")
     private String requestedAgentEnvironmentExt;
 
+    @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @Column(name = "request_document", updatable = false, columnDefinition = "TEXT DEFAULT NULL")
+    private String requestDocument;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cluster_id")
     private ClusterEntity cluster;
@@ -411,7 +427,7 @@ public class JobEntity extends BaseEntity implements
     private List<CriterionEntity> clusterCriteria = new ArrayList<>();
 
     @ManyToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL)
-    @JoinColumn(name = "command_criterion", nullable = false, updatable = false)
+    @JoinColumn(name = "command_criterion", updatable = false)
     private CriterionEntity commandCriterion;
 
     @ElementCollection
@@ -903,6 +919,14 @@ public class JobEntity extends BaseEntity implements
         return Optional.ofNullable(this.requestedAgentConfigExt);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<String> getRequestDocument() {
+        return Optional.ofNullable(this.requestDocument);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,34 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.data.entities.projections;
+
+/**
+ * A projection which only returns whether the directory of a job still has to be archived.
+ *
+ * @author tgianos
+ * @since 4.0.0
+ */
+public interface JobArchivePendingProjection {
+
+    /**
+     * Get whether the job finished but its directory hasn't been archived yet.
+     *
+     * @return true if the archival of the job directory is pending
+     */
+    boolean isArchivePending();
+}
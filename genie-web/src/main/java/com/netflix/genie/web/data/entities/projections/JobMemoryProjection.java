@@ -0,0 +1,43 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.data.entities.projections;
+
+import java.util.Optional;
+
+/**
+ * Projection returning the unique id of a job and the memory allocated to it.
+ *
+ * @author tgianos
+ * @since 4.0.0
+ */
+public interface JobMemoryProjection {
+
+    /**
+     * Get the unique identifier of the job.
+     *
+     * @return The unique id of the job
+     */
+    String getUniqueId();
+
+    /**
+     * Get the amount of memory (in MB) allocated to the job.
+     *
+     * @return The memory used by the job if it was set
+     */
+    Optional<Integer> getMemoryUsed();
+}
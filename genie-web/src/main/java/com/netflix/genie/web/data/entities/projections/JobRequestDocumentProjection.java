@@ -0,0 +1,37 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.data.entities.projections;
+
+import java.util.Optional;
+
+/**
+ * Projection for returning the compressed document a job request was stored as, if any.
+ *
+ * @author tgianos
+ * @since 4.0.0
+ */
+public interface JobRequestDocumentProjection {
+
+    /**
+     * Get the compressed document holding the immutable portion of the job request. Only present for jobs whose
+     * request was saved while document storage was enabled.
+     *
+     * @return The Base64 encoded document wrapped in an {@link Optional}
+     */
+    Optional<String> getRequestDocument();
+}
@@ -30,7 +30,10 @@ import java.util.Set;
  * @author tgianos
  * @since 3.3.0
  */
-public interface JobRequestProjection extends JobCommonFieldsProjection, SetupFileProjection {
+public interface JobRequestProjection extends
+    JobCommonFieldsProjection,
+    SetupFileProjection,
+    JobRequestDocumentProjection {
 
     /**
      * Get the user group for this job.
@@ -0,0 +1,93 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.data.entities.projections;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Projection returning the status of a job along with its timestamps and exit code.
+ *
+ * @author tgianos
+ * @since 4.0.0
+ */
+public interface JobStatusSearchProjection extends JobStatusProjection {
+
+    /**
+     * Get the unique identifier of the job.
+     *
+     * @return The unique identifier
+     */
+    String getUniqueId();
+
+    /**
+     * Get the name of the job.
+     *
+     * @return The name of the job
+     */
+    String getName();
+
+    /**
+     * Get the user who ran or is running the job.
+     *
+     * @return the user
+     */
+    String getUser();
+
+    /**
+     * Get the message associated with the current status of the job.
+     *
+     * @return The status message if there is one
+     */
+    Optional<String> getStatusMsg();
+
+    /**
+     * Get when the job was created.
+     *
+     * @return The created timestamp
+     */
+    Instant getCreated();
+
+    /**
+     * Get when the job was last updated.
+     *
+     * @return The updated timestamp
+     */
+    Instant getUpdated();
+
+    /**
+     * Get the time the job started if it has started.
+     *
+     * @return The time the job started
+     */
+    Optional<Instant> getStarted();
+
+    /**
+     * Get the time the job finished if it has finished.
+     *
+     * @return The time the job finished
+     */
+    Optional<Instant> getFinished();
+
+    /**
+     * Get the exit code of the job process if it has finished running.
+     *
+     * @return The exit code
+     */
+    Optional<Integer> getExitCode();
+}
@@ -0,0 +1,38 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.data.entities.projections.v4;
+
+import com.netflix.genie.web.data.entities.projections.JobArchiveLocationProjection;
+import com.netflix.genie.web.data.entities.projections.JobStatusProjection;
+
+/**
+ * Projection combining the fields needed to decide how to serve requests for a job (its status, whether it was
+ * launched via Genie v4 and where it was archived to) so they can be read in a single query.
+ *
+ * @author tgianos
+ * @since 4.0.0
+ */
+public interface JobStatusInfoProjection extends JobStatusProjection, JobArchiveLocationProjection {
+
+    /**
+     * Job was launched using Genie v4.
+     *
+     * @return true if job was launched via Genie v4 else false
+     */
+    boolean isV4();
+}
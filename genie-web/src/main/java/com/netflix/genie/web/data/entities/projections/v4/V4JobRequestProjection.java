@@ -20,6 +20,7 @@ package com.netflix.genie.web.data.entities.projections.v4;
 import com.netflix.genie.web.data.entities.CriterionEntity;
 import com.netflix.genie.web.data.entities.FileEntity;
 import com.netflix.genie.web.data.entities.TagEntity;
+import com.netflix.genie.web.data.entities.projections.JobRequestDocumentProjection;
 
 import java.util.List;
 import java.util.Map;
@@ -33,7 +34,7 @@ import java.util.Set;
  * @since 4.0.0
  */
 // TODO: Clean this up as things get more finalized to break out fields into reusable super interfaces
-public interface V4JobRequestProjection {
+public interface V4JobRequestProjection extends JobRequestDocumentProjection {
     /**
      * Get the unique identifier for this entity.
      *
@@ -0,0 +1,329 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.data.entities.v4;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.netflix.genie.common.exceptions.GeniePreconditionException;
+import com.netflix.genie.common.internal.dto.v4.AgentConfigRequest;
+import com.netflix.genie.common.internal.dto.v4.AgentEnvironmentRequest;
+import com.netflix.genie.common.internal.dto.v4.Criterion;
+import com.netflix.genie.common.internal.dto.v4.ExecutionEnvironment;
+import com.netflix.genie.common.internal.dto.v4.ExecutionResourceCriteria;
+import com.netflix.genie.common.internal.dto.v4.JobArchivalDataRequest;
+import com.netflix.genie.common.internal.dto.v4.JobMetadata;
+import com.netflix.genie.common.internal.dto.v4.JobRequest;
+import com.netflix.genie.common.internal.exceptions.unchecked.GenieRuntimeException;
+import com.netflix.genie.common.util.GenieObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Utility methods for converting a V4 {@link JobRequest} to and from a GZIP compressed, Base64 encoded, JSON document
+ * which can be stored in a single text column of the jobs table instead of being spread across the job request
+ * collection tables.
+ *
+ * @author tgianos
+ * @since 4.0.0
+ */
+@Slf4j
+public final class JobRequestDocuments {
+
+    /**
+     * The current version of the document format. Stored in every document so the format can evolve.
+     */
+    static final int DOCUMENT_VERSION = 1;
+
+    private static final String VERSION_FIELD = "documentVersion";
+    private static final String REQUESTED_ID_FIELD = "requestedId";
+    private static final String COMMAND_ARGS_FIELD = "commandArgs";
+    private static final String METADATA_FIELD = "metadata";
+    private static final String NAME_FIELD = "name";
+    private static final String USER_FIELD = "user";
+    private static final String VERSION_NUMBER_FIELD = "version";
+    private static final String DESCRIPTION_FIELD = "description";
+    private static final String TAGS_FIELD = "tags";
+    private static final String JSON_METADATA_FIELD = "metadata";
+    private static final String GROUP_FIELD = "group";
+    private static final String EMAIL_FIELD = "email";
+    private static final String GROUPING_FIELD = "grouping";
+    private static final String GROUPING_INSTANCE_FIELD = "groupingInstance";
+    private static final String RESOURCES_FIELD = "resources";
+    private static final String CONFIGS_FIELD = "configs";
+    private static final String DEPENDENCIES_FIELD = "dependencies";
+    private static final String SETUP_FILE_FIELD = "setupFile";
+    private static final String CRITERIA_FIELD = "criteria";
+    private static final String CLUSTER_CRITERIA_FIELD = "clusterCriteria";
+    private static final String COMMAND_CRITERION_FIELD = "commandCriterion";
+    private static final String APPLICATION_IDS_FIELD = "applicationIds";
+    private static final String ID_FIELD = "id";
+    private static final String STATUS_FIELD = "status";
+    private static final String AGENT_ENVIRONMENT_FIELD = "requestedAgentEnvironment";
+    private static final String ENVIRONMENT_VARIABLES_FIELD = "requestedEnvironmentVariables";
+    private static final String CPU_FIELD = "requestedJobCpu";
+    private static final String MEMORY_FIELD = "requestedJobMemory";
+    private static final String EXT_FIELD = "ext";
+    private static final String AGENT_CONFIG_FIELD = "requestedAgentConfig";
+    private static final String JOB_DIRECTORY_LOCATION_FIELD = "requestedJobDirectoryLocation";
+    private static final String INTERACTIVE_FIELD = "interactive";
+    private static final String ARCHIVING_DISABLED_FIELD = "archivingDisabled";
+    private static final String TIMEOUT_FIELD = "timeoutRequested";
+    private static final String ARCHIVAL_DATA_FIELD = "requestedJobArchivalData";
+    private static final String ARCHIVE_LOCATION_PREFIX_FIELD = "requestedArchiveLocationPrefix";
+
+    private JobRequestDocuments() {
+    }
+
+    /**
+     * Serialize the given job request into a document.
+     *
+     * @param jobRequest The job request to serialize
+     * @return The encoded document
+     * @throws GenieRuntimeException If the document can't be written
+     */
+    public static String toDocument(final JobRequest jobRequest) {
+        final ObjectMapper mapper = GenieObjectMapper.getMapper();
+        final ObjectNode document = mapper.createObjectNode();
+        document.put(VERSION_FIELD, DOCUMENT_VERSION);
+        jobRequest.getRequestedId().ifPresent(id -> document.put(REQUESTED_ID_FIELD, id));
+        addStrings(document.putArray(COMMAND_ARGS_FIELD), jobRequest.getCommandArgs());
+
+        final JobMetadata jobMetadata = jobRequest.getMetadata();
+        final ObjectNode metadata = document.putObject(METADATA_FIELD);
+        metadata.put(NAME_FIELD, jobMetadata.getName());
+        metadata.put(USER_FIELD, jobMetadata.getUser());
+        metadata.put(VERSION_NUMBER_FIELD, jobMetadata.getVersion());
+        jobMetadata.getDescription().ifPresent(description -> metadata.put(DESCRIPTION_FIELD, description));
+        addStrings(metadata.putArray(TAGS_FIELD), jobMetadata.getTags());
+        jobMetadata.getMetadata().ifPresent(json -> metadata.set(JSON_METADATA_FIELD, json));
+        jobMetadata.getGroup().ifPresent(group -> metadata.put(GROUP_FIELD, group));
+        jobMetadata.getEmail().ifPresent(email -> metadata.put(EMAIL_FIELD, email));
+        jobMetadata.getGrouping().ifPresent(grouping -> metadata.put(GROUPING_FIELD, grouping));
+        jobMetadata.getGroupingInstance().ifPresent(instance -> metadata.put(GROUPING_INSTANCE_FIELD, instance));
+
+        final ExecutionEnvironment jobResources = jobRequest.getResources();
+        final ObjectNode resources = document.putObject(RESOURCES_FIELD);
+        addStrings(resources.putArray(CONFIGS_FIELD), jobResources.getConfigs());
+        addStrings(resources.putArray(DEPENDENCIES_FIELD), jobResources.getDependencies());
+        jobResources.getSetupFile().ifPresent(setupFile -> resources.put(SETUP_FILE_FIELD, setupFile));
+
+        final ExecutionResourceCriteria executionResourceCriteria = jobRequest.getCriteria();
+        final ObjectNode criteria = document.putObject(CRITERIA_FIELD);
+        final ArrayNode clusterCriteria = criteria.putArray(CLUSTER_CRITERIA_FIELD);
+        executionResourceCriteria
+            .getClusterCriteria()
+            .forEach(criterion -> writeCriterion(clusterCriteria.addObject(), criterion));
+        writeCriterion(criteria.putObject(COMMAND_CRITERION_FIELD), executionResourceCriteria.getCommandCriterion());
+        addStrings(criteria.putArray(APPLICATION_IDS_FIELD), executionResourceCriteria.getApplicationIds());
+
+        final AgentEnvironmentRequest agentEnvironmentRequest = jobRequest.getRequestedAgentEnvironment();
+        final ObjectNode agentEnvironment = document.putObject(AGENT_ENVIRONMENT_FIELD);
+        final ObjectNode environmentVariables = agentEnvironment.putObject(ENVIRONMENT_VARIABLES_FIELD);
+        agentEnvironmentRequest.getRequestedEnvironmentVariables().forEach(environmentVariables::put);
+        agentEnvironmentRequest.getRequestedJobCpu().ifPresent(cpu -> agentEnvironment.put(CPU_FIELD, cpu));
+        agentEnvironmentRequest.getRequestedJobMemory().ifPresent(memory -> agentEnvironment.put(MEMORY_FIELD, memory));
+        agentEnvironmentRequest.getExt().ifPresent(ext -> agentEnvironment.set(EXT_FIELD, ext));
+
+        final AgentConfigRequest agentConfigRequest = jobRequest.getRequestedAgentConfig();
+        final ObjectNode agentConfig = document.putObject(AGENT_CONFIG_FIELD);
+        agentConfigRequest
+            .getRequestedJobDirectoryLocation()
+            .ifPresent(location -> agentConfig.put(JOB_DIRECTORY_LOCATION_FIELD, location.getAbsolutePath()));
+        agentConfig.put(INTERACTIVE_FIELD, agentConfigRequest.isInteractive());
+        agentConfig.put(ARCHIVING_DISABLED_FIELD, agentConfigRequest.isArchivingDisabled());
+        agentConfigRequest.getTimeoutRequested().ifPresent(timeout -> agentConfig.put(TIMEOUT_FIELD, timeout));
+        agentConfigRequest.getExt().ifPresent(ext -> agentConfig.set(EXT_FIELD, ext));
+
+        final ObjectNode archivalData = document.putObject(ARCHIVAL_DATA_FIELD);
+        jobRequest
+            .getRequestedJobArchivalData()
+            .getRequestedArchiveLocationPrefix()
+            .ifPresent(prefix -> archivalData.put(ARCHIVE_LOCATION_PREFIX_FIELD, prefix));
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream gzip = new GZIPOutputStream(bytes)) {
+            mapper.writeValue(gzip, document);
+        } catch (final IOException ioe) {
+            log.error("Unable to write job request document due to {}", ioe.getMessage(), ioe);
+            throw new GenieRuntimeException("Unable to write job request document", ioe);
+        }
+        return Base64.getEncoder().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * Rebuild a job request from a document previously created by {@link #toDocument(JobRequest)}.
+     *
+     * @param document The encoded document
+     * @return The job request the document was created from
+     * @throws GenieRuntimeException If the document can't be read
+     */
+    public static JobRequest toJobRequest(final String document) {
+        final JsonNode root;
+        try (
+            InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(Base64.getDecoder().decode(document)))
+        ) {
+            root = GenieObjectMapper.getMapper().readTree(gzip);
+        } catch (final IOException | IllegalArgumentException e) {
+            log.error("Unable to read job request document due to {}", e.getMessage(), e);
+            throw new GenieRuntimeException("Unable to read job request document", e);
+        }
+
+        final int version = root.path(VERSION_FIELD).asInt();
+        if (version != DOCUMENT_VERSION) {
+            throw new GenieRuntimeException("Unsupported job request document version " + version);
+        }
+
+        final JsonNode metadata = root.path(METADATA_FIELD);
+        final JobMetadata.Builder jobMetadataBuilder = new JobMetadata.Builder(
+            metadata.path(NAME_FIELD).asText(),
+            metadata.path(USER_FIELD).asText(),
+            metadata.path(VERSION_NUMBER_FIELD).asText()
+        );
+        jobMetadataBuilder.withDescription(getText(metadata, DESCRIPTION_FIELD));
+        jobMetadataBuilder.withTags(readStrings(metadata.path(TAGS_FIELD), Sets.newHashSet()));
+        if (metadata.hasNonNull(JSON_METADATA_FIELD)) {
+            jobMetadataBuilder.withMetadata(metadata.get(JSON_METADATA_FIELD));
+        }
+        jobMetadataBuilder.withGroup(getText(metadata, GROUP_FIELD));
+        jobMetadataBuilder.withEmail(getText(metadata, EMAIL_FIELD));
+        jobMetadataBuilder.withGrouping(getText(metadata, GROUPING_FIELD));
+        jobMetadataBuilder.withGroupingInstance(getText(metadata, GROUPING_INSTANCE_FIELD));
+
+        final JsonNode resources = root.path(RESOURCES_FIELD);
+        final ExecutionEnvironment jobResources = new ExecutionEnvironment(
+            readStrings(resources.path(CONFIGS_FIELD), Sets.newHashSet()),
+            readStrings(resources.path(DEPENDENCIES_FIELD), Sets.newHashSet()),
+            getText(resources, SETUP_FILE_FIELD)
+        );
+
+        final JsonNode criteria = root.path(CRITERIA_FIELD);
+        final List<Criterion> clusterCriteria = Lists.newArrayList();
+        for (final JsonNode criterion : criteria.path(CLUSTER_CRITERIA_FIELD)) {
+            clusterCriteria.add(readCriterion(criterion));
+        }
+        final ExecutionResourceCriteria executionResourceCriteria = new ExecutionResourceCriteria(
+            clusterCriteria,
+            readCriterion(criteria.path(COMMAND_CRITERION_FIELD)),
+            readStrings(criteria.path(APPLICATION_IDS_FIELD), Lists.newArrayList())
+        );
+
+        final JsonNode agentEnvironment = root.path(AGENT_ENVIRONMENT_FIELD);
+        final Map<String, String> environmentVariables = Maps.newHashMap();
+        final Iterator<Map.Entry<String, JsonNode>> variables
+            = agentEnvironment.path(ENVIRONMENT_VARIABLES_FIELD).fields();
+        while (variables.hasNext()) {
+            final Map.Entry<String, JsonNode> variable = variables.next();
+            environmentVariables.put(variable.getKey(), variable.getValue().asText());
+        }
+        final AgentEnvironmentRequest agentEnvironmentRequest = new AgentEnvironmentRequest.Builder()
+            .withRequestedEnvironmentVariables(environmentVariables)
+            .withRequestedJobCpu(getInt(agentEnvironment, CPU_FIELD))
+            .withRequestedJobMemory(getInt(agentEnvironment, MEMORY_FIELD))
+            .withExt(agentEnvironment.get(EXT_FIELD))
+            .build();
+
+        final JsonNode agentConfig = root.path(AGENT_CONFIG_FIELD);
+        final AgentConfigRequest agentConfigRequest = new AgentConfigRequest.Builder()
+            .withRequestedJobDirectoryLocation(getText(agentConfig, JOB_DIRECTORY_LOCATION_FIELD))
+            .withInteractive(agentConfig.path(INTERACTIVE_FIELD).asBoolean())
+            .withArchivingDisabled(agentConfig.path(ARCHIVING_DISABLED_FIELD).asBoolean())
+            .withTimeoutRequested(getInt(agentConfig, TIMEOUT_FIELD))
+            .withExt(agentConfig.get(EXT_FIELD))
+            .build();
+
+        final JobArchivalDataRequest jobArchivalDataRequest = new JobArchivalDataRequest.Builder()
+            .withRequestedArchiveLocationPrefix(
+                getText(root.path(ARCHIVAL_DATA_FIELD), ARCHIVE_LOCATION_PREFIX_FIELD)
+            )
+            .build();
+
+        return new JobRequest(
+            getText(root, REQUESTED_ID_FIELD),
+            jobResources,
+            readStrings(root.path(COMMAND_ARGS_FIELD), Lists.newArrayList()),
+            jobMetadataBuilder.build(),
+            executionResourceCriteria,
+            agentEnvironmentRequest,
+            agentConfigRequest,
+            jobArchivalDataRequest
+        );
+    }
+
+    private static void writeCriterion(final ObjectNode node, final Criterion criterion) {
+        criterion.getId().ifPresent(id -> node.put(ID_FIELD, id));
+        criterion.getName().ifPresent(name -> node.put(NAME_FIELD, name));
+        criterion.getVersion().ifPresent(version -> node.put(VERSION_NUMBER_FIELD, version));
+        criterion.getStatus().ifPresent(status -> node.put(STATUS_FIELD, status));
+        addStrings(node.putArray(TAGS_FIELD), criterion.getTags());
+    }
+
+    private static Criterion readCriterion(final JsonNode node) {
+        try {
+            return new Criterion.Builder()
+                .withId(getText(node, ID_FIELD))
+                .withName(getText(node, NAME_FIELD))
+                .withVersion(getText(node, VERSION_NUMBER_FIELD))
+                .withStatus(getText(node, STATUS_FIELD))
+                .withTags(readStrings(node.path(TAGS_FIELD), Sets.newHashSet()))
+                .build();
+        } catch (final GeniePreconditionException gpe) {
+            // The criterion was valid when the document was written so this shouldn't happen
+            log.error("Creating a Criterion DTO from a job request document threw exception", gpe);
+            throw new GenieRuntimeException(gpe);
+        }
+    }
+
+    private static void addStrings(final ArrayNode array, final Collection<String> values) {
+        values.forEach(array::add);
+    }
+
+    private static <T extends Collection<String>> T readStrings(final JsonNode array, final T values) {
+        for (final JsonNode value : array) {
+            values.add(value.asText());
+        }
+        return values;
+    }
+
+    @Nullable
+    private static String getText(final JsonNode node, final String field) {
+        return node.hasNonNull(field) ? node.get(field).asText() : null;
+    }
+
+    @Nullable
+    private static Integer getInt(final JsonNode node, final String field) {
+        return node.hasNonNull(field) ? node.get(field).asInt() : null;
+    }
+}
@@ -53,6 +53,35 @@ public interface JpaJobRepository extends JpaBaseRepository<JobEntity> {
      */
     Set<JobProjection> findByAgentHostnameAndStatusIn(String agentHostname, Set<JobStatus> statuses);
 
+    /**
+     * Find jobs by host name and status and return them as the requested projection.
+     *
+     * @param agentHostname The host name to search for
+     * @param statuses      The job statuses to filter by
+     * @param type          The class of the projection to return
+     * @param <T>           The type of the projection to return
+     * @return The jobs
+     */
+    <T> Set<T> findByAgentHostnameAndStatusIn(String agentHostname, Set<JobStatus> statuses, Class<T> type);
+
+    /**
+     * Find the jobs run on the given host whose directory still has to be archived.
+     *
+     * @param agentHostname The host name to search for
+     * @return The jobs
+     */
+    Set<JobProjection> findByAgentHostnameAndArchivePendingIsTrue(String agentHostname);
+
+    /**
+     * Find the jobs with the given unique ids and return them as the requested projection.
+     *
+     * @param uniqueIds The unique ids of the jobs to find
+     * @param type      The class of the projection to return
+     * @param <T>       The type of the projection to return
+     * @return The jobs found. Ids which don't match any job are ignored
+     */
+    <T> Set<T> findByUniqueIdIn(Set<String> uniqueIds, Class<T> type);
+
     /**
      * Find the jobs with one of the statuses entered.
      *
@@ -91,14 +120,14 @@ public interface JpaJobRepository extends JpaBaseRepository<JobEntity> {
 
     /**
      * Returns resources usage for each user that has a running job.
-     * Only jobs running on Genie servers are considered (i.e. no Agent jobs)
+     * Both jobs running on Genie servers and jobs running via the Agent are considered.
      *
      * @return The user resource aggregates
      */
     @Query(
         "SELECT j.user AS user, COUNT(j) as runningJobsCount, SUM(j.memoryUsed) as usedMemory"
             + " FROM JobEntity j"
-            + " WHERE j.status = 'RUNNING' AND j.v4 = FALSE"
+            + " WHERE j.status = 'RUNNING'"
             + " GROUP BY j.user"
     )
     Set<UserJobResourcesAggregate> getUserJobResourcesAggregates();
@@ -96,18 +96,15 @@ class JpaBaseService {
     }
 
     /**
-     * Create a set of file references in the database and return the set of attached entities.
+     * Create a set of file references in the database and return the set of attached entities. The existing files
+     * are fetched in bulk rather than one at a time.
      *
      * @param files The files to create
      * @return The set of attached entities
      * @throws GenieRuntimeException on error
      */
     Set<FileEntity> createAndGetFileEntities(final Set<String> files) {
-        final Set<FileEntity> fileEntities = Sets.newHashSet();
-        for (final String file : files) {
-            fileEntities.add(this.createAndGetFileEntity(file));
-        }
-        return fileEntities;
+        return files.isEmpty() ? Sets.newHashSet() : this.filePersistenceService.createAndGetFiles(files);
     }
 
     /**
@@ -127,18 +124,15 @@ class JpaBaseService {
     }
 
     /**
-     * Create a set of tag references in the database and return the set of attached entities.
+     * Create a set of tag references in the database and return the set of attached entities. The existing tags are
+     * fetched in bulk rather than one at a time.
      *
      * @param tags The tags to create
      * @return The set of attached entities
      * @throws GenieRuntimeException on error
      */
     Set<TagEntity> createAndGetTagEntities(final Set<String> tags) {
-        final Set<TagEntity> tagEntities = Sets.newHashSet();
-        for (final String tag : tags) {
-            tagEntities.add(this.createAndGetTagEntity(tag));
-        }
-        return tagEntities;
+        return tags.isEmpty() ? Sets.newHashSet() : this.tagPersistenceService.createAndGetTags(tags);
     }
 
     /**
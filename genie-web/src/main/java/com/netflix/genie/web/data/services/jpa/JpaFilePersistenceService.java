@@ -50,4 +50,13 @@ public interface JpaFilePersistenceService extends FilePersistenceService {
      * and "c" are in the database the returned set will contain "b" and "c". The method won't fail.
      */
     Set<FileEntity> getFiles(@NotNull Set<String> files);
+
+    /**
+     * Get the file entity references for all the input file strings, creating any which don't exist yet. All
+     * the files which already exist are found with a single query rather than one or more queries per file.
+     *
+     * @param files The file strings to get or create entities for
+     * @return The set of file entities for {@code files}. Mutable.
+     */
+    Set<FileEntity> createAndGetFiles(@NotNull Set<String> files);
 }
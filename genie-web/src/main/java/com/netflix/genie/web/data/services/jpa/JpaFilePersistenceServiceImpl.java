@@ -17,6 +17,7 @@
  */
 package com.netflix.genie.web.data.services.jpa;
 
+import com.google.common.collect.Sets;
 import com.netflix.genie.web.data.entities.FileEntity;
 import com.netflix.genie.web.data.repositories.jpa.JpaFileRepository;
 import lombok.extern.slf4j.Slf4j;
@@ -102,4 +103,28 @@ public class JpaFilePersistenceServiceImpl implements JpaFilePersistenceService
     public Set<FileEntity> getFiles(@NotNull final Set<String> files) {
         return this.fileRepository.findByFileIn(files);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<FileEntity> createAndGetFiles(@NotNull final Set<String> files) {
+        final Set<FileEntity> fileEntities = Sets.newHashSet();
+        if (files.isEmpty()) {
+            return fileEntities;
+        }
+
+        fileEntities.addAll(this.fileRepository.findByFileIn(files));
+        if (fileEntities.size() == files.size()) {
+            return fileEntities;
+        }
+
+        // Only the files not found take the slower path. Existence is re-checked by the database as its comparison
+        // semantics (e.g. case sensitivity) may differ from those of the strings found above
+        final Set<String> missingFiles = Sets.newHashSet(files);
+        fileEntities.forEach(fileEntity -> missingFiles.remove(fileEntity.getFile()));
+        missingFiles.forEach(this::createFileIfNotExists);
+        fileEntities.addAll(this.fileRepository.findByFileIn(missingFiles));
+        return fileEntities;
+    }
 }
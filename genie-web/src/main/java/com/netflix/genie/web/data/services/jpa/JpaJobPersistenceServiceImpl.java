@@ -55,22 +55,31 @@ import com.netflix.genie.web.data.entities.FileEntity;
 import com.netflix.genie.web.data.entities.JobEntity;
 import com.netflix.genie.web.data.entities.projections.IdProjection;
 import com.netflix.genie.web.data.entities.projections.JobArchiveLocationProjection;
+import com.netflix.genie.web.data.entities.projections.JobArchivePendingProjection;
 import com.netflix.genie.web.data.entities.projections.JobStatusProjection;
 import com.netflix.genie.web.data.entities.projections.v4.IsV4JobProjection;
 import com.netflix.genie.web.data.entities.projections.v4.JobSpecificationProjection;
+import com.netflix.genie.web.data.entities.projections.v4.JobStatusInfoProjection;
 import com.netflix.genie.web.data.entities.projections.v4.V4JobRequestProjection;
 import com.netflix.genie.web.data.entities.v4.EntityDtoConverters;
+import com.netflix.genie.web.data.entities.v4.JobRequestDocuments;
 import com.netflix.genie.web.data.repositories.jpa.JpaApplicationRepository;
 import com.netflix.genie.web.data.repositories.jpa.JpaClusterRepository;
 import com.netflix.genie.web.data.repositories.jpa.JpaCommandRepository;
 import com.netflix.genie.web.data.repositories.jpa.JpaJobRepository;
+import com.netflix.genie.web.events.GenieEventBus;
+import com.netflix.genie.web.events.JobStateChangeEvent;
+import com.netflix.genie.web.properties.JobRequestDocumentProperties;
 import com.netflix.genie.web.services.JobPersistenceService;
+import com.netflix.genie.web.services.JobStatusInfo;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.annotation.Nullable;
 import javax.validation.ConstraintViolationException;
@@ -100,6 +109,8 @@ import java.util.stream.Collectors;
 public class JpaJobPersistenceServiceImpl extends JpaBaseService implements JobPersistenceService {
 
     private final JpaJobRepository jobRepository;
+    private final GenieEventBus genieEventBus;
+    private final JobRequestDocumentProperties documentProperties;
 
     /**
      * Constructor.
@@ -110,6 +121,8 @@ public class JpaJobPersistenceServiceImpl extends JpaBaseService implements JobP
      * @param clusterRepository      The {@link JpaClusterRepository} to use
      * @param commandRepository      The {@link JpaCommandRepository} to use
      * @param jobRepository          The {@link JpaJobRepository} to use
+     * @param genieEventBus          The event bus to publish job state changes to
+     * @param documentProperties     The properties controlling whether job requests are stored as a document
      */
     public JpaJobPersistenceServiceImpl(
         final JpaTagPersistenceService tagPersistenceService,
@@ -117,7 +130,9 @@ public class JpaJobPersistenceServiceImpl extends JpaBaseService implements JobP
         final JpaApplicationRepository applicationRepository,
         final JpaClusterRepository clusterRepository,
         final JpaCommandRepository commandRepository,
-        final JpaJobRepository jobRepository
+        final JpaJobRepository jobRepository,
+        final GenieEventBus genieEventBus,
+        final JobRequestDocumentProperties documentProperties
     ) {
         super(
             tagPersistenceService,
@@ -127,6 +142,8 @@ public class JpaJobPersistenceServiceImpl extends JpaBaseService implements JobP
             commandRepository
         );
         this.jobRepository = jobRepository;
+        this.genieEventBus = genieEventBus;
+        this.documentProperties = documentProperties;
     }
 
     /**
@@ -154,6 +171,7 @@ public class JpaJobPersistenceServiceImpl extends JpaBaseService implements JobP
         } catch (final DataIntegrityViolationException e) {
             throw new GenieConflictException("A job with id " + jobId + " already exists", e);
         }
+        this.publishStateChange(jobEntity, null);
     }
 
     /**
@@ -334,7 +352,16 @@ public class JpaJobPersistenceServiceImpl extends JpaBaseService implements JobP
 
         this.setJobMetadataFields(jobEntity, jobRequest.getMetadata());
         this.setExecutionEnvironmentFields(jobEntity, jobRequest.getResources());
-        this.setExecutionResourceCriteriaFields(jobEntity, jobRequest.getCriteria());
+        if (this.documentProperties.isEnabled()) {
+            // The criteria, requested applications and requested environment variables are only ever read back as
+            // part of the whole request so store the request as a single column instead of rows in their own tables
+            jobEntity.setRequestDocument(JobRequestDocuments.toDocument(jobRequest));
+        } else {
+            this.setExecutionResourceCriteriaFields(jobEntity, jobRequest.getCriteria());
+            jobEntity.setRequestedEnvironmentVariables(
+                jobRequest.getRequestedAgentEnvironment().getRequestedEnvironmentVariables()
+            );
+        }
         this.setRequestedAgentEnvironmentFields(jobEntity, jobRequest.getRequestedAgentEnvironment());
         this.setRequestedAgentConfigFields(jobEntity, jobRequest.getRequestedAgentConfig());
         this.setRequestedJobArchivalData(jobEntity, jobRequest.getRequestedJobArchivalData());
@@ -346,6 +373,7 @@ public class JpaJobPersistenceServiceImpl extends JpaBaseService implements JobP
         // Persist. Catch exception if the ID is reused
         try {
             final String id = this.jobRepository.save(jobEntity).getUniqueId();
+            this.publishStateChange(jobEntity, null);
             log.debug(
                 "Saved job request {} with request metadata {} under job id {}",
                 jobRequest,
@@ -370,7 +398,12 @@ public class JpaJobPersistenceServiceImpl extends JpaBaseService implements JobP
         log.debug("Requested to get Job Request for id {}", id);
         return this.jobRepository
             .findByUniqueId(id, V4JobRequestProjection.class)
-            .map(EntityDtoConverters::toV4JobRequestDto);
+            .map(
+                projection -> projection
+                    .getRequestDocument()
+                    .map(JobRequestDocuments::toJobRequest)
+                    .orElseGet(() -> EntityDtoConverters.toV4JobRequestDto(projection))
+            );
     }
 
     /**
@@ -427,8 +460,10 @@ public class JpaJobPersistenceServiceImpl extends JpaBaseService implements JobP
             specification.getArchiveLocation().ifPresent(
                 archiveLocation -> entity.setArchiveLocation(archiveLocation)
             );
+            final JobStatus previousStatus = entity.getStatus();
             entity.setResolved(true);
             entity.setStatus(JobStatus.RESOLVED);
+            this.publishStateChange(entity, previousStatus);
             log.debug("Saved job specification {} for job with id {}", specification, id);
         } catch (
             final GenieApplicationNotFoundException
@@ -516,6 +551,8 @@ public class JpaJobPersistenceServiceImpl extends JpaBaseService implements JobP
         agentClientMetadata.getHostname().ifPresent(jobEntity::setAgentHostname);
         agentClientMetadata.getVersion().ifPresent(jobEntity::setAgentVersion);
         agentClientMetadata.getPid().ifPresent(jobEntity::setAgentPid);
+        // Publish after the agent metadata is set so listeners see which host claimed the job
+        this.publishStateChange(jobEntity, currentStatus);
         log.debug("Claimed job {} for agent with metadata {}", id, agentClientMetadata);
     }
 
@@ -612,6 +649,24 @@ public class JpaJobPersistenceServiceImpl extends JpaBaseService implements JobP
             .getStatus();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public JobStatusInfo getJobStatusInfo(
+        @NotBlank(message = "Job id is missing and is required") final String id
+    ) throws GenieNotFoundException {
+        final JobStatusInfoProjection jobStatusInfo = this.jobRepository
+            .findByUniqueId(id, JobStatusInfoProjection.class)
+            .orElseThrow(() -> new GenieNotFoundException("No job with id " + id + " exists. Unable to get status."));
+        return new JobStatusInfo(
+            jobStatusInfo.getStatus(),
+            jobStatusInfo.isV4(),
+            jobStatusInfo.getArchiveLocation().orElse(null)
+        );
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -626,6 +681,35 @@ public class JpaJobPersistenceServiceImpl extends JpaBaseService implements JobP
             .orElseThrow(() -> new GenieNotFoundException("No job with id " + id + " exits."));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setArchivePending(
+        @NotBlank(message = "Job id is missing and is required") final String id,
+        final boolean archivePending
+    ) throws GenieNotFoundException {
+        log.debug("Setting archive pending of job {} to {}", id, archivePending);
+        this.jobRepository
+            .findByUniqueId(id)
+            .orElseThrow(() -> new GenieNotFoundException("No job with id " + id + " exists. Unable to update."))
+            .setArchivePending(archivePending);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isArchivePending(
+        @NotBlank(message = "Job id is missing and is required") final String id
+    ) throws GenieNotFoundException {
+        return this.jobRepository
+            .findByUniqueId(id, JobArchivePendingProjection.class)
+            .map(JobArchivePendingProjection::isArchivePending)
+            .orElseThrow(() -> new GenieNotFoundException("No job with id " + id + " exists."));
+    }
+
     private void updateJobStatus(
         final JobEntity jobEntity,
         final JobStatus newStatus,
@@ -645,6 +729,44 @@ public class JpaJobPersistenceServiceImpl extends JpaBaseService implements JobP
                 // with status killed, failed or succeeded. So we set the job finish time.
                 jobEntity.setFinished(Instant.now());
             }
+            this.publishStateChange(jobEntity, currentStatus);
+        }
+    }
+
+    private void publishStateChange(final JobEntity jobEntity, @Nullable final JobStatus previousStatus) {
+        final JobStateChangeEvent event = new JobStateChangeEvent(
+            jobEntity.getUniqueId(),
+            previousStatus,
+            jobEntity.getStatus(),
+            jobEntity.getUser(),
+            jobEntity.getAgentHostname().orElse(null),
+            jobEntity.getMemoryUsed().orElse(null),
+            jobEntity.isV4(),
+            jobEntity.getArchiveLocation().orElse(null),
+            this
+        );
+
+        // Listeners shouldn't see changes which may still be rolled back so hold the event until the commit succeeds
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronizationAdapter() {
+                    @Override
+                    public void afterCommit() {
+                        publishEvent(event);
+                    }
+                }
+            );
+        } else {
+            this.publishEvent(event);
+        }
+    }
+
+    private void publishEvent(final JobStateChangeEvent event) {
+        // The change is already persisted. Failure of a listener shouldn't fail the caller.
+        try {
+            this.genieEventBus.publishSynchronousEvent(event);
+        } catch (final RuntimeException e) {
+            log.error("Unable to publish state change event for job {}", event.getId(), e);
         }
     }
 
@@ -811,7 +933,6 @@ public class JpaJobPersistenceServiceImpl extends JpaBaseService implements JobP
         final JobEntity jobEntity,
         final AgentEnvironmentRequest requestedAgentEnvironment
     ) {
-        jobEntity.setRequestedEnvironmentVariables(requestedAgentEnvironment.getRequestedEnvironmentVariables());
         requestedAgentEnvironment.getRequestedJobMemory().ifPresent(jobEntity::setRequestedMemory);
         requestedAgentEnvironment.getRequestedJobCpu().ifPresent(jobEntity::setRequestedCpu);
         final Optional<JsonNode> agentEnvironmentExt = requestedAgentEnvironment.getExt();
@@ -17,7 +17,9 @@
  */
 package com.netflix.genie.web.data.services.jpa;
 
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import com.netflix.genie.common.dto.Application;
 import com.netflix.genie.common.dto.Cluster;
 import com.netflix.genie.common.dto.Command;
@@ -28,6 +30,7 @@ import com.netflix.genie.common.dto.JobRequest;
 import com.netflix.genie.common.dto.JobStatus;
 import com.netflix.genie.common.dto.UserResourcesSummary;
 import com.netflix.genie.common.dto.search.JobSearchResult;
+import com.netflix.genie.common.dto.search.JobStatusSearchResult;
 import com.netflix.genie.common.exceptions.GenieException;
 import com.netflix.genie.common.exceptions.GenieNotFoundException;
 import com.netflix.genie.common.exceptions.GenieServerException;
@@ -38,10 +41,12 @@ import com.netflix.genie.web.data.entities.projections.JobApplicationsProjection
 import com.netflix.genie.web.data.entities.projections.JobClusterProjection;
 import com.netflix.genie.web.data.entities.projections.JobCommandProjection;
 import com.netflix.genie.web.data.entities.projections.JobExecutionProjection;
+import com.netflix.genie.web.data.entities.projections.JobMemoryProjection;
 import com.netflix.genie.web.data.entities.projections.JobMetadataProjection;
 import com.netflix.genie.web.data.entities.projections.JobProjection;
 import com.netflix.genie.web.data.entities.projections.JobRequestProjection;
 import com.netflix.genie.web.data.entities.projections.JobStatusProjection;
+import com.netflix.genie.web.data.entities.projections.JobStatusSearchProjection;
 import com.netflix.genie.web.data.entities.projections.UniqueIdProjection;
 import com.netflix.genie.web.data.repositories.jpa.JpaClusterRepository;
 import com.netflix.genie.web.data.repositories.jpa.JpaCommandRepository;
@@ -83,6 +88,8 @@ import java.util.stream.Collectors;
 @Slf4j
 public class JpaJobSearchServiceImpl implements JobSearchService {
 
+    static final int MAX_IDS_PER_QUERY = 1_000;
+
     private final JpaJobRepository jobRepository;
     private final JpaClusterRepository clusterRepository;
     private final JpaCommandRepository commandRepository;
@@ -222,6 +229,38 @@ public class JpaJobSearchServiceImpl implements JobSearchService {
             .collect(Collectors.toSet());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Job> getAllJobsPendingArchivalOnHost(@NotBlank final String hostname) {
+        log.debug("Called with hostname {}", hostname);
+
+        return this.jobRepository
+            .findByAgentHostnameAndArchivePendingIsTrue(hostname)
+            .stream()
+            .map(JpaServiceUtils::toJobDto)
+            .collect(Collectors.toSet());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Integer> getActiveJobsMemoryOnHost(@NotBlank final String hostname) {
+        log.debug("Called with hostname {}", hostname);
+
+        return this.jobRepository
+            .findByAgentHostnameAndStatusIn(hostname, JobStatus.getActiveStatuses(), JobMemoryProjection.class)
+            .stream()
+            .collect(
+                Collectors.toMap(
+                    JobMemoryProjection::getUniqueId,
+                    projection -> projection.getMemoryUsed().orElse(0)
+                )
+            );
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -266,6 +305,24 @@ public class JpaJobSearchServiceImpl implements JobSearchService {
             .getStatus();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<JobStatusSearchResult> getJobStatuses(@NotNull final Set<@NotBlank String> ids) {
+        log.debug("Called with {} ids", ids.size());
+        // Keep the IN clause within what every supported database accepts
+        final List<JobStatusSearchResult> results = Lists.newArrayListWithExpectedSize(ids.size());
+        for (final List<String> batch : Iterables.partition(ids, MAX_IDS_PER_QUERY)) {
+            this.jobRepository
+                .findByUniqueIdIn(Sets.newHashSet(batch), JobStatusSearchProjection.class)
+                .stream()
+                .map(JpaServiceUtils::toJobStatusSearchResultDto)
+                .forEach(results::add);
+        }
+        return results;
+    }
+
     /**
      * {@inheritDoc}
      */
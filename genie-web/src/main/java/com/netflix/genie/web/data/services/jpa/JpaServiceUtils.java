@@ -29,7 +29,9 @@ import com.netflix.genie.common.dto.JobExecution;
 import com.netflix.genie.common.dto.JobMetadata;
 import com.netflix.genie.common.dto.JobRequest;
 import com.netflix.genie.common.dto.UserResourcesSummary;
+import com.netflix.genie.common.dto.search.JobStatusSearchResult;
 import com.netflix.genie.common.exceptions.GeniePreconditionException;
+import com.netflix.genie.common.internal.dto.v4.ExecutionResourceCriteria;
 import com.netflix.genie.web.controllers.DtoConverters;
 import com.netflix.genie.web.data.entities.ApplicationEntity;
 import com.netflix.genie.web.data.entities.BaseEntity;
@@ -43,7 +45,9 @@ import com.netflix.genie.web.data.entities.projections.JobExecutionProjection;
 import com.netflix.genie.web.data.entities.projections.JobMetadataProjection;
 import com.netflix.genie.web.data.entities.projections.JobProjection;
 import com.netflix.genie.web.data.entities.projections.JobRequestProjection;
+import com.netflix.genie.web.data.entities.projections.JobStatusSearchProjection;
 import com.netflix.genie.web.data.entities.v4.EntityDtoConverters;
+import com.netflix.genie.web.data.entities.v4.JobRequestDocuments;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
@@ -186,19 +190,32 @@ public final class JpaServiceUtils {
     }
 
     static JobRequest toJobRequestDto(final JobRequestProjection jobRequestProjection) {
+        // Requests stored as a document don't have their criteria or requested applications in the relational tables
+        final ExecutionResourceCriteria criteria = jobRequestProjection
+            .getRequestDocument()
+            .map(JobRequestDocuments::toJobRequest)
+            .map(com.netflix.genie.common.internal.dto.v4.JobRequest::getCriteria)
+            .orElseGet(
+                () -> new ExecutionResourceCriteria(
+                    jobRequestProjection
+                        .getClusterCriteria()
+                        .stream()
+                        .map(EntityDtoConverters::toCriterionDto)
+                        .collect(Collectors.toList()),
+                    EntityDtoConverters.toCriterionDto(jobRequestProjection.getCommandCriterion()),
+                    jobRequestProjection.getRequestedApplications()
+                )
+            );
         final JobRequest.Builder builder = new JobRequest.Builder(
             jobRequestProjection.getName(),
             jobRequestProjection.getUser(),
             jobRequestProjection.getVersion(),
-            jobRequestProjection
+            criteria
                 .getClusterCriteria()
                 .stream()
-                .map(EntityDtoConverters::toCriterionDto)
                 .map(DtoConverters::toClusterCriteria)
                 .collect(Collectors.toList()),
-            DtoConverters.toV3CriterionTags(
-                EntityDtoConverters.toCriterionDto(jobRequestProjection.getCommandCriterion())
-            )
+            DtoConverters.toV3CriterionTags(criteria.getCommandCriterion())
         )
             .withCreated(jobRequestProjection.getCreated())
             .withId(jobRequestProjection.getUniqueId())
@@ -219,7 +236,7 @@ public final class JpaServiceUtils {
             )
             .withTags(jobRequestProjection.getTags().stream().map(TagEntity::getTag).collect(Collectors.toSet()))
             .withUpdated(jobRequestProjection.getUpdated())
-            .withApplications(jobRequestProjection.getRequestedApplications())
+            .withApplications(criteria.getApplicationIds())
             .withCommandArgs(jobRequestProjection.getCommandArgs());
 
         jobRequestProjection.getEmail().ifPresent(builder::withEmail);
@@ -270,6 +287,21 @@ public final class JpaServiceUtils {
         return builder.build();
     }
 
+    static JobStatusSearchResult toJobStatusSearchResultDto(final JobStatusSearchProjection projection) {
+        return new JobStatusSearchResult(
+            projection.getUniqueId(),
+            projection.getName(),
+            projection.getUser(),
+            projection.getStatus(),
+            projection.getStatusMsg().orElse(null),
+            projection.getCreated(),
+            projection.getUpdated(),
+            projection.getStarted().orElse(null),
+            projection.getFinished().orElse(null),
+            projection.getExitCode().orElse(null)
+        );
+    }
+
     private static <B extends CommonDTO.Builder, E extends BaseProjection> void setDtoMetadata(
         final B builder,
         final E entity
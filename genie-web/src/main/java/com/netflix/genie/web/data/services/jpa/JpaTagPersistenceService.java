@@ -50,4 +50,13 @@ public interface JpaTagPersistenceService extends TagPersistenceService {
      * in the database the returned set will contain "b" and "c". The method won't fail.
      */
     Set<TagEntity> getTags(@NotNull Set<String> tags);
+
+    /**
+     * Get the tag entity references for all the input tag strings, creating any which don't exist yet. All
+     * the tags which already exist are found with a single query rather than one or more queries per tag.
+     *
+     * @param tags The tag strings to get or create entities for
+     * @return The set of tag entities for {@code tags}. Mutable.
+     */
+    Set<TagEntity> createAndGetTags(@NotNull Set<String> tags);
 }
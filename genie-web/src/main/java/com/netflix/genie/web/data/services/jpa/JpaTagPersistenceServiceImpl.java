@@ -17,6 +17,7 @@
  */
 package com.netflix.genie.web.data.services.jpa;
 
+import com.google.common.collect.Sets;
 import com.netflix.genie.web.data.entities.TagEntity;
 import com.netflix.genie.web.data.repositories.jpa.JpaTagRepository;
 import lombok.extern.slf4j.Slf4j;
@@ -99,4 +100,28 @@ public class JpaTagPersistenceServiceImpl implements JpaTagPersistenceService {
     public Set<TagEntity> getTags(@NotNull final Set<String> tags) {
         return this.tagRepository.findByTagIn(tags);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<TagEntity> createAndGetTags(@NotNull final Set<String> tags) {
+        final Set<TagEntity> tagEntities = Sets.newHashSet();
+        if (tags.isEmpty()) {
+            return tagEntities;
+        }
+
+        tagEntities.addAll(this.tagRepository.findByTagIn(tags));
+        if (tagEntities.size() == tags.size()) {
+            return tagEntities;
+        }
+
+        // Only the tags not found take the slower path. Existence is re-checked by the database as its comparison
+        // semantics (e.g. case sensitivity) may differ from those of the strings found above
+        final Set<String> missingTags = Sets.newHashSet(tags);
+        tagEntities.forEach(tagEntity -> missingTags.remove(tagEntity.getTag()));
+        missingTags.forEach(this::createTagIfNotExists);
+        tagEntities.addAll(this.tagRepository.findByTagIn(missingTags));
+        return tagEntities;
+    }
 }
@@ -0,0 +1,46 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.events;
+
+import lombok.Getter;
+
+import javax.validation.constraints.NotBlank;
+
+/**
+ * An event fired when the agent executing a job connects to or disconnects from this Genie node.
+ *
+ * @author mprimi
+ * @since 4.0.0
+ */
+@Getter
+public class AgentConnectionEvent extends BaseJobEvent {
+
+    private final boolean connected;
+
+    /**
+     * Constructor.
+     *
+     * @param id        The id of the job the agent is executing
+     * @param connected true if the agent connected, false if it disconnected
+     * @param source    The source object which generated this event
+     */
+    public AgentConnectionEvent(@NotBlank final String id, final boolean connected, final Object source) {
+        super(id, source);
+        this.connected = connected;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.events;
+
+import com.netflix.genie.common.dto.JobStatus;
+import lombok.Getter;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.util.Optional;
+
+/**
+ * An event published after the status of a job has been changed and persisted. Carries enough information about the
+ * job for listeners to maintain in-memory state without going back to the data store.
+ *
+ * @author tgianos
+ * @since 4.0.0
+ */
+@Getter
+public class JobStateChangeEvent extends BaseJobEvent {
+
+    private static final long serialVersionUID = -4253870193021456512L;
+
+    private final JobStatus previousStatus;
+    private final JobStatus newStatus;
+    private final String user;
+    private final String hostname;
+    private final Integer memory;
+    private final boolean v4;
+    private final String archiveLocation;
+
+    /**
+     * Constructor.
+     *
+     * @param id              The id of the job whose status changed
+     * @param previousStatus  The status the job was in before the change or null if the job was just created
+     * @param newStatus       The status the job is in now
+     * @param user            The user who owns the job
+     * @param hostname        The host the job is running on if known
+     * @param memory          The amount of memory (in MB) allocated to the job if known
+     * @param v4              Whether the job was launched via Genie v4
+     * @param archiveLocation The location the job directory is or will be archived to if known
+     * @param source          The source object which generated this event
+     */
+    public JobStateChangeEvent(
+        @NotEmpty final String id,
+        @Nullable final JobStatus previousStatus,
+        @NotNull final JobStatus newStatus,
+        @NotEmpty final String user,
+        @Nullable final String hostname,
+        @Nullable final Integer memory,
+        final boolean v4,
+        @Nullable final String archiveLocation,
+        @NotNull final Object source
+    ) {
+        super(id, source);
+        this.previousStatus = previousStatus;
+        this.newStatus = newStatus;
+        this.user = user;
+        this.hostname = hostname;
+        this.memory = memory;
+        this.v4 = v4;
+        this.archiveLocation = archiveLocation;
+    }
+
+    /**
+     * Get the status the job was in before this change.
+     *
+     * @return The previous status or {@link Optional#empty()} if the job was just created
+     */
+    public Optional<JobStatus> getPreviousStatus() {
+        return Optional.ofNullable(this.previousStatus);
+    }
+
+    /**
+     * Get the host the job is running on.
+     *
+     * @return The hostname wrapped in an {@link Optional}
+     */
+    public Optional<String> getHostname() {
+        return Optional.ofNullable(this.hostname);
+    }
+
+    /**
+     * Get the amount of memory allocated to the job.
+     *
+     * @return The memory in MB wrapped in an {@link Optional}
+     */
+    public Optional<Integer> getMemory() {
+        return Optional.ofNullable(this.memory);
+    }
+
+    /**
+     * Get the location the job directory is or will be archived to.
+     *
+     * @return The archive location wrapped in an {@link Optional}
+     */
+    public Optional<String> getArchiveLocation() {
+        return Optional.ofNullable(this.archiveLocation);
+    }
+}
@@ -18,6 +18,7 @@
 package com.netflix.genie.web.health;
 
 import com.netflix.genie.web.services.AgentMetricsService;
+import com.netflix.genie.web.services.JobMetricsService;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
 
@@ -30,16 +31,24 @@ import org.springframework.boot.actuate.health.HealthIndicator;
 public class GenieAgentHealthIndicator implements HealthIndicator {
 
     static final String NUM_CONNECTED_AGENTS = "numConnectedAgents";
+    static final String NUM_ACTIVE_JOBS = "numActiveJobs";
+    static final String USED_MEMORY = "usedMemory";
 
     private final AgentMetricsService agentMetricsService;
+    private final JobMetricsService jobMetricsService;
 
     /**
      * Constructor.
      *
      * @param agentMetricsService For collecting metrics about the Agents connected to this server.
+     * @param jobMetricsService   For collecting metrics about the jobs active on this host.
      */
-    public GenieAgentHealthIndicator(final AgentMetricsService agentMetricsService) {
+    public GenieAgentHealthIndicator(
+        final AgentMetricsService agentMetricsService,
+        final JobMetricsService jobMetricsService
+    ) {
         this.agentMetricsService = agentMetricsService;
+        this.jobMetricsService = jobMetricsService;
     }
 
     /**
@@ -55,6 +64,8 @@ public class GenieAgentHealthIndicator implements HealthIndicator {
         builder.up();
 
         builder.withDetail(NUM_CONNECTED_AGENTS, this.agentMetricsService.getNumConnectedAgents());
+        builder.withDetail(NUM_ACTIVE_JOBS, this.jobMetricsService.getNumActiveJobs());
+        builder.withDetail(USED_MEMORY, this.jobMetricsService.getUsedMemory());
         return builder.build();
     }
 }
@@ -17,6 +17,8 @@
  */
 package com.netflix.genie.web.jobs.workflow.impl;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.netflix.genie.common.exceptions.GenieException;
 import com.netflix.genie.common.internal.dto.v4.Application;
@@ -29,15 +31,20 @@ import com.netflix.genie.web.util.MetricsConstants;
 import com.netflix.genie.web.util.MetricsUtils;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.core.task.AsyncTaskExecutor;
 
 import javax.validation.constraints.NotNull;
 import java.io.IOException;
 import java.io.Writer;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -55,16 +62,23 @@ public class ApplicationTask extends GenieBaseTask {
         = "genie.jobs.tasks.applicationTask.applicationSetup.timer";
 
     private final GenieFileTransferService fts;
+    private final AsyncTaskExecutor downloadExecutor;
 
     /**
      * Constructor.
      *
-     * @param registry The metrics registry to use for recording any metrics
-     * @param fts      File transfer service
+     * @param registry         The metrics registry to use for recording any metrics
+     * @param fts              File transfer service
+     * @param downloadExecutor The executor to download the application resources concurrently on
      */
-    public ApplicationTask(@NotNull final MeterRegistry registry, @NotNull final GenieFileTransferService fts) {
+    public ApplicationTask(
+        @NotNull final MeterRegistry registry,
+        @NotNull final GenieFileTransferService fts,
+        @NotNull final AsyncTaskExecutor downloadExecutor
+    ) {
         super(registry);
         this.fts = fts;
+        this.downloadExecutor = downloadExecutor;
     }
 
     /**
@@ -84,103 +98,22 @@ public class ApplicationTask extends GenieBaseTask {
             final Writer writer = (Writer) context.get(JobConstants.WRITER_KEY);
             log.info("Starting Application Task for job {}", jobExecEnv.getJobRequest().getId().orElse(NO_ID_FOUND));
 
+            // Start the downloads for all the applications up front so they run concurrently
+            final List<ApplicationSetup> applicationSetups = Lists.newArrayList();
+            try {
+                for (final Application application : jobExecEnv.getApplications()) {
+                    applicationSetups.add(this.startApplicationSetup(application, genieDir, jobWorkingDirectory));
+                }
 
-            for (final Application application : jobExecEnv.getApplications()) {
-                final long applicationStart = System.nanoTime();
-                final Set<Tag> applicationTags = Sets.newHashSet();
-                applicationTags.add(
-                    Tag.of(
-                        MetricsConstants.TagKeys.APPLICATION_ID,
-                        application.getId()
-                    )
-                );
-                applicationTags.add(
-                    Tag.of(
-                        MetricsConstants.TagKeys.APPLICATION_NAME,
-                        application.getMetadata().getName()
-                    )
-                );
-
-                try {
-                    final String applicationId = application.getId();
-
-                    // Create the directory for this application under applications in the cwd
-                    createEntityInstanceDirectory(
-                        genieDir,
-                        applicationId,
-                        AdminResources.APPLICATION
-                    );
-
-                    // Create the config directory for this id
-                    createEntityInstanceConfigDirectory(
-                        genieDir,
-                        applicationId,
-                        AdminResources.APPLICATION
-                    );
-
-                    // Create the dependencies directory for this id
-                    createEntityInstanceDependenciesDirectory(
-                        genieDir,
-                        applicationId,
-                        AdminResources.APPLICATION
-                    );
-
-                    // Get the setup file if specified and add it as source command in launcher script
-                    final Optional<String> setupFile = application.getResources().getSetupFile();
-                    if (setupFile.isPresent()) {
-                        final String applicationSetupFile = setupFile.get();
-                        if (StringUtils.isNotBlank(applicationSetupFile)) {
-                            final String localPath = super.buildLocalFilePath(
-                                jobWorkingDirectory,
-                                applicationId,
-                                applicationSetupFile,
-                                FileType.SETUP,
-                                AdminResources.APPLICATION
-                            );
-                            this.fts.getFile(applicationSetupFile, localPath);
-
-                            super.generateSetupFileSourceSnippet(
-                                applicationId,
-                                "Application:",
-                                localPath,
-                                writer,
-                                jobWorkingDirectory);
-                        }
-                    }
-
-                    // Iterate over and get all dependencies
-                    for (final String dependencyFile : application.getResources().getDependencies()) {
-                        final String localPath = super.buildLocalFilePath(
-                            jobWorkingDirectory,
-                            applicationId,
-                            dependencyFile,
-                            FileType.DEPENDENCIES,
-                            AdminResources.APPLICATION
-                        );
-                        fts.getFile(dependencyFile, localPath);
-                    }
-
-                    // Iterate over and get all configuration files
-                    for (final String configFile : application.getResources().getConfigs()) {
-                        final String localPath = super.buildLocalFilePath(
-                            jobWorkingDirectory,
-                            applicationId,
-                            configFile,
-                            FileType.CONFIG,
-                            AdminResources.APPLICATION
-                        );
-                        fts.getFile(configFile, localPath);
-                    }
-                    MetricsUtils.addSuccessTags(applicationTags);
-                } catch (Throwable t) {
-                    MetricsUtils.addFailureTagsWithException(applicationTags, t);
-                    throw t;
-                } finally {
-                    final long applicationFinish = System.nanoTime();
-                    this.getRegistry()
-                        .timer(APPLICATION_SETUP_TIMER_NAME, applicationTags)
-                        .record(applicationFinish - applicationStart, TimeUnit.NANOSECONDS);
+                // Wait for them in order so the setup files are sourced in the order of the applications
+                for (final ApplicationSetup applicationSetup : applicationSetups) {
+                    this.finishApplicationSetup(applicationSetup, writer, jobWorkingDirectory);
                 }
+            } catch (final Throwable t) {
+                applicationSetups.forEach(
+                    applicationSetup -> applicationSetup.getDownloads().forEach(download -> download.cancel(true))
+                );
+                throw t;
             }
             log.info("Finished Application Task for job {}", jobExecEnv.getJobRequest().getId().orElse(NO_ID_FOUND));
             MetricsUtils.addSuccessTags(tags);
@@ -193,4 +126,147 @@ public class ApplicationTask extends GenieBaseTask {
                 .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
     }
+
+    private ApplicationSetup startApplicationSetup(
+        final Application application,
+        final String genieDir,
+        final String jobWorkingDirectory
+    ) throws GenieException {
+        final long applicationStart = System.nanoTime();
+        final Set<Tag> applicationTags = Sets.newHashSet();
+        applicationTags.add(
+            Tag.of(
+                MetricsConstants.TagKeys.APPLICATION_ID,
+                application.getId()
+            )
+        );
+        applicationTags.add(
+            Tag.of(
+                MetricsConstants.TagKeys.APPLICATION_NAME,
+                application.getMetadata().getName()
+            )
+        );
+
+        try {
+            final String applicationId = application.getId();
+
+            // Create the directory for this application under applications in the cwd
+            createEntityInstanceDirectory(
+                genieDir,
+                applicationId,
+                AdminResources.APPLICATION
+            );
+
+            // Create the config directory for this id
+            createEntityInstanceConfigDirectory(
+                genieDir,
+                applicationId,
+                AdminResources.APPLICATION
+            );
+
+            // Create the dependencies directory for this id
+            createEntityInstanceDependenciesDirectory(
+                genieDir,
+                applicationId,
+                AdminResources.APPLICATION
+            );
+
+            final Map<String, String> downloads = Maps.newLinkedHashMap();
+
+            // Get the setup file if specified, it is added as source command in launcher script once downloaded
+            String setupFileLocalPath = null;
+            final Optional<String> setupFile = application.getResources().getSetupFile();
+            if (setupFile.isPresent() && StringUtils.isNotBlank(setupFile.get())) {
+                setupFileLocalPath = super.buildLocalFilePath(
+                    jobWorkingDirectory,
+                    applicationId,
+                    setupFile.get(),
+                    FileType.SETUP,
+                    AdminResources.APPLICATION
+                );
+                downloads.put(setupFileLocalPath, setupFile.get());
+            }
+
+            // Iterate over and get all dependencies
+            for (final String dependencyFile : application.getResources().getDependencies()) {
+                final String localPath = super.buildLocalFilePath(
+                    jobWorkingDirectory,
+                    applicationId,
+                    dependencyFile,
+                    FileType.DEPENDENCIES,
+                    AdminResources.APPLICATION
+                );
+                downloads.put(localPath, dependencyFile);
+            }
+
+            // Iterate over and get all configuration files
+            for (final String configFile : application.getResources().getConfigs()) {
+                final String localPath = super.buildLocalFilePath(
+                    jobWorkingDirectory,
+                    applicationId,
+                    configFile,
+                    FileType.CONFIG,
+                    AdminResources.APPLICATION
+                );
+                downloads.put(localPath, configFile);
+            }
+
+            return new ApplicationSetup(
+                applicationId,
+                applicationStart,
+                applicationTags,
+                setupFileLocalPath,
+                super.submitDownloads(this.downloadExecutor, this.fts, downloads)
+            );
+        } catch (final Throwable t) {
+            MetricsUtils.addFailureTagsWithException(applicationTags, t);
+            this.recordApplicationSetup(applicationStart, applicationTags);
+            throw t;
+        }
+    }
+
+    private void finishApplicationSetup(
+        final ApplicationSetup applicationSetup,
+        final Writer writer,
+        final String jobWorkingDirectory
+    ) throws GenieException, IOException {
+        try {
+            super.awaitDownloads(applicationSetup.getDownloads());
+
+            if (applicationSetup.getSetupFileLocalPath() != null) {
+                super.generateSetupFileSourceSnippet(
+                    applicationSetup.getApplicationId(),
+                    "Application:",
+                    applicationSetup.getSetupFileLocalPath(),
+                    writer,
+                    jobWorkingDirectory
+                );
+            }
+            MetricsUtils.addSuccessTags(applicationSetup.getTags());
+        } catch (final Throwable t) {
+            MetricsUtils.addFailureTagsWithException(applicationSetup.getTags(), t);
+            throw t;
+        } finally {
+            this.recordApplicationSetup(applicationSetup.getStart(), applicationSetup.getTags());
+        }
+    }
+
+    private void recordApplicationSetup(final long applicationStart, final Set<Tag> applicationTags) {
+        this.getRegistry()
+            .timer(APPLICATION_SETUP_TIMER_NAME, applicationTags)
+            .record(System.nanoTime() - applicationStart, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * The state of an application whose resources are being downloaded.
+     */
+    @Getter
+    @AllArgsConstructor
+    private static class ApplicationSetup {
+        private final String applicationId;
+        private final long start;
+        private final Set<Tag> tags;
+        private final String setupFileLocalPath;
+        private final List<Future<?>> downloads;
+    }
 }
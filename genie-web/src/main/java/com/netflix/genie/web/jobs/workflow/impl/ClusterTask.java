@@ -17,6 +17,7 @@
  */
 package com.netflix.genie.web.jobs.workflow.impl;
 
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.netflix.genie.common.exceptions.GenieException;
 import com.netflix.genie.common.internal.dto.v4.Cluster;
@@ -31,6 +32,7 @@ import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.core.task.AsyncTaskExecutor;
 
 import javax.validation.constraints.NotNull;
 import java.io.IOException;
@@ -52,16 +54,23 @@ public class ClusterTask extends GenieBaseTask {
 
     private static final String CLUSTER_TASK_TIMER_NAME = "genie.jobs.tasks.clusterTask.timer";
     private final GenieFileTransferService fts;
+    private final AsyncTaskExecutor downloadExecutor;
 
     /**
      * Constructor.
      *
-     * @param registry The metrics registry to use
-     * @param fts      File transfer service
+     * @param registry         The metrics registry to use
+     * @param fts              File transfer service
+     * @param downloadExecutor The executor to download the cluster resources concurrently on
      */
-    public ClusterTask(@NotNull final MeterRegistry registry, @NotNull final GenieFileTransferService fts) {
+    public ClusterTask(
+        @NotNull final MeterRegistry registry,
+        @NotNull final GenieFileTransferService fts,
+        @NotNull final AsyncTaskExecutor downloadExecutor
+    ) {
         super(registry);
         this.fts = fts;
+        this.downloadExecutor = downloadExecutor;
     }
 
     /**
@@ -107,31 +116,21 @@ public class ClusterTask extends GenieBaseTask {
                 AdminResources.CLUSTER
             );
 
-            // Get the set up file for cluster and add it to source in launcher script
+            // Download the setup file, configuration files and dependencies concurrently
+            final Map<String, String> downloads = Maps.newLinkedHashMap();
+            String setupFileLocalPath = null;
             final Optional<String> setupFile = cluster.getResources().getSetupFile();
-            if (setupFile.isPresent()) {
-                final String clusterSetupFile = setupFile.get();
-                if (StringUtils.isNotBlank(clusterSetupFile)) {
-                    final String localPath = super.buildLocalFilePath(
-                        jobWorkingDirectory,
-                        clusterId,
-                        clusterSetupFile,
-                        FileType.SETUP,
-                        AdminResources.CLUSTER
-                    );
-
-                    this.fts.getFile(clusterSetupFile, localPath);
-
-                    super.generateSetupFileSourceSnippet(
-                        clusterId,
-                        "Cluster:",
-                        localPath,
-                        writer,
-                        jobWorkingDirectory);
-                }
+            if (setupFile.isPresent() && StringUtils.isNotBlank(setupFile.get())) {
+                setupFileLocalPath = super.buildLocalFilePath(
+                    jobWorkingDirectory,
+                    clusterId,
+                    setupFile.get(),
+                    FileType.SETUP,
+                    AdminResources.CLUSTER
+                );
+                downloads.put(setupFileLocalPath, setupFile.get());
             }
 
-            // Iterate over and get all configuration files
             for (final String configFile : cluster.getResources().getConfigs()) {
                 final String localPath = super.buildLocalFilePath(
                     jobWorkingDirectory,
@@ -140,10 +139,9 @@ public class ClusterTask extends GenieBaseTask {
                     FileType.CONFIG,
                     AdminResources.CLUSTER
                 );
-                this.fts.getFile(configFile, localPath);
+                downloads.put(localPath, configFile);
             }
 
-            // Iterate over and get all dependencies
             for (final String dependencyFile : cluster.getResources().getDependencies()) {
                 final String localPath = super.buildLocalFilePath(
                     jobWorkingDirectory,
@@ -152,8 +150,22 @@ public class ClusterTask extends GenieBaseTask {
                     FileType.DEPENDENCIES,
                     AdminResources.CLUSTER
                 );
-                this.fts.getFile(dependencyFile, localPath);
+                downloads.put(localPath, dependencyFile);
+            }
+
+            super.awaitDownloads(super.submitDownloads(this.downloadExecutor, this.fts, downloads));
+
+            // Add the set up file as source in launcher script once it is available locally
+            if (setupFileLocalPath != null) {
+                super.generateSetupFileSourceSnippet(
+                    clusterId,
+                    "Cluster:",
+                    setupFileLocalPath,
+                    writer,
+                    jobWorkingDirectory
+                );
             }
+
             log.info("Finished Cluster Task for job {}", jobExecEnv.getJobRequest().getId().orElse(NO_ID_FOUND));
             MetricsUtils.addSuccessTags(tags);
         } catch (final Throwable t) {
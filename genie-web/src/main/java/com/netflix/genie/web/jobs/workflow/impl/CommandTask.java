@@ -17,6 +17,7 @@
  */
 package com.netflix.genie.web.jobs.workflow.impl;
 
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.netflix.genie.common.exceptions.GenieException;
 import com.netflix.genie.common.internal.dto.v4.Command;
@@ -31,6 +32,7 @@ import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.core.task.AsyncTaskExecutor;
 
 import javax.validation.constraints.NotNull;
 import java.io.IOException;
@@ -52,16 +54,23 @@ public class CommandTask extends GenieBaseTask {
 
     private static final String COMMAND_TASK_TIMER_NAME = "genie.jobs.tasks.commandTask.timer";
     private final GenieFileTransferService fts;
+    private final AsyncTaskExecutor downloadExecutor;
 
     /**
      * Constructor.
      *
-     * @param registry The metrics registry to use
-     * @param fts      File transfer service
+     * @param registry         The metrics registry to use
+     * @param fts              File transfer service
+     * @param downloadExecutor The executor to download the command resources concurrently on
      */
-    public CommandTask(@NotNull final MeterRegistry registry, @NotNull final GenieFileTransferService fts) {
+    public CommandTask(
+        @NotNull final MeterRegistry registry,
+        @NotNull final GenieFileTransferService fts,
+        @NotNull final AsyncTaskExecutor downloadExecutor
+    ) {
         super(registry);
         this.fts = fts;
+        this.downloadExecutor = downloadExecutor;
     }
 
     /**
@@ -108,31 +117,21 @@ public class CommandTask extends GenieBaseTask {
                 AdminResources.COMMAND
             );
 
-            // Get the setup file if specified and add it as source command in launcher script
+            // Download the setup file, configuration files and dependencies concurrently
+            final Map<String, String> downloads = Maps.newLinkedHashMap();
+            String setupFileLocalPath = null;
             final Optional<String> setupFile = command.getResources().getSetupFile();
-            if (setupFile.isPresent()) {
-                final String commandSetupFile = setupFile.get();
-                if (StringUtils.isNotBlank(commandSetupFile)) {
-                    final String localPath = super.buildLocalFilePath(
-                        jobWorkingDirectory,
-                        commandId,
-                        commandSetupFile,
-                        FileType.SETUP,
-                        AdminResources.COMMAND
-                    );
-
-                    fts.getFile(commandSetupFile, localPath);
-
-                    super.generateSetupFileSourceSnippet(
-                        commandId,
-                        "Command:",
-                        localPath,
-                        writer,
-                        jobWorkingDirectory);
-                }
+            if (setupFile.isPresent() && StringUtils.isNotBlank(setupFile.get())) {
+                setupFileLocalPath = super.buildLocalFilePath(
+                    jobWorkingDirectory,
+                    commandId,
+                    setupFile.get(),
+                    FileType.SETUP,
+                    AdminResources.COMMAND
+                );
+                downloads.put(setupFileLocalPath, setupFile.get());
             }
 
-            // Iterate over and get all configuration files
             for (final String configFile : command.getResources().getConfigs()) {
                 final String localPath = super.buildLocalFilePath(
                     jobWorkingDirectory,
@@ -141,10 +140,9 @@ public class CommandTask extends GenieBaseTask {
                     FileType.CONFIG,
                     AdminResources.COMMAND
                 );
-                fts.getFile(configFile, localPath);
+                downloads.put(localPath, configFile);
             }
 
-            // Iterate over and get all dependencies
             for (final String dependencyFile : command.getResources().getDependencies()) {
                 final String localPath = super.buildLocalFilePath(
                     jobWorkingDirectory,
@@ -153,8 +151,22 @@ public class CommandTask extends GenieBaseTask {
                     FileType.DEPENDENCIES,
                     AdminResources.COMMAND
                 );
-                fts.getFile(dependencyFile, localPath);
+                downloads.put(localPath, dependencyFile);
+            }
+
+            super.awaitDownloads(super.submitDownloads(this.downloadExecutor, this.fts, downloads));
+
+            // Add the set up file as source in launcher script once it is available locally
+            if (setupFileLocalPath != null) {
+                super.generateSetupFileSourceSnippet(
+                    commandId,
+                    "Command:",
+                    setupFileLocalPath,
+                    writer,
+                    jobWorkingDirectory
+                );
             }
+
             log.info("Finished Command Task for job {}", jobExecEnv.getJobRequest().getId().orElse(NO_ID_FOUND));
             MetricsUtils.addSuccessTags(tags);
         } catch (Throwable t) {
@@ -23,16 +23,23 @@ import com.netflix.genie.common.internal.jobs.JobConstants;
 import com.netflix.genie.web.jobs.AdminResources;
 import com.netflix.genie.web.jobs.FileType;
 import com.netflix.genie.web.jobs.workflow.WorkflowTask;
+import com.netflix.genie.web.services.impl.GenieFileTransferService;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.AsyncTaskExecutor;
 
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import java.io.File;
 import java.io.IOException;
 import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 /**
  * An abstract class that all classes that implement a workflow task should inherit from. Provides some
@@ -272,4 +279,62 @@ public abstract class GenieBaseTask implements WorkflowTask {
         // Append new line
         writer.write(System.lineSeparator());
     }
+
+    /**
+     * Helper method to start downloading a set of files concurrently on the supplied executor. The method returns
+     * immediately, use {@link #awaitDownloads(List)} to wait for the downloads to complete.
+     *
+     * @param executor  The executor to run the downloads on
+     * @param fts       The file transfer service to use to download the files
+     * @param downloads A map of local destination path to the source path of the file to download to it
+     * @return The futures tracking the submitted downloads
+     */
+    List<Future<?>> submitDownloads(
+        @NotNull final AsyncTaskExecutor executor,
+        @NotNull final GenieFileTransferService fts,
+        @NotNull final Map<String, String> downloads
+    ) {
+        return downloads
+            .entrySet()
+            .stream()
+            .map(
+                download -> executor.submit(
+                    () -> {
+                        fts.getFile(download.getValue(), download.getKey());
+                        return null;
+                    }
+                )
+            )
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Helper method to wait for downloads started by {@link #submitDownloads(AsyncTaskExecutor,
+     * GenieFileTransferService, Map)} to complete. All downloads are waited on even if one fails so no download is
+     * left writing into the job directory once this method returns.
+     *
+     * @param downloads The futures tracking the downloads
+     * @throws GenieException If any of the downloads failed or the wait was interrupted
+     */
+    void awaitDownloads(@NotNull final List<Future<?>> downloads) throws GenieException {
+        GenieException failure = null;
+        for (final Future<?> download : downloads) {
+            try {
+                download.get();
+            } catch (final ExecutionException ee) {
+                if (failure == null) {
+                    failure = ee.getCause() instanceof GenieException
+                        ? (GenieException) ee.getCause()
+                        : new GenieServerException("Failed to download file", ee.getCause());
+                }
+            } catch (final InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                downloads.forEach(future -> future.cancel(true));
+                throw new GenieServerException("Interrupted while waiting for file downloads", ie);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
 }
@@ -22,6 +22,8 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import javax.validation.constraints.Min;
+
 /**
  * Properties associated with the cluster checking task.
  *
@@ -44,4 +46,17 @@ public class ClusterCheckerProperties {
     private long rate = 300_000L;
     private int lostThreshold = 3;
     private String healthIndicatorsToIgnore = "genieMemory,mail,genieAgent";
+
+    /**
+     * The maximum number of remote node health checks to execute concurrently.
+     */
+    @Min(1)
+    private int probeThreads = 20;
+
+    /**
+     * The time in milliseconds a single remote node health check is allowed to take before the node is considered
+     * unreachable for the current pass.
+     */
+    @Min(1)
+    private long probeTimeout = 10_000L;
 }
@@ -22,6 +22,8 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import javax.validation.constraints.Min;
+
 /**
  * Properties controlling the behavior of the database cleanup leadership task.
  *
@@ -53,4 +55,11 @@ public class DatabaseCleanupProperties {
     private boolean skipClustersCleanup;
     private boolean skipTagsCleanup;
     private boolean skipFilesCleanup;
+    private boolean adaptiveBatchingEnabled;
+    @Min(1)
+    private long targetBatchLatency = 1_000L;
+    @Min(1)
+    private int minDeletedPerTransaction = 100;
+    @Min(0)
+    private long maxBatchPause = 10_000L;
 }
@@ -23,6 +23,7 @@ import org.hibernate.validator.constraints.URL;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
 
 /**
@@ -45,4 +46,16 @@ public class FileCacheProperties {
     @NotBlank
     @URL
     private String location = "file:///tmp/genie/cache";
+
+    /**
+     * Maximum total size in bytes of the files kept in the cache. Least recently used files are deleted beyond it.
+     */
+    @Min(1L)
+    private long maxSize = 10_737_418_240L;
+
+    /**
+     * Time in milliseconds a cached file is used before its remote last modified time is checked again.
+     */
+    @Min(0L)
+    private long refreshInterval = 60_000L;
 }
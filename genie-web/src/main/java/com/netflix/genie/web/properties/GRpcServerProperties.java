@@ -22,6 +22,9 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+
 /**
  * Properties related to Genie's gRPC server functionality.
  *
@@ -45,4 +48,100 @@ public class GRpcServerProperties {
     public static final String ENABLED_PROPERTY = PROPERTY_PREFIX + ".enabled";
 
     private boolean enabled;
+
+    @Valid
+    private Transport transport = new Transport();
+
+    @Valid
+    private OutputTail outputTail = new OutputTail();
+
+    /**
+     * Network transport tuning for the gRPC server.
+     *
+     * @author tgianos
+     * @since 4.0.0
+     */
+    @Validated
+    @Getter
+    @Setter
+    public static class Transport {
+        /**
+         * Whether to use the native epoll transport when the platform supports it.
+         */
+        private boolean nativeEnabled = true;
+
+        /**
+         * The number of threads accepting new connections.
+         */
+        @Min(1)
+        private int bossThreads = 1;
+
+        /**
+         * The number of threads performing network I/O. 0 means twice the number of available processors.
+         */
+        @Min(0)
+        private int workerThreads;
+
+        /**
+         * Whether to run service calls directly on the network threads instead of handing them off to an executor.
+         * Only safe if no service blocks while handling a message.
+         */
+        private boolean directExecutor;
+
+        /**
+         * The HTTP/2 flow control window per stream in bytes.
+         */
+        @Min(1)
+        private int flowControlWindow = 4 * 1024 * 1024;
+
+        /**
+         * The largest message in bytes accepted from an agent.
+         */
+        @Min(1)
+        private int maxInboundMessageSize = 4 * 1024 * 1024;
+
+        /**
+         * How long, in milliseconds, a connection can be idle before the server sends a keepalive ping.
+         */
+        @Min(1)
+        private long keepAliveTime = 120_000L;
+
+        /**
+         * How long, in milliseconds, to wait for a keepalive ping acknowledgement before closing the connection.
+         */
+        @Min(1)
+        private long keepAliveTimeout = 20_000L;
+
+        /**
+         * The most frequent keepalive ping interval, in milliseconds, tolerated from agents. Must be no more than the
+         * agent keepalive time or agents will be disconnected.
+         */
+        @Min(0)
+        private long permitKeepAliveTime = 30_000L;
+    }
+
+    /**
+     * Settings for relaying the output agents push to the clients following it.
+     *
+     * @author tgianos
+     * @since 4.0.0
+     */
+    @Validated
+    @Getter
+    @Setter
+    public static class OutputTail {
+        /**
+         * The number of threads delivering output to subscribers. A subscriber blocked writing to a slow client holds
+         * one of these threads without holding up the agent or the other subscribers.
+         */
+        @Min(1)
+        private int deliveryThreads = 8;
+
+        /**
+         * The number of output messages buffered per subscriber. A subscriber which falls further behind than this is
+         * disconnected.
+         */
+        @Min(1)
+        private int subscriberBufferSize = 256;
+    }
 }
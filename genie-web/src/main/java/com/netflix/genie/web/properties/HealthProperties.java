@@ -54,4 +54,11 @@ public class HealthProperties {
      * Default to 3.
      */
     private int maxCpuLoadConsecutiveOccurrences = 3;
+
+    /**
+     * Defines how often, in milliseconds, the in-memory counts of jobs active on this host are reconciled against the
+     * database. Between reconciliations they are maintained from job state change events.
+     * Default to 60 seconds.
+     */
+    private long jobMetricsReconciliationInterval = 60_000L;
 }
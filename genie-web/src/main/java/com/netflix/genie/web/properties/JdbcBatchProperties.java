@@ -0,0 +1,59 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Min;
+
+/**
+ * Properties controlling how Hibernate groups the statements it sends to the database into JDBC batches.
+ *
+ * @author tgianos
+ * @since 4.0.0
+ */
+@ConfigurationProperties(prefix = JdbcBatchProperties.PROPERTY_PREFIX)
+@Getter
+@Setter
+@Validated
+public class JdbcBatchProperties {
+
+    /**
+     * The property prefix for all properties in this group.
+     */
+    public static final String PROPERTY_PREFIX = "genie.data.jdbc-batch";
+
+    /**
+     * The maximum number of statements sent to the database in a single JDBC batch. 0 disables batching.
+     */
+    @Min(0)
+    private int size;
+
+    /**
+     * Whether inserts should be ordered by entity type so that more of them can share a batch.
+     */
+    private boolean orderInserts = true;
+
+    /**
+     * Whether updates should be ordered by entity type and id so that more of them can share a batch.
+     */
+    private boolean orderUpdates = true;
+}
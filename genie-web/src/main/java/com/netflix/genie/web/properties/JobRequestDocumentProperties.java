@@ -0,0 +1,47 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Properties controlling how the immutable portion of V4 job requests is stored in the database.
+ *
+ * @author tgianos
+ * @since 4.0.0
+ */
+@ConfigurationProperties(prefix = JobRequestDocumentProperties.PROPERTY_PREFIX)
+@Getter
+@Setter
+@Validated
+public class JobRequestDocumentProperties {
+
+    /**
+     * The property prefix for all properties in this group.
+     */
+    public static final String PROPERTY_PREFIX = "genie.data.job-request-document";
+
+    /**
+     * Whether to store the criteria, requested applications and requested environment variables of new job requests
+     * in a single compressed document column of the jobs table rather than in their own tables.
+     */
+    private boolean enabled;
+}
@@ -0,0 +1,50 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Min;
+
+/**
+ * Properties related to archiving the directories of completed jobs.
+ *
+ * @author tgianos
+ * @since 4.0.0
+ */
+@ConfigurationProperties(prefix = JobsArchiveProperties.PROPERTY_PREFIX)
+@Getter
+@Setter
+@Validated
+public class JobsArchiveProperties {
+
+    /**
+     * The property prefix for job archival.
+     */
+    public static final String PROPERTY_PREFIX = "genie.jobs.archive";
+
+    @Min(0)
+    private int awaitTerminationSeconds = 300;
+    @Min(1)
+    private int threads = 4;
+    @Min(0)
+    private int queueCapacity = 1_000;
+}
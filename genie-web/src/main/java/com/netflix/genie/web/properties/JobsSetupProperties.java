@@ -0,0 +1,57 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+
+/**
+ * Properties related to setting up the working directory of jobs launched by this node.
+ *
+ * @author tgianos
+ * @since 4.0.0
+ */
+@ConfigurationProperties(prefix = JobsSetupProperties.PROPERTY_PREFIX)
+@Getter
+@Setter
+@Validated
+public class JobsSetupProperties {
+
+    /**
+     * The property prefix for all properties in this group.
+     */
+    public static final String PROPERTY_PREFIX = "genie.jobs.setup";
+
+    /**
+     * The maximum number of cluster, command and application resources downloaded concurrently across all jobs
+     * being set up on this node.
+     */
+    @Min(1)
+    private int downloadThreads = 8;
+
+    /**
+     * The name prefix to apply to the download threads.
+     */
+    @NotBlank(message = "A thread prefix name is required")
+    private String downloadThreadNamePrefix = "genie-job-setup-";
+}
@@ -0,0 +1,67 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Min;
+
+/**
+ * Properties related to the in-memory cache of job statuses used to serve status polling.
+ *
+ * @author tgianos
+ * @since 4.0.0
+ */
+@ConfigurationProperties(prefix = JobsStatusCacheProperties.PROPERTY_PREFIX)
+@Getter
+@Setter
+@Validated
+public class JobsStatusCacheProperties {
+
+    /**
+     * The property prefix for all properties in this group.
+     */
+    public static final String PROPERTY_PREFIX = "genie.jobs.status.cache";
+
+    /**
+     * Whether job statuses should be cached at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long, in milliseconds, the status of an active job read from the database is used before it is read again.
+     * Status changes persisted by this node replace the cached value immediately.
+     */
+    @Min(0)
+    private long activeTtl = 5_000L;
+
+    /**
+     * How long, in milliseconds, the status of a finished job is kept. Finished statuses never change.
+     */
+    @Min(0)
+    private long finishedTtl = 600_000L;
+
+    /**
+     * The maximum number of active and, separately, finished jobs kept in the cache.
+     */
+    @Min(0)
+    private long maxSize = 10_000L;
+}
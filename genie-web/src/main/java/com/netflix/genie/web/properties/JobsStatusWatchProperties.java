@@ -0,0 +1,67 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Min;
+
+/**
+ * Properties related to clients waiting for or following job status changes.
+ *
+ * @author tgianos
+ * @since 4.0.0
+ */
+@ConfigurationProperties(prefix = JobsStatusWatchProperties.PROPERTY_PREFIX)
+@Getter
+@Setter
+@Validated
+public class JobsStatusWatchProperties {
+
+    /**
+     * The property prefix for all properties in this group.
+     */
+    public static final String PROPERTY_PREFIX = "genie.jobs.status.watch";
+
+    /**
+     * How often, in milliseconds, the statuses of watched jobs are checked for changes persisted by other nodes.
+     */
+    @Min(1)
+    private long checkInterval = 1_000L;
+
+    /**
+     * The number of threads delivering status changes to the clients waiting for or following them.
+     */
+    @Min(1)
+    private int deliveryThreads = 8;
+
+    /**
+     * The longest time, in milliseconds, a request may wait for the status of a job to change.
+     */
+    @Min(1)
+    private long maxWait = 60_000L;
+
+    /**
+     * The longest time, in milliseconds, a client can follow job status changes on a single request.
+     */
+    @Min(1)
+    private long streamTimeout = 3_600_000L;
+}
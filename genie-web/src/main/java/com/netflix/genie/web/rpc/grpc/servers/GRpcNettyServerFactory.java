@@ -0,0 +1,129 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.rpc.grpc.servers;
+
+import com.google.common.collect.Lists;
+import com.netflix.genie.web.properties.GRpcServerProperties;
+import io.grpc.Server;
+import io.grpc.netty.NettyServerBuilder;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+import net.devh.springboot.autoconfigure.grpc.server.GrpcServerProperties;
+import net.devh.springboot.autoconfigure.grpc.server.GrpcServiceDefinition;
+import net.devh.springboot.autoconfigure.grpc.server.NettyGrpcServerFactory;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link NettyGrpcServerFactory} which applies the transport tuning in {@link GRpcServerProperties.Transport} to
+ * the Netty server: native transport, event loop sizing, flow control, message size and keepalive settings.
+ *
+ * @author tgianos
+ * @since 4.0.0
+ */
+@Slf4j
+public class GRpcNettyServerFactory extends NettyGrpcServerFactory {
+
+    private final GrpcServerProperties grpcServerProperties;
+    private final GRpcServerProperties.Transport transport;
+    private final List<GrpcServiceDefinition> serviceDefinitions = Lists.newArrayList();
+    private final boolean nativeTransport;
+    private final EventLoopGroup bossEventLoopGroup;
+    private final EventLoopGroup workerEventLoopGroup;
+
+    /**
+     * Constructor.
+     *
+     * @param grpcServerProperties The address and port the server should bind to
+     * @param transport            The transport tuning to apply
+     */
+    public GRpcNettyServerFactory(
+        final GrpcServerProperties grpcServerProperties,
+        final GRpcServerProperties.Transport transport
+    ) {
+        super(grpcServerProperties);
+        this.grpcServerProperties = grpcServerProperties;
+        this.transport = transport;
+        this.nativeTransport = transport.isNativeEnabled() && Epoll.isAvailable();
+        this.bossEventLoopGroup = this.createEventLoopGroup(transport.getBossThreads(), "genie-grpc-boss");
+        this.workerEventLoopGroup = this.createEventLoopGroup(transport.getWorkerThreads(), "genie-grpc-worker");
+        log.info("gRPC server using {} transport", this.nativeTransport ? "epoll" : "NIO");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addService(final GrpcServiceDefinition service) {
+        super.addService(service);
+        this.serviceDefinitions.add(service);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Server createServer() {
+        final NettyServerBuilder builder = NettyServerBuilder
+            .forAddress(
+                new InetSocketAddress(this.grpcServerProperties.getAddress(), this.grpcServerProperties.getPort())
+            )
+            .bossEventLoopGroup(this.bossEventLoopGroup)
+            .workerEventLoopGroup(this.workerEventLoopGroup)
+            .channelType(this.nativeTransport ? EpollServerSocketChannel.class : NioServerSocketChannel.class)
+            .flowControlWindow(this.transport.getFlowControlWindow())
+            .maxInboundMessageSize(this.transport.getMaxInboundMessageSize())
+            .keepAliveTime(this.transport.getKeepAliveTime(), TimeUnit.MILLISECONDS)
+            .keepAliveTimeout(this.transport.getKeepAliveTimeout(), TimeUnit.MILLISECONDS)
+            .permitKeepAliveTime(this.transport.getPermitKeepAliveTime(), TimeUnit.MILLISECONDS);
+
+        if (this.transport.isDirectExecutor()) {
+            builder.directExecutor();
+        }
+
+        for (final GrpcServiceDefinition serviceDefinition : this.serviceDefinitions) {
+            log.info("Registered gRPC service: {}", serviceDefinition.getDefinition().getServiceDescriptor().getName());
+            builder.addService(serviceDefinition.getDefinition());
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Release the network threads once the server has been shut down.
+     */
+    public void shutdownEventLoopGroups() {
+        this.bossEventLoopGroup.shutdownGracefully();
+        this.workerEventLoopGroup.shutdownGracefully();
+    }
+
+    private EventLoopGroup createEventLoopGroup(final int threads, final String poolName) {
+        final DefaultThreadFactory threadFactory = new DefaultThreadFactory(poolName, true);
+        return this.nativeTransport
+            ? new EpollEventLoopGroup(threads, threadFactory)
+            : new NioEventLoopGroup(threads, threadFactory);
+    }
+}
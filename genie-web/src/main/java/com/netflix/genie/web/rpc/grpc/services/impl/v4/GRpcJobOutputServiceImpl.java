@@ -0,0 +1,329 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.rpc.grpc.services.impl.v4;
+
+import com.google.common.collect.Maps;
+import com.netflix.genie.proto.AgentOutputMessage;
+import com.netflix.genie.proto.JobOutputServiceGrpc;
+import com.netflix.genie.proto.ServerOutputControlMessage;
+import com.netflix.genie.web.properties.GRpcServerProperties;
+import com.netflix.genie.web.rpc.grpc.interceptors.SimpleLoggingInterceptor;
+import com.netflix.genie.web.services.JobOutputTailService;
+import io.grpc.stub.StreamObserver;
+import lombok.extern.slf4j.Slf4j;
+import net.devh.springboot.autoconfigure.grpc.server.GrpcService;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+import javax.validation.constraints.NotBlank;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link JobOutputTailService} gRPC implementation.
+ * Each agent keeps a 'tail' stream open while its job runs. The server asks the agent to push output only while at
+ * least one subscriber is following the job, and fans out each message received to all the subscribers.
+ * Each subscriber has its own bounded buffer drained on a delivery executor, so the thread receiving the agent
+ * messages never waits on a subscriber. A subscriber which falls so far behind that its buffer fills up is
+ * disconnected rather than holding up the agent or the other subscribers of the job.
+ *
+ * @author mprimi
+ * @since 4.0.0
+ */
+@ConditionalOnProperty(value = GRpcServerProperties.ENABLED_PROPERTY, havingValue = "true")
+@GrpcService(
+    value = JobOutputServiceGrpc.class,
+    interceptors = {
+        SimpleLoggingInterceptor.class,
+    }
+)
+@Slf4j
+public class GRpcJobOutputServiceImpl
+    extends JobOutputServiceGrpc.JobOutputServiceImplBase
+    implements JobOutputTailService {
+
+    private static final ServerOutputControlMessage START_TAILING = ServerOutputControlMessage.newBuilder()
+        .setTail(true)
+        .build();
+    private static final ServerOutputControlMessage STOP_TAILING = ServerOutputControlMessage.newBuilder()
+        .setTail(false)
+        .build();
+
+    private final Map<String, AgentOutputStreamObserver> jobIdStreamMap = Maps.newConcurrentMap();
+    private final Executor deliveryExecutor;
+    private final int subscriberBufferSize;
+
+    /**
+     * Constructor.
+     *
+     * @param deliveryExecutor The executor output is delivered to subscribers on
+     * @param properties       The gRPC server properties
+     */
+    public GRpcJobOutputServiceImpl(
+        @Qualifier("genieJobOutputTailTaskExecutor") final Executor deliveryExecutor,
+        final GRpcServerProperties properties
+    ) {
+        this.deliveryExecutor = deliveryExecutor;
+        this.subscriberBufferSize = properties.getOutputTail().getSubscriberBufferSize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StreamObserver<AgentOutputMessage> tail(final StreamObserver<ServerOutputControlMessage> responseObserver) {
+        return new AgentOutputStreamObserver(this, responseObserver);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Subscription> subscribe(@NotBlank final String jobId, final Subscriber subscriber) {
+        final AgentOutputStreamObserver streamObserver = this.jobIdStreamMap.get(jobId);
+        if (streamObserver == null) {
+            log.debug("No output stream for job: {}", jobId);
+            return Optional.empty();
+        }
+        return Optional.of(streamObserver.addSubscriber(subscriber));
+    }
+
+    private static OutputStream toOutputStream(final AgentOutputMessage.Stream stream) {
+        return stream == AgentOutputMessage.Stream.STDERR ? OutputStream.STDERR : OutputStream.STDOUT;
+    }
+
+    private static class AgentOutputStreamObserver implements StreamObserver<AgentOutputMessage> {
+        private final GRpcJobOutputServiceImpl service;
+        private final StreamObserver<ServerOutputControlMessage> responseObserver;
+        private final List<SubscriptionImpl> subscriptions = new CopyOnWriteArrayList<>();
+        private String jobId;
+        private boolean terminated;
+
+        AgentOutputStreamObserver(
+            final GRpcJobOutputServiceImpl service,
+            final StreamObserver<ServerOutputControlMessage> responseObserver
+        ) {
+            this.service = service;
+            this.responseObserver = responseObserver;
+        }
+
+        @Override
+        public void onNext(final AgentOutputMessage value) {
+            if (this.jobId == null) {
+                if (StringUtils.isBlank(value.getJobId())) {
+                    log.warn("Ignoring output stream without job id");
+                    return;
+                }
+                this.jobId = value.getJobId();
+                log.info("Agent output stream registered for job: {}", this.jobId);
+                final AgentOutputStreamObserver previous = this.service.jobIdStreamMap.put(this.jobId, this);
+                if (previous != null) {
+                    previous.completeSubscriptions();
+                }
+                return;
+            }
+
+            if (value.getData().isEmpty()) {
+                return;
+            }
+
+            final OutputChunk chunk = new OutputChunk(
+                toOutputStream(value.getStream()),
+                value.getOffset(),
+                value.getData().toByteArray()
+            );
+            for (final SubscriptionImpl subscription : this.subscriptions) {
+                subscription.offer(chunk);
+            }
+        }
+
+        @Override
+        public void onError(final Throwable t) {
+            log.debug("Output stream error for job {}: {}", this.jobId, t.getMessage());
+            this.terminate();
+        }
+
+        @Override
+        public void onCompleted() {
+            log.debug("Output stream completed for job {}", this.jobId);
+            this.terminate();
+            this.responseObserver.onCompleted();
+        }
+
+        private synchronized Subscription addSubscriber(final Subscriber subscriber) {
+            final SubscriptionImpl subscription = new SubscriptionImpl(
+                this,
+                subscriber,
+                this.service.deliveryExecutor,
+                this.service.subscriberBufferSize
+            );
+            this.subscriptions.add(subscription);
+            if (this.subscriptions.size() == 1 && !this.terminated) {
+                this.responseObserver.onNext(START_TAILING);
+            }
+            return subscription;
+        }
+
+        private synchronized void removeSubscription(final SubscriptionImpl subscription) {
+            if (this.subscriptions.remove(subscription) && this.subscriptions.isEmpty() && !this.terminated) {
+                this.responseObserver.onNext(STOP_TAILING);
+            }
+        }
+
+        private synchronized void terminate() {
+            this.terminated = true;
+            if (this.jobId != null) {
+                this.service.jobIdStreamMap.remove(this.jobId, this);
+            }
+            this.completeSubscriptions();
+        }
+
+        private synchronized void completeSubscriptions() {
+            for (final SubscriptionImpl subscription : this.subscriptions) {
+                subscription.complete();
+            }
+            this.subscriptions.clear();
+        }
+    }
+
+    private static final class OutputChunk {
+        private final OutputStream stream;
+        private final long offset;
+        private final byte[] data;
+
+        private OutputChunk(final OutputStream stream, final long offset, final byte[] data) {
+            this.stream = stream;
+            this.offset = offset;
+            this.data = data;
+        }
+    }
+
+    /**
+     * Buffers the output of a single subscriber and delivers it in order on the delivery executor. At most one
+     * delivery task per subscriber is queued or running at any time, which keeps invocations of the subscriber
+     * serialized.
+     */
+    private static class SubscriptionImpl implements Subscription, Runnable {
+        private final AgentOutputStreamObserver streamObserver;
+        private final Subscriber subscriber;
+        private final Executor executor;
+        private final int bufferSize;
+        private final BlockingQueue<OutputChunk> pending;
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean completionDelivered = new AtomicBoolean();
+        private volatile boolean completed;
+
+        SubscriptionImpl(
+            final AgentOutputStreamObserver streamObserver,
+            final Subscriber subscriber,
+            final Executor executor,
+            final int bufferSize
+        ) {
+            this.streamObserver = streamObserver;
+            this.subscriber = subscriber;
+            this.executor = executor;
+            this.bufferSize = bufferSize;
+            this.pending = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        @Override
+        public void cancel() {
+            if (this.cancelled.compareAndSet(false, true)) {
+                this.pending.clear();
+                this.streamObserver.removeSubscription(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            do {
+                OutputChunk chunk;
+                while (!this.cancelled.get() && (chunk = this.pending.poll()) != null) {
+                    try {
+                        this.subscriber.onOutput(chunk.stream, chunk.offset, chunk.data);
+                    } catch (final IOException | RuntimeException e) {
+                        log.debug(
+                            "Dropping subscriber of job {} output: {}",
+                            this.streamObserver.jobId,
+                            e.getMessage()
+                        );
+                        this.cancel();
+                    }
+                }
+                if (this.completed && this.completionDelivered.compareAndSet(false, true)) {
+                    try {
+                        this.subscriber.onCompleted();
+                    } catch (final RuntimeException e) {
+                        log.debug("Failed to complete subscriber of job {} output", this.streamObserver.jobId, e);
+                    }
+                }
+                this.draining.set(false);
+                // Output offered after the queue was found empty but before the flag was cleared must not be stranded
+            } while (this.hasWork() && this.draining.compareAndSet(false, true));
+        }
+
+        private void offer(final OutputChunk chunk) {
+            if (this.cancelled.get()) {
+                return;
+            }
+            if (!this.pending.offer(chunk)) {
+                log.debug(
+                    "Subscriber of job {} output fell more than {} messages behind. Disconnecting.",
+                    this.streamObserver.jobId,
+                    this.bufferSize
+                );
+                this.cancel();
+                this.complete();
+                return;
+            }
+            this.scheduleDrain();
+        }
+
+        private void complete() {
+            this.completed = true;
+            this.scheduleDrain();
+        }
+
+        private boolean hasWork() {
+            return (!this.cancelled.get() && !this.pending.isEmpty())
+                || (this.completed && !this.completionDelivered.get());
+        }
+
+        private void scheduleDrain() {
+            if (this.draining.compareAndSet(false, true)) {
+                try {
+                    this.executor.execute(this);
+                } catch (final RejectedExecutionException e) {
+                    log.warn("Unable to deliver output of job {} to subscriber", this.streamObserver.jobId, e);
+                    this.draining.set(false);
+                    this.cancel();
+                }
+            }
+        }
+    }
+}
@@ -22,6 +22,8 @@ import com.netflix.genie.common.internal.dto.v4.AgentClientMetadata;
 import com.netflix.genie.common.internal.dto.v4.JobRequest;
 import com.netflix.genie.common.internal.dto.v4.JobSpecification;
 import com.netflix.genie.common.internal.dto.v4.converters.JobServiceProtoConverter;
+import com.netflix.genie.proto.BootstrapJobRequest;
+import com.netflix.genie.proto.BootstrapJobResponse;
 import com.netflix.genie.proto.ChangeJobStatusRequest;
 import com.netflix.genie.proto.ChangeJobStatusResponse;
 import com.netflix.genie.proto.ClaimJobRequest;
@@ -259,4 +261,31 @@ public class GRpcJobServiceImpl extends JobServiceGrpc.JobServiceImplBase {
         }
         responseObserver.onCompleted();
     }
+
+    /**
+     * Reserve a job id, resolve the job specification and claim the job for the calling agent in a single call. This
+     * saves agents which have their entire request up front several round trips to the server.
+     *
+     * @param request          The request containing all the metadata necessary to reserve a job id in the system
+     * @param responseObserver The observer to send a response with
+     */
+    @Override
+    public void bootstrapJob(
+        final BootstrapJobRequest request,
+        final StreamObserver<BootstrapJobResponse> responseObserver
+    ) {
+        try {
+            final ReserveJobIdRequest reservation = request.getReservation();
+            final JobRequest jobRequest = jobServiceProtoConverter.toJobRequestDTO(reservation);
+            final AgentClientMetadata agentClientMetadata
+                = jobServiceProtoConverter.toAgentClientMetadataDTO(reservation.getAgentMetadata());
+            final JobSpecification jobSpecification
+                = this.agentJobService.bootstrapJob(jobRequest, agentClientMetadata);
+            responseObserver.onNext(jobServiceProtoConverter.toProtoBootstrapJobResponse(jobSpecification));
+        } catch (final Exception e) {
+            log.error("Error bootstrapping job for request " + request, e);
+            responseObserver.onNext(protoErrorComposer.toProtoBootstrapJobResponse(e));
+        }
+        responseObserver.onCompleted();
+    }
 }
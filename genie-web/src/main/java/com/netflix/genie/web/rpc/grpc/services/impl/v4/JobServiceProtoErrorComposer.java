@@ -30,6 +30,8 @@ import com.netflix.genie.common.internal.exceptions.unchecked.GenieInvalidStatus
 import com.netflix.genie.common.internal.exceptions.unchecked.GenieJobAlreadyClaimedException;
 import com.netflix.genie.common.internal.exceptions.unchecked.GenieJobNotFoundException;
 import com.netflix.genie.common.internal.exceptions.unchecked.GenieJobSpecificationNotFoundException;
+import com.netflix.genie.proto.BootstrapJobError;
+import com.netflix.genie.proto.BootstrapJobResponse;
 import com.netflix.genie.proto.ChangeJobStatusError;
 import com.netflix.genie.proto.ChangeJobStatusResponse;
 import com.netflix.genie.proto.ClaimJobError;
@@ -92,6 +94,17 @@ class JobServiceProtoErrorComposer {
             .put(ConstraintViolationException.class, ChangeJobStatusError.Type.INVALID_REQUEST)
             .build();
 
+    private static final Map<Class<? extends Exception>, BootstrapJobError.Type> BOOTSTRAP_JOB_ERROR_MAP =
+        ImmutableMap.<Class<? extends Exception>, BootstrapJobError.Type>builder()
+            .put(GenieConversionException.class, BootstrapJobError.Type.INVALID_REQUEST)
+            .put(GenieIdAlreadyExistsException.class, BootstrapJobError.Type.ID_NOT_AVAILABLE)
+            .put(GenieClusterNotFoundException.class, BootstrapJobError.Type.NO_CLUSTER_FOUND)
+            .put(GenieCommandNotFoundException.class, BootstrapJobError.Type.NO_COMMAND_FOUND)
+            .put(GenieApplicationNotFoundException.class, BootstrapJobError.Type.NO_APPLICATION_FOUND)
+            .put(GenieJobAlreadyClaimedException.class, BootstrapJobError.Type.ALREADY_CLAIMED)
+            .put(ConstraintViolationException.class, BootstrapJobError.Type.INVALID_REQUEST)
+            .build();
+
     private static final Map<Class<? extends Exception>, HandshakeResponse.Type> HANDSHAKE_ERROR_MAP =
         ImmutableMap.<Class<? extends Exception>, HandshakeResponse.Type>builder()
             .put(ConstraintViolationException.class, HandshakeResponse.Type.INVALID_REQUEST)
@@ -181,6 +194,22 @@ class JobServiceProtoErrorComposer {
             .build();
     }
 
+    /**
+     * Build a {@link BootstrapJobResponse} out of the given {@link Exception}.
+     *
+     * @param e The server exception
+     * @return The response
+     */
+    BootstrapJobResponse toProtoBootstrapJobResponse(final Exception e) {
+        return BootstrapJobResponse.newBuilder()
+            .setError(
+                BootstrapJobError.newBuilder()
+                    .setMessage(getMessage(e))
+                    .setType(getErrorType(e, BOOTSTRAP_JOB_ERROR_MAP, BootstrapJobError.Type.UNKNOWN))
+            )
+            .build();
+    }
+
     /**
      * Build a {@link HandshakeResponse} out of the given {@link Exception}.
      *
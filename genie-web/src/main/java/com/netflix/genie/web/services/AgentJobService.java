@@ -118,6 +118,28 @@ public interface AgentJobService {
      */
     void claimJob(@NotBlank String id, @Valid AgentClientMetadata agentClientMetadata);
 
+    /**
+     * Reserve a job id, resolve the job specification and claim the job for the agent identified by
+     * {@code agentClientMetadata} as a single unit of work. This is equivalent to calling
+     * {@link #reserveJobId(JobRequest, AgentClientMetadata)}, {@link #resolveJobSpecification(String)} and
+     * {@link #claimJob(String, AgentClientMetadata)} in sequence but saves the agent two round trips and the server
+     * two transactions. If any step fails nothing is saved.
+     *
+     * @param jobRequest          The job request containing all the metadata needed to reserve a job id
+     * @param agentClientMetadata The metadata about the agent driving this job request
+     * @return The resolved job specification. The id of the job is available via the job resource of the specification
+     * @throws GenieIdAlreadyExistsException     If the id requested along with the job request is already in use
+     * @throws GenieClusterNotFoundException     When the cluster specified in the job specification doesn't actually
+     *                                           exist
+     * @throws GenieCommandNotFoundException     When the command specified in the job specification doesn't actually
+     *                                           exist
+     * @throws GenieApplicationNotFoundException When an application specified in the job specification doesn't
+     *                                           actually exist
+     * @throws GenieJobAlreadyClaimedException   if the job has somehow already been claimed
+     * @throws ConstraintViolationException      If the arguments fail validation
+     */
+    JobSpecification bootstrapJob(@Valid JobRequest jobRequest, @Valid AgentClientMetadata agentClientMetadata);
+
     /**
      * Update the status of the job identified with {@code id} to be {@code newStatus} provided that the current status
      * of the job matches {@code newStatus}. Optionally a status message can be provided to provide more details to
@@ -0,0 +1,93 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.services;
+
+import javax.validation.constraints.NotBlank;
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Service to follow the output of a running job as it is written.
+ * The output is pushed by the agent executing the job, so only jobs whose agent is connected to this node can be
+ * tailed. Many subscribers can follow the same job, the output is only transferred once from the agent.
+ *
+ * @author mprimi
+ * @since 4.0.0
+ */
+public interface JobOutputTailService {
+
+    /**
+     * Subscribe to the output of a job.
+     * The subscriber receives output written after this call, until the job completes or the subscription is
+     * cancelled.
+     *
+     * @param jobId      the job id
+     * @param subscriber the subscriber to notify of new output
+     * @return a subscription, or empty if the job output is not available on this node
+     */
+    Optional<Subscription> subscribe(@NotBlank String jobId, Subscriber subscriber);
+
+    /**
+     * The output streams of a job.
+     */
+    enum OutputStream {
+        /**
+         * Standard output.
+         */
+        STDOUT,
+
+        /**
+         * Standard error.
+         */
+        STDERR
+    }
+
+    /**
+     * Receives the output of a job.
+     */
+    interface Subscriber {
+
+        /**
+         * Notify of output appended to one of the job output streams.
+         * Invocations are serialized, and the data array must not be modified as it is shared with other subscribers.
+         *
+         * @param stream the stream the data was written to
+         * @param offset the offset of the data in the output file
+         * @param data   the data
+         * @throws IOException if the data cannot be delivered, which cancels the subscription
+         */
+        void onOutput(OutputStream stream, long offset, byte[] data) throws IOException;
+
+        /**
+         * Notify that no more output will be delivered, because the agent disconnected or the subscriber fell too far
+         * behind the output of the job.
+         */
+        void onCompleted();
+    }
+
+    /**
+     * Handle on an active subscription.
+     */
+    interface Subscription {
+
+        /**
+         * Stop receiving output. Idempotent.
+         */
+        void cancel();
+    }
+}
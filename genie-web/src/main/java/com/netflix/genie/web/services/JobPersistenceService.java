@@ -275,6 +275,18 @@ public interface JobPersistenceService {
         @NotBlank(message = "Job id is missing and is required") String id
     ) throws GenieNotFoundException;
 
+    /**
+     * Get the status of a job along with whether it's a v4 job and where its directory is archived to in a single
+     * lookup.
+     *
+     * @param id The id of the job
+     * @return The {@link JobStatusInfo} for the job
+     * @throws GenieNotFoundException If no job with the given {@code id} exists
+     */
+    JobStatusInfo getJobStatusInfo(
+        @NotBlank(message = "Job id is missing and is required") String id
+    ) throws GenieNotFoundException;
+
     /**
      * Get the location a job directory was archived to if at all.
      *
@@ -285,4 +297,28 @@ public interface JobPersistenceService {
     Optional<String> getJobArchiveLocation(
         @NotBlank(message = "Job id is missing and is required") String id
     ) throws GenieNotFoundException;
+
+    /**
+     * Set whether the directory of a job still has to be archived. This is persisted so that archival which didn't
+     * complete before the node went down can be picked up again on restart.
+     *
+     * @param id             The id of the job
+     * @param archivePending true if the job directory still has to be archived, false once archival is done
+     * @throws GenieNotFoundException When there is no job with id {@code id}
+     */
+    void setArchivePending(
+        @NotBlank(message = "Job id is missing and is required") String id,
+        boolean archivePending
+    ) throws GenieNotFoundException;
+
+    /**
+     * Get whether the directory of a job still has to be archived.
+     *
+     * @param id The id of the job
+     * @return true if the job directory hasn't been archived yet
+     * @throws GenieNotFoundException When there is no job with id {@code id}
+     */
+    boolean isArchivePending(
+        @NotBlank(message = "Job id is missing and is required") String id
+    ) throws GenieNotFoundException;
 }
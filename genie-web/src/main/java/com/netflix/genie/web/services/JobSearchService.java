@@ -27,6 +27,7 @@ import com.netflix.genie.common.dto.JobRequest;
 import com.netflix.genie.common.dto.JobStatus;
 import com.netflix.genie.common.dto.UserResourcesSummary;
 import com.netflix.genie.common.dto.search.JobSearchResult;
+import com.netflix.genie.common.dto.search.JobStatusSearchResult;
 import com.netflix.genie.common.exceptions.GenieException;
 import com.netflix.genie.common.exceptions.GenieNotFoundException;
 import org.springframework.data.domain.Page;
@@ -99,6 +100,22 @@ public interface JobSearchService {
      */
     Set<Job> getAllActiveJobsOnHost(@NotBlank String hostname);
 
+    /**
+     * Given a hostname return a set of all the jobs run on that host whose directory still has to be archived.
+     *
+     * @param hostname The host name to search for. Not null or empty.
+     * @return All the jobs pending archival on the host as a set of Job objects
+     */
+    Set<Job> getAllJobsPendingArchivalOnHost(@NotBlank String hostname);
+
+    /**
+     * Given a hostname return the memory allocated to each job currently active on that host.
+     *
+     * @param hostname The host name to search for. Not null or empty.
+     * @return A map of job id to the memory (in MB) allocated to that job. Jobs without memory set map to 0.
+     */
+    Map<String, Integer> getActiveJobsMemoryOnHost(@NotBlank String hostname);
+
     /**
      * Get a set of host names which are currently have active jobs in the Genie cluster.
      *
@@ -126,6 +143,14 @@ public interface JobSearchService {
     @Deprecated
     JobStatus getJobStatus(@NotBlank String id) throws GenieException;
 
+    /**
+     * Get the status, timestamps and exit code of many jobs at once.
+     *
+     * @param ids The ids of the jobs to look up
+     * @return The statuses of the jobs found. Ids which don't match any job are left out
+     */
+    List<JobStatusSearchResult> getJobStatuses(@NotNull Set<@NotBlank String> ids);
+
     /**
      * Get job request for given job id.
      *
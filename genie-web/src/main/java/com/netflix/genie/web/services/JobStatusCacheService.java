@@ -0,0 +1,57 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.services;
+
+import com.netflix.genie.common.dto.JobStatus;
+import com.netflix.genie.common.exceptions.GenieNotFoundException;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.NotBlank;
+
+/**
+ * A read-through cache of job statuses for frequently repeated lookups such as clients polling for job completion or
+ * requests for files within a job directory. Statuses may lag the data store by a short, configurable amount of time
+ * for changes persisted by other nodes so callers making decisions which must be based on the latest status should
+ * use {@link JobPersistenceService} directly.
+ *
+ * @author tgianos
+ * @since 4.0.0
+ */
+@Validated
+public interface JobStatusCacheService {
+
+    /**
+     * Get the status of the job with the given {@code id}.
+     *
+     * @param id The id of the job
+     * @return The status of the job
+     * @throws GenieNotFoundException If no job with the given {@code id} exists
+     */
+    JobStatus getJobStatus(@NotBlank(message = "Job id is missing and is required") String id)
+        throws GenieNotFoundException;
+
+    /**
+     * Get the status of the job with the given {@code id} along with whether it's a v4 job and its archive location.
+     *
+     * @param id The id of the job
+     * @return The {@link JobStatusInfo} for the job
+     * @throws GenieNotFoundException If no job with the given {@code id} exists
+     */
+    JobStatusInfo getJobStatusInfo(@NotBlank(message = "Job id is missing and is required") String id)
+        throws GenieNotFoundException;
+}
@@ -0,0 +1,69 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.services;
+
+import com.netflix.genie.common.dto.JobStatus;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.NotNull;
+import java.util.Optional;
+
+/**
+ * The status of a job along with the other fields needed to decide how to serve requests for it.
+ *
+ * @author tgianos
+ * @since 4.0.0
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public class JobStatusInfo {
+
+    private final JobStatus status;
+    private final boolean v4;
+    private final String archiveLocation;
+
+    /**
+     * Constructor.
+     *
+     * @param status          The current status of the job
+     * @param v4              Whether the job was launched via Genie v4
+     * @param archiveLocation Where the job directory is or will be archived to if anywhere
+     */
+    public JobStatusInfo(
+        @NotNull final JobStatus status,
+        final boolean v4,
+        @Nullable final String archiveLocation
+    ) {
+        this.status = status;
+        this.v4 = v4;
+        this.archiveLocation = archiveLocation;
+    }
+
+    /**
+     * Get the location the job directory is or will be archived to.
+     *
+     * @return The archive location wrapped in an {@link Optional}
+     */
+    public Optional<String> getArchiveLocation() {
+        return Optional.ofNullable(this.archiveLocation);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.services;
+
+import com.netflix.genie.common.dto.JobStatus;
+import com.netflix.genie.common.exceptions.GenieNotFoundException;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Service to be notified of the status changes of jobs as they happen, rather than polling for them.
+ * Changes persisted by this node are delivered as soon as they're committed. Changes persisted by other nodes are
+ * picked up by periodically checking the statuses of the jobs being watched, once for all the watchers of a job.
+ *
+ * @author tgianos
+ * @since 4.0.0
+ */
+@Validated
+public interface JobStatusWatchService {
+
+    /**
+     * Watch the statuses of the given jobs.
+     * The subscriber is first notified of the current status of every job, then of each change until the job
+     * finishes or the subscription is cancelled.
+     *
+     * @param jobIds     the ids of the jobs to watch
+     * @param subscriber the subscriber to notify of status changes
+     * @return a subscription
+     * @throws GenieNotFoundException if any of the jobs doesn't exist, in which case nothing is watched
+     */
+    Subscription watch(
+        @NotEmpty Set<@NotBlank String> jobIds,
+        Subscriber subscriber
+    ) throws GenieNotFoundException;
+
+    /**
+     * Receives the status changes of jobs.
+     */
+    interface Subscriber {
+
+        /**
+         * Notify of the new status of a job.
+         * Invocations for a subscription are serialized.
+         *
+         * @param jobId  the id of the job
+         * @param status the new status of the job
+         * @throws IOException if the notification cannot be delivered, which cancels the subscription
+         */
+        void onStatusChange(String jobId, JobStatus status) throws IOException;
+    }
+
+    /**
+     * Handle on an active subscription.
+     */
+    interface Subscription {
+
+        /**
+         * Stop receiving status changes. Idempotent.
+         */
+        void cancel();
+    }
+}
@@ -173,6 +173,22 @@ public class AgentJobServiceImpl implements AgentJobService {
         this.jobPersistenceService.claimJob(id, agentClientMetadata);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public JobSpecification bootstrapJob(
+        @Valid final JobRequest jobRequest,
+        @Valid final AgentClientMetadata agentClientMetadata
+    ) {
+        final String id = this.reserveJobId(jobRequest, agentClientMetadata);
+        // The request is already in hand so skip reading it back out of the database
+        final JobSpecification jobSpecification = this.jobSpecificationService.resolveJobSpecification(id, jobRequest);
+        this.jobPersistenceService.saveJobSpecification(id, jobSpecification);
+        this.jobPersistenceService.claimJob(id, agentClientMetadata);
+        return jobSpecification;
+    }
+
     /**
      * {@inheritDoc}
      */
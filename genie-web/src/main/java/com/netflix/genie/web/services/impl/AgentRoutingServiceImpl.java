@@ -19,6 +19,8 @@
 package com.netflix.genie.web.services.impl;
 
 import com.netflix.genie.common.internal.util.GenieHostInfo;
+import com.netflix.genie.web.events.AgentConnectionEvent;
+import com.netflix.genie.web.events.GenieEventBus;
 import com.netflix.genie.web.services.AgentConnectionPersistenceService;
 import com.netflix.genie.web.services.AgentRoutingService;
 import lombok.extern.slf4j.Slf4j;
@@ -39,19 +41,23 @@ public class AgentRoutingServiceImpl implements AgentRoutingService {
 
     private final AgentConnectionPersistenceService agentConnectionPersistenceService;
     private final GenieHostInfo genieHostInfo;
+    private final GenieEventBus genieEventBus;
 
     /**
      * Constructor.
      *
      * @param agentConnectionPersistenceService agent connection persistence service
      * @param genieHostInfo                     local genie node host information
+     * @param genieEventBus                     the event bus used to announce agent connections and disconnections
      */
     public AgentRoutingServiceImpl(
         final AgentConnectionPersistenceService agentConnectionPersistenceService,
-        final GenieHostInfo genieHostInfo
+        final GenieHostInfo genieHostInfo,
+        final GenieEventBus genieEventBus
     ) {
         this.agentConnectionPersistenceService = agentConnectionPersistenceService;
         this.genieHostInfo = genieHostInfo;
+        this.genieEventBus = genieEventBus;
     }
 
     /**
@@ -78,6 +84,7 @@ public class AgentRoutingServiceImpl implements AgentRoutingService {
     public void handleClientConnected(@NotBlank final String jobId) {
         log.info("Agent executing job {} connected", jobId);
         this.agentConnectionPersistenceService.saveAgentConnection(jobId, genieHostInfo.getHostname());
+        this.genieEventBus.publishAsynchronousEvent(new AgentConnectionEvent(jobId, true, this));
     }
 
     /**
@@ -87,5 +94,6 @@ public class AgentRoutingServiceImpl implements AgentRoutingService {
     public void handleClientDisconnected(@NotBlank final String jobId) {
         log.info("Agent executing job {} disconnected", jobId);
         this.agentConnectionPersistenceService.removeAgentConnection(jobId, genieHostInfo.getHostname());
+        this.genieEventBus.publishAsynchronousEvent(new AgentConnectionEvent(jobId, false, this));
     }
 }
@@ -16,10 +16,12 @@ package com.netflix.genie.web.services.impl;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalNotification;
 import com.netflix.genie.common.exceptions.GenieException;
 import com.netflix.genie.common.exceptions.GenieServerException;
 import com.netflix.genie.web.services.FileTransferFactory;
 import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.validation.constraints.NotBlank;
@@ -30,36 +32,49 @@ import java.net.URI;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 /**
  * Caches the downloaded file from the remote location.
+ * <p>
+ * The cache is bounded by the total size of the files on disk, least recently used files are evicted and deleted once
+ * the maximum size is exceeded. The remote last modified time of a file is only checked again once the refresh
+ * interval has elapsed since the last check, and refreshing a stale file only blocks requests for that same file.
+ * <p>
+ * Every load of a file is stored under its own name, so deleting the file of an evicted or invalidated entry never
+ * touches the file of an entry loaded since. A request which finds the file of its entry deleted before it could copy
+ * it gets the file again from the cache.
  *
  * @author amajumdar
  * @since 7/22/16
  */
 @Slf4j
 public class CacheGenieFileTransferService extends GenieFileTransferService {
+    private static final long BYTES_PER_WEIGHT_UNIT = 1024L;
+    private static final int MAX_COPY_ATTEMPTS = 3;
+    private static final String UUID_REGEX = "[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}";
+    private static final Pattern CACHE_FILE_NAME_PATTERN
+        = Pattern.compile(UUID_REGEX + "\\." + UUID_REGEX + "(\\.tmp)?");
     //File cache location
     private final String baseCacheLocation;
     //File transfer service to get/put files on a local system
     private final LocalFileTransferImpl localFileTransfer;
+    //Time in milliseconds a cached file is used before checking for a newer remote version
+    private final long refreshInterval;
     //File cache
-    private final LoadingCache<String, File> fileCache = CacheBuilder.newBuilder()
-        .recordStats()
-        .build(
-            new CacheLoader<String, File>() {
-                public File load(@NotNull final String path) throws GenieException {
-                    return loadFile(path);
-                }
-            }
-        );
+    private final LoadingCache<String, CachedFile> fileCache;
 
     /**
      * Constructor.
      *
      * @param fileTransferFactory file transfer implementation factory
      * @param baseCacheLocation   file cache location
+     * @param maxSize             maximum total size in bytes of the files in the cache
+     * @param refreshInterval     time in milliseconds a cached file is used before checking the remote modified time
      * @param localFileTransfer   Local file transfer service
      * @param registry            spectator registry
      * @throws GenieException If there is any problem
@@ -67,12 +82,31 @@ public class CacheGenieFileTransferService extends GenieFileTransferService {
     public CacheGenieFileTransferService(
         @NotNull final FileTransferFactory fileTransferFactory,
         @NotNull final String baseCacheLocation,
+        final long maxSize,
+        final long refreshInterval,
         @NotNull final LocalFileTransferImpl localFileTransfer,
         @NotNull final MeterRegistry registry
     ) throws GenieException {
         super(fileTransferFactory);
         this.baseCacheLocation = this.createDirectories(baseCacheLocation).toString();
+        // Files of a previous run aren't referenced by the new cache and would never be deleted otherwise
+        this.deleteStaleFiles(Paths.get(this.baseCacheLocation));
         this.localFileTransfer = localFileTransfer;
+        this.refreshInterval = refreshInterval;
+        this.fileCache = CacheBuilder.newBuilder()
+            .recordStats()
+            // A single segment so the whole maximum size is available to any file rather than a share of it
+            .concurrencyLevel(1)
+            .maximumWeight(Math.max(1L, maxSize / BYTES_PER_WEIGHT_UNIT))
+            .weigher((String path, CachedFile cachedFile) -> this.getWeight(cachedFile.getFile()))
+            .removalListener(this::onRemoval)
+            .build(
+                new CacheLoader<String, CachedFile>() {
+                    public CachedFile load(@NotNull final String path) throws GenieException {
+                        return new CachedFile(loadFile(path));
+                    }
+                }
+            );
 
         // TODO: May want to switch to DistributionSummary
         registry.gauge("genie.jobs.file.cache.hitRate", this.fileCache, value -> value.stats().hitRate());
@@ -81,6 +115,10 @@ public class CacheGenieFileTransferService extends GenieFileTransferService {
             "genie.jobs.file.cache.loadExceptionRate",
             this.fileCache, value -> value.stats().loadExceptionCount()
         );
+        registry.gauge(
+            "genie.jobs.file.cache.evictionCount",
+            this.fileCache, value -> value.stats().evictionCount()
+        );
     }
 
     /**
@@ -95,28 +133,55 @@ public class CacheGenieFileTransferService extends GenieFileTransferService {
         @NotBlank(message = "Destination local path cannot be empty") final String dstLocalPath
     ) throws GenieException {
         log.debug("Called with src path {} and destination path {}", srcRemotePath, dstLocalPath);
-        File cachedFile;
+        for (int attempt = 1; ; attempt++) {
+            final CachedFile cacheEntry = this.getCacheEntry(srcRemotePath);
+            try {
+                this.localFileTransfer.getFile(cacheEntry.getFile().getPath(), dstLocalPath);
+                return;
+            } catch (final GenieException e) {
+                if (cacheEntry.getFile().exists()) {
+                    throw e;
+                }
+                // The entry was evicted or invalidated and its file deleted before it could be copied
+                log.debug("Cached file {} of {} was deleted before it was copied", cacheEntry.getFile(), srcRemotePath);
+                if (attempt >= MAX_COPY_ATTEMPTS) {
+                    // Don't fail the job because of a busy cache, fetch the file without it
+                    getFileTransfer(srcRemotePath).getFile(srcRemotePath, dstLocalPath);
+                    return;
+                }
+                // Drop the entry unless it was already replaced and get the file again
+                this.fileCache.asMap().remove(srcRemotePath, cacheEntry);
+            }
+        }
+    }
+
+    private CachedFile getCacheEntry(final String srcRemotePath) throws GenieException {
         try {
-            cachedFile = this.fileCache.get(srcRemotePath);
-            // Before using the cached file check if the real file has been modified after we have cached
-            final long lastModifiedTime = getFileTransfer(srcRemotePath).getLastModifiedTime(srcRemotePath);
-            if (lastModifiedTime > cachedFile.lastModified()) {
-                synchronized (this) {
-                    // Check the modification time again because threads that were waiting for a file might have
-                    // been refreshed by a previous thread.
-                    if (lastModifiedTime > cachedFile.lastModified()) {
-                        this.fileCache.invalidate(srcRemotePath);
-                        this.deleteFile(cachedFile);
-                        cachedFile = this.fileCache.get(srcRemotePath);
+            CachedFile cacheEntry = this.fileCache.get(srcRemotePath);
+            if (cacheEntry.isRefreshDue(this.refreshInterval)) {
+                // Only requests for this file wait while it is checked
+                synchronized (cacheEntry) {
+                    // Check again because threads that were waiting for this file might have been refreshed by a
+                    // previous thread.
+                    if (cacheEntry.isRefreshDue(this.refreshInterval)) {
+                        // Before using the cached file check if the real file has been modified after we have cached
+                        final long lastModifiedTime
+                            = getFileTransfer(srcRemotePath).getLastModifiedTime(srcRemotePath);
+                        if (lastModifiedTime > cacheEntry.getFile().lastModified()) {
+                            this.fileCache.invalidate(srcRemotePath);
+                        }
+                        cacheEntry.markRefreshed();
                     }
                 }
+                // Pick up the new entry if the file was invalidated, it is loaded only once for all waiting threads
+                cacheEntry = this.fileCache.get(srcRemotePath);
             }
+            return cacheEntry;
         } catch (Exception e) {
             final String message = String.format("Failed getting the file %s", srcRemotePath);
             log.error(message);
             throw new GenieServerException(message, e);
         }
-        this.localFileTransfer.getFile(cachedFile.getPath(), dstLocalPath);
     }
 
     protected void deleteFile(final File file) throws IOException {
@@ -137,8 +202,9 @@ public class CacheGenieFileTransferService extends GenieFileTransferService {
     }
 
     /**
-     * Loads the file given the path and stores it under the cache location with file name as UUID string created using
-     * the path.
+     * Loads the file given the path and stores it under the cache location with a file name made of the UUID string
+     * created using the path and a random UUID unique to this load. The file is downloaded to a temporary file first
+     * and then moved in place, so that a partially downloaded file is never used.
      *
      * @param path Path of the file to be loaded
      * @return loaded file
@@ -147,11 +213,78 @@ public class CacheGenieFileTransferService extends GenieFileTransferService {
     protected File loadFile(final String path) throws GenieException {
         final byte[] pathBytes = path.getBytes(Charset.forName("UTF-8"));
         final String pathUUID = UUID.nameUUIDFromBytes(pathBytes).toString();
-        final String cacheFilePath = String.format("%s/%s", this.baseCacheLocation, pathUUID);
+        final String cacheFilePath = String.format("%s/%s.%s", this.baseCacheLocation, pathUUID, UUID.randomUUID());
         final File cacheFile = new File(cacheFilePath);
-        if (!cacheFile.exists()) {
-            getFileTransfer(path).getFile(path, cacheFilePath);
+        final String downloadFilePath = cacheFilePath + ".tmp";
+        getFileTransfer(path).getFile(path, downloadFilePath);
+        try {
+            Files.move(Paths.get(downloadFilePath), cacheFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            throw new GenieServerException("Failed to move downloaded file in place: " + cacheFilePath, e);
         }
         return cacheFile;
     }
+
+    /**
+     * Delete the files left in the cache location by a previous instance of the cache.
+     *
+     * @param cacheLocation The cache location
+     */
+    protected void deleteStaleFiles(final Path cacheLocation) {
+        try (Stream<Path> files = Files.list(cacheLocation)) {
+            files
+                .filter(file -> CACHE_FILE_NAME_PATTERN.matcher(file.getFileName().toString()).matches())
+                .forEach(
+                    file -> {
+                        try {
+                            this.deleteFile(file.toFile());
+                        } catch (final IOException e) {
+                            log.warn("Failed to delete stale cached file {}", file, e);
+                        }
+                    }
+                );
+        } catch (final IOException e) {
+            log.warn("Failed to list the cache location {}", cacheLocation, e);
+        }
+    }
+
+    private int getWeight(final File file) {
+        return (int) Math.min(Integer.MAX_VALUE, file.length() / BYTES_PER_WEIGHT_UNIT + 1);
+    }
+
+    private void onRemoval(final RemovalNotification<String, CachedFile> notification) {
+        final CachedFile cachedFile = notification.getValue();
+        // Every entry has a file of its own so it can always be deleted with the entry
+        if (cachedFile == null) {
+            return;
+        }
+        log.debug("Deleting cached file {} ({})", cachedFile.getFile(), notification.getCause());
+        try {
+            this.deleteFile(cachedFile.getFile());
+        } catch (final IOException e) {
+            log.warn("Failed to delete cached file {}", cachedFile.getFile(), e);
+        }
+    }
+
+    /**
+     * A file in the cache and the last time it was checked against the remote file.
+     */
+    private static class CachedFile {
+        @Getter
+        private final File file;
+        private volatile long lastChecked;
+
+        CachedFile(final File file) {
+            this.file = file;
+            this.lastChecked = System.currentTimeMillis();
+        }
+
+        boolean isRefreshDue(final long refreshInterval) {
+            return System.currentTimeMillis() - this.lastChecked >= refreshInterval;
+        }
+
+        void markRefreshed() {
+            this.lastChecked = System.currentTimeMillis();
+        }
+    }
 }
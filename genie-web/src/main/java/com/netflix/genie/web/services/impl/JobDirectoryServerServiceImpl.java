@@ -25,7 +25,6 @@ import com.google.common.collect.Lists;
 import com.netflix.genie.common.dto.JobStatus;
 import com.netflix.genie.common.exceptions.GenieNotFoundException;
 import com.netflix.genie.common.internal.dto.JobDirectoryManifest;
-import com.netflix.genie.common.internal.exceptions.unchecked.GenieJobNotFoundException;
 import com.netflix.genie.common.internal.services.JobArchiveService;
 import com.netflix.genie.common.util.GenieObjectMapper;
 import com.netflix.genie.web.resources.agent.AgentFileProtocolResolver;
@@ -33,7 +32,8 @@ import com.netflix.genie.web.resources.writers.DefaultDirectoryWriter;
 import com.netflix.genie.web.services.AgentFileStreamService;
 import com.netflix.genie.web.services.JobDirectoryServerService;
 import com.netflix.genie.web.services.JobFileService;
-import com.netflix.genie.web.services.JobPersistenceService;
+import com.netflix.genie.web.services.JobStatusCacheService;
+import com.netflix.genie.web.services.JobStatusInfo;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
@@ -76,7 +76,7 @@ public class JobDirectoryServerServiceImpl implements JobDirectoryServerService
     private static final String SLASH = "/";
 
     private final ResourceLoader resourceLoader;
-    private final JobPersistenceService jobPersistenceService;
+    private final JobStatusCacheService jobStatusCacheService;
     private final JobFileService jobFileService;
     private final AgentFileStreamService agentFileStreamService;
     private final MeterRegistry meterRegistry;
@@ -87,21 +87,21 @@ public class JobDirectoryServerServiceImpl implements JobDirectoryServerService
      * Constructor.
      *
      * @param resourceLoader         The application resource loader used to get references to resources
-     * @param jobPersistenceService  The job persistence service used to get information about a job
+     * @param jobStatusCacheService  The job status cache service used to get information about a job
      * @param jobFileService         The service responsible for managing the job directory for V3 Jobs
      * @param agentFileStreamService The service providing file manifest for active agent jobs
      * @param meterRegistry          The meter registry used to keep track of metrics
      */
     public JobDirectoryServerServiceImpl(
         final ResourceLoader resourceLoader,
-        final JobPersistenceService jobPersistenceService,
+        final JobStatusCacheService jobStatusCacheService,
         final JobFileService jobFileService,
         final AgentFileStreamService agentFileStreamService,
         final MeterRegistry meterRegistry
     ) {
         this(
             resourceLoader,
-            jobPersistenceService,
+            jobStatusCacheService,
             jobFileService,
             agentFileStreamService,
             meterRegistry,
@@ -115,7 +115,7 @@ public class JobDirectoryServerServiceImpl implements JobDirectoryServerService
     @VisibleForTesting
     JobDirectoryServerServiceImpl(
         final ResourceLoader resourceLoader,
-        final JobPersistenceService jobPersistenceService,
+        final JobStatusCacheService jobStatusCacheService,
         final JobFileService jobFileService,
         final AgentFileStreamService agentFileStreamService,
         final MeterRegistry meterRegistry,
@@ -123,7 +123,7 @@ public class JobDirectoryServerServiceImpl implements JobDirectoryServerService
     ) {
 
         this.resourceLoader = resourceLoader;
-        this.jobPersistenceService = jobPersistenceService;
+        this.jobStatusCacheService = jobStatusCacheService;
         this.jobFileService = jobFileService;
         this.agentFileStreamService = agentFileStreamService;
         this.meterRegistry = meterRegistry;
@@ -141,8 +141,9 @@ public class JobDirectoryServerServiceImpl implements JobDirectoryServerService
                     @Override
                     public ManifestCacheValue load(final String key) throws Exception {
                         // TODO: Probably need more specific exceptions so we can map them to response codes
-                        final String archiveLocation = jobPersistenceService
-                            .getJobArchiveLocation(key)
+                        final String archiveLocation = jobStatusCacheService
+                            .getJobStatusInfo(key)
+                            .getArchiveLocation()
                             .orElseThrow(() -> new JobNotArchivedException("Job " + key + " wasn't archived"));
 
                         final URI jobDirectoryRoot = new URI(archiveLocation + SLASH).normalize();
@@ -185,26 +186,17 @@ public class JobDirectoryServerServiceImpl implements JobDirectoryServerService
         final HttpServletResponse response
     ) throws IOException, ServletException {
         // TODO: Metrics
-        // Is the job running or not?
-        final JobStatus jobStatus;
+        // Is the job running or not and is it V3 or V4?
+        final JobStatusInfo jobStatusInfo;
         try {
-            jobStatus = this.jobPersistenceService.getJobStatus(jobId);
+            jobStatusInfo = this.jobStatusCacheService.getJobStatusInfo(jobId);
         } catch (final GenieNotFoundException e) {
             log.error(e.getMessage(), e);
             response.sendError(HttpStatus.NOT_FOUND.value(), e.getMessage());
             return;
         }
-
-        // Is it V3 or V4?
-        final boolean isV4;
-        try {
-            isV4 = this.jobPersistenceService.isV4(jobId);
-        } catch (final GenieJobNotFoundException nfe) {
-            // Really after the last check this shouldn't happen but just in case
-            log.error(nfe.getMessage(), nfe);
-            response.sendError(HttpStatus.NOT_FOUND.value(), nfe.getMessage());
-            return;
-        }
+        final JobStatus jobStatus = jobStatusInfo.getStatus();
+        final boolean isV4 = jobStatusInfo.isV4();
 
         // Normalize the base url. Make sure it ends in /.
         final URI baseUri;
@@ -220,49 +212,22 @@ public class JobDirectoryServerServiceImpl implements JobDirectoryServerService
         }
 
         if (jobStatus.isActive() && isV4) {
-
             final Optional<JobDirectoryManifest> manifest = this.agentFileStreamService.getManifest(jobId);
             if (!manifest.isPresent()) {
                 log.error("Manifest not found for active job: {}", jobId);
                 response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Could not load manifest for job: " + jobId);
                 return;
             }
-
-            final URI jobDirRoot;
-            try {
-                jobDirRoot = new URI(AgentFileProtocolResolver.URI_SCHEME, jobId, SLASH, null);
-            } catch (final URISyntaxException e) {
-                log.error(e.getMessage(), e);
-                response.sendError(HttpStatus.INTERNAL_SERVER_ERROR.value(), e.getMessage());
-                return;
-            }
-
-            this.handleRequest(baseUri, relativePath, request, response, manifest.get(), jobDirRoot);
-
-
+            this.serveAgentDirectory(jobId, baseUri, relativePath, request, response, manifest.get());
         } else if (jobStatus.isActive()) {
             // Active V3 job
-
-            // TODO: Manifest creation could be expensive
             final Resource jobDir = this.jobFileService.getJobFileAsResource(jobId, "");
             if (!jobDir.exists()) {
                 log.error("Job directory {} doesn't exist. Unable to serve job contents.", jobDir);
                 response.sendError(HttpStatus.NOT_FOUND.value());
                 return;
             }
-            final URI jobDirRoot;
-            try {
-                // Make sure the directory ends in a slash. Normalize will ensure only single slash
-                jobDirRoot = new URI(jobDir.getURI().toString() + SLASH).normalize();
-            } catch (final URISyntaxException e) {
-                log.error(e.getMessage(), e);
-                response.sendError(HttpStatus.INTERNAL_SERVER_ERROR.value(), e.getMessage());
-                return;
-            }
-            final Path jobDirPath = Paths.get(jobDirRoot);
-
-            final JobDirectoryManifest manifest = new JobDirectoryManifest(jobDirPath, false);
-            this.handleRequest(baseUri, relativePath, request, response, manifest, jobDirRoot);
+            this.serveLocalDirectory(baseUri, relativePath, request, response, jobDir);
         } else {
             // Archived job
             final JobDirectoryManifest manifest;
@@ -273,10 +238,25 @@ public class JobDirectoryServerServiceImpl implements JobDirectoryServerService
                 jobDirRoot = cacheValue.getJobDirectoryRoot();
             } catch (final Exception e) {
                 // TODO: more fine grained exception handling
-                if (e.getCause() instanceof JobNotArchivedException) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof JobNotArchivedException || cause instanceof GenieNotFoundException) {
+                    // Either the job isn't archived or archival is still in progress as it happens after the job
+                    // reached its final status. Serve the copy of the job directory left on the agent or this node
+                    // if there still is one.
+                    if (this.serveUnarchivedDirectory(jobId, isV4, baseUri, relativePath, request, response)) {
+                        return;
+                    }
+                }
+                if (cause instanceof JobNotArchivedException) {
                     // will be thrown from the manifest loader
-                    log.error(e.getCause().getMessage(), e.getCause());
-                    response.sendError(HttpStatus.NOT_FOUND.value(), e.getCause().getMessage());
+                    log.error(cause.getMessage(), cause);
+                    response.sendError(HttpStatus.NOT_FOUND.value(), cause.getMessage());
+                } else if (cause instanceof GenieNotFoundException) {
+                    log.error(cause.getMessage(), cause);
+                    response.sendError(
+                        HttpStatus.SERVICE_UNAVAILABLE.value(),
+                        "The archive of job " + jobId + " isn't available yet"
+                    );
                 } else {
                     log.error(e.getMessage(), e);
                     response.sendError(HttpStatus.INTERNAL_SERVER_ERROR.value(), e.getMessage());
@@ -287,6 +267,75 @@ public class JobDirectoryServerServiceImpl implements JobDirectoryServerService
         }
     }
 
+    private boolean serveUnarchivedDirectory(
+        final String jobId,
+        final boolean isV4,
+        final URI baseUri,
+        final String relativePath,
+        final HttpServletRequest request,
+        final HttpServletResponse response
+    ) throws IOException, ServletException {
+        if (isV4) {
+            final Optional<JobDirectoryManifest> manifest = this.agentFileStreamService.getManifest(jobId);
+            if (manifest.isPresent()) {
+                log.debug("Archive of job {} isn't available. Serving directory from the agent", jobId);
+                this.serveAgentDirectory(jobId, baseUri, relativePath, request, response, manifest.get());
+                return true;
+            }
+        } else {
+            final Resource jobDir = this.jobFileService.getJobFileAsResource(jobId, "");
+            if (jobDir.exists()) {
+                log.debug("Archive of job {} isn't available. Serving directory from local disk", jobId);
+                this.serveLocalDirectory(baseUri, relativePath, request, response, jobDir);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void serveAgentDirectory(
+        final String jobId,
+        final URI baseUri,
+        final String relativePath,
+        final HttpServletRequest request,
+        final HttpServletResponse response,
+        final JobDirectoryManifest manifest
+    ) throws IOException, ServletException {
+        final URI jobDirRoot;
+        try {
+            jobDirRoot = new URI(AgentFileProtocolResolver.URI_SCHEME, jobId, SLASH, null);
+        } catch (final URISyntaxException e) {
+            log.error(e.getMessage(), e);
+            response.sendError(HttpStatus.INTERNAL_SERVER_ERROR.value(), e.getMessage());
+            return;
+        }
+
+        this.handleRequest(baseUri, relativePath, request, response, manifest, jobDirRoot);
+    }
+
+    private void serveLocalDirectory(
+        final URI baseUri,
+        final String relativePath,
+        final HttpServletRequest request,
+        final HttpServletResponse response,
+        final Resource jobDir
+    ) throws IOException, ServletException {
+        final URI jobDirRoot;
+        try {
+            // Make sure the directory ends in a slash. Normalize will ensure only single slash
+            jobDirRoot = new URI(jobDir.getURI().toString() + SLASH).normalize();
+        } catch (final URISyntaxException e) {
+            log.error(e.getMessage(), e);
+            response.sendError(HttpStatus.INTERNAL_SERVER_ERROR.value(), e.getMessage());
+            return;
+        }
+        final Path jobDirPath = Paths.get(jobDirRoot);
+
+        // TODO: Manifest creation could be expensive
+        final JobDirectoryManifest manifest = new JobDirectoryManifest(jobDirPath, false);
+        this.handleRequest(baseUri, relativePath, request, response, manifest, jobDirRoot);
+    }
+
     private void handleRequest(
         final URI baseUri,
         final String relativePath,
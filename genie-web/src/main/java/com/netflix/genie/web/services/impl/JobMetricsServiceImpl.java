@@ -17,32 +17,67 @@
  */
 package com.netflix.genie.web.services.impl;
 
+import com.netflix.genie.common.dto.JobStatus;
+import com.netflix.genie.web.events.JobStateChangeEvent;
 import com.netflix.genie.web.services.JobMetricsService;
 import com.netflix.genie.web.services.JobSearchService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
 
 import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * A default implementation of the job count service which uses the job search service to find the running jobs on
- * the host.
+ * A default implementation of the job metrics service which keeps an in-memory count of the jobs active on this host
+ * and the memory allocated to them. The counts are maintained from {@link JobStateChangeEvent}s so reading them is
+ * constant time and periodically reconciled against the job search service to correct any drift from transitions
+ * which were persisted by other nodes.
  *
  * @author tgianos
  * @since 3.0.0
  */
+@Slf4j
 public class JobMetricsServiceImpl implements JobMetricsService {
 
+    static final String ACTIVE_JOBS_GAUGE_METRIC_NAME = "genie.jobs.host.active.gauge";
+    static final String USED_MEMORY_GAUGE_METRIC_NAME = "genie.jobs.host.memory.used.gauge";
+
     private final JobSearchService jobSearchService;
     private final String hostname;
+    private final Map<String, Integer> activeJobsMemory = new ConcurrentHashMap<>();
+    private final AtomicInteger usedMemory = new AtomicInteger(0);
+    // The state changes received while a reconciliation is querying the job search service. Guarded by this.
+    private List<JobStateChangeEvent> eventsDuringReconciliation;
 
     /**
      * Constructor.
      *
-     * @param jobSearchService The job search service to use.
-     * @param hostname         The name of this host
+     * @param jobSearchService       The job search service to use.
+     * @param hostname               The name of this host
+     * @param scheduler              The scheduler to use to periodically reconcile with the job search service
+     * @param reconciliationInterval The interval in milliseconds between reconciliations
+     * @param registry               The metrics registry
      */
-    public JobMetricsServiceImpl(@NotNull final JobSearchService jobSearchService, @NotNull final String hostname) {
+    public JobMetricsServiceImpl(
+        @NotNull final JobSearchService jobSearchService,
+        @NotNull final String hostname,
+        @NotNull final TaskScheduler scheduler,
+        final long reconciliationInterval,
+        @NotNull final MeterRegistry registry
+    ) {
         this.jobSearchService = jobSearchService;
         this.hostname = hostname;
+
+        registry.gauge(ACTIVE_JOBS_GAUGE_METRIC_NAME, this, JobMetricsServiceImpl::getNumActiveJobs);
+        registry.gauge(USED_MEMORY_GAUGE_METRIC_NAME, this, JobMetricsServiceImpl::getUsedMemory);
+
+        scheduler.scheduleAtFixedRate(this::reconcile, reconciliationInterval);
     }
 
     /**
@@ -50,7 +85,7 @@ public class JobMetricsServiceImpl implements JobMetricsService {
      */
     @Override
     public int getNumActiveJobs() {
-        return this.jobSearchService.getAllActiveJobsOnHost(this.hostname).size();
+        return this.activeJobsMemory.size();
     }
 
     /**
@@ -60,7 +95,71 @@ public class JobMetricsServiceImpl implements JobMetricsService {
      */
     @Override
     public int getUsedMemory() {
-        //TODO: Fill this out with query from database
-        return 0;
+        return this.usedMemory.get();
+    }
+
+    /**
+     * Update the in-memory counts when the status of a job changes.
+     *
+     * @param event The job state change event
+     */
+    @EventListener
+    public synchronized void onJobStateChange(final JobStateChangeEvent event) {
+        this.apply(event);
+        if (this.eventsDuringReconciliation != null) {
+            this.eventsDuringReconciliation.add(event);
+        }
+    }
+
+    /**
+     * Replace the in-memory counts with the current state of the active jobs on this host from the job search
+     * service. The query runs without holding the lock job state changes are applied under. The changes received
+     * while it runs are applied again on top of its result.
+     */
+    void reconcile() {
+        synchronized (this) {
+            this.eventsDuringReconciliation = new ArrayList<>();
+        }
+        try {
+            final Map<String, Integer> currentJobsMemory = this.jobSearchService.getActiveJobsMemoryOnHost(
+                this.hostname
+            );
+            synchronized (this) {
+                this.activeJobsMemory.clear();
+                this.activeJobsMemory.putAll(currentJobsMemory);
+                this.usedMemory.set(currentJobsMemory.values().stream().mapToInt(Integer::intValue).sum());
+                this.eventsDuringReconciliation.forEach(this::apply);
+            }
+            log.debug(
+                "Reconciled active jobs on {}: {} jobs using {} MB",
+                this.hostname,
+                this.activeJobsMemory.size(),
+                this.usedMemory.get()
+            );
+        } catch (final RuntimeException e) {
+            log.error("Unable to reconcile active jobs on host {}", this.hostname, e);
+        } finally {
+            synchronized (this) {
+                this.eventsDuringReconciliation = null;
+            }
+        }
+    }
+
+    private void apply(final JobStateChangeEvent event) {
+        final String jobId = event.getId();
+        final JobStatus newStatus = event.getNewStatus();
+        if (newStatus.isActive()) {
+            // Jobs without a host yet (e.g. reserved agent jobs) or on other hosts aren't tracked here
+            if (event.getHostname().filter(this.hostname::equals).isPresent()) {
+                final int memory = event.getMemory().orElse(this.activeJobsMemory.getOrDefault(jobId, 0));
+                final Integer previousMemory = this.activeJobsMemory.put(jobId, memory);
+                this.usedMemory.addAndGet(memory - (previousMemory == null ? 0 : previousMemory));
+            }
+        } else {
+            final Integer previousMemory = this.activeJobsMemory.remove(jobId);
+            if (previousMemory != null) {
+                this.usedMemory.addAndGet(-previousMemory);
+            }
+        }
     }
 }
@@ -0,0 +1,150 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.services.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.netflix.genie.common.dto.JobStatus;
+import com.netflix.genie.common.exceptions.GenieNotFoundException;
+import com.netflix.genie.web.events.JobStateChangeEvent;
+import com.netflix.genie.web.properties.JobsStatusCacheProperties;
+import com.netflix.genie.web.services.JobPersistenceService;
+import com.netflix.genie.web.services.JobStatusCacheService;
+import com.netflix.genie.web.services.JobStatusInfo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+
+import javax.validation.constraints.NotBlank;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Default implementation of {@link JobStatusCacheService}. Statuses read from the {@link JobPersistenceService} are
+ * kept for a short time while the job is active and for much longer once it has finished, as a finished status can't
+ * change anymore. Status changes persisted by this node are applied as soon as they're committed via
+ * {@link JobStateChangeEvent}s so the jobs this node owns are always current.
+ *
+ * @author tgianos
+ * @since 4.0.0
+ */
+@Slf4j
+public class JobStatusCacheServiceImpl implements JobStatusCacheService {
+
+    static final String CACHE_HIT_COUNTER_NAME = "genie.jobs.status.cache.hit.counter";
+    static final String CACHE_MISS_COUNTER_NAME = "genie.jobs.status.cache.miss.counter";
+
+    private final JobPersistenceService jobPersistenceService;
+    private final boolean enabled;
+    private final Cache<String, JobStatusInfo> activeJobs;
+    private final Cache<String, JobStatusInfo> finishedJobs;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    /**
+     * Constructor.
+     *
+     * @param jobPersistenceService The {@link JobPersistenceService} to read statuses from on a cache miss
+     * @param properties            The {@link JobsStatusCacheProperties} to use
+     * @param registry              The {@link MeterRegistry} to record cache hits and misses in
+     */
+    public JobStatusCacheServiceImpl(
+        final JobPersistenceService jobPersistenceService,
+        final JobsStatusCacheProperties properties,
+        final MeterRegistry registry
+    ) {
+        this.jobPersistenceService = jobPersistenceService;
+        this.enabled = properties.isEnabled();
+        this.activeJobs = CacheBuilder
+            .newBuilder()
+            .maximumSize(properties.getMaxSize())
+            .expireAfterWrite(properties.getActiveTtl(), TimeUnit.MILLISECONDS)
+            .build();
+        this.finishedJobs = CacheBuilder
+            .newBuilder()
+            .maximumSize(properties.getMaxSize())
+            .expireAfterWrite(properties.getFinishedTtl(), TimeUnit.MILLISECONDS)
+            .build();
+        this.hitCounter = registry.counter(CACHE_HIT_COUNTER_NAME);
+        this.missCounter = registry.counter(CACHE_MISS_COUNTER_NAME);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public JobStatus getJobStatus(
+        @NotBlank(message = "Job id is missing and is required") final String id
+    ) throws GenieNotFoundException {
+        return this.getJobStatusInfo(id).getStatus();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public JobStatusInfo getJobStatusInfo(
+        @NotBlank(message = "Job id is missing and is required") final String id
+    ) throws GenieNotFoundException {
+        if (!this.enabled) {
+            return this.jobPersistenceService.getJobStatusInfo(id);
+        }
+
+        // Check finished jobs first as an older active status may still be cached if the job finished on another node
+        JobStatusInfo jobStatusInfo = this.finishedJobs.getIfPresent(id);
+        if (jobStatusInfo == null) {
+            jobStatusInfo = this.activeJobs.getIfPresent(id);
+        }
+        if (jobStatusInfo != null) {
+            this.hitCounter.increment();
+            return jobStatusInfo;
+        }
+
+        this.missCounter.increment();
+        jobStatusInfo = this.jobPersistenceService.getJobStatusInfo(id);
+        this.cache(id, jobStatusInfo);
+        return jobStatusInfo;
+    }
+
+    /**
+     * Apply a status change persisted by this node to the cache.
+     *
+     * @param event The job state change event
+     */
+    @EventListener
+    public void onJobStateChange(final JobStateChangeEvent event) {
+        if (!this.enabled) {
+            return;
+        }
+
+        log.debug("Caching status {} for job {}", event.getNewStatus(), event.getId());
+        this.cache(
+            event.getId(),
+            new JobStatusInfo(event.getNewStatus(), event.isV4(), event.getArchiveLocation().orElse(null))
+        );
+    }
+
+    private void cache(final String id, final JobStatusInfo jobStatusInfo) {
+        if (jobStatusInfo.getStatus().isFinished()) {
+            this.finishedJobs.put(id, jobStatusInfo);
+            this.activeJobs.invalidate(id);
+        } else {
+            this.activeJobs.put(id, jobStatusInfo);
+        }
+    }
+}
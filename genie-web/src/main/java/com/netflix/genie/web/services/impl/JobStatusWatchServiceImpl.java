@@ -0,0 +1,255 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.services.impl;
+
+import com.google.common.collect.Sets;
+import com.netflix.genie.common.dto.JobStatus;
+import com.netflix.genie.common.exceptions.GenieNotFoundException;
+import com.netflix.genie.web.events.JobStateChangeEvent;
+import com.netflix.genie.web.services.JobStatusCacheService;
+import com.netflix.genie.web.services.JobStatusWatchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Default implementation of {@link JobStatusWatchService}.
+ * {@link JobStateChangeEvent}s published by this node are relayed to the watchers of the job right away. The jobs
+ * being watched are also checked at a fixed interval through the {@link JobStatusCacheService}, so changes persisted
+ * by other nodes reach watchers within that interval plus the time an active status is cached, at the cost of a
+ * single status lookup per job however many clients are watching it.
+ * <p>
+ * Status changes are queued per subscription and delivered on a dedicated executor, with at most one delivery task
+ * per subscription at a time. Neither the thread persisting a change nor the scheduler checking the watched jobs ever
+ * waits on a client, and a stalled client holds at most one delivery thread.
+ *
+ * @author tgianos
+ * @since 4.0.0
+ */
+@Slf4j
+public class JobStatusWatchServiceImpl implements JobStatusWatchService {
+
+    private final JobStatusCacheService jobStatusCacheService;
+    private final Executor deliveryExecutor;
+    private final ConcurrentMap<String, Set<JobStatusSubscription>> watchers = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param jobStatusCacheService The {@link JobStatusCacheService} to read the status of watched jobs from
+     * @param scheduler             The scheduler to check the watched jobs with
+     * @param deliveryExecutor      The executor status changes are delivered to subscribers on
+     * @param checkInterval         The interval in milliseconds between checks of the watched jobs
+     */
+    public JobStatusWatchServiceImpl(
+        final JobStatusCacheService jobStatusCacheService,
+        final TaskScheduler scheduler,
+        final Executor deliveryExecutor,
+        final long checkInterval
+    ) {
+        this.jobStatusCacheService = jobStatusCacheService;
+        this.deliveryExecutor = deliveryExecutor;
+        scheduler.scheduleWithFixedDelay(this::checkWatchedJobs, checkInterval);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Subscription watch(
+        @NotEmpty final Set<@NotBlank String> jobIds,
+        final Subscriber subscriber
+    ) throws GenieNotFoundException {
+        final JobStatusSubscription subscription = new JobStatusSubscription(jobIds, subscriber);
+
+        // Register before reading the current statuses so no change can be missed in between
+        for (final String jobId : jobIds) {
+            this.watchers.compute(
+                jobId,
+                (key, subscriptions) -> {
+                    final Set<JobStatusSubscription> jobSubscriptions
+                        = subscriptions == null ? Sets.newConcurrentHashSet() : subscriptions;
+                    jobSubscriptions.add(subscription);
+                    return jobSubscriptions;
+                }
+            );
+        }
+
+        try {
+            for (final String jobId : jobIds) {
+                subscription.onStatus(jobId, this.jobStatusCacheService.getJobStatus(jobId));
+            }
+        } catch (final GenieNotFoundException e) {
+            subscription.cancel();
+            throw e;
+        }
+        return subscription;
+    }
+
+    /**
+     * Notify the watchers of a job of a status change persisted by this node.
+     *
+     * @param event The job state change event
+     */
+    @EventListener
+    public void onJobStateChange(final JobStateChangeEvent event) {
+        // Only queues the change for delivery so slow watchers never hold up the thread which persisted it
+        this.notifyWatchers(event.getId(), event.getNewStatus());
+    }
+
+    /**
+     * Get the number of jobs currently being watched.
+     *
+     * @return The number of watched jobs
+     */
+    int getNumWatchedJobs() {
+        return this.watchers.size();
+    }
+
+    /**
+     * Read the status of every watched job and notify its watchers if it changed.
+     */
+    void checkWatchedJobs() {
+        for (final String jobId : this.watchers.keySet()) {
+            try {
+                this.notifyWatchers(jobId, this.jobStatusCacheService.getJobStatus(jobId));
+            } catch (final GenieNotFoundException | RuntimeException e) {
+                log.error("Unable to check the status of watched job {}", jobId, e);
+            }
+        }
+    }
+
+    private void notifyWatchers(final String jobId, final JobStatus status) {
+        final Set<JobStatusSubscription> subscriptions = this.watchers.get(jobId);
+        if (subscriptions != null) {
+            for (final JobStatusSubscription subscription : subscriptions) {
+                subscription.onStatus(jobId, status);
+            }
+        }
+    }
+
+    private void unwatch(final String jobId, final JobStatusSubscription subscription) {
+        this.watchers.computeIfPresent(
+            jobId,
+            (key, subscriptions) -> {
+                subscriptions.remove(subscription);
+                return subscriptions.isEmpty() ? null : subscriptions;
+            }
+        );
+    }
+
+    /**
+     * The statuses last delivered to a subscriber, used to only deliver actual changes.
+     */
+    private final class JobStatusSubscription implements Subscription, Runnable {
+
+        private final Subscriber subscriber;
+        private final Map<String, JobStatus> statuses;
+        private final Queue<Map.Entry<String, JobStatus>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean cancelled;
+
+        private JobStatusSubscription(final Set<String> jobIds, final Subscriber subscriber) {
+            this.subscriber = subscriber;
+            this.statuses = new HashMap<>(jobIds.size());
+            jobIds.forEach(jobId -> this.statuses.put(jobId, null));
+        }
+
+        /**
+         * Deliver the queued status changes in order.
+         */
+        @Override
+        public void run() {
+            do {
+                Map.Entry<String, JobStatus> change;
+                while (!this.cancelled && (change = this.pending.poll()) != null) {
+                    try {
+                        this.subscriber.onStatusChange(change.getKey(), change.getValue());
+                    } catch (final IOException | RuntimeException e) {
+                        log.debug(
+                            "Unable to deliver status {} of job {}. Cancelling subscription",
+                            change.getValue(),
+                            change.getKey(),
+                            e
+                        );
+                        this.cancel();
+                    }
+                }
+                this.draining.set(false);
+                // A change queued after the queue was found empty but before the flag was cleared must not be stranded
+            } while (!this.cancelled && !this.pending.isEmpty() && this.draining.compareAndSet(false, true));
+        }
+
+        private void onStatus(final String jobId, final JobStatus status) {
+            synchronized (this) {
+                if (this.cancelled || !this.statuses.containsKey(jobId)) {
+                    return;
+                }
+
+                final JobStatus previousStatus = this.statuses.get(jobId);
+                // A finished status is final, anything received after it was read before the job finished
+                if (status == previousStatus || previousStatus != null && previousStatus.isFinished()) {
+                    return;
+                }
+
+                this.statuses.put(jobId, status);
+                if (status.isFinished()) {
+                    unwatch(jobId, this);
+                }
+                this.pending.add(new AbstractMap.SimpleImmutableEntry<>(jobId, status));
+            }
+
+            if (this.draining.compareAndSet(false, true)) {
+                try {
+                    deliveryExecutor.execute(this);
+                } catch (final RejectedExecutionException e) {
+                    log.warn("Unable to deliver status change of job {}. Cancelling subscription", jobId, e);
+                    this.draining.set(false);
+                    this.cancel();
+                }
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public synchronized void cancel() {
+            if (!this.cancelled) {
+                this.cancelled = true;
+                this.pending.clear();
+                this.statuses.keySet().forEach(jobId -> unwatch(jobId, this));
+            }
+        }
+    }
+}
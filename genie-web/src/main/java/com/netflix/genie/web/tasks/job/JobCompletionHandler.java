@@ -21,6 +21,7 @@ import com.netflix.genie.common.exceptions.GenieException;
 import com.netflix.genie.web.events.JobFinishedEvent;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
@@ -56,4 +57,15 @@ public class JobCompletionHandler {
     public void handleJobCompletion(final JobFinishedEvent event) throws GenieException {
         this.jobCompletionService.handleJobCompletion(event);
     }
+
+    /**
+     * When this application is up and running resume archiving the directories of jobs which finished on this node
+     * but weren't archived before it went down.
+     *
+     * @param event The spring event indicating the application context was refreshed
+     */
+    @EventListener
+    public void onStartup(final ContextRefreshedEvent event) {
+        this.jobCompletionService.resumeArchival();
+    }
 }
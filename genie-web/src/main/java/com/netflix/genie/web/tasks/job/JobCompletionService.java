@@ -31,6 +31,7 @@ import com.netflix.genie.common.exceptions.GenieServerException;
 import com.netflix.genie.common.internal.exceptions.JobArchiveException;
 import com.netflix.genie.common.internal.jobs.JobConstants;
 import com.netflix.genie.common.internal.services.JobArchiveService;
+import com.netflix.genie.common.internal.util.GenieHostInfo;
 import com.netflix.genie.common.util.GenieObjectMapper;
 import com.netflix.genie.web.events.JobFinishedEvent;
 import com.netflix.genie.web.events.JobFinishedReason;
@@ -51,6 +52,7 @@ import org.apache.commons.exec.Executor;
 import org.apache.commons.exec.PumpStreamHandler;
 import org.apache.commons.io.FileUtils;
 import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.retry.support.RetryTemplate;
 
 import javax.validation.constraints.NotNull;
@@ -61,10 +63,14 @@ import java.net.URISyntaxException;
 import java.util.Collection;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 /**
- * A class that has the methods to perform various tasks when a job completes.
+ * A class that has the methods to perform various tasks when a job completes. The final status of the job is recorded
+ * as soon as the completion is handled. The job directory is then archived on a separate executor, during which the
+ * job is in its archiving phase and its output keeps being served from the local job directory. The pending archival
+ * is persisted with the job before its final status so it can be resumed if the node goes down before it's done.
  *
  * @author amsharma
  * @author tgianos
@@ -77,6 +83,9 @@ public class JobCompletionService {
     static final String JOB_COMPLETION_ERROR_COUNTER_NAME = "genie.jobs.errors.count";
     static final String ERROR_SOURCE_TAG = "error";
     static final String JOB_FINAL_STATE = "jobFinalState";
+    static final String JOB_ARCHIVE_TIMER_NAME = "genie.jobs.archive.timer";
+    static final String JOB_ARCHIVE_SIZE_SUMMARY_NAME = "genie.jobs.archive.size";
+    static final String JOB_ARCHIVING_GAUGE_NAME = "genie.jobs.archive.active.gauge";
     private final JobPersistenceService jobPersistenceService;
     private final JobSearchService jobSearchService;
     private final JobArchiveService jobArchiveService;
@@ -85,6 +94,10 @@ public class JobCompletionService {
     private final Executor executor;
     private final boolean deleteDependencies;
     private final boolean runAsUserEnabled;
+    private final TaskExecutor archiveTaskExecutor;
+    private final String hostname;
+    // The jobs this node is archiving the directory of
+    private final Set<String> archivingJobs = ConcurrentHashMap.newKeySet();
 
     // Metrics
     private final MeterRegistry registry;
@@ -101,6 +114,8 @@ public class JobCompletionService {
      * @param registry              The metrics registry to use
      * @param jobsProperties        The properties relating to running jobs
      * @param retryTemplate         Retry template for retrying remote calls
+     * @param archiveTaskExecutor   The executor job directories are archived on
+     * @param genieHostInfo         Information about the host this Genie process is running on
      * @throws GenieException if there is a problem
      */
     public JobCompletionService(
@@ -111,7 +126,9 @@ public class JobCompletionService {
         final MailService mailServiceImpl,
         final MeterRegistry registry,
         final JobsProperties jobsProperties,
-        @NotNull final RetryTemplate retryTemplate
+        @NotNull final RetryTemplate retryTemplate,
+        @NotNull final TaskExecutor archiveTaskExecutor,
+        @NotNull final GenieHostInfo genieHostInfo
     ) throws GenieException {
         this.jobPersistenceService = jobPersistenceService;
         this.jobSearchService = jobSearchService;
@@ -131,8 +148,11 @@ public class JobCompletionService {
 
         // Set up the metrics
         this.registry = registry;
+        this.registry.gaugeCollectionSize(JOB_ARCHIVING_GAUGE_NAME, Sets.newHashSet(), this.archivingJobs);
         // Retry template
         this.retryTemplate = retryTemplate;
+        this.archiveTaskExecutor = archiveTaskExecutor;
+        this.hostname = genieHostInfo.getHostname();
     }
 
     /**
@@ -152,20 +172,24 @@ public class JobCompletionService {
 
             // Make sure the job isn't already done before doing something
             if (status.isActive()) {
-                // TODO: Need to archive the directory now before we set the job status because of how log serving
-                //       is handled. E.g. once job is in a finished state it will try to serve from archive location
-                //       not from disk. This may slow down job timing. Probably a use case for different states.
-                try {
-                    this.retryTemplate.execute(context -> this.processJobDir(job));
-                } catch (final Exception e) {
-                    log.error("Failed archiving directory for job: {}", jobId, e);
-                    this.incrementErrorCounter("JOB_DIRECTORY_FAILURE", e);
+                // Record the pending archival before the final status so it survives the node going down before
+                // the archive is complete
+                if (this.hasArchiveLocation(job)) {
+                    try {
+                        this.retryTemplate.execute(context -> this.setArchivePending(jobId, true));
+                    } catch (final Exception e) {
+                        log.error("Failed marking the archival of directory for job {} as pending", jobId, e);
+                        this.incrementErrorCounter("JOB_UPDATE_FAILURE", e);
+                    }
                 }
                 try {
                     this.retryTemplate.execute(context -> this.updateJob(job, event, tags));
                 } catch (final Exception e) {
                     log.error("Failed updating for job: {}", jobId, e);
                 }
+                // Log serving falls back to the job directory on disk until the archive is complete so there is no
+                // need to hold the final status of the job until then
+                this.scheduleArchival(job, jobId);
                 try {
                     this.retryTemplate.execute(context -> sendEmail(jobId));
                 } catch (final Exception e) {
@@ -184,10 +208,87 @@ public class JobCompletionService {
         }
     }
 
+    /**
+     * Resume archiving the directories of the jobs which finished on this node but weren't archived before it went
+     * down. Jobs which are still active will be archived when they complete.
+     */
+    void resumeArchival() {
+        final Set<Job> jobs;
+        try {
+            jobs = this.jobSearchService.getAllJobsPendingArchivalOnHost(this.hostname);
+        } catch (final Exception e) {
+            log.error("Failed getting the jobs pending archival on host {}", this.hostname, e);
+            this.incrementErrorCounter("JOB_DIRECTORY_FAILURE", e);
+            return;
+        }
+        for (final Job job : jobs) {
+            final Optional<String> jobId = job.getId();
+            if (jobId.isPresent() && !job.getStatus().isActive()) {
+                log.info("Resuming archival of directory for job {}", jobId.get());
+                this.scheduleArchival(job, jobId.get());
+            }
+        }
+    }
+
+    private void scheduleArchival(final Job job, final String jobId) {
+        if (!this.archivingJobs.add(jobId)) {
+            log.debug("Directory for job {} is already being archived", jobId);
+            return;
+        }
+        try {
+            this.archiveTaskExecutor.execute(() -> this.archiveJobDir(job, jobId));
+        } catch (final Exception e) {
+            // The archival stays pending so it's resumed the next time the node starts
+            this.archivingJobs.remove(jobId);
+            log.error("Failed scheduling archival of directory for job: {}", jobId, e);
+            this.incrementErrorCounter("JOB_DIRECTORY_FAILURE", e);
+        }
+    }
+
+    private void archiveJobDir(final Job job, final String jobId) {
+        final long start = System.nanoTime();
+        final Set<Tag> tags = Sets.newHashSet();
+        log.debug("Job {} entered archiving phase", jobId);
+        try {
+            if (this.retryTemplate.execute(context -> this.processJobDir(job))) {
+                MetricsUtils.addSuccessTags(tags);
+            } else {
+                tags.add(Tag.of(MetricsConstants.TagKeys.STATUS, MetricsConstants.TagValues.FAILURE));
+            }
+        } catch (final Exception e) {
+            log.error("Failed archiving directory for job: {}", jobId, e);
+            this.incrementErrorCounter("JOB_DIRECTORY_FAILURE", e);
+            MetricsUtils.addFailureTagsWithException(tags, e);
+        } finally {
+            if (this.hasArchiveLocation(job)) {
+                try {
+                    this.retryTemplate.execute(context -> this.setArchivePending(jobId, false));
+                } catch (final Exception e) {
+                    log.error("Failed clearing the pending archival of directory for job {}", jobId, e);
+                    this.incrementErrorCounter("JOB_UPDATE_FAILURE", e);
+                }
+            }
+            this.archivingJobs.remove(jobId);
+            log.debug("Job {} left archiving phase", jobId);
+            this.registry
+                .timer(JOB_ARCHIVE_TIMER_NAME, tags)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
     private Job getJob(final String jobId) throws GenieException {
         return this.jobSearchService.getJob(jobId);
     }
 
+    private Void setArchivePending(final String jobId, final boolean archivePending) throws GenieException {
+        this.jobPersistenceService.setArchivePending(jobId, archivePending);
+        return null;
+    }
+
+    private boolean hasArchiveLocation(final Job job) {
+        return !Strings.isNullOrEmpty(job.getArchiveLocation().orElse(null));
+    }
+
     private Void updateJob(
         final Job job,
         final JobFinishedEvent event,
@@ -495,6 +596,7 @@ public class JobCompletionService {
      * Uploads the job directory to the archive location.
      *
      * @param job The job.
+     * @return false if the archival failed
      * @throws GenieException if there is any problem
      */
     private boolean processJobDir(final Job job) throws GenieException {
@@ -516,7 +618,9 @@ public class JobCompletionService {
                     log.debug("Archiving job directory");
 
                     try {
+                        final long size = FileUtils.sizeOfDirectory(jobDir);
                         this.jobArchiveService.archiveDirectory(jobDir.toPath(), new URI(archiveLocation.get()));
+                        this.registry.summary(JOB_ARCHIVE_SIZE_SUMMARY_NAME).record(size);
                     } catch (final JobArchiveException | URISyntaxException e) {
                         log.warn("Failed to archive job files for job {} due to {}", jobId, e.getMessage(), e);
                         incrementErrorCounter("JOB_ARCHIVAL_FAILURE", e);
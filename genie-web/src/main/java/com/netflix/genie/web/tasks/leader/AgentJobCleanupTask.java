@@ -21,20 +21,30 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.netflix.genie.common.dto.JobStatus;
 import com.netflix.genie.common.exceptions.GenieException;
+import com.netflix.genie.web.events.AgentConnectionEvent;
 import com.netflix.genie.web.properties.AgentCleanupProperties;
+import com.netflix.genie.web.services.AgentRoutingService;
 import com.netflix.genie.web.services.JobPersistenceService;
 import com.netflix.genie.web.services.JobSearchService;
 import com.netflix.genie.web.tasks.GenieTaskScheduleType;
 import com.netflix.genie.web.util.MetricsUtils;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
 
 import java.time.Instant;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
 
 /**
  * Leader task that cleans up jobs whose agent crashed or disconnected.
+ * <p>
+ * A deadline timer is started for a job as soon as its agent is known to be disconnected, either because a
+ * disconnection was observed by this node or because the periodic reconciliation found the job active without an
+ * agent connection (which covers disconnections observed by other nodes). When the timer fires the job is marked
+ * failed unless its agent reconnected (to any node) or the job completed in the meantime.
  *
  * @author mprimi
  * @since 4.0.0
@@ -44,29 +54,38 @@ public class AgentJobCleanupTask extends LeadershipTask {
     private static final String STATUS_MESSAGE = "Agent AWOL for too long";
     private static final String TERMINATED_COUNTER_METRIC_NAME = "genie.jobs.agentDisconnected.terminated.counter";
     private static final String DISCONNECTED_GAUGE_METRIC_NAME = "genie.jobs.agentDisconnected.gauge";
-    private final Map<String, Instant> awolJobDeadlines;
+    private final Map<String, ScheduledFuture<?>> awolJobDeadlines;
     private final JobSearchService jobSearchService;
     private final JobPersistenceService jobPersistenceService;
+    private final AgentRoutingService agentRoutingService;
     private final AgentCleanupProperties properties;
+    private final TaskScheduler taskScheduler;
     private final MeterRegistry registry;
+    private boolean leader;
 
     /**
      * Constructor.
      *
      * @param jobSearchService      the job search service
      * @param jobPersistenceService the job persistence service
+     * @param agentRoutingService   the agent routing service used to check whether an agent reconnected
      * @param properties            the task properties
+     * @param taskScheduler         the scheduler used to fire the AWOL deadlines
      * @param registry              the metrics registry
      */
     public AgentJobCleanupTask(
         final JobSearchService jobSearchService,
         final JobPersistenceService jobPersistenceService,
+        final AgentRoutingService agentRoutingService,
         final AgentCleanupProperties properties,
+        final TaskScheduler taskScheduler,
         final MeterRegistry registry
     ) {
         this.jobSearchService = jobSearchService;
         this.jobPersistenceService = jobPersistenceService;
+        this.agentRoutingService = agentRoutingService;
         this.properties = properties;
+        this.taskScheduler = taskScheduler;
         this.registry = registry;
         this.awolJobDeadlines = Maps.newConcurrentMap();
 
@@ -79,77 +98,62 @@ public class AgentJobCleanupTask extends LeadershipTask {
     }
 
     /**
-     * {@inheritDoc}
+     * Reconcile the tracked AWOL jobs with the data store.
      */
     @Override
-    public void run() {
+    public synchronized void run() {
+        this.leader = true;
 
         // Get agent jobs that in active status but but not connected to any node
         final Set<String> currentlyAwolJobsIds = this.jobSearchService.getActiveDisconnectedAgentJobs();
 
         // If any previously AWOL job that does not appear in the "currently AWOL" list has either re-connected
         // or completed. Throw away their records.
-        awolJobDeadlines.entrySet().removeIf(
-            awolJobEntry -> !currentlyAwolJobsIds.contains(awolJobEntry.getKey())
-        );
-
-        final Instant now = Instant.now();
-
-        // Iterate over job that currently look AWOL
-        for (final String awolJobId : currentlyAwolJobsIds) {
-
-            final Instant awolJobDeadline = this.awolJobDeadlines.get(awolJobId);
-
-            if (awolJobDeadline == null) {
-                // First time this job is noticed AWOL. Start tracking it.
-                log.debug("Starting to track AWOL job {}", awolJobId);
-                this.awolJobDeadlines.put(
-                    awolJobId,
-                    now.plusMillis(this.properties.getTimeLimit())
-                );
-            } else if (now.isAfter(awolJobDeadline)) {
-                // Job has been AWOL past its deadline
-                log.debug("Job {} no longer AWOL", awolJobId);
-                try {
-                    // Mark the job as failed
-                    this.jobPersistenceService.setJobCompletionInformation(
-                        awolJobId,
-                        -1,
-                        JobStatus.FAILED,
-                        STATUS_MESSAGE,
-                        null,
-                        null
-                    );
-                    // If marking as failed succeeded, remove it from the map
-                    this.awolJobDeadlines.remove(awolJobId);
-                    // Increment counter, tag as successful
-                    this.registry.counter(
-                        TERMINATED_COUNTER_METRIC_NAME,
-                        MetricsUtils.newSuccessTagsSet()
-                    ).increment();
-                } catch (GenieException e) {
-                    log.warn("Failed to mark AWOL job {} as failed: ", awolJobId, e);
-                    // Increment counter, tag as failure
-                    this.registry.counter(
-                        TERMINATED_COUNTER_METRIC_NAME,
-                        MetricsUtils.newFailureTagsSetForException(e)
-                    ).increment();
+        this.awolJobDeadlines.entrySet().removeIf(
+            awolJobEntry -> {
+                if (currentlyAwolJobsIds.contains(awolJobEntry.getKey())) {
+                    return false;
                 }
-            } else {
-                // Job is still AWOL, but not past its deadline.
-                log.debug("Job {} is still AWOL", awolJobId);
+                awolJobEntry.getValue().cancel(false);
+                return true;
             }
+        );
+
+        // Start the clock on jobs that weren't already being tracked
+        currentlyAwolJobsIds.forEach(this::startTracking);
+    }
 
+    /**
+     * Start or stop the AWOL deadline of a job as soon as its agent disconnects from or connects to this node.
+     *
+     * @param event The agent connection event
+     */
+    @EventListener
+    public synchronized void onAgentConnectionChange(final AgentConnectionEvent event) {
+        if (!this.leader) {
+            return;
         }
 
+        final String jobId = event.getId();
+        if (event.isConnected()) {
+            final ScheduledFuture<?> deadline = this.awolJobDeadlines.remove(jobId);
+            if (deadline != null) {
+                log.debug("Agent for job {} reconnected", jobId);
+                deadline.cancel(false);
+            }
+        } else {
+            this.startTracking(jobId);
+        }
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public void cleanup() {
+    public synchronized void cleanup() {
+        this.leader = false;
         // Throw away all deadlines
+        this.awolJobDeadlines.values().forEach(deadline -> deadline.cancel(false));
         this.awolJobDeadlines.clear();
     }
 
@@ -169,4 +173,63 @@ public class AgentJobCleanupTask extends LeadershipTask {
         return properties.getRefreshInterval();
     }
 
+    private void startTracking(final String jobId) {
+        if (this.awolJobDeadlines.containsKey(jobId)) {
+            log.debug("Job {} is still AWOL", jobId);
+            return;
+        }
+        // First time this job is noticed AWOL. Start tracking it.
+        log.debug("Starting to track AWOL job {}", jobId);
+        this.awolJobDeadlines.put(
+            jobId,
+            this.taskScheduler.schedule(
+                () -> this.onDeadline(jobId),
+                Instant.now().plusMillis(this.properties.getTimeLimit())
+            )
+        );
+    }
+
+    private synchronized void onDeadline(final String jobId) {
+        if (this.awolJobDeadlines.remove(jobId) == null) {
+            // The agent reconnected or leadership was lost since the deadline was scheduled
+            return;
+        }
+
+        try {
+            // The disconnection may have been the agent moving to another node or the job may have completed
+            if (this.agentRoutingService.getHostnameForAgentConnection(jobId).isPresent()) {
+                log.debug("Agent for job {} reconnected to another node", jobId);
+                return;
+            }
+            if (!this.jobPersistenceService.getJobStatus(jobId).isActive()) {
+                log.debug("Job {} completed while its agent was disconnected", jobId);
+                return;
+            }
+
+            // Job has been AWOL past its deadline
+            log.debug("Job {} AWOL past its deadline", jobId);
+            // Mark the job as failed
+            this.jobPersistenceService.setJobCompletionInformation(
+                jobId,
+                -1,
+                JobStatus.FAILED,
+                STATUS_MESSAGE,
+                null,
+                null
+            );
+            // Increment counter, tag as successful
+            this.registry.counter(
+                TERMINATED_COUNTER_METRIC_NAME,
+                MetricsUtils.newSuccessTagsSet()
+            ).increment();
+        } catch (final GenieException | RuntimeException e) {
+            log.warn("Failed to mark AWOL job {} as failed: ", jobId, e);
+            // Increment counter, tag as failure
+            this.registry.counter(
+                TERMINATED_COUNTER_METRIC_NAME,
+                MetricsUtils.newFailureTagsSetForException(e)
+            ).increment();
+            // Leave it to the next reconciliation to start tracking the job again
+        }
+    }
 }
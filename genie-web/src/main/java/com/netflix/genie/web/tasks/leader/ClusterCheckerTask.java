@@ -19,6 +19,7 @@ package com.netflix.genie.web.tasks.leader;
 
 import com.fasterxml.jackson.databind.type.TypeFactory;
 import com.google.common.base.Splitter;
+import com.google.common.collect.Sets;
 import com.netflix.genie.common.dto.Job;
 import com.netflix.genie.common.dto.JobExecution;
 import com.netflix.genie.common.dto.JobStatus;
@@ -37,6 +38,7 @@ import io.micrometer.core.instrument.Tag;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.actuate.autoconfigure.endpoint.web.WebEndpointProperties;
 import org.springframework.boot.actuate.health.Status;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
@@ -45,6 +47,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
 /**
  * A task which checks to see if this leader node can communicate with all other nodes in the cluster. If it can't
@@ -62,6 +69,7 @@ public class ClusterCheckerTask extends LeadershipTask {
     private static final String LOST_JOBS_RATE_METRIC_NAME = "genie.tasks.clusterChecker.lostJobs.rate";
     private static final String FAILED_TO_UPDATE_RATE_METRIC_NAME = "genie.tasks.clusterChecker.unableToUpdateJob.rate";
     private static final String REMOTE_NODE_HEALTH_METRIC_NAME = "genie.tasks.clusterChecker.health.counter";
+    private static final String PROBE_TIMER_NAME = "genie.tasks.clusterChecker.probe.timer";
 
     private final String hostname;
     private final ClusterCheckerProperties properties;
@@ -72,6 +80,7 @@ public class ClusterCheckerTask extends LeadershipTask {
     private final String scheme;
     private final String healthEndpoint;
     private final List<String> healthIndicatorsToIgnore;
+    private final AsyncTaskExecutor probeExecutor;
 
     private final Map<String, Integer> errorCounts = new HashMap<>();
 
@@ -88,6 +97,7 @@ public class ClusterCheckerTask extends LeadershipTask {
      * @param restTemplate          The rest template for http calls
      * @param webEndpointProperties The properties where Spring actuator is running
      * @param registry              The spectator registry for getting metrics
+     * @param probeExecutor         The bounded executor used to probe remote nodes concurrently
      */
     public ClusterCheckerTask(
         @NotNull final GenieHostInfo genieHostInfo,
@@ -96,7 +106,8 @@ public class ClusterCheckerTask extends LeadershipTask {
         @NotNull final JobPersistenceService jobPersistenceService,
         @NotNull final RestTemplate restTemplate,
         @NotNull final WebEndpointProperties webEndpointProperties,
-        @NotNull final MeterRegistry registry
+        @NotNull final MeterRegistry registry,
+        @NotNull final AsyncTaskExecutor probeExecutor
     ) {
         this.hostname = genieHostInfo.getHostname();
         this.properties = properties;
@@ -104,6 +115,7 @@ public class ClusterCheckerTask extends LeadershipTask {
         this.jobPersistenceService = jobPersistenceService;
         this.restTemplate = restTemplate;
         this.registry = registry;
+        this.probeExecutor = probeExecutor;
         this.scheme = this.properties.getScheme() + "://";
         this.healthEndpoint = ":" + this.properties.getPort() + webEndpointProperties.getBasePath() + "/health";
         this.healthIndicatorsToIgnore = Splitter.on(",").omitEmptyStrings()
@@ -120,10 +132,12 @@ public class ClusterCheckerTask extends LeadershipTask {
     @Override
     public void run() {
         log.info("Checking for cluster node health...");
-        this.jobSearchService.getAllHostsWithActiveJobs()
+        final Set<String> hosts = this.jobSearchService.getAllHostsWithActiveJobs()
             .stream()
             .filter(host -> !this.hostname.equals(host))
-            .forEach(this::validateHostAndUpdateErrorCount);
+            .collect(Collectors.toSet());
+
+        this.probeHosts(hosts).forEach(this::updateErrorCount);
 
         this.errorCounts.entrySet().removeIf(
             entry -> {
@@ -168,12 +182,66 @@ public class ClusterCheckerTask extends LeadershipTask {
         );
     }
 
-    private void validateHostAndUpdateErrorCount(final String host) {
+    private Map<String, Boolean> probeHosts(final Set<String> hosts) {
+        //
+        // Probe all the hosts concurrently on the bounded executor. Probes are queued once all threads are busy so the
+        // overall deadline allows one probe timeout per "round" of probes. Anything that hasn't finished by then is
+        // considered unhealthy for this pass.
+        //
+        final Map<String, Future<Boolean>> probes = new HashMap<>();
+        for (final String host : hosts) {
+            probes.put(host, this.probeExecutor.submit(() -> this.probeHost(host)));
+        }
+
+        final long rounds = (hosts.size() + this.properties.getProbeThreads() - 1) / this.properties.getProbeThreads();
+        final long deadline = System.nanoTime()
+            + TimeUnit.MILLISECONDS.toNanos(this.properties.getProbeTimeout() * Math.max(rounds, 1L));
+
+        final Map<String, Boolean> results = new HashMap<>();
+        for (final Map.Entry<String, Future<Boolean>> probe : probes.entrySet()) {
+            final String host = probe.getKey();
+            final Future<Boolean> future = probe.getValue();
+            boolean healthy;
+            try {
+                healthy = future.get(Math.max(deadline - System.nanoTime(), 0L), TimeUnit.NANOSECONDS);
+            } catch (final TimeoutException e) {
+                log.error("Timed out waiting for health check of host {}", host);
+                future.cancel(true);
+                healthy = false;
+            } catch (final ExecutionException e) {
+                log.error("Health check of host {} failed", host, e.getCause());
+                healthy = false;
+            } catch (final InterruptedException e) {
+                log.error("Interrupted while waiting for health check of host {}", host);
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                healthy = false;
+            }
+            results.put(host, healthy);
+        }
+        return results;
+    }
+
+    private boolean probeHost(final String host) {
+        final long start = System.nanoTime();
+        final boolean healthy = this.isNodeHealthy(host);
+        final Set<Tag> tags = Sets.newHashSet(
+            Tag.of(MetricsConstants.TagKeys.HOST, host),
+            Tag.of(
+                MetricsConstants.TagKeys.STATUS,
+                healthy ? MetricsConstants.TagValues.SUCCESS : MetricsConstants.TagValues.FAILURE
+            )
+        );
+        this.registry.timer(PROBE_TIMER_NAME, tags).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return healthy;
+    }
+
+    private void updateErrorCount(final String host, final boolean healthy) {
         //
         // If node is healthy, remove the entry from the errorCounts.
         // If node is not healthy, update the entry in errorCounts
         //
-        if (this.isNodeHealthy(host)) {
+        if (healthy) {
             this.errorCounts.remove(host);
         } else {
             if (this.errorCounts.containsKey(host)) {
@@ -50,6 +50,7 @@ import java.util.concurrent.atomic.AtomicLong;
 public class DatabaseCleanupTask extends LeadershipTask {
 
     private static final String DATABASE_CLEANUP_DURATION_TIMER_NAME = "genie.tasks.databaseCleanup.duration.timer";
+    private static final String DATABASE_CLEANUP_JOBS_BATCH_TIMER_NAME = "genie.tasks.databaseCleanup.jobsBatch.timer";
     private final DatabaseCleanupProperties cleanupProperties;
     private final JobPersistenceService jobPersistenceService;
     private final ClusterPersistenceService clusterPersistenceService;
@@ -207,26 +208,101 @@ public class DatabaseCleanupTask extends LeadershipTask {
     private long deleteJobs() {
         final Instant midnightUTC = TaskUtils.getMidnightUTC();
         final Instant retentionLimit = midnightUTC.minus(this.cleanupProperties.getRetention(), ChronoUnit.DAYS);
-        final int batchSize = this.cleanupProperties.getMaxDeletedPerTransaction();
+        final int maxBatchSize = this.cleanupProperties.getMaxDeletedPerTransaction();
         final int pageSize = this.cleanupProperties.getPageSize();
+        final boolean adaptive = this.cleanupProperties.isAdaptiveBatchingEnabled();
+        final int minBatchSize = Math.min(this.cleanupProperties.getMinDeletedPerTransaction(), maxBatchSize);
+        final long targetLatency = this.cleanupProperties.getTargetBatchLatency();
+
+        // In adaptive mode start small and let the observed latency decide how far to grow
+        int batchSize = adaptive ? minBatchSize : maxBatchSize;
 
         log.info(
-            "Attempting to delete jobs from before {} in batches of {} jobs per iteration",
+            "Attempting to delete jobs from before {} in batches of {} jobs per iteration (adaptive: {})",
             retentionLimit,
-            batchSize
+            batchSize,
+            adaptive
         );
         long totalDeletedJobs = 0;
         while (true) {
+            final long batchStart = System.nanoTime();
             final long numberDeletedJobs = this.jobPersistenceService.deleteBatchOfJobsCreatedBeforeDate(
                 retentionLimit,
                 batchSize,
                 pageSize
             );
+            final long batchDuration = System.nanoTime() - batchStart;
+            this.registry
+                .timer(DATABASE_CLEANUP_JOBS_BATCH_TIMER_NAME)
+                .record(batchDuration, TimeUnit.NANOSECONDS);
             totalDeletedJobs += numberDeletedJobs;
             if (numberDeletedJobs == 0) {
                 break;
             }
+
+            if (adaptive) {
+                final long batchLatency = TimeUnit.NANOSECONDS.toMillis(batchDuration);
+                final int nextBatchSize = this.getNextBatchSize(
+                    batchSize,
+                    batchLatency,
+                    targetLatency,
+                    minBatchSize,
+                    maxBatchSize
+                );
+                if (nextBatchSize != batchSize) {
+                    log.debug(
+                        "Batch of {} jobs took {}ms (target {}ms). Next batch size: {}",
+                        batchSize,
+                        batchLatency,
+                        targetLatency,
+                        nextBatchSize
+                    );
+                    batchSize = nextBatchSize;
+                }
+                if (batchLatency > targetLatency && !this.pause(batchLatency)) {
+                    log.warn("Interrupted while pausing between batches. Deleted {} jobs so far", totalDeletedJobs);
+                    break;
+                }
+            }
         }
         return totalDeletedJobs;
     }
+
+    /**
+     * Halve the batch size when the database is responding slower than the target and double it when it is
+     * comfortably (less than half the target) faster, always staying within the configured bounds.
+     */
+    private int getNextBatchSize(
+        final int currentBatchSize,
+        final long batchLatency,
+        final long targetLatency,
+        final int minBatchSize,
+        final int maxBatchSize
+    ) {
+        if (batchLatency > targetLatency) {
+            return Math.max(minBatchSize, currentBatchSize / 2);
+        } else if (batchLatency < targetLatency / 2) {
+            return (int) Math.min((long) maxBatchSize, currentBatchSize * 2L);
+        } else {
+            return currentBatchSize;
+        }
+    }
+
+    /**
+     * Back off for as long as the last batch took (capped) to give live traffic at least as much database time as
+     * the cleanup is using while the database is under pressure. Returns false if interrupted while sleeping.
+     */
+    private boolean pause(final long batchLatency) {
+        final long pauseMillis = Math.min(batchLatency, this.cleanupProperties.getMaxBatchPause());
+        if (pauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
 }
@@ -18,23 +18,34 @@
 package com.netflix.genie.web.tasks.leader;
 
 import com.google.common.collect.Lists;
-import com.google.common.collect.Sets;
+import com.netflix.genie.common.dto.JobStatus;
 import com.netflix.genie.common.dto.UserResourcesSummary;
+import com.netflix.genie.web.events.JobStateChangeEvent;
 import com.netflix.genie.web.properties.UserMetricsProperties;
 import com.netflix.genie.web.services.JobSearchService;
 import com.netflix.genie.web.tasks.GenieTaskScheduleType;
 import com.netflix.genie.web.util.MetricsConstants;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
 
 import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A task which publishes user metrics.
+ * <p>
+ * While this node is the leader the per-user running job count and memory are kept up to date incrementally from the
+ * {@link JobStateChangeEvent}s observed by this node and fully reconciled against the database every refresh
+ * interval, which also picks up any transitions persisted by other nodes. Gauges are registered for a user when they
+ * have running jobs and removed again once they have none so the set of published users doesn't grow unbounded.
  *
  * @author mprimi
  * @since 4.0.0
@@ -48,7 +59,10 @@ public class UserMetricsTask extends LeadershipTask {
     private final MeterRegistry registry;
     private final JobSearchService jobSearchService;
     private final UserMetricsProperties userMetricsProperties;
-    private final Set<String> usersToReset = Sets.newHashSet();
+    private final Map<String, UserResources> userResources = new ConcurrentHashMap<>();
+    private boolean publishing;
+    // The state changes received while a reconciliation is querying the database. Guarded by this.
+    private List<JobStateChangeEvent> eventsDuringReconciliation;
 
     /**
      * Constructor.
@@ -65,6 +79,12 @@ public class UserMetricsTask extends LeadershipTask {
         this.registry = registry;
         this.jobSearchService = jobSearchService;
         this.userMetricsProperties = userMetricsProperties;
+
+        this.registry.gauge(
+            USER_ACTIVE_USERS_METRIC_NAME,
+            this.userResources,
+            resources -> resources.values().stream().filter(UserResources::isActive).count()
+        );
     }
 
     /**
@@ -84,41 +104,178 @@ public class UserMetricsTask extends LeadershipTask {
     }
 
     /**
-     * {@inheritDoc}
+     * Reconcile the per-user metrics with the current state of the database. The query runs without holding the lock
+     * job state changes are applied under. The changes received while it runs are applied again on top of its result.
      */
     @Override
     public void run() {
+        final List<JobStateChangeEvent> events = new ArrayList<>();
+        synchronized (this) {
+            this.eventsDuringReconciliation = events;
+        }
+        try {
+            final Map<String, UserResourcesSummary> summaries = this.jobSearchService.getUserResourcesSummaries();
+            synchronized (this) {
+                if (this.eventsDuringReconciliation != events) {
+                    // Cleaned up while querying. This node is no longer publishing.
+                    return;
+                }
+                this.reconcile(summaries);
+                this.publishing = true;
+                events.forEach(this::apply);
+            }
+        } finally {
+            synchronized (this) {
+                if (this.eventsDuringReconciliation == events) {
+                    this.eventsDuringReconciliation = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void cleanup() {
+        this.publishing = false;
+        this.eventsDuringReconciliation = null;
+        this.userResources.values().forEach(this::removeGauges);
+        this.userResources.clear();
+    }
 
-        final Map<String, UserResourcesSummary> summaries = this.jobSearchService.getUserResourcesSummaries();
+    /**
+     * Apply a job status transition observed by this node to the per-user metrics without waiting for the next
+     * reconciliation.
+     *
+     * @param event The job state change event
+     */
+    @EventListener
+    public synchronized void onJobStateChange(final JobStateChangeEvent event) {
+        if (this.eventsDuringReconciliation != null) {
+            this.eventsDuringReconciliation.add(event);
+        }
+        if (!this.publishing) {
+            // Not the leader (or not yet reconciled). Nothing is being published from this node.
+            return;
+        }
+        this.apply(event);
+    }
 
-        // Set gagues back to 0 for all users whose metric were published the previous iterations.
-        for (final String user : this.usersToReset) {
-            // Unless we're about to publish new values, in which case don't bother.
-            if (!summaries.containsKey(user)) {
-                this.publishUserMetrics(user, 0, 0);
+    private void reconcile(final Map<String, UserResourcesSummary> summaries) {
+        // Stop publishing for all users who no longer have running jobs
+        final Iterator<Map.Entry<String, UserResources>> iterator = this.userResources.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<String, UserResources> entry = iterator.next();
+            if (!summaries.containsKey(entry.getKey())) {
+                iterator.remove();
+                this.removeGauges(entry.getValue());
             }
         }
 
-        // Save the set of users to be reset next iteration.
-        this.usersToReset.clear();
-        this.usersToReset.addAll(summaries.keySet());
-
-        // Publish metrics for all users.
         for (final UserResourcesSummary userResourcesSummary : summaries.values()) {
-            this.publishUserMetrics(
-                userResourcesSummary.getUser(),
-                userResourcesSummary.getRunningJobsCount(),
-                userResourcesSummary.getUsedMemory()
-            );
+            if (userResourcesSummary.getRunningJobsCount() > 0) {
+                this.getUserResources(userResourcesSummary.getUser()).set(
+                    userResourcesSummary.getRunningJobsCount(),
+                    userResourcesSummary.getUsedMemory()
+                );
+            } else {
+                this.removeUserResources(userResourcesSummary.getUser());
+            }
+        }
+    }
+
+    private void apply(final JobStateChangeEvent event) {
+        final boolean wasRunning = event.getPreviousStatus().filter(JobStatus.RUNNING::equals).isPresent();
+        final boolean isRunning = event.getNewStatus() == JobStatus.RUNNING;
+        if (wasRunning == isRunning) {
+            return;
+        }
+
+        final long delta = isRunning ? 1L : -1L;
+        final long memory = event.getMemory().orElse(0);
+        log.debug("Applying running job delta {} ({} MB) for user {}", delta, memory, event.getUser());
+        if (isRunning) {
+            this.getUserResources(event.getUser()).add(delta, delta * memory);
+        } else {
+            final UserResources resources = this.userResources.get(event.getUser());
+            if (resources != null) {
+                resources.add(delta, delta * memory);
+                if (!resources.isActive()) {
+                    this.removeUserResources(event.getUser());
+                }
+            }
+        }
+    }
+
+    private UserResources getUserResources(@NotNull final String user) {
+        return this.userResources.computeIfAbsent(
+            user,
+            key -> {
+                final List<Tag> tags = Lists.newArrayList(Tag.of(MetricsConstants.TagKeys.USER, key));
+                final AtomicLong jobCount = new AtomicLong();
+                final AtomicLong memory = new AtomicLong();
+                return new UserResources(
+                    jobCount,
+                    memory,
+                    Gauge.builder(USER_ACTIVE_JOBS_METRIC_NAME, jobCount, AtomicLong::get)
+                        .tags(tags)
+                        .register(this.registry),
+                    Gauge.builder(USER_ACTIVE_MEMORY_METRIC_NAME, memory, AtomicLong::get)
+                        .tags(tags)
+                        .register(this.registry)
+                );
+            }
+        );
+    }
+
+    private void removeUserResources(@NotNull final String user) {
+        final UserResources resources = this.userResources.remove(user);
+        if (resources != null) {
+            this.removeGauges(resources);
         }
+    }
 
-        // Publish metric with number of active users.
-        registry.gauge(USER_ACTIVE_USERS_METRIC_NAME, summaries.size());
+    private void removeGauges(final UserResources resources) {
+        this.registry.remove(resources.jobCountGauge);
+        this.registry.remove(resources.memoryGauge);
     }
 
-    private void publishUserMetrics(@NotNull final String user, final long jobCount, final long memoryAmount) {
-        final List<Tag> tags = Lists.newArrayList(Tag.of(MetricsConstants.TagKeys.USER, user));
-        registry.gauge(USER_ACTIVE_JOBS_METRIC_NAME, tags, jobCount);
-        registry.gauge(USER_ACTIVE_MEMORY_METRIC_NAME, tags, memoryAmount);
+    /**
+     * Holder for the gauges of a single user and the values backing them. Kept strongly referenced here as the
+     * registry only holds weak references to gauge state.
+     */
+    private static final class UserResources {
+        private final AtomicLong jobCount;
+        private final AtomicLong memory;
+        private final Gauge jobCountGauge;
+        private final Gauge memoryGauge;
+
+        private UserResources(
+            final AtomicLong jobCount,
+            final AtomicLong memory,
+            final Gauge jobCountGauge,
+            final Gauge memoryGauge
+        ) {
+            this.jobCount = jobCount;
+            this.memory = memory;
+            this.jobCountGauge = jobCountGauge;
+            this.memoryGauge = memoryGauge;
+        }
+
+        private void set(final long jobs, final long memoryAmount) {
+            this.jobCount.set(jobs);
+            this.memory.set(memoryAmount);
+        }
+
+        private void add(final long jobs, final long memoryAmount) {
+            // Never go negative if a job which started running elsewhere since the last reconciliation finishes here
+            this.jobCount.accumulateAndGet(jobs, (current, update) -> Math.max(0L, current + update));
+            this.memory.accumulateAndGet(memoryAmount, (current, update) -> Math.max(0L, current + update));
+        }
+
+        private boolean isActive() {
+            return this.jobCount.get() > 0;
+        }
     }
 }
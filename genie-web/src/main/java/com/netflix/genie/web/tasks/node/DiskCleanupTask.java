@@ -22,6 +22,7 @@ import com.netflix.genie.common.exceptions.GenieException;
 import com.netflix.genie.common.internal.jobs.JobConstants;
 import com.netflix.genie.web.properties.DiskCleanupProperties;
 import com.netflix.genie.web.properties.JobsProperties;
+import com.netflix.genie.web.services.JobPersistenceService;
 import com.netflix.genie.web.services.JobSearchService;
 import com.netflix.genie.web.tasks.TaskUtils;
 import io.micrometer.core.instrument.Counter;
@@ -56,6 +57,7 @@ public class DiskCleanupTask implements Runnable {
     private final DiskCleanupProperties properties;
     private final File jobsDir;
     private final JobSearchService jobSearchService;
+    private final JobPersistenceService jobPersistenceService;
     private final boolean runAsUser;
     private final Executor processExecutor;
 
@@ -67,13 +69,14 @@ public class DiskCleanupTask implements Runnable {
     /**
      * Constructor. Schedules this task to be run by the task scheduler.
      *
-     * @param properties       The disk cleanup properties to use.
-     * @param scheduler        The scheduler to use to schedule the cron trigger.
-     * @param jobsDir          The resource representing the location of the job directory
-     * @param jobSearchService The service to find jobs with
-     * @param jobsProperties   The jobs properties to use
-     * @param processExecutor  The process executor to use to delete directories
-     * @param registry         The metrics registry
+     * @param properties            The disk cleanup properties to use.
+     * @param scheduler             The scheduler to use to schedule the cron trigger.
+     * @param jobsDir               The resource representing the location of the job directory
+     * @param jobSearchService      The service to find jobs with
+     * @param jobPersistenceService The service to check whether the directory of a job was archived yet with
+     * @param jobsProperties        The jobs properties to use
+     * @param processExecutor       The process executor to use to delete directories
+     * @param registry              The metrics registry
      * @throws IOException When it is unable to open a file reference to the job directory
      */
     public DiskCleanupTask(
@@ -81,6 +84,7 @@ public class DiskCleanupTask implements Runnable {
         @NotNull final TaskScheduler scheduler,
         @NotNull final Resource jobsDir,
         @NotNull final JobSearchService jobSearchService,
+        @NotNull final JobPersistenceService jobPersistenceService,
         @NotNull final JobsProperties jobsProperties,
         @NotNull final Executor processExecutor,
         @NotNull final MeterRegistry registry
@@ -93,6 +97,7 @@ public class DiskCleanupTask implements Runnable {
         this.properties = properties;
         this.jobsDir = jobsDir.getFile();
         this.jobSearchService = jobSearchService;
+        this.jobPersistenceService = jobPersistenceService;
         this.runAsUser = jobsProperties.getUsers().isRunAsUserEnabled();
         this.processExecutor = processExecutor;
 
@@ -152,6 +157,11 @@ public class DiskCleanupTask implements Runnable {
                 final Instant retentionThreshold = midnightUTC.minus(this.properties.getRetention(), ChronoUnit.DAYS);
                 final Optional<Instant> finished = job.getFinished();
                 if (finished.isPresent() && finished.get().isBefore(retentionThreshold)) {
+                    if (this.jobPersistenceService.isArchivePending(id)) {
+                        // The local directory is the only copy until the archive is done
+                        log.info("Job directory for job {} isn't archived yet. Skipping.", id);
+                        continue;
+                    }
                     log.info("Attempting to delete job directory for job {}", id);
                     if (this.runAsUser) {
                         final CommandLine commandLine = new CommandLine("sudo");
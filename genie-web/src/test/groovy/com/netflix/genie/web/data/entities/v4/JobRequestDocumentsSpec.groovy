@@ -0,0 +1,146 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.data.entities.v4
+
+import com.google.common.collect.ImmutableMap
+import com.google.common.collect.Lists
+import com.google.common.collect.Sets
+import com.netflix.genie.common.internal.dto.v4.AgentConfigRequest
+import com.netflix.genie.common.internal.dto.v4.AgentEnvironmentRequest
+import com.netflix.genie.common.internal.dto.v4.Criterion
+import com.netflix.genie.common.internal.dto.v4.ExecutionEnvironment
+import com.netflix.genie.common.internal.dto.v4.ExecutionResourceCriteria
+import com.netflix.genie.common.internal.dto.v4.JobArchivalDataRequest
+import com.netflix.genie.common.internal.dto.v4.JobMetadata
+import com.netflix.genie.common.internal.dto.v4.JobRequest
+import com.netflix.genie.common.internal.exceptions.unchecked.GenieRuntimeException
+import com.netflix.genie.common.util.GenieObjectMapper
+import spock.lang.Specification
+
+import java.util.zip.GZIPOutputStream
+
+/**
+ * Specifications for {@link JobRequestDocuments}.
+ *
+ * @author tgianos
+ */
+class JobRequestDocumentsSpec extends Specification {
+
+    def "Can round trip a fully populated job request"() {
+        def jobRequest = new JobRequest(
+            UUID.randomUUID().toString(),
+            new ExecutionEnvironment(
+                Sets.newHashSet(UUID.randomUUID().toString()),
+                Sets.newHashSet(UUID.randomUUID().toString(), UUID.randomUUID().toString()),
+                UUID.randomUUID().toString()
+            ),
+            Lists.newArrayList("-f", "query.q"),
+            new JobMetadata.Builder(
+                UUID.randomUUID().toString(),
+                UUID.randomUUID().toString(),
+                UUID.randomUUID().toString()
+            )
+                .withDescription(UUID.randomUUID().toString())
+                .withTags(Sets.newHashSet(UUID.randomUUID().toString()))
+                .withMetadata("{\"" + UUID.randomUUID().toString() + "\":\"" + UUID.randomUUID().toString() + "\"}")
+                .withGroup(UUID.randomUUID().toString())
+                .withEmail(UUID.randomUUID().toString() + "@example.com")
+                .withGrouping(UUID.randomUUID().toString())
+                .withGroupingInstance(UUID.randomUUID().toString())
+                .build(),
+            new ExecutionResourceCriteria(
+                Lists.newArrayList(
+                    new Criterion.Builder()
+                        .withId(UUID.randomUUID().toString())
+                        .withName(UUID.randomUUID().toString())
+                        .withVersion(UUID.randomUUID().toString())
+                        .withStatus("UP")
+                        .withTags(Sets.newHashSet(UUID.randomUUID().toString()))
+                        .build(),
+                    new Criterion.Builder().withTags(Sets.newHashSet(UUID.randomUUID().toString())).build()
+                ),
+                new Criterion.Builder().withTags(Sets.newHashSet(UUID.randomUUID().toString())).build(),
+                Lists.newArrayList(UUID.randomUUID().toString(), UUID.randomUUID().toString())
+            ),
+            new AgentEnvironmentRequest.Builder()
+                .withRequestedEnvironmentVariables(ImmutableMap.of(UUID.randomUUID().toString(), "value"))
+                .withRequestedJobCpu(2)
+                .withRequestedJobMemory(1024)
+                .withExt(GenieObjectMapper.getMapper().readTree("{\"foo\":[\"bar\"]}"))
+                .build(),
+            new AgentConfigRequest.Builder()
+                .withRequestedJobDirectoryLocation("/tmp/jobs")
+                .withInteractive(true)
+                .withArchivingDisabled(true)
+                .withTimeoutRequested(3600)
+                .withExt(GenieObjectMapper.getMapper().readTree("{\"baz\":1}"))
+                .build(),
+            new JobArchivalDataRequest.Builder()
+                .withRequestedArchiveLocationPrefix("s3://bucket/prefix")
+                .build()
+        )
+
+        when:
+        def document = JobRequestDocuments.toDocument(jobRequest)
+
+        then:
+        JobRequestDocuments.toJobRequest(document) == jobRequest
+    }
+
+    def "Can round trip a minimal job request"() {
+        def jobRequest = new JobRequest(
+            null,
+            null,
+            null,
+            new JobMetadata.Builder(UUID.randomUUID().toString(), UUID.randomUUID().toString()).build(),
+            new ExecutionResourceCriteria(
+                Lists.newArrayList(new Criterion.Builder().withName(UUID.randomUUID().toString()).build()),
+                new Criterion.Builder().withId(UUID.randomUUID().toString()).build(),
+                null
+            ),
+            null,
+            null,
+            null
+        )
+
+        when:
+        def rebuilt = JobRequestDocuments.toJobRequest(JobRequestDocuments.toDocument(jobRequest))
+
+        then:
+        rebuilt == jobRequest
+        !rebuilt.getRequestedId().isPresent()
+    }
+
+    def "Invalid documents are rejected"() {
+        when:
+        JobRequestDocuments.toJobRequest("not a document")
+
+        then:
+        thrown(GenieRuntimeException)
+
+        when:
+        def bytes = new ByteArrayOutputStream()
+        def gzip = new GZIPOutputStream(bytes)
+        gzip.write("{\"documentVersion\":999}".getBytes("UTF-8"))
+        gzip.close()
+        JobRequestDocuments.toJobRequest(Base64.getEncoder().encodeToString(bytes.toByteArray()))
+
+        then:
+        thrown(GenieRuntimeException)
+    }
+}
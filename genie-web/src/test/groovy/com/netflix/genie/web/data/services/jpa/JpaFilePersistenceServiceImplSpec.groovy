@@ -72,4 +72,46 @@ class JpaFilePersistenceServiceImplSpec extends Specification {
                 throw new DuplicateKeyException("Duplicate key")
         }
     }
+
+    def "Can get existing files in bulk without creating any"() {
+        def files = [UUID.randomUUID().toString(), UUID.randomUUID().toString()] as Set
+
+        when:
+        def fileEntities = this.service.createAndGetFiles(files)
+
+        then:
+        1 * this.fileRepository.findByFileIn(files) >> (files.collect { new FileEntity(it) } as Set)
+        0 * this.fileRepository.existsByFile(_ as String)
+        0 * this.fileRepository.saveAndFlush(_ as FileEntity)
+        fileEntities*.getFile() as Set == files
+    }
+
+    def "Can create missing files in bulk"() {
+        def existingFile = UUID.randomUUID().toString()
+        def missingFile = UUID.randomUUID().toString()
+        def files = [existingFile, missingFile] as Set
+
+        when:
+        def fileEntities = this.service.createAndGetFiles(files)
+
+        then:
+        1 * this.fileRepository.findByFileIn(files) >> ([new FileEntity(existingFile)] as Set)
+        1 * this.fileRepository.existsByFile(missingFile) >> false
+        1 * this.fileRepository.saveAndFlush(_ as FileEntity) >> {
+            final FileEntity fileEntity ->
+                assert fileEntity.getFile() == missingFile
+                fileEntity
+        }
+        1 * this.fileRepository.findByFileIn([missingFile] as Set) >> ([new FileEntity(missingFile)] as Set)
+        fileEntities*.getFile() as Set == files
+    }
+
+    def "Getting no files in bulk doesn't query the database"() {
+        when:
+        def fileEntities = this.service.createAndGetFiles([] as Set)
+
+        then:
+        0 * this.fileRepository._
+        fileEntities.isEmpty()
+    }
 }
@@ -72,4 +72,46 @@ class JpaTagPersistenceServiceImplSpec extends Specification {
                 throw new DuplicateKeyException("Duplicate key")
         }
     }
+
+    def "Can get existing tags in bulk without creating any"() {
+        def tags = [UUID.randomUUID().toString(), UUID.randomUUID().toString()] as Set
+
+        when:
+        def tagEntities = this.service.createAndGetTags(tags)
+
+        then:
+        1 * this.tagRepository.findByTagIn(tags) >> (tags.collect { new TagEntity(it) } as Set)
+        0 * this.tagRepository.existsByTag(_ as String)
+        0 * this.tagRepository.saveAndFlush(_ as TagEntity)
+        tagEntities*.getTag() as Set == tags
+    }
+
+    def "Can create missing tags in bulk"() {
+        def existingTag = UUID.randomUUID().toString()
+        def missingTag = UUID.randomUUID().toString()
+        def tags = [existingTag, missingTag] as Set
+
+        when:
+        def tagEntities = this.service.createAndGetTags(tags)
+
+        then:
+        1 * this.tagRepository.findByTagIn(tags) >> ([new TagEntity(existingTag)] as Set)
+        1 * this.tagRepository.existsByTag(missingTag) >> false
+        1 * this.tagRepository.saveAndFlush(_ as TagEntity) >> {
+            final TagEntity tagEntity ->
+                assert tagEntity.getTag() == missingTag
+                tagEntity
+        }
+        1 * this.tagRepository.findByTagIn([missingTag] as Set) >> ([new TagEntity(missingTag)] as Set)
+        tagEntities*.getTag() as Set == tags
+    }
+
+    def "Getting no tags in bulk doesn't query the database"() {
+        when:
+        def tagEntities = this.service.createAndGetTags([] as Set)
+
+        then:
+        0 * this.tagRepository._
+        tagEntities.isEmpty()
+    }
 }
@@ -18,6 +18,7 @@
 package com.netflix.genie.web.health
 
 import com.netflix.genie.web.services.AgentMetricsService
+import com.netflix.genie.web.services.JobMetricsService
 import org.springframework.boot.actuate.health.Status
 import spock.lang.Specification
 
@@ -30,16 +31,23 @@ class GenieAgentHealthIndicatorSpec extends Specification {
 
     def "Can get health"() {
         def agentMetricsService = Mock(AgentMetricsService)
-        def healthIndicator = new GenieAgentHealthIndicator(agentMetricsService)
+        def jobMetricsService = Mock(JobMetricsService)
+        def healthIndicator = new GenieAgentHealthIndicator(agentMetricsService, jobMetricsService)
         def connectedAgentCount = 53234L
+        def activeJobs = 12
+        def usedMemory = 24_576
 
         when:
         def health = healthIndicator.health()
 
         then:
         1 * agentMetricsService.getNumConnectedAgents() >> connectedAgentCount
+        1 * jobMetricsService.getNumActiveJobs() >> activeJobs
+        1 * jobMetricsService.getUsedMemory() >> usedMemory
         health.getStatus() == Status.UP
         health.getDetails().containsKey(GenieAgentHealthIndicator.NUM_CONNECTED_AGENTS)
         health.getDetails().get(GenieAgentHealthIndicator.NUM_CONNECTED_AGENTS) == connectedAgentCount
+        health.getDetails().get(GenieAgentHealthIndicator.NUM_ACTIVE_JOBS) == activeJobs
+        health.getDetails().get(GenieAgentHealthIndicator.USED_MEMORY) == usedMemory
     }
 }
@@ -32,12 +32,18 @@ class FileCachePropertiesSpec extends Specification {
 
         then:
         properties.getLocation() == "file:///tmp/genie/cache"
+        properties.getMaxSize() == 10_737_418_240L
+        properties.getRefreshInterval() == 60_000L
 
         when:
         def newLocation = "file:///tmp/" + UUID.randomUUID().toString()
         properties.setLocation(newLocation)
+        properties.setMaxSize(1_024L)
+        properties.setRefreshInterval(0L)
 
         then:
         properties.getLocation() == newLocation
+        properties.getMaxSize() == 1_024L
+        properties.getRefreshInterval() == 0L
     }
 }
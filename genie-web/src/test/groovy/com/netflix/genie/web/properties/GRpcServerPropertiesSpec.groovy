@@ -39,4 +39,50 @@ class GRpcServerPropertiesSpec extends Specification {
         then:
         properties.isEnabled()
     }
+
+    def "Can get and set transport values"() {
+        when:
+        def properties = new GRpcServerProperties()
+        def transport = properties.getTransport()
+
+        then:
+        transport.isNativeEnabled()
+        transport.getBossThreads() == 1
+        transport.getWorkerThreads() == 0
+        !transport.isDirectExecutor()
+        transport.getFlowControlWindow() == 4 * 1024 * 1024
+        transport.getMaxInboundMessageSize() == 4 * 1024 * 1024
+        transport.getKeepAliveTime() == 120_000L
+        transport.getKeepAliveTimeout() == 20_000L
+        transport.getPermitKeepAliveTime() == 30_000L
+
+        when:
+        transport.setNativeEnabled(false)
+        transport.setBossThreads(2)
+        transport.setWorkerThreads(8)
+        transport.setDirectExecutor(true)
+        transport.setFlowControlWindow(1024)
+        transport.setMaxInboundMessageSize(2048)
+        transport.setKeepAliveTime(1_000L)
+        transport.setKeepAliveTimeout(500L)
+        transport.setPermitKeepAliveTime(100L)
+
+        then:
+        !transport.isNativeEnabled()
+        transport.getBossThreads() == 2
+        transport.getWorkerThreads() == 8
+        transport.isDirectExecutor()
+        transport.getFlowControlWindow() == 1024
+        transport.getMaxInboundMessageSize() == 2048
+        transport.getKeepAliveTime() == 1_000L
+        transport.getKeepAliveTimeout() == 500L
+        transport.getPermitKeepAliveTime() == 100L
+
+        when:
+        def newTransport = new GRpcServerProperties.Transport()
+        properties.setTransport(newTransport)
+
+        then:
+        properties.getTransport() == newTransport
+    }
 }
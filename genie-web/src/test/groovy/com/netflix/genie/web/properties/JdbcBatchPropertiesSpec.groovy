@@ -0,0 +1,54 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties
+
+import com.netflix.genie.test.suppliers.RandomSuppliers
+import spock.lang.Specification
+
+/**
+ * Specifications for the {@link JdbcBatchProperties} class.
+ *
+ * @author tgianos
+ */
+class JdbcBatchPropertiesSpec extends Specification {
+
+    def "Default parameters are as expected"() {
+        when:
+        def properties = new JdbcBatchProperties()
+
+        then:
+        properties.getSize() == 0
+        properties.isOrderInserts()
+        properties.isOrderUpdates()
+    }
+
+    def "Can set new values"() {
+        def properties = new JdbcBatchProperties()
+        def newSize = RandomSuppliers.INT.get()
+
+        when:
+        properties.setSize(newSize)
+        properties.setOrderInserts(false)
+        properties.setOrderUpdates(false)
+
+        then:
+        properties.getSize() == newSize
+        !properties.isOrderInserts()
+        !properties.isOrderUpdates()
+    }
+}
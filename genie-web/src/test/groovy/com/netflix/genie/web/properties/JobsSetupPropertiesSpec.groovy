@@ -0,0 +1,52 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties
+
+import com.netflix.genie.test.suppliers.RandomSuppliers
+import spock.lang.Specification
+
+/**
+ * Specifications for the {@link JobsSetupProperties} class.
+ *
+ * @author tgianos
+ */
+class JobsSetupPropertiesSpec extends Specification {
+
+    def "Default parameters are as expected"() {
+        when:
+        def properties = new JobsSetupProperties()
+
+        then:
+        properties.getDownloadThreads() == 8
+        properties.getDownloadThreadNamePrefix() == "genie-job-setup-"
+    }
+
+    def "Can set new values"() {
+        def properties = new JobsSetupProperties()
+        def newThreads = RandomSuppliers.INT.get()
+        def newPrefix = RandomSuppliers.STRING.get()
+
+        when:
+        properties.setDownloadThreads(newThreads)
+        properties.setDownloadThreadNamePrefix(newPrefix)
+
+        then:
+        properties.getDownloadThreads() == newThreads
+        properties.getDownloadThreadNamePrefix() == newPrefix
+    }
+}
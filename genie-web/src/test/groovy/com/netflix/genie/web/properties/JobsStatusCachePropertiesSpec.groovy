@@ -0,0 +1,59 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties
+
+import com.netflix.genie.test.suppliers.RandomSuppliers
+import spock.lang.Specification
+
+/**
+ * Specifications for the {@link JobsStatusCacheProperties} class.
+ *
+ * @author tgianos
+ */
+class JobsStatusCachePropertiesSpec extends Specification {
+
+    def "Default parameters are as expected"() {
+        when:
+        def properties = new JobsStatusCacheProperties()
+
+        then:
+        properties.isEnabled()
+        properties.getActiveTtl() == 5_000L
+        properties.getFinishedTtl() == 600_000L
+        properties.getMaxSize() == 10_000L
+    }
+
+    def "Can set new values"() {
+        def properties = new JobsStatusCacheProperties()
+        def newActiveTtl = RandomSuppliers.LONG.get()
+        def newFinishedTtl = RandomSuppliers.LONG.get()
+        def newMaxSize = RandomSuppliers.LONG.get()
+
+        when:
+        properties.setEnabled(false)
+        properties.setActiveTtl(newActiveTtl)
+        properties.setFinishedTtl(newFinishedTtl)
+        properties.setMaxSize(newMaxSize)
+
+        then:
+        !properties.isEnabled()
+        properties.getActiveTtl() == newActiveTtl
+        properties.getFinishedTtl() == newFinishedTtl
+        properties.getMaxSize() == newMaxSize
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties
+
+import com.netflix.genie.test.suppliers.RandomSuppliers
+import spock.lang.Specification
+
+/**
+ * Specifications for the {@link JobsStatusWatchProperties} class.
+ *
+ * @author tgianos
+ */
+class JobsStatusWatchPropertiesSpec extends Specification {
+
+    def "Default parameters are as expected"() {
+        when:
+        def properties = new JobsStatusWatchProperties()
+
+        then:
+        properties.getCheckInterval() == 1_000L
+        properties.getDeliveryThreads() == 8
+        properties.getMaxWait() == 60_000L
+        properties.getStreamTimeout() == 3_600_000L
+    }
+
+    def "Can set new values"() {
+        def properties = new JobsStatusWatchProperties()
+        def newCheckInterval = RandomSuppliers.LONG.get()
+        def newDeliveryThreads = RandomSuppliers.INT.get()
+        def newMaxWait = RandomSuppliers.LONG.get()
+        def newStreamTimeout = RandomSuppliers.LONG.get()
+
+        when:
+        properties.setCheckInterval(newCheckInterval)
+        properties.setDeliveryThreads(newDeliveryThreads)
+        properties.setMaxWait(newMaxWait)
+        properties.setStreamTimeout(newStreamTimeout)
+
+        then:
+        properties.getCheckInterval() == newCheckInterval
+        properties.getDeliveryThreads() == newDeliveryThreads
+        properties.getMaxWait() == newMaxWait
+        properties.getStreamTimeout() == newStreamTimeout
+    }
+}
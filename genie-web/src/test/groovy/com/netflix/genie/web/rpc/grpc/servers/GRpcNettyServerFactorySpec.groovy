@@ -0,0 +1,67 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.rpc.grpc.servers
+
+import com.netflix.genie.web.properties.GRpcServerProperties
+import io.grpc.Server
+import io.grpc.ServerServiceDefinition
+import net.devh.springboot.autoconfigure.grpc.server.GrpcServerProperties
+import net.devh.springboot.autoconfigure.grpc.server.GrpcServiceDefinition
+import spock.lang.Specification
+
+/**
+ * Specifications for {@link GRpcNettyServerFactory}.
+ *
+ * @author tgianos
+ */
+class GRpcNettyServerFactorySpec extends Specification {
+
+    def "Can create and start a tuned server"() {
+        def grpcServerProperties = Mock(GrpcServerProperties) {
+            getAddress() >> "127.0.0.1"
+            getPort() >> 0
+        }
+        def transport = new GRpcServerProperties.Transport()
+        transport.setWorkerThreads(2)
+        transport.setDirectExecutor(directExecutor)
+        def serviceDefinition = Mock(GrpcServiceDefinition) {
+            getDefinition() >> ServerServiceDefinition.builder("genie.TestService").build()
+        }
+        def factory = new GRpcNettyServerFactory(grpcServerProperties, transport)
+
+        when:
+        factory.addService(serviceDefinition)
+        Server server = factory.createServer()
+        server.start()
+
+        then:
+        server.getPort() > 0
+        server.getServices().size() == 1
+        server.getServices().get(0).getServiceDescriptor().getName() == "genie.TestService"
+
+        cleanup:
+        server?.shutdownNow()
+        server?.awaitTermination()
+        factory.shutdownEventLoopGroups()
+
+        where:
+        directExecutor | _
+        true           | _
+        false          | _
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.rpc.grpc.services.impl.v4
+
+import com.google.protobuf.ByteString
+import com.netflix.genie.proto.AgentOutputMessage
+import com.netflix.genie.proto.ServerOutputControlMessage
+import com.netflix.genie.web.properties.GRpcServerProperties
+import com.netflix.genie.web.services.JobOutputTailService
+import io.grpc.stub.StreamObserver
+import org.springframework.core.task.SyncTaskExecutor
+import spock.lang.Specification
+
+/**
+ * Specifications for the {@link GRpcJobOutputServiceImpl} class.
+ *
+ * @author mprimi
+ * @since 4.0.0
+ */
+class GRpcJobOutputServiceImplSpec extends Specification {
+
+    GRpcJobOutputServiceImpl service
+    String jobId
+    StreamObserver<ServerOutputControlMessage> responseObserver = Mock()
+    JobOutputTailService.Subscriber subscriber1 = Mock()
+    JobOutputTailService.Subscriber subscriber2 = Mock()
+
+    void setup() {
+        jobId = UUID.randomUUID().toString()
+        service = new GRpcJobOutputServiceImpl(new SyncTaskExecutor(), new GRpcServerProperties())
+    }
+
+    def "Fan out output to subscribers"() {
+        setup:
+        StreamObserver<AgentOutputMessage> requestObserver = service.tail(responseObserver)
+        AgentOutputMessage output = AgentOutputMessage.newBuilder()
+            .setStream(AgentOutputMessage.Stream.STDERR)
+            .setOffset(10)
+            .setData(ByteString.copyFromUtf8("hello"))
+            .build()
+
+        expect: "Output is not available before the agent registers"
+        !service.subscribe(jobId, subscriber1).isPresent()
+
+        when:
+        requestObserver.onNext(AgentOutputMessage.newBuilder().setJobId(jobId).build())
+        Optional<JobOutputTailService.Subscription> subscription1 = service.subscribe(jobId, subscriber1)
+        Optional<JobOutputTailService.Subscription> subscription2 = service.subscribe(jobId, subscriber2)
+
+        then: "The agent is asked to push output once"
+        subscription1.isPresent()
+        subscription2.isPresent()
+        1 * responseObserver.onNext(ServerOutputControlMessage.newBuilder().setTail(true).build())
+
+        when:
+        requestObserver.onNext(output)
+
+        then:
+        1 * subscriber1.onOutput(JobOutputTailService.OutputStream.STDERR, 10, "hello".getBytes())
+        1 * subscriber2.onOutput(JobOutputTailService.OutputStream.STDERR, 10, "hello".getBytes()) >> {
+            throw new IOException("Client went away")
+        }
+
+        when: "The subscriber that failed was dropped"
+        requestObserver.onNext(output)
+
+        then:
+        1 * subscriber1.onOutput(JobOutputTailService.OutputStream.STDERR, 10, _)
+        0 * subscriber2.onOutput(_, _, _)
+        0 * responseObserver.onNext(_)
+
+        when: "The last subscriber leaves"
+        subscription1.get().cancel()
+        subscription1.get().cancel()
+
+        then:
+        1 * responseObserver.onNext(ServerOutputControlMessage.newBuilder().setTail(false).build())
+
+        when:
+        requestObserver.onNext(output)
+
+        then:
+        0 * subscriber1.onOutput(_, _, _)
+    }
+
+    def "Complete subscribers when the agent disconnects"() {
+        setup:
+        StreamObserver<AgentOutputMessage> requestObserver = service.tail(responseObserver)
+        requestObserver.onNext(AgentOutputMessage.newBuilder().setJobId(jobId).build())
+        service.subscribe(jobId, subscriber1)
+
+        when:
+        requestObserver.onCompleted()
+
+        then:
+        1 * subscriber1.onCompleted()
+        1 * responseObserver.onCompleted()
+        !service.subscribe(jobId, subscriber2).isPresent()
+    }
+
+    def "Complete subscribers of a previous stream when the agent reconnects"() {
+        setup:
+        StreamObserver<AgentOutputMessage> requestObserver = service.tail(responseObserver)
+        requestObserver.onNext(AgentOutputMessage.newBuilder().setJobId(jobId).build())
+        service.subscribe(jobId, subscriber1)
+        StreamObserver<AgentOutputMessage> newRequestObserver = service.tail(Mock(StreamObserver))
+
+        when:
+        newRequestObserver.onNext(AgentOutputMessage.newBuilder().setJobId(jobId).build())
+
+        then:
+        1 * subscriber1.onCompleted()
+
+        when:
+        requestObserver.onError(new RuntimeException("..."))
+
+        then: "The new stream is still registered"
+        service.subscribe(jobId, subscriber2).isPresent()
+    }
+
+    def "A subscriber which falls behind is disconnected without holding up the others"() {
+        setup:
+        List<Runnable> deliveries = []
+        GRpcServerProperties properties = new GRpcServerProperties()
+        properties.getOutputTail().setSubscriberBufferSize(2)
+        service = new GRpcJobOutputServiceImpl({ Runnable task -> deliveries.add(task) }, properties)
+        StreamObserver<AgentOutputMessage> requestObserver = service.tail(responseObserver)
+        requestObserver.onNext(AgentOutputMessage.newBuilder().setJobId(jobId).build())
+        JobOutputTailService.Subscription slow = service.subscribe(jobId, subscriber1).get()
+        JobOutputTailService.Subscription fast = service.subscribe(jobId, subscriber2).get()
+        def output = { long offset ->
+            AgentOutputMessage.newBuilder()
+                .setStream(AgentOutputMessage.Stream.STDOUT)
+                .setOffset(offset)
+                .setData(ByteString.copyFromUtf8("hello"))
+                .build()
+        }
+        def deliver = { JobOutputTailService.Subscription subscription ->
+            List<Runnable> tasks = deliveries.findAll { it.is(subscription) }
+            deliveries.removeAll(tasks)
+            tasks.each { it.run() }
+        }
+
+        when: "Output arrives while the slow subscriber is still busy"
+        requestObserver.onNext(output(0))
+        deliver(fast)
+        requestObserver.onNext(output(5))
+        deliver(fast)
+
+        then: "The fast subscriber gets it right away"
+        1 * subscriber2.onOutput(JobOutputTailService.OutputStream.STDOUT, 0, _)
+        1 * subscriber2.onOutput(JobOutputTailService.OutputStream.STDOUT, 5, _)
+        0 * subscriber1._
+
+        when: "The slow subscriber buffer overflows"
+        requestObserver.onNext(output(10))
+        deliver(fast)
+        deliver(slow)
+
+        then: "It is disconnected and the others keep going"
+        1 * subscriber2.onOutput(JobOutputTailService.OutputStream.STDOUT, 10, _)
+        0 * subscriber1.onOutput(_, _, _)
+        1 * subscriber1.onCompleted()
+        0 * responseObserver.onNext(_)
+
+        when:
+        requestObserver.onNext(output(15))
+        deliver(fast)
+        deliver(slow)
+
+        then:
+        1 * subscriber2.onOutput(JobOutputTailService.OutputStream.STDOUT, 15, _)
+        0 * subscriber1._
+    }
+}
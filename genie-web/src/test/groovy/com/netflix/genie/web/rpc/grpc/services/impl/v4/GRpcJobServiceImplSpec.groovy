@@ -49,6 +49,7 @@ class GRpcJobServiceImplSpec extends Specification {
     StreamObserver<JobSpecificationResponse> jobSpecificationResponseObserver
     StreamObserver<ClaimJobResponse> claimJobResponseObserver
     StreamObserver<ChangeJobStatusResponse> changeJobStatusResponseObserver
+    StreamObserver<BootstrapJobResponse> bootstrapJobResponseObserver
     JobServiceProtoConverter jobServiceProtoConverter
 
     def setup() {
@@ -62,6 +63,7 @@ class GRpcJobServiceImplSpec extends Specification {
         this.jobSpecificationResponseObserver = Mock(StreamObserver)
         this.claimJobResponseObserver = Mock(StreamObserver)
         this.changeJobStatusResponseObserver = Mock(StreamObserver)
+        this.bootstrapJobResponseObserver = Mock(StreamObserver)
     }
 
     def "Handshake -- successful"() {
@@ -370,4 +372,47 @@ class GRpcJobServiceImplSpec extends Specification {
         1 * changeJobStatusResponseObserver.onNext(response)
         1 * changeJobStatusResponseObserver.onCompleted()
     }
+
+    def "Bootstrap job -- successful"() {
+        ReserveJobIdRequest reservation = ReserveJobIdRequest.newBuilder().build()
+        BootstrapJobRequest request = BootstrapJobRequest.newBuilder().setReservation(reservation).build()
+        JobRequest jobRequest = Mock(JobRequest)
+        AgentClientMetadata agentClientMetadata = Mock(AgentClientMetadata)
+        JobSpecification jobSpecification = Mock(JobSpecification)
+        BootstrapJobResponse response = BootstrapJobResponse.newBuilder().build()
+
+        when:
+        gRpcJobService.bootstrapJob(request, bootstrapJobResponseObserver)
+
+        then:
+        1 * jobServiceProtoConverter.toJobRequestDTO(reservation) >> jobRequest
+        1 * jobServiceProtoConverter.toAgentClientMetadataDTO(reservation.getAgentMetadata()) >> agentClientMetadata
+        1 * agentJobService.bootstrapJob(jobRequest, agentClientMetadata) >> jobSpecification
+        1 * jobServiceProtoConverter.toProtoBootstrapJobResponse(jobSpecification) >> response
+        1 * bootstrapJobResponseObserver.onNext(response)
+        1 * bootstrapJobResponseObserver.onCompleted()
+    }
+
+    def "Bootstrap job -- service exception"() {
+        ReserveJobIdRequest reservation = ReserveJobIdRequest.newBuilder().build()
+        BootstrapJobRequest request = BootstrapJobRequest.newBuilder().setReservation(reservation).build()
+        JobRequest jobRequest = Mock(JobRequest)
+        AgentClientMetadata agentClientMetadata = Mock(AgentClientMetadata)
+        Exception e = new GenieJobAlreadyClaimedException("...")
+        BootstrapJobResponse errorResponse = BootstrapJobResponse.newBuilder().build()
+
+        when:
+        gRpcJobService.bootstrapJob(request, bootstrapJobResponseObserver)
+
+        then:
+        1 * jobServiceProtoConverter.toJobRequestDTO(reservation) >> jobRequest
+        1 * jobServiceProtoConverter.toAgentClientMetadataDTO(reservation.getAgentMetadata()) >> agentClientMetadata
+        1 * agentJobService.bootstrapJob(jobRequest, agentClientMetadata) >> {
+            throw e
+        }
+        0 * jobServiceProtoConverter.toProtoBootstrapJobResponse(_)
+        1 * errorMessageComposer.toProtoBootstrapJobResponse(e) >> errorResponse
+        1 * bootstrapJobResponseObserver.onNext(errorResponse)
+        1 * bootstrapJobResponseObserver.onCompleted()
+    }
 }
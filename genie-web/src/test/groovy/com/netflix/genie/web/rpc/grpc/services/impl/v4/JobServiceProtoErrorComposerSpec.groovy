@@ -28,6 +28,8 @@ import com.netflix.genie.common.internal.exceptions.unchecked.GenieInvalidStatus
 import com.netflix.genie.common.internal.exceptions.unchecked.GenieJobAlreadyClaimedException
 import com.netflix.genie.common.internal.exceptions.unchecked.GenieJobNotFoundException
 import com.netflix.genie.common.internal.exceptions.unchecked.GenieJobSpecificationNotFoundException
+import com.netflix.genie.proto.BootstrapJobError
+import com.netflix.genie.proto.BootstrapJobResponse
 import com.netflix.genie.proto.ChangeJobStatusError
 import com.netflix.genie.proto.ChangeJobStatusResponse
 import com.netflix.genie.proto.ClaimJobError
@@ -137,6 +139,30 @@ class JobServiceProtoErrorComposerSpec extends Specification {
         new RuntimeException(MESSAGE)                  | ChangeJobStatusError.Type.UNKNOWN
     }
 
+    @Unroll
+    def "ToProtoBootstrapJobResponse for #exception.class.getSimpleName()"() {
+        when:
+        BootstrapJobResponse response = errorComposer.toProtoBootstrapJobResponse(exception)
+
+        then:
+        response.hasError()
+        response.getError().getType() == expectedErrorType
+        response.getError().getMessage().contains(exception.class.getCanonicalName())
+        response.getError().getMessage().contains(MESSAGE)
+
+        where:
+        exception                                      | expectedErrorType
+        new GenieConversionException(MESSAGE)          | BootstrapJobError.Type.INVALID_REQUEST
+        new GenieIdAlreadyExistsException(MESSAGE)     | BootstrapJobError.Type.ID_NOT_AVAILABLE
+        new GenieClusterNotFoundException(MESSAGE)     | BootstrapJobError.Type.NO_CLUSTER_FOUND
+        new GenieCommandNotFoundException(MESSAGE)     | BootstrapJobError.Type.NO_COMMAND_FOUND
+        new GenieApplicationNotFoundException(MESSAGE) | BootstrapJobError.Type.NO_APPLICATION_FOUND
+        new GenieJobAlreadyClaimedException(MESSAGE)   | BootstrapJobError.Type.ALREADY_CLAIMED
+        new ConstraintViolationException(MESSAGE, cvs) | BootstrapJobError.Type.INVALID_REQUEST
+        new IOException(MESSAGE)                       | BootstrapJobError.Type.UNKNOWN
+        new RuntimeException(MESSAGE)                  | BootstrapJobError.Type.UNKNOWN
+    }
+
     @Unroll
     def "ToProtoHandshakeResponse for #exception.class.getSimpleName()"() {
         when:
@@ -244,6 +244,24 @@ class AgentJobServiceImplSpec extends Specification {
         1 * jobPersistenceService.claimJob(id, agentClientMetadata)
     }
 
+    def "Can bootstrap job"() {
+        def jobRequest = Mock(JobRequest)
+        def agentClientMetadata = Mock(AgentClientMetadata)
+        def jobSpecificationMock = Mock(JobSpecification)
+        def reservedId = UUID.randomUUID().toString()
+
+        when:
+        def jobSpecification = service.bootstrapJob(jobRequest, agentClientMetadata)
+
+        then:
+        1 * jobPersistenceService.saveJobRequest(jobRequest, _ as JobRequestMetadata) >> reservedId
+        0 * jobPersistenceService.getJobRequest(_)
+        1 * jobSpecificationService.resolveJobSpecification(reservedId, jobRequest) >> jobSpecificationMock
+        1 * jobPersistenceService.saveJobSpecification(reservedId, jobSpecificationMock)
+        1 * jobPersistenceService.claimJob(reservedId, agentClientMetadata)
+        jobSpecification == jobSpecificationMock
+    }
+
     def "Can update job status"() {
         def id = UUID.randomUUID().toString()
 
@@ -18,6 +18,8 @@
 package com.netflix.genie.web.services.impl
 
 import com.netflix.genie.common.internal.util.GenieHostInfo
+import com.netflix.genie.web.events.AgentConnectionEvent
+import com.netflix.genie.web.events.GenieEventBus
 import com.netflix.genie.web.services.AgentConnectionPersistenceService
 import com.netflix.genie.web.services.AgentRoutingService
 import spock.lang.Specification
@@ -27,11 +29,12 @@ class AgentRoutingServiceImplSpec extends Specification {
 
     AgentConnectionPersistenceService persistenceService = Mock()
     GenieHostInfo genieHostInfo = Mock()
+    GenieEventBus genieEventBus = Mock()
     AgentRoutingService service
     String jobId
 
     void setup() {
-        service = new AgentRoutingServiceImpl(persistenceService, genieHostInfo);
+        service = new AgentRoutingServiceImpl(persistenceService, genieHostInfo, genieEventBus);
         jobId = UUID.randomUUID().toString()
     }
 
@@ -111,6 +114,9 @@ class AgentRoutingServiceImplSpec extends Specification {
         then:
         1 * genieHostInfo.getHostname() >> HOSTNAME
         1 * persistenceService.saveAgentConnection(jobId, HOSTNAME)
+        1 * genieEventBus.publishAsynchronousEvent(
+            { AgentConnectionEvent event -> event.getId() == jobId && event.isConnected() }
+        )
 
         when:
         service.handleClientDisconnected(jobId)
@@ -118,5 +124,8 @@ class AgentRoutingServiceImplSpec extends Specification {
         then:
         1 * genieHostInfo.getHostname() >> HOSTNAME
         1 * persistenceService.removeAgentConnection(jobId, HOSTNAME)
+        1 * genieEventBus.publishAsynchronousEvent(
+            { AgentConnectionEvent event -> event.getId() == jobId && !event.isConnected() }
+        )
     }
 }
@@ -21,9 +21,18 @@ import com.netflix.genie.common.exceptions.GenieServerException
 import com.netflix.genie.web.services.FileTransferFactory
 import io.micrometer.core.instrument.MeterRegistry
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+
 /**
  * Unit tests for CacheGenieFileTransferService.
  *
@@ -32,6 +41,8 @@ import spock.lang.Unroll
  */
 @Unroll
 class CacheGenieFileTransferServiceSpec extends Specification {
+    @Rule
+    TemporaryFolder temporaryFolder = new TemporaryFolder()
     LocalFileTransferImpl localFileTransfer = Mock(LocalFileTransferImpl)
     FileTransferFactory fileTransferFactory = Mock(FileTransferFactory) {
         get(_ as String) >> localFileTransfer
@@ -40,7 +51,7 @@ class CacheGenieFileTransferServiceSpec extends Specification {
     MeterRegistry registry = new SimpleMeterRegistry()
     CacheGenieFileTransferService s =
         Spy(CacheGenieFileTransferService,
-            constructorArgs: [fileTransferFactory, "/tmp", localFileTransfer, registry]) {
+            constructorArgs: [fileTransferFactory, "/tmp", 1_073_741_824L, 0L, localFileTransfer, registry]) {
             createDirectories(_ as String) >> null
             deleteFile(_ as File) >> null
         }
@@ -61,7 +72,8 @@ class CacheGenieFileTransferServiceSpec extends Specification {
         then:
         noExceptionThrown()
         1 * s.loadFile(_) >> cachedFile
-        2 * cachedFile.lastModified() >> -1
+        1 * cachedFile.lastModified() >> -1
+        1 * s.deleteFile(cachedFile) >> null
         when:
         s.getFile('file:/tmp/setup', 'file:/mnt/')
         then:
@@ -75,4 +87,123 @@ class CacheGenieFileTransferServiceSpec extends Specification {
         1 * s.loadFile(_) >> { throw new GenieServerException("null") }
         cachedFile.lastModified() >> -1
     }
+
+    def 'Remote file is only checked once the refresh interval elapsed'() {
+        def service = Spy(CacheGenieFileTransferService,
+            constructorArgs: [fileTransferFactory, "/tmp", 1_073_741_824L, 3_600_000L, localFileTransfer, registry]) {
+            createDirectories(_ as String) >> null
+            deleteFile(_ as File) >> null
+        }
+
+        when:
+        service.getFile('file:/tmp/setup', 'file:/mnt/')
+        service.getFile('file:/tmp/setup', 'file:/mnt/')
+
+        then:
+        1 * service.loadFile(_) >> cachedFile
+        0 * localFileTransfer.getLastModifiedTime(_)
+        0 * cachedFile.lastModified()
+        2 * localFileTransfer.getFile(_, 'file:/mnt/')
+    }
+
+    def 'Least recently used files are deleted beyond the maximum size'() {
+        def service = Spy(CacheGenieFileTransferService,
+            constructorArgs: [fileTransferFactory, "/tmp", 2_048L, 3_600_000L, localFileTransfer, registry]) {
+            createDirectories(_ as String) >> null
+        }
+        def cachedFile1 = Mock(File) {
+            length() >> 1_024L
+        }
+        def cachedFile2 = Mock(File) {
+            length() >> 1_024L
+        }
+
+        when:
+        service.getFile('file:/tmp/setup1', 'file:/mnt/')
+
+        then:
+        1 * service.loadFile('file:/tmp/setup1') >> cachedFile1
+        0 * service.deleteFile(_)
+
+        when:
+        service.getFile('file:/tmp/setup2', 'file:/mnt/')
+
+        then:
+        1 * service.loadFile('file:/tmp/setup2') >> cachedFile2
+        1 * service.deleteFile(cachedFile1) >> null
+        0 * service.deleteFile(cachedFile2)
+    }
+
+    def 'Each load of a file gets a file of its own'() {
+        def cacheDir = temporaryFolder.newFolder()
+        def source = temporaryFolder.newFile()
+        source.text = "version1"
+        def service = new CacheGenieFileTransferService(
+            fileTransferFactory, cacheDir.getAbsolutePath(), 1_073_741_824L, 3_600_000L, localFileTransfer, registry
+        )
+
+        when:
+        def first = service.loadFile(source.getAbsolutePath())
+        def second = service.loadFile(source.getAbsolutePath())
+
+        then:
+        2 * localFileTransfer.getFile(source.getAbsolutePath(), _ as String) >> { args ->
+            Files.copy(source.toPath(), new File((String) args[1]).toPath())
+        }
+        first != second
+        first.exists()
+        second.exists()
+        cacheDir.listFiles().length == 2
+
+        when: "A new instance of the cache is created"
+        new CacheGenieFileTransferService(
+            fileTransferFactory, cacheDir.getAbsolutePath(), 1_073_741_824L, 3_600_000L, localFileTransfer, registry
+        )
+
+        then: "The files of the previous instance are deleted"
+        cacheDir.listFiles().length == 0
+    }
+
+    def 'Files are copied while other threads evict and refresh them'() {
+        def cacheDir = temporaryFolder.newFolder()
+        def destinationDir = temporaryFolder.newFolder()
+        def realFileTransfer = new LocalFileTransferImpl()
+        def realFileTransferFactory = Mock(FileTransferFactory) {
+            get(_ as String) >> realFileTransfer
+        }
+        def sources = (0..<4).collect { index ->
+            def source = temporaryFolder.newFile()
+            source.text = (String.valueOf(index) * 4_096)
+            source
+        }
+        // Room for a single file and a refresh check on every request so entries are constantly replaced and deleted
+        def service = new CacheGenieFileTransferService(
+            realFileTransferFactory, cacheDir.getAbsolutePath(), 8_192L, 0L, realFileTransfer, registry
+        )
+        ExecutorService executor = Executors.newFixedThreadPool(8)
+
+        when:
+        List<Future<Boolean>> results = (0..<400).collect { request ->
+            executor.submit(
+                {
+                    def index = request % sources.size()
+                    def source = sources.get(index)
+                    if (request % 7 == 0) {
+                        source.setLastModified(System.currentTimeMillis() + request)
+                    }
+                    def destination = new File(destinationDir, String.valueOf(request))
+                    service.getFile(source.getAbsolutePath(), destination.getAbsolutePath())
+                    return new String(Files.readAllBytes(destination.toPath()), StandardCharsets.UTF_8) == source.text
+                } as Callable<Boolean>
+            )
+        }
+        def copied = results.collect { it.get() }
+
+        then:
+        noExceptionThrown()
+        copied.every()
+
+        cleanup:
+        executor.shutdownNow()
+    }
 }
@@ -21,12 +21,12 @@ package com.netflix.genie.web.services.impl
 import com.netflix.genie.common.dto.JobStatus
 import com.netflix.genie.common.exceptions.GenieNotFoundException
 import com.netflix.genie.common.internal.dto.JobDirectoryManifest
-import com.netflix.genie.common.internal.exceptions.unchecked.GenieJobNotFoundException
 import com.netflix.genie.web.resources.agent.AgentFileProtocolResolver
 import com.netflix.genie.web.services.AgentFileStreamService
 import com.netflix.genie.web.services.JobDirectoryServerService
 import com.netflix.genie.web.services.JobFileService
-import com.netflix.genie.web.services.JobPersistenceService
+import com.netflix.genie.web.services.JobStatusCacheService
+import com.netflix.genie.web.services.JobStatusInfo
 import io.micrometer.core.instrument.MeterRegistry
 import org.springframework.core.io.Resource
 import org.springframework.core.io.ResourceLoader
@@ -44,7 +44,7 @@ class JobDirectoryServerServiceImplSpec extends Specification {
     static final URI EXPECTED_V4_FILE_URI = new URI(AgentFileProtocolResolver.URI_SCHEME, JOB_ID, "/" + relPath, null);
 
     ResourceLoader resourceLoader
-    JobPersistenceService jobPersistenceService
+    JobStatusCacheService jobStatusCacheService
     JobFileService jobFileService
     AgentFileStreamService agentFileStreamService
     MeterRegistry meterRegistry
@@ -59,13 +59,20 @@ class JobDirectoryServerServiceImplSpec extends Specification {
 
     void setup() {
         this.resourceLoader = Mock(ResourceLoader)
-        this.jobPersistenceService = Mock(JobPersistenceService)
+        this.jobStatusCacheService = Mock(JobStatusCacheService)
         this.jobFileService = Mock(JobFileService)
         this.agentFileStreamService = Mock(AgentFileStreamService)
         this.meterRegistry = Mock(MeterRegistry)
         this.handlerFactory = Mock(JobDirectoryServerServiceImpl.GenieResourceHandler.Factory)
         this.handler = Mock(JobDirectoryServerServiceImpl.GenieResourceHandler)
-        this.service = new JobDirectoryServerServiceImpl(resourceLoader, jobPersistenceService, jobFileService, agentFileStreamService, meterRegistry, handlerFactory)
+        this.service = new JobDirectoryServerServiceImpl(
+            resourceLoader,
+            jobStatusCacheService,
+            jobFileService,
+            agentFileStreamService,
+            meterRegistry,
+            handlerFactory
+        )
 
         this.request = Mock(HttpServletRequest)
         this.response = Mock(HttpServletResponse)
@@ -82,20 +89,7 @@ class JobDirectoryServerServiceImplSpec extends Specification {
         service.serveResource(JOB_ID, BASE_URL, relPath, request, response)
 
         then:
-        1 * jobPersistenceService.getJobStatus(JOB_ID) >> { throw e }
-        1 * response.sendError(404, e.getMessage())
-    }
-
-    def "ServeResource -- job not found (v4)"() {
-        setup:
-        Exception e = new GenieJobNotFoundException("...")
-
-        when:
-        service.serveResource(JOB_ID, BASE_URL, relPath, request, response)
-
-        then:
-        1 * jobPersistenceService.getJobStatus(JOB_ID) >> JobStatus.RUNNING
-        1 * jobPersistenceService.isV4(JOB_ID) >> { throw e }
+        1 * jobStatusCacheService.getJobStatusInfo(JOB_ID) >> { throw e }
         1 * response.sendError(404, e.getMessage())
     }
 
@@ -108,8 +102,7 @@ class JobDirectoryServerServiceImplSpec extends Specification {
         service.serveResource(JOB_ID, BASE_URL, relPath, request, response)
 
         then:
-        1 * jobPersistenceService.getJobStatus(JOB_ID) >> JobStatus.RUNNING
-        1 * jobPersistenceService.isV4(JOB_ID) >> true
+        1 * jobStatusCacheService.getJobStatusInfo(JOB_ID) >> new JobStatusInfo(JobStatus.RUNNING, true, null)
         1 * agentFileStreamService.getManifest(JOB_ID) >> Optional.empty()
         1 * response.sendError(503, _ as String)
     }
@@ -121,8 +114,7 @@ class JobDirectoryServerServiceImplSpec extends Specification {
         service.serveResource(JOB_ID, BASE_URL, relPath, request, response)
 
         then:
-        1 * jobPersistenceService.getJobStatus(JOB_ID) >> JobStatus.RUNNING
-        1 * jobPersistenceService.isV4(JOB_ID) >> true
+        1 * jobStatusCacheService.getJobStatusInfo(JOB_ID) >> new JobStatusInfo(JobStatus.RUNNING, true, null)
         1 * agentFileStreamService.getManifest(JOB_ID) >> Optional.of(manifest)
         1 * manifest.getEntry(relPath) >> Optional.empty()
         1 * response.sendError(404, _ as String)
@@ -135,8 +127,7 @@ class JobDirectoryServerServiceImplSpec extends Specification {
         service.serveResource(JOB_ID, BASE_URL, relPath, request, response)
 
         then:
-        1 * jobPersistenceService.getJobStatus(JOB_ID) >> JobStatus.RUNNING
-        1 * jobPersistenceService.isV4(JOB_ID) >> true
+        1 * jobStatusCacheService.getJobStatusInfo(JOB_ID) >> new JobStatusInfo(JobStatus.RUNNING, true, null)
         1 * agentFileStreamService.getManifest(JOB_ID) >> Optional.of(manifest)
         1 * manifest.getEntry(relPath) >> Optional.of(manifestEntry)
         1 * manifestEntry.isDirectory() >> false
@@ -152,9 +143,57 @@ class JobDirectoryServerServiceImplSpec extends Specification {
         this.service.serveResource(JOB_ID, BASE_URL, relPath, request, response)
 
         then:
-        1 * this.jobPersistenceService.getJobStatus(JOB_ID) >> JobStatus.SUCCEEDED
-        1 * this.jobPersistenceService.isV4(JOB_ID) >> false
-        1 * this.jobPersistenceService.getJobArchiveLocation(JOB_ID) >> Optional.empty()
+        2 * this.jobStatusCacheService.getJobStatusInfo(JOB_ID) >> new JobStatusInfo(JobStatus.SUCCEEDED, false, null)
+        1 * this.jobFileService.getJobFileAsResource(JOB_ID, "") >> resource
+        1 * resource.exists() >> false
         1 * response.sendError(HttpStatus.NOT_FOUND.value(), "Job " + JOB_ID + " wasn't archived")
     }
+
+    def "Job done but archive not uploaded yet falls back to the agent"() {
+        setup:
+        def archiveLocation = "s3://genie/jobs/" + JOB_ID
+        def manifestResource = Mock(Resource)
+
+        when:
+        this.service.serveResource(JOB_ID, BASE_URL, relPath, request, response)
+
+        then:
+        2 * this.jobStatusCacheService.getJobStatusInfo(JOB_ID) >> new JobStatusInfo(
+            JobStatus.SUCCEEDED,
+            true,
+            archiveLocation
+        )
+        1 * this.resourceLoader.getResource({ it.startsWith(archiveLocation) }) >> manifestResource
+        1 * manifestResource.exists() >> false
+        1 * agentFileStreamService.getManifest(JOB_ID) >> Optional.of(manifest)
+        1 * manifest.getEntry(relPath) >> Optional.of(manifestEntry)
+        1 * manifestEntry.isDirectory() >> false
+        1 * manifestEntry.getPath() >> relPath
+        1 * resourceLoader.getResource(EXPECTED_V4_FILE_URI.toString()) >> resource
+        1 * manifestEntry.getMimeType() >> Optional.of(MediaType.TEXT_PLAIN_VALUE)
+        1 * handlerFactory.get(MediaType.TEXT_PLAIN_VALUE, resource) >> handler
+        1 * handler.handleRequest(request, response)
+        0 * response.sendError(_, _)
+    }
+
+    def "Job done but archive not uploaded yet and no other copy returns 503"() {
+        setup:
+        def archiveLocation = "s3://genie/jobs/" + JOB_ID
+        def manifestResource = Mock(Resource)
+
+        when:
+        this.service.serveResource(JOB_ID, BASE_URL, relPath, request, response)
+
+        then:
+        2 * this.jobStatusCacheService.getJobStatusInfo(JOB_ID) >> new JobStatusInfo(
+            JobStatus.FAILED,
+            false,
+            archiveLocation
+        )
+        1 * this.resourceLoader.getResource({ it.startsWith(archiveLocation) }) >> manifestResource
+        1 * manifestResource.exists() >> false
+        1 * this.jobFileService.getJobFileAsResource(JOB_ID, "") >> resource
+        1 * resource.exists() >> false
+        1 * response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), _ as String)
+    }
 }
@@ -0,0 +1,173 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.services.impl
+
+import com.netflix.genie.common.dto.JobStatus
+import com.netflix.genie.common.exceptions.GenieNotFoundException
+import com.netflix.genie.web.events.JobStateChangeEvent
+import com.netflix.genie.web.properties.JobsStatusCacheProperties
+import com.netflix.genie.web.services.JobPersistenceService
+import com.netflix.genie.web.services.JobStatusInfo
+import io.micrometer.core.instrument.Counter
+import io.micrometer.core.instrument.MeterRegistry
+import spock.lang.Specification
+
+/**
+ * Specifications for {@link JobStatusCacheServiceImpl}.
+ *
+ * @author tgianos
+ */
+class JobStatusCacheServiceImplSpec extends Specification {
+
+    static final String JOB_ID = UUID.randomUUID().toString()
+
+    JobPersistenceService jobPersistenceService
+    JobsStatusCacheProperties properties
+    MeterRegistry registry
+    Counter hitCounter
+    Counter missCounter
+
+    def setup() {
+        this.jobPersistenceService = Mock(JobPersistenceService)
+        this.properties = new JobsStatusCacheProperties()
+        this.registry = Mock(MeterRegistry)
+        this.hitCounter = Mock(Counter)
+        this.missCounter = Mock(Counter)
+    }
+
+    def "Statuses are read once and then served from the cache"() {
+        def info = new JobStatusInfo(JobStatus.RUNNING, true, null)
+        def service = this.createService()
+
+        when:
+        def first = service.getJobStatusInfo(JOB_ID)
+
+        then:
+        1 * this.jobPersistenceService.getJobStatusInfo(JOB_ID) >> info
+        1 * this.missCounter.increment()
+        0 * this.hitCounter.increment()
+        first == info
+
+        when:
+        def second = service.getJobStatus(JOB_ID)
+
+        then:
+        0 * this.jobPersistenceService.getJobStatusInfo(_ as String)
+        1 * this.hitCounter.increment()
+        0 * this.missCounter.increment()
+        second == JobStatus.RUNNING
+    }
+
+    def "Job not found isn't cached"() {
+        def service = this.createService()
+
+        when:
+        service.getJobStatusInfo(JOB_ID)
+
+        then:
+        1 * this.jobPersistenceService.getJobStatusInfo(JOB_ID) >> { throw new GenieNotFoundException("...") }
+        thrown(GenieNotFoundException)
+
+        when:
+        def info = service.getJobStatusInfo(JOB_ID)
+
+        then:
+        1 * this.jobPersistenceService.getJobStatusInfo(JOB_ID) >> new JobStatusInfo(JobStatus.INIT, true, null)
+        info.getStatus() == JobStatus.INIT
+    }
+
+    def "Active statuses expire and are read again"() {
+        this.properties.setActiveTtl(0L)
+        def service = this.createService()
+
+        when:
+        service.getJobStatus(JOB_ID)
+        def status = service.getJobStatus(JOB_ID)
+
+        then:
+        2 * this.jobPersistenceService.getJobStatusInfo(JOB_ID) >>> [
+            new JobStatusInfo(JobStatus.RUNNING, true, null),
+            new JobStatusInfo(JobStatus.SUCCEEDED, true, "s3://genie/jobs/" + JOB_ID)
+        ]
+        status == JobStatus.SUCCEEDED
+    }
+
+    def "State change events update the cache and finished statuses take precedence"() {
+        def service = this.createService()
+        def archiveLocation = "s3://genie/jobs/" + JOB_ID
+
+        when:
+        service.onJobStateChange(this.createEvent(JobStatus.INIT, JobStatus.RUNNING, null))
+        def running = service.getJobStatusInfo(JOB_ID)
+
+        then:
+        0 * this.jobPersistenceService.getJobStatusInfo(_ as String)
+        running.getStatus() == JobStatus.RUNNING
+        running.isV4()
+        !running.getArchiveLocation().isPresent()
+
+        when:
+        service.onJobStateChange(this.createEvent(JobStatus.RUNNING, JobStatus.KILLED, archiveLocation))
+        service.onJobStateChange(this.createEvent(JobStatus.INIT, JobStatus.RUNNING, null))
+        def killed = service.getJobStatusInfo(JOB_ID)
+
+        then:
+        0 * this.jobPersistenceService.getJobStatusInfo(_ as String)
+        killed.getStatus() == JobStatus.KILLED
+        killed.getArchiveLocation().orElse(null) == archiveLocation
+    }
+
+    def "Disabled cache always reads from the persistence service"() {
+        this.properties.setEnabled(false)
+        def service = this.createService()
+
+        when:
+        service.onJobStateChange(this.createEvent(JobStatus.INIT, JobStatus.RUNNING, null))
+        service.getJobStatus(JOB_ID)
+        service.getJobStatus(JOB_ID)
+
+        then:
+        2 * this.jobPersistenceService.getJobStatusInfo(JOB_ID) >> new JobStatusInfo(JobStatus.RUNNING, true, null)
+        0 * this.hitCounter.increment()
+        0 * this.missCounter.increment()
+    }
+
+    private JobStatusCacheServiceImpl createService() {
+        this.registry.counter(JobStatusCacheServiceImpl.CACHE_HIT_COUNTER_NAME) >> this.hitCounter
+        this.registry.counter(JobStatusCacheServiceImpl.CACHE_MISS_COUNTER_NAME) >> this.missCounter
+        return new JobStatusCacheServiceImpl(this.jobPersistenceService, this.properties, this.registry)
+    }
+
+    private JobStateChangeEvent createEvent(
+        final JobStatus previousStatus,
+        final JobStatus newStatus,
+        final String archiveLocation
+    ) {
+        return new JobStateChangeEvent(
+            JOB_ID,
+            previousStatus,
+            newStatus,
+            "tgianos",
+            "genie.netflix.net",
+            1_024,
+            true,
+            archiveLocation,
+            this
+        )
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.services.impl
+
+import com.google.common.collect.Sets
+import com.netflix.genie.common.dto.JobStatus
+import com.netflix.genie.common.exceptions.GenieNotFoundException
+import com.netflix.genie.web.events.JobStateChangeEvent
+import com.netflix.genie.web.services.JobStatusCacheService
+import com.netflix.genie.web.services.JobStatusWatchService
+import org.springframework.core.task.SyncTaskExecutor
+import org.springframework.scheduling.TaskScheduler
+import spock.lang.Specification
+
+/**
+ * Specifications for {@link JobStatusWatchServiceImpl}.
+ *
+ * @author tgianos
+ */
+class JobStatusWatchServiceImplSpec extends Specification {
+
+    static final long CHECK_INTERVAL = 1_000L
+
+    JobStatusCacheService jobStatusCacheService
+    TaskScheduler scheduler
+    JobStatusWatchService.Subscriber subscriber
+    JobStatusWatchServiceImpl service
+
+    def setup() {
+        this.jobStatusCacheService = Mock(JobStatusCacheService)
+        this.scheduler = Mock(TaskScheduler)
+        this.subscriber = Mock(JobStatusWatchService.Subscriber)
+        this.service = new JobStatusWatchServiceImpl(
+            this.jobStatusCacheService,
+            this.scheduler,
+            new SyncTaskExecutor(),
+            CHECK_INTERVAL
+        )
+    }
+
+    def "Checks for changes are scheduled"() {
+        def scheduler = Mock(TaskScheduler)
+
+        when:
+        new JobStatusWatchServiceImpl(this.jobStatusCacheService, scheduler, new SyncTaskExecutor(), CHECK_INTERVAL)
+
+        then:
+        1 * scheduler.scheduleWithFixedDelay(_ as Runnable, CHECK_INTERVAL)
+    }
+
+    def "Current statuses are delivered then only changes"() {
+        def jobId1 = UUID.randomUUID().toString()
+        def jobId2 = UUID.randomUUID().toString()
+
+        when:
+        def subscription = this.service.watch(Sets.newHashSet(jobId1, jobId2), this.subscriber)
+
+        then:
+        1 * this.jobStatusCacheService.getJobStatus(jobId1) >> JobStatus.RUNNING
+        1 * this.jobStatusCacheService.getJobStatus(jobId2) >> JobStatus.INIT
+        1 * this.subscriber.onStatusChange(jobId1, JobStatus.RUNNING)
+        1 * this.subscriber.onStatusChange(jobId2, JobStatus.INIT)
+        this.service.getNumWatchedJobs() == 2
+
+        when:
+        this.service.checkWatchedJobs()
+
+        then:
+        1 * this.jobStatusCacheService.getJobStatus(jobId1) >> JobStatus.RUNNING
+        1 * this.jobStatusCacheService.getJobStatus(jobId2) >> JobStatus.RUNNING
+        0 * this.subscriber.onStatusChange(jobId1, _ as JobStatus)
+        1 * this.subscriber.onStatusChange(jobId2, JobStatus.RUNNING)
+
+        when:
+        subscription.cancel()
+        this.service.checkWatchedJobs()
+
+        then:
+        0 * this.jobStatusCacheService.getJobStatus(_ as String)
+        0 * this.subscriber.onStatusChange(_ as String, _ as JobStatus)
+        this.service.getNumWatchedJobs() == 0
+    }
+
+    def "Status changes are delivered on the delivery executor"() {
+        def jobId = UUID.randomUUID().toString()
+        List<Runnable> deliveries = []
+        def service = new JobStatusWatchServiceImpl(
+            this.jobStatusCacheService,
+            this.scheduler,
+            { Runnable task -> deliveries.add(task) },
+            CHECK_INTERVAL
+        )
+
+        when:
+        service.watch(Sets.newHashSet(jobId), this.subscriber)
+
+        then:
+        1 * this.jobStatusCacheService.getJobStatus(jobId) >> JobStatus.INIT
+        0 * this.subscriber.onStatusChange(_ as String, _ as JobStatus)
+        deliveries.size() == 1
+
+        when: "Changes arrive before the previous ones were delivered"
+        service.onJobStateChange(this.createEvent(jobId, JobStatus.INIT, JobStatus.RUNNING))
+        service.onJobStateChange(this.createEvent(jobId, JobStatus.RUNNING, JobStatus.SUCCEEDED))
+
+        then: "They are queued behind them without another delivery task"
+        0 * this.subscriber.onStatusChange(_ as String, _ as JobStatus)
+        0 * this.scheduler._
+        deliveries.size() == 1
+        service.getNumWatchedJobs() == 0
+
+        when:
+        deliveries.remove(0).run()
+
+        then: "They are delivered in order"
+        1 * this.subscriber.onStatusChange(jobId, JobStatus.INIT)
+
+        then:
+        1 * this.subscriber.onStatusChange(jobId, JobStatus.RUNNING)
+
+        then:
+        1 * this.subscriber.onStatusChange(jobId, JobStatus.SUCCEEDED)
+        deliveries.isEmpty()
+
+        when: "A stale status is read after the job finished"
+        service.checkWatchedJobs()
+
+        then:
+        0 * this.jobStatusCacheService.getJobStatus(_ as String)
+        0 * this.subscriber.onStatusChange(_ as String, _ as JobStatus)
+        deliveries.isEmpty()
+    }
+
+    def "A subscriber which is slow to take a change doesn't hold up the others"() {
+        def jobId = UUID.randomUUID().toString()
+        def slowSubscriber = Mock(JobStatusWatchService.Subscriber)
+        List<Runnable> deliveries = []
+        def service = new JobStatusWatchServiceImpl(
+            this.jobStatusCacheService,
+            this.scheduler,
+            { Runnable task -> deliveries.add(task) },
+            CHECK_INTERVAL
+        )
+        this.jobStatusCacheService.getJobStatus(jobId) >> JobStatus.RUNNING
+        service.watch(Sets.newHashSet(jobId), slowSubscriber)
+        def slowDelivery = deliveries.remove(0)
+        service.watch(Sets.newHashSet(jobId), this.subscriber)
+
+        when:
+        deliveries.remove(0).run()
+        service.onJobStateChange(this.createEvent(jobId, JobStatus.RUNNING, JobStatus.KILLED))
+        deliveries.remove(0).run()
+
+        then:
+        1 * this.subscriber.onStatusChange(jobId, JobStatus.RUNNING)
+        1 * this.subscriber.onStatusChange(jobId, JobStatus.KILLED)
+        0 * slowSubscriber.onStatusChange(_ as String, _ as JobStatus)
+        deliveries.isEmpty()
+
+        when:
+        slowDelivery.run()
+
+        then:
+        1 * slowSubscriber.onStatusChange(jobId, JobStatus.RUNNING)
+        1 * slowSubscriber.onStatusChange(jobId, JobStatus.KILLED)
+    }
+
+    def "Events for jobs nobody watches are ignored"() {
+        def event = this.createEvent(UUID.randomUUID().toString(), JobStatus.INIT, JobStatus.RUNNING)
+
+        when:
+        this.service.onJobStateChange(event)
+
+        then:
+        0 * this.subscriber.onStatusChange(_ as String, _ as JobStatus)
+        this.service.getNumWatchedJobs() == 0
+    }
+
+    def "Nothing is watched if a job doesn't exist"() {
+        def jobId1 = UUID.randomUUID().toString()
+        def jobId2 = UUID.randomUUID().toString()
+
+        when:
+        this.service.watch(Sets.newLinkedHashSet([jobId1, jobId2]), this.subscriber)
+
+        then:
+        1 * this.jobStatusCacheService.getJobStatus(jobId1) >> JobStatus.RUNNING
+        1 * this.jobStatusCacheService.getJobStatus(jobId2) >> { throw new GenieNotFoundException("...") }
+        thrown(GenieNotFoundException)
+        this.service.getNumWatchedJobs() == 0
+    }
+
+    def "Subscription is cancelled when a status can't be delivered"() {
+        def jobId = UUID.randomUUID().toString()
+
+        when:
+        this.service.watch(Sets.newHashSet(jobId), this.subscriber)
+
+        then:
+        1 * this.jobStatusCacheService.getJobStatus(jobId) >> JobStatus.INIT
+        1 * this.subscriber.onStatusChange(jobId, JobStatus.INIT) >> { throw new IOException("broken pipe") }
+        this.service.getNumWatchedJobs() == 0
+    }
+
+    def "A failure to check one job doesn't prevent checking the others"() {
+        def jobId1 = UUID.randomUUID().toString()
+        def jobId2 = UUID.randomUUID().toString()
+        this.jobStatusCacheService.getJobStatus(jobId1) >> JobStatus.RUNNING
+        this.jobStatusCacheService.getJobStatus(jobId2) >> JobStatus.RUNNING
+        this.service.watch(Sets.newHashSet(jobId1), this.subscriber)
+        this.service.watch(Sets.newHashSet(jobId2), this.subscriber)
+
+        when:
+        this.service.checkWatchedJobs()
+
+        then:
+        1 * this.jobStatusCacheService.getJobStatus(jobId1) >> { throw new RuntimeException("oops") }
+        1 * this.jobStatusCacheService.getJobStatus(jobId2) >> JobStatus.KILLED
+        1 * this.subscriber.onStatusChange(jobId2, JobStatus.KILLED)
+    }
+
+    private JobStateChangeEvent createEvent(
+        final String jobId,
+        final JobStatus previousStatus,
+        final JobStatus newStatus
+    ) {
+        return new JobStateChangeEvent(
+            jobId,
+            previousStatus,
+            newStatus,
+            "tgianos",
+            "genie.netflix.net",
+            1_024,
+            true,
+            null,
+            this
+        )
+    }
+}
@@ -41,4 +41,12 @@ class JobCompletionHandlerSpec extends Specification {
         thrown(GenieException)
         1 * jobCompletionService.handleJobCompletion(null) >> { throw new GenieException(1, "") }
     }
+
+    def "Archival of job directories is resumed on startup"() {
+        when:
+        jobCompletionHandler.onStartup(null)
+
+        then:
+        1 * jobCompletionService.resumeArchival()
+    }
 }
@@ -28,6 +28,7 @@ import com.netflix.genie.common.dto.JobRequest
 import com.netflix.genie.common.dto.JobStatus
 import com.netflix.genie.common.exceptions.GenieServerException
 import com.netflix.genie.common.internal.services.JobArchiveService
+import com.netflix.genie.common.internal.util.GenieHostInfo
 import com.netflix.genie.web.events.JobFinishedEvent
 import com.netflix.genie.web.events.JobFinishedReason
 import com.netflix.genie.web.properties.JobsProperties
@@ -43,6 +44,8 @@ import org.assertj.core.util.Sets
 import org.junit.Rule
 import org.junit.rules.TemporaryFolder
 import org.springframework.core.io.FileSystemResource
+import org.springframework.core.task.SyncTaskExecutor
+import org.springframework.core.task.TaskExecutor
 import org.springframework.retry.support.RetryTemplate
 import spock.lang.Specification
 
@@ -57,6 +60,7 @@ class JobCompletionServiceSpec extends Specification {
     private static final String NAME = UUID.randomUUID().toString()
     private static final String USER = UUID.randomUUID().toString()
     private static final String VERSION = UUID.randomUUID().toString()
+    private static final String HOSTNAME = UUID.randomUUID().toString()
     private static final List<String> COMMAND_ARGS = Lists.newArrayList(UUID.randomUUID().toString())
     JobPersistenceService jobPersistenceService
     JobSearchService jobSearchService
@@ -67,6 +71,8 @@ class JobCompletionServiceSpec extends Specification {
     MeterRegistry registry
     io.micrometer.core.instrument.Timer completionTimer
     Set<Tag> timerTagsCapture
+    io.micrometer.core.instrument.Timer archiveTimer
+    Set<Tag> archiveTimerTagsCapture
     Counter errorCounter
     List<Set<Tag>> counterTagsCaptures
 
@@ -90,6 +96,11 @@ class JobCompletionServiceSpec extends Specification {
             timerTagsCapture = (Set<Tag>) args[1]
             return completionTimer
         }
+        archiveTimer = Mock(io.micrometer.core.instrument.Timer.class)
+        registry.timer(JobCompletionService.JOB_ARCHIVE_TIMER_NAME, _ as Set<Tag>) >> { args ->
+            archiveTimerTagsCapture = (Set<Tag>) args[1]
+            return archiveTimer
+        }
         registry.counter(JobCompletionService.JOB_COMPLETION_ERROR_COUNTER_NAME, _ as Set<Tag>) >> { args ->
             counterTagsCaptures.add((Set<Tag>) args[1])
             return errorCounter
@@ -104,7 +115,9 @@ class JobCompletionServiceSpec extends Specification {
             mailService,
             registry,
             jobsProperties,
-            new RetryTemplate()
+            new RetryTemplate(),
+            new SyncTaskExecutor(),
+            new GenieHostInfo(HOSTNAME)
         )
     }
 
@@ -150,6 +163,11 @@ class JobCompletionServiceSpec extends Specification {
             Tag.of(MetricsConstants.TagKeys.STATUS, MetricsConstants.TagValues.SUCCESS),
             Tag.of(JobCompletionService.JOB_FINAL_STATE, JobStatus.FAILED.toString())
         )
+        1 * archiveTimer.record(_ as Long, TimeUnit.NANOSECONDS)
+        archiveTimerTagsCapture == ImmutableSet.of(
+            Tag.of(MetricsConstants.TagKeys.EXCEPTION_CLASS, NullPointerException.class.canonicalName),
+            Tag.of(MetricsConstants.TagKeys.STATUS, MetricsConstants.TagValues.FAILURE)
+        )
         4 * errorCounter.increment()
         counterTagsCaptures.containsAll(ImmutableList.of(
             ImmutableSet.of(
@@ -189,6 +207,154 @@ class JobCompletionServiceSpec extends Specification {
         3 * errorCounter.increment()
     }
 
+    def "final status is recorded before the job directory is archived"() {
+        def jobId = UUID.randomUUID().toString()
+        def archiveTasks = new ArrayList<Runnable>()
+        def archiveExecutor = Mock(TaskExecutor) {
+            execute(_ as Runnable) >> { args -> archiveTasks.add((Runnable) args[0]) }
+        }
+        def service = new JobCompletionService(
+            jobPersistenceService,
+            jobSearchService,
+            jobArchiveService,
+            new FileSystemResource(tmpJobDir.getRoot()),
+            mailService,
+            registry,
+            jobsProperties,
+            new RetryTemplate(),
+            archiveExecutor,
+            new GenieHostInfo(HOSTNAME)
+        )
+
+        when:
+        service.handleJobCompletion(new JobFinishedEvent(jobId, JobFinishedReason.KILLED, "null", this))
+
+        then:
+        1 * jobSearchService.getJob(jobId) >> new Job.Builder(NAME, USER, VERSION)
+            .withId(jobId).withStatus(JobStatus.RUNNING).withCommandArgs(COMMAND_ARGS).build()
+        1 * jobPersistenceService.updateJobStatus(jobId, _ as JobStatus, _ as String)
+        0 * jobArchiveService.archiveDirectory(_, _)
+        0 * archiveTimer.record(_ as Long, TimeUnit.NANOSECONDS)
+        archiveTasks.size() == 1
+
+        when:
+        archiveTasks.get(0).run()
+
+        then:
+        1 * jobSearchService.getJobStatus(jobId) >> JobStatus.KILLED
+        1 * archiveTimer.record(_ as Long, TimeUnit.NANOSECONDS)
+        archiveTimerTagsCapture == ImmutableSet.of(
+            Tag.of(MetricsConstants.TagKeys.STATUS, MetricsConstants.TagValues.SUCCESS)
+        )
+    }
+
+    def "pending archival is recorded before the final status and cleared once the directory is archived"() {
+        def jobId = UUID.randomUUID().toString()
+        def archiveTasks = new ArrayList<Runnable>()
+        def archiveExecutor = Mock(TaskExecutor) {
+            execute(_ as Runnable) >> { args -> archiveTasks.add((Runnable) args[0]) }
+        }
+        def service = new JobCompletionService(
+            jobPersistenceService,
+            jobSearchService,
+            jobArchiveService,
+            new FileSystemResource(tmpJobDir.getRoot()),
+            mailService,
+            registry,
+            jobsProperties,
+            new RetryTemplate(),
+            archiveExecutor,
+            new GenieHostInfo(HOSTNAME)
+        )
+
+        when:
+        service.handleJobCompletion(new JobFinishedEvent(jobId, JobFinishedReason.KILLED, "null", this))
+
+        then:
+        1 * jobSearchService.getJob(jobId) >> new Job.Builder(NAME, USER, VERSION)
+            .withId(jobId)
+            .withStatus(JobStatus.RUNNING)
+            .withCommandArgs(COMMAND_ARGS)
+            .withArchiveLocation("file:/tmp/" + jobId)
+            .build()
+        1 * jobPersistenceService.setArchivePending(jobId, true)
+
+        then:
+        1 * jobPersistenceService.updateJobStatus(jobId, _ as JobStatus, _ as String)
+        0 * jobPersistenceService.setArchivePending(jobId, false)
+        archiveTasks.size() == 1
+
+        when:
+        archiveTasks.get(0).run()
+
+        then:
+        1 * jobSearchService.getJobStatus(jobId) >> JobStatus.KILLED
+        1 * jobPersistenceService.setArchivePending(jobId, false)
+    }
+
+    def "archival pending on this host is resumed for finished jobs only"() {
+        def finishedJobId = UUID.randomUUID().toString()
+        def runningJobId = UUID.randomUUID().toString()
+        def archiveTasks = new ArrayList<Runnable>()
+        def archiveExecutor = Mock(TaskExecutor) {
+            execute(_ as Runnable) >> { args -> archiveTasks.add((Runnable) args[0]) }
+        }
+        def service = new JobCompletionService(
+            jobPersistenceService,
+            jobSearchService,
+            jobArchiveService,
+            new FileSystemResource(tmpJobDir.getRoot()),
+            mailService,
+            registry,
+            jobsProperties,
+            new RetryTemplate(),
+            archiveExecutor,
+            new GenieHostInfo(HOSTNAME)
+        )
+        def finishedJob = new Job.Builder(NAME, USER, VERSION)
+            .withId(finishedJobId)
+            .withStatus(JobStatus.SUCCEEDED)
+            .withCommandArgs(COMMAND_ARGS)
+            .withArchiveLocation("file:/tmp/" + finishedJobId)
+            .build()
+        def runningJob = new Job.Builder(NAME, USER, VERSION)
+            .withId(runningJobId)
+            .withStatus(JobStatus.RUNNING)
+            .withCommandArgs(COMMAND_ARGS)
+            .withArchiveLocation("file:/tmp/" + runningJobId)
+            .build()
+
+        when:
+        service.resumeArchival()
+
+        then:
+        1 * jobSearchService.getAllJobsPendingArchivalOnHost(HOSTNAME) >> ImmutableSet.of(finishedJob, runningJob)
+        archiveTasks.size() == 1
+
+        when: "The archival is still in progress when resuming again"
+        service.resumeArchival()
+
+        then:
+        1 * jobSearchService.getAllJobsPendingArchivalOnHost(HOSTNAME) >> ImmutableSet.of(finishedJob)
+        archiveTasks.size() == 1
+
+        when:
+        archiveTasks.get(0).run()
+
+        then:
+        1 * jobSearchService.getJobStatus(finishedJobId) >> JobStatus.SUCCEEDED
+        1 * jobPersistenceService.setArchivePending(finishedJobId, false)
+        0 * jobPersistenceService.setArchivePending(runningJobId, _)
+
+        when:
+        service.resumeArchival()
+
+        then:
+        1 * jobSearchService.getAllJobsPendingArchivalOnHost(HOSTNAME) >> { throw new RuntimeException("down") }
+        noExceptionThrown()
+        archiveTasks.size() == 1
+    }
+
     def deleteDependenciesDirectories() {
         given:
         def tempDirPath = tmpJobDir.getRoot().getAbsolutePath()
@@ -20,40 +20,55 @@ package com.netflix.genie.web.tasks.leader
 import com.google.common.collect.Sets
 import com.netflix.genie.common.dto.JobStatus
 import com.netflix.genie.common.exceptions.GenieException
+import com.netflix.genie.web.events.AgentConnectionEvent
 import com.netflix.genie.web.properties.AgentCleanupProperties
+import com.netflix.genie.web.services.AgentRoutingService
 import com.netflix.genie.web.services.JobPersistenceService
 import com.netflix.genie.web.services.JobSearchService
 import com.netflix.genie.web.tasks.GenieTaskScheduleType
 import com.netflix.genie.web.util.MetricsUtils
 import io.micrometer.core.instrument.Counter
 import io.micrometer.core.instrument.MeterRegistry
+import org.springframework.scheduling.TaskScheduler
 import spock.lang.Specification
 
+import java.time.Instant
+import java.util.concurrent.ScheduledFuture
+
 class AgentJobCleanupTaskSpec extends Specification {
 
     AgentJobCleanupTask task
     JobSearchService jobSearchService
     JobPersistenceService jobPersistenceService
+    AgentRoutingService agentRoutingService
     AgentCleanupProperties taskProperties
+    TaskScheduler taskScheduler
     MeterRegistry registry
     Counter counter
+    ScheduledFuture future
+    List<Runnable> deadlines
 
     void setup() {
         this.jobSearchService = Mock(JobSearchService)
         this.jobPersistenceService = Mock(JobPersistenceService)
+        this.agentRoutingService = Mock(AgentRoutingService)
         this.taskProperties = Mock(AgentCleanupProperties)
+        this.taskScheduler = Mock(TaskScheduler)
         this.registry = Mock(MeterRegistry)
         this.counter = Mock(Counter)
+        this.future = Mock(ScheduledFuture)
+        this.deadlines = []
         this.task = new AgentJobCleanupTask(
             jobSearchService,
             jobPersistenceService,
+            agentRoutingService,
             taskProperties,
+            taskScheduler,
             registry
         )
     }
 
     def "Run"() {
-
         def e = new GenieException(500, "...")
 
         when:
@@ -65,38 +80,104 @@ class AgentJobCleanupTaskSpec extends Specification {
         period == 1000
         1 * taskProperties.getRefreshInterval() >> 1000
 
-        when:
+        when: "Disconnections are observed before becoming leader"
+        task.onAgentConnectionChange(new AgentConnectionEvent("j0", false, this))
+
+        then: "They are ignored"
+        0 * taskScheduler.schedule(_ as Runnable, _ as Instant)
+
+        when: "Reconciliation finds disconnected jobs"
         task.run()
 
-        then:
+        then: "Deadlines are started for them"
         1 * jobSearchService.getActiveDisconnectedAgentJobs() >> Sets.newHashSet("j1", "j2")
-        2 * taskProperties.getTimeLimit() >> -1 // Make sure it's past deadline next iteration
+        2 * taskProperties.getTimeLimit() >> 1_000L
+        2 * taskScheduler.schedule(_ as Runnable, _ as Instant) >> { args -> captureDeadline(args[0]) }
 
-        when:
+        when: "Reconciliation finds an additional disconnected job"
         task.run()
 
-        then:
-        1 * jobSearchService.getActiveDisconnectedAgentJobs() >> Sets.newHashSet("j1", "j2", "j3", "j4")
-        2 * taskProperties.getTimeLimit() >> 1_000_000L // Make sure it not expiring
+        then: "Only the new job gets a deadline"
+        1 * jobSearchService.getActiveDisconnectedAgentJobs() >> Sets.newHashSet("j1", "j2", "j3")
+        1 * taskProperties.getTimeLimit() >> 1_000L
+        1 * taskScheduler.schedule(_ as Runnable, _ as Instant) >> { args -> captureDeadline(args[0]) }
+        0 * future.cancel(_)
+
+        when: "Reconciliation no longer finds a job disconnected"
+        task.run()
+
+        then: "Its deadline is cancelled"
+        1 * jobSearchService.getActiveDisconnectedAgentJobs() >> Sets.newHashSet("j1", "j2")
+        0 * taskScheduler.schedule(_ as Runnable, _ as Instant)
+        1 * future.cancel(false)
+
+        when: "An agent reconnects to this node"
+        task.onAgentConnectionChange(new AgentConnectionEvent("j2", true, this))
+
+        then: "Its deadline is cancelled"
+        1 * future.cancel(false)
+
+        when: "An agent disconnects from this node"
+        task.onAgentConnectionChange(new AgentConnectionEvent("j4", false, this))
+
+        then: "A deadline is started right away"
+        1 * taskProperties.getTimeLimit() >> 1_000L
+        1 * taskScheduler.schedule(_ as Runnable, _ as Instant) >> { args -> captureDeadline(args[0]) }
+
+        when: "All the deadlines fire"
+        deadlines.each { it.run() }
+
+        then: "Only jobs which are still AWOL are failed"
+        1 * agentRoutingService.getHostnameForAgentConnection("j1") >> Optional.empty()
+        1 * jobPersistenceService.getJobStatus("j1") >> JobStatus.RUNNING
         1 * jobPersistenceService.setJobCompletionInformation("j1", -1, JobStatus.FAILED, AgentJobCleanupTask.STATUS_MESSAGE, null, null)
-        1 * jobPersistenceService.setJobCompletionInformation("j2", -1, JobStatus.FAILED, AgentJobCleanupTask.STATUS_MESSAGE, null, null) >> { throw e }
         1 * registry.counter(AgentJobCleanupTask.TERMINATED_COUNTER_METRIC_NAME, MetricsUtils.newSuccessTagsSet()) >> counter
-        1 * registry.counter(AgentJobCleanupTask.TERMINATED_COUNTER_METRIC_NAME, MetricsUtils.newFailureTagsSetForException(e)) >> counter
-        2 * counter.increment()
+        1 * counter.increment()
+        0 * agentRoutingService.getHostnameForAgentConnection("j2")
+        0 * agentRoutingService.getHostnameForAgentConnection("j3")
+        1 * agentRoutingService.getHostnameForAgentConnection("j4") >> Optional.of("other.node")
+        0 * jobPersistenceService.setJobCompletionInformation("j4", _, _, _, _, _)
 
-        when:
-        task.run()
+        when: "Two more agents disconnect"
+        deadlines.clear()
+        task.onAgentConnectionChange(new AgentConnectionEvent("j5", false, this))
+        task.onAgentConnectionChange(new AgentConnectionEvent("j6", false, this))
 
         then:
-        1 * jobSearchService.getActiveDisconnectedAgentJobs() >> Sets.newHashSet("j2", "j3")
-        1 * jobPersistenceService.setJobCompletionInformation("j2", -1, JobStatus.FAILED, AgentJobCleanupTask.STATUS_MESSAGE, null, null)
-        1 * registry.counter(AgentJobCleanupTask.TERMINATED_COUNTER_METRIC_NAME, MetricsUtils.newSuccessTagsSet()) >> counter
+        2 * taskProperties.getTimeLimit() >> 1_000L
+        2 * taskScheduler.schedule(_ as Runnable, _ as Instant) >> { args -> captureDeadline(args[0]) }
+
+        when: "Their deadlines fire"
+        deadlines.each { it.run() }
+
+        then: "Failures are counted and completed jobs are left alone"
+        1 * agentRoutingService.getHostnameForAgentConnection("j5") >> Optional.empty()
+        1 * jobPersistenceService.getJobStatus("j5") >> JobStatus.RUNNING
+        1 * jobPersistenceService.setJobCompletionInformation("j5", -1, JobStatus.FAILED, AgentJobCleanupTask.STATUS_MESSAGE, null, null) >> { throw e }
+        1 * registry.counter(AgentJobCleanupTask.TERMINATED_COUNTER_METRIC_NAME, MetricsUtils.newFailureTagsSetForException(e)) >> counter
         1 * counter.increment()
+        1 * agentRoutingService.getHostnameForAgentConnection("j6") >> Optional.empty()
+        1 * jobPersistenceService.getJobStatus("j6") >> JobStatus.SUCCEEDED
+        0 * jobPersistenceService.setJobCompletionInformation("j6", _, _, _, _, _)
 
-        when:
-        task.cleanup()
+        when: "Another agent disconnects"
+        task.onAgentConnectionChange(new AgentConnectionEvent("j7", false, this))
 
         then:
-        noExceptionThrown()
+        1 * taskProperties.getTimeLimit() >> 1_000L
+        1 * taskScheduler.schedule(_ as Runnable, _ as Instant) >> { args -> captureDeadline(args[0]) }
+
+        when: "Leadership is revoked"
+        task.cleanup()
+        task.onAgentConnectionChange(new AgentConnectionEvent("j8", false, this))
+
+        then: "Remaining deadlines are cancelled and new disconnections ignored"
+        1 * future.cancel(false)
+        0 * taskScheduler.schedule(_ as Runnable, _ as Instant)
+    }
+
+    private ScheduledFuture captureDeadline(final Runnable deadline) {
+        this.deadlines.add(deadline)
+        return this.future
     }
 }
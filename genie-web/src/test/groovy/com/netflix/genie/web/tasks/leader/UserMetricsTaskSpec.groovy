@@ -17,17 +17,22 @@
  */
 package com.netflix.genie.web.tasks.leader
 
-import com.google.common.collect.Lists
+import com.netflix.genie.common.dto.JobStatus
 import com.netflix.genie.common.dto.UserResourcesSummary
+import com.netflix.genie.web.events.JobStateChangeEvent
 import com.netflix.genie.web.properties.UserMetricsProperties
 import com.netflix.genie.web.services.JobSearchService
 import com.netflix.genie.web.tasks.GenieTaskScheduleType
 import com.netflix.genie.web.util.MetricsConstants
 import io.micrometer.core.instrument.MeterRegistry
-import io.micrometer.core.instrument.Tag
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
 import org.apache.curator.shaded.com.google.common.collect.Maps
 import spock.lang.Specification
 
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
 class UserMetricsTaskSpec extends Specification {
     MeterRegistry registry
     JobSearchService jobSearchService
@@ -35,19 +40,14 @@ class UserMetricsTaskSpec extends Specification {
     UserMetricsTask task
 
     void setup() {
-        this.registry = Mock(MeterRegistry)
+        this.registry = new SimpleMeterRegistry()
         this.jobSearchService = Mock(JobSearchService)
         this.userMetricProperties = Mock(UserMetricsProperties)
+        this.task = new UserMetricsTask(registry, jobSearchService, userMetricProperties)
     }
 
     def "Run"() {
         setup:
-        this.task = new UserMetricsTask(registry, jobSearchService, userMetricProperties)
-
-        Collection<Tag> fooUserTag = Lists.newArrayList(Tag.of(MetricsConstants.TagKeys.USER, "foo"))
-        Collection<Tag> barUserTag = Lists.newArrayList(Tag.of(MetricsConstants.TagKeys.USER, "bar"))
-        Collection<Tag> booUserTag = Lists.newArrayList(Tag.of(MetricsConstants.TagKeys.USER, "boo"))
-
         Map<String, UserResourcesSummary> summariesMap1 = [
             "foo": new UserResourcesSummary("foo", 10, 1024),
             "bar": new UserResourcesSummary("bar", 20, 2048)
@@ -68,117 +68,194 @@ class UserMetricsTaskSpec extends Specification {
         1 * userMetricProperties.getRefreshInterval() >> 10_000
         scheduleType == GenieTaskScheduleType.FIXED_RATE
         10_000L == refreshInterval
+        activeUsers() == 0
 
         when:
         this.task.run()
 
         then:
         1 * jobSearchService.getUserResourcesSummaries() >> summariesMap1
-        1 * registry.gauge(
-            UserMetricsTask.USER_ACTIVE_JOBS_METRIC_NAME,
-            fooUserTag,
-            10
-        )
-        1 * registry.gauge(
-            UserMetricsTask.USER_ACTIVE_JOBS_METRIC_NAME,
-            barUserTag,
-            20
-        )
-        1 * registry.gauge(
-            UserMetricsTask.USER_ACTIVE_MEMORY_METRIC_NAME,
-            fooUserTag,
-            1024
-        )
-        1 * registry.gauge(
-            UserMetricsTask.USER_ACTIVE_MEMORY_METRIC_NAME,
-            barUserTag,
-            2048
-        )
-        1 * registry.gauge(
-            UserMetricsTask.USER_ACTIVE_USERS_METRIC_NAME,
-            2
-        )
+        userJobs("foo") == 10
+        userJobs("bar") == 20
+        userMemory("foo") == 1024
+        userMemory("bar") == 2048
+        activeUsers() == 2
 
         when:
         this.task.run()
 
         then:
         1 * jobSearchService.getUserResourcesSummaries() >> summariesMap2
-        1 * registry.gauge(
-            UserMetricsTask.USER_ACTIVE_JOBS_METRIC_NAME,
-            fooUserTag,
-            30
-        )
-        1 * registry.gauge(
-            UserMetricsTask.USER_ACTIVE_JOBS_METRIC_NAME,
-            barUserTag,
-            0
-        )
-        1 * registry.gauge(
-            UserMetricsTask.USER_ACTIVE_JOBS_METRIC_NAME,
-            booUserTag,
-            1
-        )
-        1 * registry.gauge(
-            UserMetricsTask.USER_ACTIVE_MEMORY_METRIC_NAME,
-            fooUserTag,
-            4096
-        )
-        1 * registry.gauge(
-            UserMetricsTask.USER_ACTIVE_MEMORY_METRIC_NAME,
-            barUserTag,
-            0
-        )
-        1 * registry.gauge(
-            UserMetricsTask.USER_ACTIVE_MEMORY_METRIC_NAME,
-            booUserTag,
-            512
-        )
-        1 * registry.gauge(
-            UserMetricsTask.USER_ACTIVE_USERS_METRIC_NAME,
-            2
-        )
+        userJobs("foo") == 30
+        userJobs("boo") == 1
+        userMemory("foo") == 4096
+        userMemory("boo") == 512
+        !hasUserGauges("bar")
+        activeUsers() == 2
 
         when:
         this.task.run()
 
         then:
         1 * jobSearchService.getUserResourcesSummaries() >> summariesMap3
-        1 * registry.gauge(
-            UserMetricsTask.USER_ACTIVE_JOBS_METRIC_NAME,
-            fooUserTag,
-            0
-        )
-        1 * registry.gauge(
-            UserMetricsTask.USER_ACTIVE_JOBS_METRIC_NAME,
-            booUserTag,
-            0
-        )
-        1 * registry.gauge(
-            UserMetricsTask.USER_ACTIVE_MEMORY_METRIC_NAME,
-            fooUserTag,
-            0
-        )
-        1 * registry.gauge(
-            UserMetricsTask.USER_ACTIVE_MEMORY_METRIC_NAME,
-            booUserTag,
-            0
-        )
-        1 * registry.gauge(
-            UserMetricsTask.USER_ACTIVE_USERS_METRIC_NAME,
-            0
-        )
+        !hasUserGauges("foo")
+        !hasUserGauges("bar")
+        !hasUserGauges("boo")
+        activeUsers() == 0
+    }
+
+    def "Job state changes are applied incrementally while leader"() {
+        when: "Events arrive before the first reconciliation"
+        this.task.onJobStateChange(event("foo", JobStatus.INIT, JobStatus.RUNNING, 512))
+
+        then: "They are ignored"
+        this.registry.find(UserMetricsTask.USER_ACTIVE_JOBS_METRIC_NAME).gauge() == null
+        activeUsers() == 0
 
         when:
         this.task.run()
 
         then:
-        1 * jobSearchService.getUserResourcesSummaries() >> summariesMap3
-        0 * registry.gauge(UserMetricsTask.USER_ACTIVE_JOBS_METRIC_NAME, _, _)
-        0 * registry.gauge(UserMetricsTask.USER_ACTIVE_MEMORY_METRIC_NAME, _, _)
-        1 * registry.gauge(
-            UserMetricsTask.USER_ACTIVE_USERS_METRIC_NAME,
-            0
+        1 * jobSearchService.getUserResourcesSummaries() >> ["foo": new UserResourcesSummary("foo", 10, 1024)]
+        userJobs("foo") == 10
+        userMemory("foo") == 1024
+
+        when: "Jobs start running"
+        this.task.onJobStateChange(event("foo", JobStatus.INIT, JobStatus.RUNNING, 512))
+        this.task.onJobStateChange(event("bar", JobStatus.CLAIMED, JobStatus.RUNNING, 256))
+
+        then:
+        0 * jobSearchService.getUserResourcesSummaries()
+        userJobs("foo") == 11
+        userMemory("foo") == 1536
+        userJobs("bar") == 1
+        userMemory("bar") == 256
+        activeUsers() == 2
+
+        when: "Transitions not involving the running state happen"
+        this.task.onJobStateChange(event("foo", null, JobStatus.ACCEPTED, 512))
+        this.task.onJobStateChange(event("foo", JobStatus.INIT, JobStatus.FAILED, 512))
+
+        then: "Nothing changes"
+        userJobs("foo") == 11
+        userMemory("foo") == 1536
+
+        when: "Jobs finish"
+        this.task.onJobStateChange(event("bar", JobStatus.RUNNING, JobStatus.SUCCEEDED, 256))
+        this.task.onJobStateChange(event("baz", JobStatus.RUNNING, JobStatus.KILLED, null))
+
+        then: "Users without running jobs are no longer published"
+        !hasUserGauges("bar")
+        !hasUserGauges("baz")
+        activeUsers() == 1
+
+        when: "Counts would go below zero"
+        this.task.onJobStateChange(event("bar", JobStatus.INIT, JobStatus.RUNNING, 256))
+        this.task.onJobStateChange(event("bar", JobStatus.RUNNING, JobStatus.SUCCEEDED, 256))
+        this.task.onJobStateChange(event("foo", JobStatus.RUNNING, JobStatus.SUCCEEDED, 2048))
+
+        then: "They stop at zero"
+        !hasUserGauges("bar")
+        userJobs("foo") == 10
+        userMemory("foo") == 0
+        activeUsers() == 1
+
+        when: "Leadership is revoked"
+        this.task.cleanup()
+        this.task.onJobStateChange(event("foo", JobStatus.INIT, JobStatus.RUNNING, 512))
+
+        then: "Metrics are removed and further events ignored"
+        !hasUserGauges("foo")
+        activeUsers() == 0
+    }
+
+    def "Job state changes during a reconciliation aren't held up or lost"() {
+        def queryStarted = new CountDownLatch(1)
+        def queryReleased = new CountDownLatch(1)
+        def executor = Executors.newSingleThreadExecutor()
+        def summaries = [
+            "foo": new UserResourcesSummary("foo", 10, 1024),
+            "bar": new UserResourcesSummary("bar", 1, 256)
+        ]
+
+        when: "Job state changes arrive while the database is queried"
+        def reconciliation = executor.submit({ this.task.run() } as Runnable)
+        queryStarted.await(10, TimeUnit.SECONDS)
+        this.task.onJobStateChange(event("foo", JobStatus.INIT, JobStatus.RUNNING, 512))
+        this.task.onJobStateChange(event("bar", JobStatus.RUNNING, JobStatus.SUCCEEDED, 256))
+        queryReleased.countDown()
+        reconciliation.get(10, TimeUnit.SECONDS)
+        executor.shutdownNow()
+
+        then: "They are applied on top of the query result"
+        1 * jobSearchService.getUserResourcesSummaries() >> {
+            queryStarted.countDown()
+            queryReleased.await()
+            return summaries
+        }
+        userJobs("foo") == 11
+        userMemory("foo") == 1536
+        !hasUserGauges("bar")
+        activeUsers() == 1
+
+        when: "Leadership is revoked while the database is queried"
+        this.task.run()
+
+        then: "Nothing is published"
+        1 * jobSearchService.getUserResourcesSummaries() >> {
+            this.task.cleanup()
+            return summaries
+        }
+        !hasUserGauges("foo")
+        !hasUserGauges("bar")
+        activeUsers() == 0
+    }
+
+    private double userJobs(final String user) {
+        return this.registry
+            .get(UserMetricsTask.USER_ACTIVE_JOBS_METRIC_NAME)
+            .tag(MetricsConstants.TagKeys.USER, user)
+            .gauge()
+            .value()
+    }
+
+    private double userMemory(final String user) {
+        return this.registry
+            .get(UserMetricsTask.USER_ACTIVE_MEMORY_METRIC_NAME)
+            .tag(MetricsConstants.TagKeys.USER, user)
+            .gauge()
+            .value()
+    }
+
+    private boolean hasUserGauges(final String user) {
+        return this.registry.find(UserMetricsTask.USER_ACTIVE_JOBS_METRIC_NAME)
+            .tag(MetricsConstants.TagKeys.USER, user)
+            .gauge() != null ||
+            this.registry.find(UserMetricsTask.USER_ACTIVE_MEMORY_METRIC_NAME)
+                .tag(MetricsConstants.TagKeys.USER, user)
+                .gauge() != null
+    }
+
+    private double activeUsers() {
+        return this.registry.get(UserMetricsTask.USER_ACTIVE_USERS_METRIC_NAME).gauge().value()
+    }
+
+    private JobStateChangeEvent event(
+        final String user,
+        final JobStatus previousStatus,
+        final JobStatus newStatus,
+        final Integer memory
+    ) {
+        return new JobStateChangeEvent(
+            UUID.randomUUID().toString(),
+            previousStatus,
+            newStatus,
+            user,
+            "localhost",
+            memory,
+            true,
+            null,
+            this
         )
     }
 }
@@ -80,6 +80,11 @@ public class GenieHealthAutoConfigurationTest {
             };
         }
 
+        @Bean
+        public JobMetricsService jobMonitoringCoordinator() {
+            return Mockito.mock(JobMetricsService.class);
+        }
+
         @Bean
         public JobsProperties jobsProperties() {
             return Mockito.mock(JobsProperties.class);
@@ -25,12 +25,15 @@ import com.netflix.genie.web.jobs.workflow.WorkflowTask;
 import com.netflix.genie.web.properties.ExponentialBackOffTriggerProperties;
 import com.netflix.genie.web.properties.FileCacheProperties;
 import com.netflix.genie.web.properties.JobsActiveLimitProperties;
+import com.netflix.genie.web.properties.JobsArchiveProperties;
 import com.netflix.genie.web.properties.JobsCleanupProperties;
 import com.netflix.genie.web.properties.JobsForwardingProperties;
 import com.netflix.genie.web.properties.JobsLocationsProperties;
 import com.netflix.genie.web.properties.JobsMaxProperties;
 import com.netflix.genie.web.properties.JobsMemoryProperties;
 import com.netflix.genie.web.properties.JobsProperties;
+import com.netflix.genie.web.properties.JobsStatusCacheProperties;
+import com.netflix.genie.web.properties.JobsStatusWatchProperties;
 import com.netflix.genie.web.properties.JobsUsersProperties;
 import com.netflix.genie.web.services.ApplicationPersistenceService;
 import com.netflix.genie.web.services.ClusterPersistenceService;
@@ -38,10 +41,12 @@ import com.netflix.genie.web.services.CommandPersistenceService;
 import com.netflix.genie.web.services.FileTransferFactory;
 import com.netflix.genie.web.services.JobKillService;
 import com.netflix.genie.web.services.JobKillServiceV4;
+import com.netflix.genie.web.services.JobOutputTailService;
 import com.netflix.genie.web.services.JobPersistenceService;
 import com.netflix.genie.web.services.JobSearchService;
 import com.netflix.genie.web.services.JobSpecificationService;
 import com.netflix.genie.web.services.JobStateService;
+import com.netflix.genie.web.services.JobStatusCacheService;
 import com.netflix.genie.web.services.impl.JobKillServiceV3;
 import com.netflix.genie.web.services.impl.LocalFileTransferImpl;
 import com.netflix.genie.web.util.ProcessChecker;
@@ -54,6 +59,8 @@ import org.junit.Test;
 import org.mockito.Mockito;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.TaskScheduler;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -164,6 +171,8 @@ public class GenieServicesAutoConfigurationTest {
     public void canGetCacheGenieFileTransferServiceBean() throws GenieException {
         final FileCacheProperties cacheProperties = Mockito.mock(FileCacheProperties.class);
         Mockito.when(cacheProperties.getLocation()).thenReturn(".");
+        Mockito.when(cacheProperties.getMaxSize()).thenReturn(1_073_741_824L);
+        Mockito.when(cacheProperties.getRefreshInterval()).thenReturn(60_000L);
         Assert.assertNotNull(
             this.genieServicesAutoConfiguration.cacheGenieFileTransferService(
                 Mockito.mock(FileTransferFactory.class),
@@ -227,5 +236,65 @@ public class GenieServicesAutoConfigurationTest {
         );
     }
 
+    /**
+     * Can get a bean for fallback job output tail service, which never finds output to tail.
+     */
+    @Test
+    public void canGetFallbackJobOutputTailService() {
+        Assert.assertFalse(
+            this.genieServicesAutoConfiguration
+                .fallbackJobOutputTailService()
+                .subscribe(UUID.randomUUID().toString(), Mockito.mock(JobOutputTailService.Subscriber.class))
+                .isPresent()
+        );
+    }
+
+    /**
+     * Can get a bean for the job status cache service.
+     */
+    @Test
+    public void canGetJobStatusCacheService() {
+        Assert.assertNotNull(
+            this.genieServicesAutoConfiguration.jobStatusCacheService(
+                Mockito.mock(JobPersistenceService.class),
+                new JobsStatusCacheProperties(),
+                Mockito.mock(MeterRegistry.class)
+            )
+        );
+    }
+
+    /**
+     * Can get a bean for the job status watch service.
+     */
+    @Test
+    public void canGetJobStatusWatchService() {
+        Assert.assertNotNull(
+            this.genieServicesAutoConfiguration.jobStatusWatchService(
+                Mockito.mock(JobStatusCacheService.class),
+                Mockito.mock(TaskScheduler.class),
+                Mockito.mock(AsyncTaskExecutor.class),
+                new JobsStatusWatchProperties()
+            )
+        );
+    }
+
+    /**
+     * Can get a bounded executor for delivering job status changes.
+     */
+    @Test
+    public void canGetJobStatusWatchTaskExecutor() {
+        Assert.assertNotNull(
+            this.genieServicesAutoConfiguration.genieJobStatusWatchTaskExecutor(new JobsStatusWatchProperties())
+        );
+    }
 
+    /**
+     * Can get a bounded executor for archiving job directories.
+     */
+    @Test
+    public void canGetJobArchiveTaskExecutor() {
+        Assert.assertNotNull(
+            this.genieServicesAutoConfiguration.genieJobArchiveTaskExecutor(new JobsArchiveProperties())
+        );
+    }
 }
@@ -18,14 +18,17 @@
 package com.netflix.genie.web.configs;
 
 import com.netflix.genie.web.properties.AgentCleanupProperties;
+import com.netflix.genie.web.properties.ClusterCheckerProperties;
 import com.netflix.genie.web.properties.TasksSchedulerPoolProperties;
 import com.netflix.genie.web.properties.UserMetricsProperties;
+import com.netflix.genie.web.services.AgentRoutingService;
 import com.netflix.genie.web.services.JobPersistenceService;
 import com.netflix.genie.web.services.JobSearchService;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.springframework.scheduling.TaskScheduler;
 
 /**
  * Unit tests for the TaskConfig class.
@@ -51,6 +54,16 @@ public class GenieTasksAutoConfigurationTest {
         Assert.assertNotNull(new GenieTasksAutoConfiguration().genieTaskScheduler(new TasksSchedulerPoolProperties()));
     }
 
+    /**
+     * Make sure we get a valid executor for the cluster checker.
+     */
+    @Test
+    public void canGetClusterCheckerTaskExecutor() {
+        Assert.assertNotNull(
+            new GenieTasksAutoConfiguration().genieClusterCheckerTaskExecutor(new ClusterCheckerProperties())
+        );
+    }
+
     /**
      * Make sure we get a valid task.
      */
@@ -76,7 +89,9 @@ public class GenieTasksAutoConfigurationTest {
             new GenieTasksAutoConfiguration().agentJobCleanupTask(
                 Mockito.mock(JobSearchService.class),
                 Mockito.mock(JobPersistenceService.class),
+                Mockito.mock(AgentRoutingService.class),
                 Mockito.mock(AgentCleanupProperties.class),
+                Mockito.mock(TaskScheduler.class),
                 Mockito.mock(MeterRegistry.class)
             )
         );
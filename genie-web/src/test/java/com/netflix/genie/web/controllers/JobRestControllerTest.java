@@ -17,10 +17,14 @@
  */
 package com.netflix.genie.web.controllers;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.netflix.genie.common.dto.JobStatus;
+import com.netflix.genie.common.dto.search.JobStatusSearchResult;
 import com.netflix.genie.common.exceptions.GenieException;
 import com.netflix.genie.common.exceptions.GenieNotFoundException;
+import com.netflix.genie.common.exceptions.GeniePreconditionException;
 import com.netflix.genie.common.internal.exceptions.unchecked.GenieJobNotFoundException;
 import com.netflix.genie.common.internal.util.GenieHostInfo;
 import com.netflix.genie.web.hateoas.assemblers.ApplicationResourceAssembler;
@@ -32,12 +36,16 @@ import com.netflix.genie.web.hateoas.assemblers.JobRequestResourceAssembler;
 import com.netflix.genie.web.hateoas.assemblers.JobResourceAssembler;
 import com.netflix.genie.web.hateoas.assemblers.JobSearchResultResourceAssembler;
 import com.netflix.genie.web.properties.JobsProperties;
+import com.netflix.genie.web.properties.JobsStatusWatchProperties;
 import com.netflix.genie.web.services.AgentRoutingService;
 import com.netflix.genie.web.services.AttachmentService;
 import com.netflix.genie.web.services.JobCoordinatorService;
 import com.netflix.genie.web.services.JobDirectoryServerService;
+import com.netflix.genie.web.services.JobOutputTailService;
 import com.netflix.genie.web.services.JobPersistenceService;
 import com.netflix.genie.web.services.JobSearchService;
+import com.netflix.genie.web.services.JobStatusCacheService;
+import com.netflix.genie.web.services.JobStatusWatchService;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.catalina.ssi.ByteArrayServletOutputStream;
@@ -49,6 +57,7 @@ import org.hamcrest.Matchers;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -57,7 +66,10 @@ import org.springframework.http.client.ClientHttpRequest;
 import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.mock.http.client.MockClientHttpResponse;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
@@ -66,10 +78,14 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.URL;
 import java.nio.charset.Charset;
+import java.time.Instant;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Unit tests for the Job rest controller.
@@ -89,6 +105,9 @@ public class JobRestControllerTest {
     private RestTemplate restTemplate;
     private JobDirectoryServerService jobDirectoryServerService;
     private JobsProperties jobsProperties;
+    private JobOutputTailService jobOutputTailService;
+    private JobStatusCacheService jobStatusCacheService;
+    private JobStatusWatchService jobStatusWatchService;
 
     private JobRestController controller;
 
@@ -104,6 +123,9 @@ public class JobRestControllerTest {
         this.restTemplate = Mockito.mock(RestTemplate.class);
         this.jobDirectoryServerService = Mockito.mock(JobDirectoryServerService.class);
         this.jobsProperties = JobsProperties.getJobsPropertiesDefaults();
+        this.jobOutputTailService = Mockito.mock(JobOutputTailService.class);
+        this.jobStatusCacheService = Mockito.mock(JobStatusCacheService.class);
+        this.jobStatusWatchService = Mockito.mock(JobStatusWatchService.class);
 
         final MeterRegistry registry = Mockito.mock(MeterRegistry.class);
         final Counter counter = Mockito.mock(Counter.class);
@@ -127,7 +149,11 @@ public class JobRestControllerTest {
             this.jobsProperties,
             registry,
             this.jobPersistenceService,
-            this.agentRoutingService
+            this.agentRoutingService,
+            this.jobOutputTailService,
+            this.jobStatusCacheService,
+            this.jobStatusWatchService,
+            new JobsStatusWatchProperties()
         );
     }
 
@@ -734,6 +760,137 @@ public class JobRestControllerTest {
             );
     }
 
+    /**
+     * Make sure output requests for a finished job are forwarded to the node it ran on while its archival is pending.
+     *
+     * @throws IOException      on error
+     * @throws ServletException on error
+     * @throws GenieException   on error
+     */
+    @Test
+    public void canForwardFinishedJobOutputWhileArchivePending() throws IOException, ServletException, GenieException {
+        this.jobsProperties.getForwarding().setEnabled(true);
+        final String jobId = UUID.randomUUID().toString();
+        final String forwardedFrom = null;
+        final HttpServletRequest request = Mockito.mock(HttpServletRequest.class);
+        final HttpServletResponse response = Mockito.mock(HttpServletResponse.class);
+
+        Mockito
+            .when(request.getRequestURL())
+            .thenReturn(new StringBuffer("http://" + this.hostname + ":8080/api/v3/jobs/1234/output"));
+        Mockito.when(this.jobPersistenceService.getJobStatus(jobId)).thenReturn(JobStatus.SUCCEEDED);
+        Mockito.when(this.jobPersistenceService.isArchivePending(jobId)).thenReturn(true);
+
+        final String jobHostName = UUID.randomUUID().toString();
+        Mockito.when(this.jobSearchService.getJobHost(jobId)).thenReturn(jobHostName);
+
+        this.controller.getJobOutput(jobId, forwardedFrom, request, response);
+
+        Mockito.verify(this.jobSearchService, Mockito.times(1)).getJobHost(Mockito.eq(jobId));
+        Mockito.verify(this.restTemplate, Mockito.times(1))
+            .execute(
+                Mockito.anyString(),
+                Mockito.any(),
+                Mockito.any(),
+                Mockito.any(),
+                Mockito.anyString(),
+                Mockito.anyString()
+            );
+        Mockito
+            .verify(this.jobDirectoryServerService, Mockito.never())
+            .serveResource(
+                Mockito.eq(jobId),
+                Mockito.any(URL.class),
+                Mockito.anyString(),
+                Mockito.eq(request),
+                Mockito.eq(response)
+            );
+    }
+
+    /**
+     * Make sure output requests for a finished job are served from the archive once archival isn't pending.
+     *
+     * @throws IOException      on error
+     * @throws ServletException on error
+     * @throws GenieException   on error
+     */
+    @Test
+    public void wontForwardFinishedJobOutputRequestIfArchived() throws IOException, ServletException, GenieException {
+        this.jobsProperties.getForwarding().setEnabled(true);
+        final String jobId = UUID.randomUUID().toString();
+        final String forwardedFrom = null;
+        final HttpServletRequest request = Mockito.mock(HttpServletRequest.class);
+        final HttpServletResponse response = Mockito.mock(HttpServletResponse.class);
+
+        Mockito
+            .when(request.getRequestURL())
+            .thenReturn(new StringBuffer("http://" + this.hostname + ":8080/api/v3/jobs/1234/output"));
+        Mockito.when(this.jobPersistenceService.getJobStatus(jobId)).thenReturn(JobStatus.SUCCEEDED);
+        Mockito.when(this.jobPersistenceService.isArchivePending(jobId)).thenReturn(false);
+
+        this.controller.getJobOutput(jobId, forwardedFrom, request, response);
+
+        Mockito.verify(this.jobSearchService, Mockito.never()).getJobHost(Mockito.eq(jobId));
+        Mockito
+            .verify(this.jobDirectoryServerService, Mockito.times(1))
+            .serveResource(
+                Mockito.eq(jobId),
+                Mockito.any(URL.class),
+                Mockito.anyString(),
+                Mockito.eq(request),
+                Mockito.eq(response)
+            );
+    }
+
+    /**
+     * Make sure output requests for a finished job are served by this node if the node it ran on can't be reached.
+     *
+     * @throws IOException      on error
+     * @throws ServletException on error
+     * @throws GenieException   on error
+     */
+    @Test
+    public void canServeFinishedJobOutputIfJobHostUnreachable() throws IOException, ServletException, GenieException {
+        this.jobsProperties.getForwarding().setEnabled(true);
+        final String jobId = UUID.randomUUID().toString();
+        final String forwardedFrom = null;
+        final HttpServletRequest request = Mockito.mock(HttpServletRequest.class);
+        final HttpServletResponse response = Mockito.mock(HttpServletResponse.class);
+
+        Mockito
+            .when(request.getRequestURL())
+            .thenReturn(new StringBuffer("http://" + this.hostname + ":8080/api/v3/jobs/1234/output"));
+        Mockito.when(this.jobPersistenceService.getJobStatus(jobId)).thenReturn(JobStatus.SUCCEEDED);
+        Mockito.when(this.jobPersistenceService.isArchivePending(jobId)).thenReturn(true);
+
+        final String jobHostName = UUID.randomUUID().toString();
+        Mockito.when(this.jobSearchService.getJobHost(jobId)).thenReturn(jobHostName);
+        Mockito.when(
+            this.restTemplate.execute(
+                Mockito.anyString(),
+                Mockito.any(),
+                Mockito.any(),
+                Mockito.any(),
+                Mockito.anyString(),
+                Mockito.anyString()
+            )
+        )
+            .thenThrow(new ResourceAccessException("Connection refused"));
+
+        this.controller.getJobOutput(jobId, forwardedFrom, request, response);
+
+        Mockito.verify(response, Mockito.never()).sendError(Mockito.anyInt(), Mockito.anyString());
+        Mockito
+            .verify(this.jobDirectoryServerService, Mockito.times(1))
+            .serveResource(
+                Mockito.eq(jobId),
+                Mockito.any(URL.class),
+                Mockito.anyString(),
+                Mockito.eq(request),
+                Mockito.eq(response)
+            );
+    }
+
     /**
      * Make sure directory forwarding happens when all conditions are met.
      *
@@ -829,7 +986,11 @@ public class JobRestControllerTest {
             this.jobsProperties,
             registry,
             this.jobPersistenceService,
-            this.agentRoutingService
+            this.agentRoutingService,
+            this.jobOutputTailService,
+            this.jobStatusCacheService,
+            this.jobStatusWatchService,
+            new JobsStatusWatchProperties()
         );
         jobController.getJobOutput(jobId, forwardedFrom, request, response);
 
@@ -847,4 +1008,238 @@ public class JobRestControllerTest {
                 Mockito.eq(response)
             );
     }
+
+    /**
+     * Make sure a client following the output of a job is subscribed to the job output and unsubscribed when done.
+     *
+     * @throws IOException    on error
+     * @throws GenieException on error
+     */
+    @Test
+    public void canTailJobOutput() throws IOException, GenieException {
+        final String jobId = UUID.randomUUID().toString();
+        final HttpServletResponse response = Mockito.mock(HttpServletResponse.class);
+        final JobOutputTailService.Subscription subscription = Mockito.mock(JobOutputTailService.Subscription.class);
+        Mockito.when(this.jobPersistenceService.getJobStatus(jobId)).thenReturn(JobStatus.RUNNING);
+        Mockito.when(this.jobPersistenceService.isV4(jobId)).thenReturn(true);
+        Mockito
+            .when(this.jobOutputTailService.subscribe(Mockito.eq(jobId), Mockito.any()))
+            .thenReturn(Optional.of(subscription));
+
+        final SseEmitter emitter = this.controller.tailJobOutput(jobId, "stderr", null, response);
+
+        Assert.assertThat(emitter, Matchers.instanceOf(JobOutputTailEmitter.class));
+        Mockito
+            .verify(this.jobOutputTailService)
+            .subscribe(Mockito.eq(jobId), Mockito.eq((JobOutputTailEmitter) emitter));
+        Mockito.verify(response, Mockito.never()).sendRedirect(Mockito.anyString());
+    }
+
+    /**
+     * Make sure a client following the output of a job is redirected to the node the agent is connected to.
+     *
+     * @throws IOException    on error
+     * @throws GenieException on error
+     */
+    @Test
+    public void canRedirectTailJobOutput() throws IOException, GenieException {
+        this.jobsProperties.getForwarding().setEnabled(true);
+        final String jobId = UUID.randomUUID().toString();
+        final String jobHostname = UUID.randomUUID().toString();
+        final HttpServletResponse response = Mockito.mock(HttpServletResponse.class);
+        Mockito.when(this.jobPersistenceService.getJobStatus(jobId)).thenReturn(JobStatus.RUNNING);
+        Mockito.when(this.jobPersistenceService.isV4(jobId)).thenReturn(true);
+        Mockito
+            .when(this.jobOutputTailService.subscribe(Mockito.eq(jobId), Mockito.any()))
+            .thenReturn(Optional.empty());
+        Mockito
+            .when(this.agentRoutingService.getHostnameForAgentConnection(jobId))
+            .thenReturn(Optional.of(jobHostname));
+
+        Assert.assertNull(this.controller.tailJobOutput(jobId, "stdout", null, response));
+
+        Mockito
+            .verify(response)
+            .sendRedirect(
+                Mockito.matches("^http://" + jobHostname + ":8080/api/v3/jobs/" + jobId + "/output/stdout\\?tail$")
+            );
+    }
+
+    /**
+     * Make sure the output of jobs that can't be followed is rejected.
+     *
+     * @throws IOException    on error
+     * @throws GenieException on error
+     */
+    @Test
+    public void cantTailJobOutputIfNotAvailable() throws IOException, GenieException {
+        final String jobId = UUID.randomUUID().toString();
+        final HttpServletResponse response = Mockito.mock(HttpServletResponse.class);
+        Mockito
+            .when(this.jobPersistenceService.getJobStatus(jobId))
+            .thenReturn(JobStatus.SUCCEEDED, JobStatus.RUNNING);
+        Mockito.when(this.jobPersistenceService.isV4(jobId)).thenReturn(false, true);
+        Mockito
+            .when(this.jobOutputTailService.subscribe(Mockito.eq(jobId), Mockito.any()))
+            .thenReturn(Optional.empty());
+
+        try {
+            this.controller.tailJobOutput(jobId, "stdout", null, response);
+            Assert.fail("Finished job output should not be available");
+        } catch (final GeniePreconditionException e) {
+            // expected
+        }
+
+        try {
+            this.controller.tailJobOutput(jobId, "stdout", null, response);
+            Assert.fail("V3 job output should not be available");
+        } catch (final GeniePreconditionException e) {
+            // expected
+        }
+
+        try {
+            this.controller.tailJobOutput(jobId, "stdout", null, response);
+            Assert.fail("Output of a job not connected should not be available");
+        } catch (final GenieNotFoundException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Make sure a status different from the one the client last saw is returned right away.
+     *
+     * @throws GenieException on error
+     */
+    @Test
+    public void canGetChangedJobStatusRightAway() throws GenieException {
+        final String jobId = UUID.randomUUID().toString();
+        final JobStatusWatchService.Subscription subscription = Mockito.mock(JobStatusWatchService.Subscription.class);
+        Mockito
+            .when(this.jobStatusWatchService.watch(Mockito.eq(Sets.newHashSet(jobId)), Mockito.any()))
+            .thenAnswer(
+                invocation -> {
+                    final JobStatusWatchService.Subscriber subscriber = invocation.getArgument(1);
+                    subscriber.onStatusChange(jobId, JobStatus.SUCCEEDED);
+                    return subscription;
+                }
+            );
+
+        final DeferredResult<JsonNode> result = this.controller.waitForJobStatusChange(jobId, "RUNNING", null);
+
+        Assert.assertTrue(result.hasResult());
+        Assert.assertThat(
+            ((JsonNode) result.getResult()).get("status").asText(),
+            Matchers.is(JobStatus.SUCCEEDED.toString())
+        );
+        Mockito.verify(subscription).cancel();
+    }
+
+    /**
+     * Make sure the status is returned once it changes from the one the client last saw.
+     *
+     * @throws IOException    on error
+     * @throws GenieException on error
+     */
+    @Test
+    public void canWaitForJobStatusChange() throws IOException, GenieException {
+        final String jobId = UUID.randomUUID().toString();
+        final JobStatusWatchService.Subscription subscription = Mockito.mock(JobStatusWatchService.Subscription.class);
+        final ArgumentCaptor<JobStatusWatchService.Subscriber> subscriberCaptor
+            = ArgumentCaptor.forClass(JobStatusWatchService.Subscriber.class);
+        Mockito
+            .when(this.jobStatusWatchService.watch(Mockito.eq(Sets.newHashSet(jobId)), subscriberCaptor.capture()))
+            .thenReturn(subscription);
+
+        final DeferredResult<JsonNode> result = this.controller.waitForJobStatusChange(jobId, "RUNNING", 1_000L);
+
+        final JobStatusWatchService.Subscriber subscriber = subscriberCaptor.getValue();
+        subscriber.onStatusChange(jobId, JobStatus.RUNNING);
+        Assert.assertFalse(result.hasResult());
+        Mockito.verify(subscription, Mockito.never()).cancel();
+
+        subscriber.onStatusChange(jobId, JobStatus.KILLED);
+        Assert.assertTrue(result.hasResult());
+        Assert.assertThat(
+            ((JsonNode) result.getResult()).get("status").asText(),
+            Matchers.is(JobStatus.KILLED.toString())
+        );
+    }
+
+    /**
+     * Make sure a client following job statuses is subscribed to their changes.
+     *
+     * @throws GenieException on error
+     */
+    @Test
+    public void canFollowJobStatuses() throws GenieException {
+        final String jobId1 = UUID.randomUUID().toString();
+        final String jobId2 = UUID.randomUUID().toString();
+        Mockito
+            .when(this.jobStatusWatchService.watch(Mockito.anySet(), Mockito.any()))
+            .thenReturn(Mockito.mock(JobStatusWatchService.Subscription.class));
+
+        final SseEmitter emitter = this.controller.followJobStatuses(Sets.newHashSet(jobId1, jobId2, " "));
+
+        Assert.assertThat(emitter, Matchers.instanceOf(JobStatusEmitter.class));
+        Mockito
+            .verify(this.jobStatusWatchService)
+            .watch(Mockito.eq(Sets.newHashSet(jobId1, jobId2)), Mockito.eq((JobStatusEmitter) emitter));
+    }
+
+    /**
+     * Make sure at least one job is required to follow job statuses.
+     *
+     * @throws GenieException on error
+     */
+    @Test(expected = GeniePreconditionException.class)
+    public void cantFollowJobStatusesWithoutJobs() throws GenieException {
+        this.controller.followJobStatuses(Sets.newHashSet(""));
+    }
+
+    /**
+     * Make sure the statuses of many jobs are looked up at once.
+     *
+     * @throws GenieException on error
+     */
+    @Test
+    public void canGetJobStatuses() throws GenieException {
+        final String jobId1 = UUID.randomUUID().toString();
+        final String jobId2 = UUID.randomUUID().toString();
+        final List<JobStatusSearchResult> results = Lists.newArrayList(
+            new JobStatusSearchResult(
+                jobId1, "name", "user", JobStatus.RUNNING, null, Instant.now(), Instant.now(), null, null, null
+            )
+        );
+        Mockito.when(this.jobSearchService.getJobStatuses(Sets.newHashSet(jobId1, jobId2))).thenReturn(results);
+
+        Assert.assertThat(
+            this.controller.getJobStatuses(Sets.newHashSet(jobId1, jobId2, "")),
+            Matchers.is(results)
+        );
+    }
+
+    /**
+     * Make sure the number of jobs whose statuses are looked up at once is bounded.
+     */
+    @Test
+    public void cantGetJobStatusesWithoutJobsOrWithTooManyJobs() {
+        try {
+            this.controller.getJobStatuses(Sets.newHashSet());
+            Assert.fail("Job ids should be required");
+        } catch (final GenieException e) {
+            Assert.assertThat(e, Matchers.instanceOf(GeniePreconditionException.class));
+        }
+
+        final Set<String> ids = IntStream
+            .rangeClosed(0, 10_000)
+            .mapToObj(i -> UUID.randomUUID().toString())
+            .collect(Collectors.toSet());
+        try {
+            this.controller.getJobStatuses(ids);
+            Assert.fail("Too many job ids should be rejected");
+        } catch (final GenieException e) {
+            Assert.assertThat(e, Matchers.instanceOf(GeniePreconditionException.class));
+        }
+        Mockito.verify(this.jobSearchService, Mockito.never()).getJobStatuses(Mockito.anySet());
+    }
 }
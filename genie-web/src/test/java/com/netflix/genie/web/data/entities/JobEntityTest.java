@@ -914,6 +914,16 @@ public class JobEntityTest extends EntityTestBase {
         Assert.assertTrue(this.jobEntity.isV4());
     }
 
+    /**
+     * Test setter/getter.
+     */
+    @Test
+    public void canSetArchivePending() {
+        Assert.assertFalse(this.jobEntity.isArchivePending());
+        this.jobEntity.setArchivePending(true);
+        Assert.assertTrue(this.jobEntity.isArchivePending());
+    }
+
     /**
      * Test setter/getter.
      */
@@ -117,8 +117,8 @@ public class JpaClusterPersistenceServiceImplTest {
             .build();
 
         Mockito
-            .when(this.filePersistenceService.getFile(Mockito.anyString()))
-            .thenReturn(Optional.of(new FileEntity(UUID.randomUUID().toString())));
+            .when(this.filePersistenceService.createAndGetFiles(configs))
+            .thenReturn(Sets.newHashSet(new FileEntity(UUID.randomUUID().toString())));
         Mockito
             .when(this.jpaClusterRepository.save(Mockito.any(ClusterEntity.class)))
             .thenThrow(new DuplicateKeyException("Duplicate Key"));
@@ -17,6 +17,7 @@
  */
 package com.netflix.genie.web.data.services.jpa;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.netflix.genie.common.dto.Job;
@@ -29,6 +30,10 @@ import com.netflix.genie.common.exceptions.GenieException;
 import com.netflix.genie.common.exceptions.GenieNotFoundException;
 import com.netflix.genie.common.exceptions.GeniePreconditionException;
 import com.netflix.genie.common.internal.dto.v4.AgentClientMetadata;
+import com.netflix.genie.common.internal.dto.v4.AgentEnvironmentRequest;
+import com.netflix.genie.common.internal.dto.v4.Criterion;
+import com.netflix.genie.common.internal.dto.v4.ExecutionResourceCriteria;
+import com.netflix.genie.common.internal.dto.v4.JobRequestMetadata;
 import com.netflix.genie.common.internal.dto.v4.JobSpecification;
 import com.netflix.genie.common.internal.exceptions.unchecked.GenieApplicationNotFoundException;
 import com.netflix.genie.common.internal.exceptions.unchecked.GenieClusterNotFoundException;
@@ -42,19 +47,27 @@ import com.netflix.genie.web.data.entities.CommandEntity;
 import com.netflix.genie.web.data.entities.FileEntity;
 import com.netflix.genie.web.data.entities.JobEntity;
 import com.netflix.genie.web.data.entities.TagEntity;
+import com.netflix.genie.web.data.entities.projections.JobArchivePendingProjection;
 import com.netflix.genie.web.data.entities.projections.JobStatusProjection;
 import com.netflix.genie.web.data.entities.projections.v4.IsV4JobProjection;
 import com.netflix.genie.web.data.entities.projections.v4.JobSpecificationProjection;
+import com.netflix.genie.web.data.entities.projections.v4.JobStatusInfoProjection;
 import com.netflix.genie.web.data.entities.projections.v4.V4JobRequestProjection;
+import com.netflix.genie.web.data.entities.v4.JobRequestDocuments;
 import com.netflix.genie.web.data.repositories.jpa.JpaApplicationRepository;
 import com.netflix.genie.web.data.repositories.jpa.JpaClusterRepository;
 import com.netflix.genie.web.data.repositories.jpa.JpaCommandRepository;
 import com.netflix.genie.web.data.repositories.jpa.JpaJobRepository;
+import com.netflix.genie.web.events.GenieEventBus;
+import com.netflix.genie.web.events.JobStateChangeEvent;
+import com.netflix.genie.web.properties.JobRequestDocumentProperties;
+import com.netflix.genie.web.services.JobStatusInfo;
 import org.hamcrest.Matchers;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.springframework.dao.DuplicateKeyException;
 
@@ -86,6 +99,7 @@ public class JpaJobPersistenceServiceImplTest {
     private JpaCommandRepository commandRepository;
     private JpaFilePersistenceService filePersistenceService;
     private JpaTagPersistenceService tagPersistenceService;
+    private GenieEventBus genieEventBus;
 
     private JpaJobPersistenceServiceImpl jobPersistenceService;
 
@@ -100,6 +114,7 @@ public class JpaJobPersistenceServiceImplTest {
         this.commandRepository = Mockito.mock(JpaCommandRepository.class);
         this.tagPersistenceService = Mockito.mock(JpaTagPersistenceService.class);
         this.filePersistenceService = Mockito.mock(JpaFilePersistenceService.class);
+        this.genieEventBus = Mockito.mock(GenieEventBus.class);
 
         this.jobPersistenceService = new JpaJobPersistenceServiceImpl(
             this.tagPersistenceService,
@@ -107,7 +122,9 @@ public class JpaJobPersistenceServiceImplTest {
             this.applicationRepository,
             this.clusterRepository,
             this.commandRepository,
-            this.jobRepository
+            this.jobRepository,
+            this.genieEventBus,
+            new JobRequestDocumentProperties()
         );
     }
 
@@ -165,10 +182,11 @@ public class JpaJobPersistenceServiceImplTest {
 
         final TagEntity fooTag = new TagEntity();
         fooTag.setTag("foo");
-        Mockito.when(this.tagPersistenceService.getTag("foo")).thenReturn(Optional.of(fooTag));
         final TagEntity barTag = new TagEntity();
         barTag.setTag("bar");
-        Mockito.when(this.tagPersistenceService.getTag("bar")).thenReturn(Optional.of(barTag));
+        Mockito
+            .when(this.tagPersistenceService.createAndGetTags(tags))
+            .thenReturn(Sets.newHashSet(fooTag, barTag));
         final FileEntity setupFileEntity = new FileEntity();
         setupFileEntity.setFile(setupFile);
         Mockito.when(this.filePersistenceService.getFile(setupFile)).thenReturn(Optional.of(setupFileEntity));
@@ -262,8 +280,8 @@ public class JpaJobPersistenceServiceImplTest {
         final JobExecution execution = new JobExecution.Builder(UUID.randomUUID().toString()).build();
 
         Mockito
-            .when(this.tagPersistenceService.getTag(Mockito.anyString()))
-            .thenReturn(Optional.of(new TagEntity(UUID.randomUUID().toString())));
+            .when(this.tagPersistenceService.createAndGetTags(Mockito.anySet()))
+            .thenReturn(Sets.newHashSet(new TagEntity(UUID.randomUUID().toString())));
         Mockito
             .when(this.filePersistenceService.getFile(Mockito.anyString()))
             .thenReturn(Optional.of(new FileEntity(UUID.randomUUID().toString())));
@@ -580,6 +598,77 @@ public class JpaJobPersistenceServiceImplTest {
         Mockito.verify(jobEntity, Mockito.times(1)).setStdOutSize(null);
     }
 
+    /**
+     * Make sure when document storage is enabled the criteria and requested environment are only stored in the
+     * request document.
+     *
+     * @throws GeniePreconditionException on invalid criterion
+     */
+    @Test
+    public void canSaveJobRequestAsDocument() throws GeniePreconditionException {
+        final JobRequestDocumentProperties documentProperties = new JobRequestDocumentProperties();
+        documentProperties.setEnabled(true);
+        final JpaJobPersistenceServiceImpl documentJobPersistenceService = new JpaJobPersistenceServiceImpl(
+            this.tagPersistenceService,
+            this.filePersistenceService,
+            this.applicationRepository,
+            this.clusterRepository,
+            this.commandRepository,
+            this.jobRepository,
+            this.genieEventBus,
+            documentProperties
+        );
+        final com.netflix.genie.common.internal.dto.v4.JobRequest jobRequest = this.createV4JobRequest();
+        Mockito
+            .when(this.jobRepository.save(Mockito.any(JobEntity.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        final String id = documentJobPersistenceService.saveJobRequest(
+            jobRequest,
+            new JobRequestMetadata(null, null, 0, 0L)
+        );
+
+        final ArgumentCaptor<JobEntity> entityCaptor = ArgumentCaptor.forClass(JobEntity.class);
+        Mockito.verify(this.jobRepository, Mockito.times(1)).save(entityCaptor.capture());
+        final JobEntity jobEntity = entityCaptor.getValue();
+        Assert.assertThat(jobEntity.getUniqueId(), Matchers.is(id));
+        Assert.assertThat(jobEntity.getClusterCriteria(), Matchers.empty());
+        Assert.assertThat(jobEntity.getCommandCriterion(), Matchers.nullValue());
+        Assert.assertTrue(jobEntity.getRequestedEnvironmentVariables().isEmpty());
+        Assert.assertThat(jobEntity.getRequestedApplications(), Matchers.empty());
+        Assert.assertThat(
+            JobRequestDocuments.toJobRequest(
+                jobEntity.getRequestDocument().orElseThrow(IllegalArgumentException::new)
+            ),
+            Matchers.is(jobRequest)
+        );
+        Mockito.verify(this.tagPersistenceService, Mockito.never()).createAndGetTags(Mockito.anySet());
+    }
+
+    /**
+     * Make sure a job request stored as a document is read back from the document rather than the collections.
+     *
+     * @throws GeniePreconditionException on invalid criterion
+     */
+    @Test
+    public void canGetJobRequestFromDocument() throws GeniePreconditionException {
+        final com.netflix.genie.common.internal.dto.v4.JobRequest jobRequest = this.createV4JobRequest();
+        final V4JobRequestProjection projection = Mockito.mock(V4JobRequestProjection.class);
+        Mockito
+            .when(projection.getRequestDocument())
+            .thenReturn(Optional.of(JobRequestDocuments.toDocument(jobRequest)));
+        Mockito
+            .when(this.jobRepository.findByUniqueId(JOB_1_ID, V4JobRequestProjection.class))
+            .thenReturn(Optional.of(projection));
+
+        Assert.assertThat(
+            this.jobPersistenceService.getJobRequest(JOB_1_ID).orElseThrow(IllegalArgumentException::new),
+            Matchers.is(jobRequest)
+        );
+        Mockito.verify(projection, Mockito.never()).getClusterCriteria();
+        Mockito.verify(projection, Mockito.never()).getCommandCriterion();
+    }
+
     /**
      * When a request is made for a job that doesn't have a record in the database an empty optional is returned.
      */
@@ -795,6 +884,91 @@ public class JpaJobPersistenceServiceImplTest {
         this.jobPersistenceService.isV4(UUID.randomUUID().toString());
     }
 
+    /**
+     * Make sure the status, v4 flag and archive location are all read from a single query.
+     *
+     * @throws GenieException on error
+     */
+    @Test
+    public void canGetJobStatusInfo() throws GenieException {
+        final String id = UUID.randomUUID().toString();
+        final String archiveLocation = UUID.randomUUID().toString();
+        final JobEntity jobEntity = Mockito.mock(JobEntity.class);
+        Mockito
+            .when(this.jobRepository.findByUniqueId(id, JobStatusInfoProjection.class))
+            .thenReturn(Optional.of(jobEntity));
+        Mockito.when(jobEntity.getStatus()).thenReturn(JobStatus.RUNNING);
+        Mockito.when(jobEntity.isV4()).thenReturn(true);
+        Mockito.when(jobEntity.getArchiveLocation()).thenReturn(Optional.of(archiveLocation));
+
+        final JobStatusInfo jobStatusInfo = this.jobPersistenceService.getJobStatusInfo(id);
+        Assert.assertThat(jobStatusInfo.getStatus(), Matchers.is(JobStatus.RUNNING));
+        Assert.assertTrue(jobStatusInfo.isV4());
+        Assert.assertThat(jobStatusInfo.getArchiveLocation().orElse(null), Matchers.is(archiveLocation));
+    }
+
+    /**
+     * Make sure a missing job is reported when trying to get its status info.
+     *
+     * @throws GenieException on error
+     */
+    @Test(expected = GenieNotFoundException.class)
+    public void cantGetJobStatusInfoIfNoJob() throws GenieException {
+        Mockito
+            .when(this.jobRepository.findByUniqueId(Mockito.anyString(), Mockito.eq(JobStatusInfoProjection.class)))
+            .thenReturn(Optional.empty());
+
+        this.jobPersistenceService.getJobStatusInfo(UUID.randomUUID().toString());
+    }
+
+    /**
+     * Make sure the pending archival of a job can be set and read.
+     *
+     * @throws GenieException on error
+     */
+    @Test
+    public void canSetAndGetArchivePending() throws GenieException {
+        final String id = UUID.randomUUID().toString();
+        final JobEntity jobEntity = Mockito.mock(JobEntity.class);
+        Mockito.when(this.jobRepository.findByUniqueId(id)).thenReturn(Optional.of(jobEntity));
+        Mockito
+            .when(this.jobRepository.findByUniqueId(id, JobArchivePendingProjection.class))
+            .thenReturn(Optional.of(jobEntity));
+        Mockito.when(jobEntity.isArchivePending()).thenReturn(true);
+
+        this.jobPersistenceService.setArchivePending(id, true);
+        Mockito.verify(jobEntity, Mockito.times(1)).setArchivePending(true);
+        Assert.assertTrue(this.jobPersistenceService.isArchivePending(id));
+    }
+
+    /**
+     * Make sure a missing job is reported when trying to set its pending archival.
+     *
+     * @throws GenieException on error
+     */
+    @Test(expected = GenieNotFoundException.class)
+    public void cantSetArchivePendingIfNoJob() throws GenieException {
+        Mockito.when(this.jobRepository.findByUniqueId(Mockito.anyString())).thenReturn(Optional.empty());
+
+        this.jobPersistenceService.setArchivePending(UUID.randomUUID().toString(), false);
+    }
+
+    /**
+     * Make sure a missing job is reported when trying to get its pending archival.
+     *
+     * @throws GenieException on error
+     */
+    @Test(expected = GenieNotFoundException.class)
+    public void cantGetArchivePendingIfNoJob() throws GenieException {
+        Mockito
+            .when(
+                this.jobRepository.findByUniqueId(Mockito.anyString(), Mockito.eq(JobArchivePendingProjection.class))
+            )
+            .thenReturn(Optional.empty());
+
+        this.jobPersistenceService.isArchivePending(UUID.randomUUID().toString());
+    }
+
     /**
      * Test all the error cases covered in the
      * {@link JpaJobPersistenceServiceImpl#claimJob(String, AgentClientMetadata)} API.
@@ -865,6 +1039,11 @@ public class JpaJobPersistenceServiceImplTest {
         Mockito.verify(jobEntity, Mockito.times(1)).setAgentHostname(agentHostname);
         Mockito.verify(jobEntity, Mockito.times(1)).setAgentVersion(agentVersion);
         Mockito.verify(jobEntity, Mockito.times(1)).setAgentPid(agentPid);
+
+        // Listeners of the claim need to see which agent host the job is on
+        final InOrder inOrder = Mockito.inOrder(jobEntity, this.genieEventBus);
+        inOrder.verify(jobEntity).setAgentHostname(agentHostname);
+        inOrder.verify(this.genieEventBus).publishSynchronousEvent(Mockito.any(JobStateChangeEvent.class));
     }
 
     /**
@@ -934,6 +1113,13 @@ public class JpaJobPersistenceServiceImplTest {
         Mockito.verify(jobEntity, Mockito.times(1)).setStatus(JobStatus.SUCCEEDED);
         Mockito.verify(jobEntity, Mockito.times(1)).setStatusMsg(finalStatusMessage);
         Mockito.verify(jobEntity, Mockito.times(1)).setFinished(Mockito.any(Instant.class));
+
+        final ArgumentCaptor<JobStateChangeEvent> eventCaptor = ArgumentCaptor.forClass(JobStateChangeEvent.class);
+        Mockito.verify(this.genieEventBus, Mockito.times(2)).publishSynchronousEvent(eventCaptor.capture());
+        Assert.assertThat(
+            eventCaptor.getAllValues().get(1).getPreviousStatus().orElse(null),
+            Matchers.is(JobStatus.RUNNING)
+        );
     }
 
     /**
@@ -958,4 +1144,27 @@ public class JpaJobPersistenceServiceImplTest {
         }
         Assert.assertThat(this.jobPersistenceService.getJobStatus(id), Matchers.is(status));
     }
+
+    private com.netflix.genie.common.internal.dto.v4.JobRequest createV4JobRequest()
+        throws GeniePreconditionException {
+        return new com.netflix.genie.common.internal.dto.v4.JobRequest(
+            JOB_1_ID,
+            null,
+            JOB_1_COMMAND_ARGS,
+            new com.netflix.genie.common.internal.dto.v4.JobMetadata
+                .Builder(JOB_1_NAME, JOB_1_USER, JOB_1_VERSION)
+                .build(),
+            new ExecutionResourceCriteria(
+                Lists.newArrayList(new Criterion.Builder().withTags(Sets.newHashSet("sched:adhoc")).build()),
+                new Criterion.Builder().withTags(Sets.newHashSet("type:spark")).build(),
+                Lists.newArrayList("spark")
+            ),
+            new AgentEnvironmentRequest
+                .Builder()
+                .withRequestedEnvironmentVariables(ImmutableMap.of("FOO", "bar"))
+                .build(),
+            null,
+            null
+        );
+    }
 }
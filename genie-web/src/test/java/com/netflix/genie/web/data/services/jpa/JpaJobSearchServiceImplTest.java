@@ -23,6 +23,7 @@ import com.google.common.collect.Sets;
 import com.netflix.genie.common.dto.Job;
 import com.netflix.genie.common.dto.JobStatus;
 import com.netflix.genie.common.dto.UserResourcesSummary;
+import com.netflix.genie.common.dto.search.JobStatusSearchResult;
 import com.netflix.genie.common.exceptions.GenieException;
 import com.netflix.genie.common.exceptions.GenieNotFoundException;
 import com.netflix.genie.web.data.entities.JobEntity;
@@ -32,6 +33,7 @@ import com.netflix.genie.web.data.entities.projections.JobApplicationsProjection
 import com.netflix.genie.web.data.entities.projections.JobClusterProjection;
 import com.netflix.genie.web.data.entities.projections.JobCommandProjection;
 import com.netflix.genie.web.data.entities.projections.JobProjection;
+import com.netflix.genie.web.data.entities.projections.JobStatusSearchProjection;
 import com.netflix.genie.web.data.entities.projections.UniqueIdProjection;
 import com.netflix.genie.web.data.repositories.jpa.JpaClusterRepository;
 import com.netflix.genie.web.data.repositories.jpa.JpaCommandRepository;
@@ -42,9 +44,14 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import java.time.Instant;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Unit tests for JpaJobSearchServiceImpl.
@@ -302,4 +309,40 @@ public class JpaJobSearchServiceImplTest {
         );
     }
 
+
+    /**
+     * Make sure the statuses of many jobs are read in batches small enough for any database.
+     */
+    @Test
+    public void canGetJobStatusesInBatches() {
+        final Set<String> ids = IntStream
+            .range(0, JpaJobSearchServiceImpl.MAX_IDS_PER_QUERY + 1)
+            .mapToObj(i -> UUID.randomUUID().toString())
+            .collect(Collectors.toSet());
+        final JobEntity jobEntity = Mockito.mock(JobEntity.class);
+        Mockito.when(jobEntity.getUniqueId()).thenReturn(UUID.randomUUID().toString());
+        Mockito.when(jobEntity.getName()).thenReturn(UUID.randomUUID().toString());
+        Mockito.when(jobEntity.getUser()).thenReturn(UUID.randomUUID().toString());
+        Mockito.when(jobEntity.getStatus()).thenReturn(JobStatus.FAILED);
+        Mockito.when(jobEntity.getStatusMsg()).thenReturn(Optional.empty());
+        Mockito.when(jobEntity.getCreated()).thenReturn(Instant.now());
+        Mockito.when(jobEntity.getUpdated()).thenReturn(Instant.now());
+        Mockito.when(jobEntity.getStarted()).thenReturn(Optional.empty());
+        Mockito.when(jobEntity.getFinished()).thenReturn(Optional.empty());
+        Mockito.when(jobEntity.getExitCode()).thenReturn(Optional.of(1));
+        Mockito
+            .when(this.jobRepository.findByUniqueIdIn(Mockito.anySet(), Mockito.eq(JobStatusSearchProjection.class)))
+            .thenReturn(Sets.<JobStatusSearchProjection>newHashSet(jobEntity))
+            .thenReturn(Sets.newHashSet());
+
+        final List<JobStatusSearchResult> results = this.service.getJobStatuses(ids);
+
+        Assert.assertThat(results.size(), Matchers.is(1));
+        Assert.assertThat(results.get(0).getId(), Matchers.is(jobEntity.getUniqueId()));
+        Assert.assertThat(results.get(0).getStatus(), Matchers.is(JobStatus.FAILED));
+        Assert.assertThat(results.get(0).getExitCode().orElseThrow(IllegalArgumentException::new), Matchers.is(1));
+        Mockito
+            .verify(this.jobRepository, Mockito.times(2))
+            .findByUniqueIdIn(Mockito.anySet(), Mockito.eq(JobStatusSearchProjection.class));
+    }
 }
@@ -17,13 +17,21 @@
  */
 package com.netflix.genie.web.jobs.workflow.impl;
 
+import com.google.common.collect.ImmutableMap;
 import com.netflix.genie.common.exceptions.GenieException;
+import com.netflix.genie.common.exceptions.GenieNotFoundException;
+import com.netflix.genie.common.exceptions.GenieServerException;
 import com.netflix.genie.web.jobs.AdminResources;
 import com.netflix.genie.web.jobs.FileType;
+import com.netflix.genie.web.services.impl.GenieFileTransferService;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.List;
+import java.util.concurrent.Future;
 
 /**
  * Tests for GenieBaseTask.
@@ -205,4 +213,73 @@ public class GenieBaseTaskTest {
 
         Assert.assertEquals("dirpath/genie/cluster/id/dependencies/filename", localPath);
     }
+
+    /**
+     * Make sure all the submitted downloads are fetched.
+     *
+     * @throws GenieException if there is a problem.
+     */
+    @Test
+    public void canDownloadFilesConcurrently() throws GenieException {
+        final GenieFileTransferService fts = Mockito.mock(GenieFileTransferService.class);
+        final List<Future<?>> downloads = this.genieBaseTask.submitDownloads(
+            new SimpleAsyncTaskExecutor(),
+            fts,
+            ImmutableMap.of("dirpath/config/config.xml", "s3://config.xml", "dirpath/dependencies/lib.jar", "lib.jar")
+        );
+        Assert.assertEquals(2, downloads.size());
+
+        this.genieBaseTask.awaitDownloads(downloads);
+        Mockito.verify(fts, Mockito.times(1)).getFile("s3://config.xml", "dirpath/config/config.xml");
+        Mockito.verify(fts, Mockito.times(1)).getFile("lib.jar", "dirpath/dependencies/lib.jar");
+    }
+
+    /**
+     * Make sure a failed download is surfaced once all the downloads are done.
+     *
+     * @throws GenieException if there is a problem.
+     */
+    @Test(expected = GenieNotFoundException.class)
+    public void cantDownloadFilesIfOneFails() throws GenieException {
+        final GenieFileTransferService fts = Mockito.mock(GenieFileTransferService.class);
+        Mockito
+            .doThrow(new GenieNotFoundException("Not found"))
+            .when(fts)
+            .getFile("missing.jar", "dirpath/dependencies/missing.jar");
+        final List<Future<?>> downloads = this.genieBaseTask.submitDownloads(
+            new SimpleAsyncTaskExecutor(),
+            fts,
+            ImmutableMap.of(
+                "dirpath/dependencies/missing.jar", "missing.jar",
+                "dirpath/dependencies/lib.jar", "lib.jar"
+            )
+        );
+
+        try {
+            this.genieBaseTask.awaitDownloads(downloads);
+        } finally {
+            Mockito.verify(fts, Mockito.times(1)).getFile("lib.jar", "dirpath/dependencies/lib.jar");
+        }
+    }
+
+    /**
+     * Make sure unexpected download failures are wrapped in a server exception.
+     *
+     * @throws GenieException if there is a problem.
+     */
+    @Test(expected = GenieServerException.class)
+    public void cantDownloadFilesIfUnexpectedFailure() throws GenieException {
+        final GenieFileTransferService fts = Mockito.mock(GenieFileTransferService.class);
+        Mockito
+            .doThrow(new IllegalStateException("bad"))
+            .when(fts)
+            .getFile("lib.jar", "dirpath/dependencies/lib.jar");
+        this.genieBaseTask.awaitDownloads(
+            this.genieBaseTask.submitDownloads(
+                new SimpleAsyncTaskExecutor(),
+                fts,
+                ImmutableMap.of("dirpath/dependencies/lib.jar", "lib.jar")
+            )
+        );
+    }
 }
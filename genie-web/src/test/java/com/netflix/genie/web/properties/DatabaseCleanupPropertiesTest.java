@@ -56,6 +56,10 @@ public class DatabaseCleanupPropertiesTest {
         Assert.assertFalse(this.properties.isSkipClustersCleanup());
         Assert.assertFalse(this.properties.isSkipTagsCleanup());
         Assert.assertFalse(this.properties.isSkipFilesCleanup());
+        Assert.assertFalse(this.properties.isAdaptiveBatchingEnabled());
+        Assert.assertThat(this.properties.getTargetBatchLatency(), Matchers.is(1_000L));
+        Assert.assertThat(this.properties.getMinDeletedPerTransaction(), Matchers.is(100));
+        Assert.assertThat(this.properties.getMaxBatchPause(), Matchers.is(10_000L));
     }
 
     /**
@@ -142,4 +146,19 @@ public class DatabaseCleanupPropertiesTest {
         this.properties.setSkipFilesCleanup(true);
         Assert.assertTrue(this.properties.isSkipFilesCleanup());
     }
+
+    /**
+     * Make sure can configure adaptive batching.
+     */
+    @Test
+    public void canSetAdaptiveBatching() {
+        this.properties.setAdaptiveBatchingEnabled(true);
+        this.properties.setTargetBatchLatency(500L);
+        this.properties.setMinDeletedPerTransaction(50);
+        this.properties.setMaxBatchPause(2_000L);
+        Assert.assertTrue(this.properties.isAdaptiveBatchingEnabled());
+        Assert.assertThat(this.properties.getTargetBatchLatency(), Matchers.is(500L));
+        Assert.assertThat(this.properties.getMinDeletedPerTransaction(), Matchers.is(50));
+        Assert.assertThat(this.properties.getMaxBatchPause(), Matchers.is(2_000L));
+    }
 }
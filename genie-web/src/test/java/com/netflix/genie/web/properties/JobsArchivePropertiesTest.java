@@ -0,0 +1,82 @@
+/*
+ *
+ *  Copyright 2019 Netflix, Inc.
+ *
+ *     Licensed under the Apache License, Version 2.0 (the "License");
+ *     you may not use this file except in compliance with the License.
+ *     You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *     Unless required by applicable law or agreed to in writing, software
+ *     distributed under the License is distributed on an "AS IS" BASIS,
+ *     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *     See the License for the specific language governing permissions and
+ *     limitations under the License.
+ *
+ */
+package com.netflix.genie.web.properties;
+
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for JobsArchiveProperties.
+ *
+ * @author tgianos
+ * @since 4.0.0
+ */
+public class JobsArchivePropertiesTest {
+
+    private JobsArchiveProperties properties;
+
+    /**
+     * Setup for the tests.
+     */
+    @Before
+    public void setup() {
+        this.properties = new JobsArchiveProperties();
+    }
+
+    /**
+     * Make sure we get reasonable default properties.
+     */
+    @Test
+    public void canConstructWithValidProperties() {
+        Assert.assertThat(this.properties.getThreads(), Matchers.is(4));
+        Assert.assertThat(this.properties.getQueueCapacity(), Matchers.is(1_000));
+        Assert.assertThat(this.properties.getAwaitTerminationSeconds(), Matchers.is(300));
+    }
+
+    /**
+     * Make sure we can set the number of threads.
+     */
+    @Test
+    public void canSetThreads() {
+        final int threads = 12;
+        this.properties.setThreads(threads);
+        Assert.assertThat(this.properties.getThreads(), Matchers.is(threads));
+    }
+
+    /**
+     * Make sure we can set the queue capacity.
+     */
+    @Test
+    public void canSetQueueCapacity() {
+        final int queueCapacity = 53;
+        this.properties.setQueueCapacity(queueCapacity);
+        Assert.assertThat(this.properties.getQueueCapacity(), Matchers.is(queueCapacity));
+    }
+
+    /**
+     * Make sure we can set how long shutdown waits for archives to finish.
+     */
+    @Test
+    public void canSetAwaitTerminationSeconds() {
+        final int awaitTerminationSeconds = 17;
+        this.properties.setAwaitTerminationSeconds(awaitTerminationSeconds);
+        Assert.assertThat(this.properties.getAwaitTerminationSeconds(), Matchers.is(awaitTerminationSeconds));
+    }
+}
@@ -17,16 +17,24 @@
  */
 package com.netflix.genie.web.services.impl;
 
-import com.google.common.collect.Sets;
-import com.netflix.genie.common.dto.Job;
+import com.google.common.collect.ImmutableMap;
+import com.netflix.genie.common.dto.JobStatus;
+import com.netflix.genie.web.events.JobStateChangeEvent;
 import com.netflix.genie.web.services.JobSearchService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.hamcrest.Matchers;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.springframework.scheduling.TaskScheduler;
 
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Unit tests for the default implementation of the JobMetricsService.
@@ -38,6 +46,7 @@ public class JobMetricsServiceImplTest {
 
     private final String hostName = UUID.randomUUID().toString();
     private JobSearchService jobSearchService;
+    private TaskScheduler scheduler;
     private JobMetricsServiceImpl jobMetricsService;
 
     /**
@@ -46,24 +55,199 @@ public class JobMetricsServiceImplTest {
     @Before
     public void setup() {
         this.jobSearchService = Mockito.mock(JobSearchService.class);
-        this.jobMetricsService = new JobMetricsServiceImpl(this.jobSearchService, this.hostName);
+        this.scheduler = Mockito.mock(TaskScheduler.class);
+        this.jobMetricsService = new JobMetricsServiceImpl(
+            this.jobSearchService,
+            this.hostName,
+            this.scheduler,
+            60_000L,
+            new SimpleMeterRegistry()
+        );
     }
 
     /**
-     * Test to make sure the method returns the number of running jobs.
+     * Make sure the reconciliation is scheduled.
+     */
+    @Test
+    public void reconciliationIsScheduled() {
+        Mockito.verify(this.scheduler, Mockito.times(1)).scheduleAtFixedRate(Mockito.any(Runnable.class), 60_000L);
+    }
+
+    /**
+     * Test to make sure the method returns the number of running jobs and their memory after reconciliation.
      */
     @Test
     public void canGetNumJobs() {
         Mockito
-            .when(this.jobSearchService.getAllActiveJobsOnHost(this.hostName))
+            .when(this.jobSearchService.getActiveJobsMemoryOnHost(this.hostName))
             .thenReturn(
-                Sets.newHashSet(
-                    Mockito.mock(Job.class),
-                    Mockito.mock(Job.class),
-                    Mockito.mock(Job.class)
+                ImmutableMap.of(
+                    UUID.randomUUID().toString(), 1_024,
+                    UUID.randomUUID().toString(), 2_048,
+                    UUID.randomUUID().toString(), 0
                 )
             );
 
+        Assert.assertThat(this.jobMetricsService.getNumActiveJobs(), Matchers.is(0));
+        this.jobMetricsService.reconcile();
         Assert.assertThat(this.jobMetricsService.getNumActiveJobs(), Matchers.is(3));
+        Assert.assertThat(this.jobMetricsService.getUsedMemory(), Matchers.is(3_072));
+        Mockito.verify(this.jobSearchService, Mockito.times(1)).getActiveJobsMemoryOnHost(this.hostName);
+    }
+
+    /**
+     * Make sure the counts follow job state changes without querying the job search service.
+     */
+    @Test
+    public void canTrackJobStateChanges() {
+        final String job1Id = UUID.randomUUID().toString();
+        final String job2Id = UUID.randomUUID().toString();
+        final String job3Id = UUID.randomUUID().toString();
+        final String user = UUID.randomUUID().toString();
+
+        this.jobMetricsService.onJobStateChange(
+            new JobStateChangeEvent(
+                job1Id,
+                null,
+                JobStatus.INIT,
+                user,
+                this.hostName,
+                null,
+                true,
+                null,
+                this
+            )
+        );
+        Assert.assertThat(this.jobMetricsService.getNumActiveJobs(), Matchers.is(1));
+        Assert.assertThat(this.jobMetricsService.getUsedMemory(), Matchers.is(0));
+
+        this.jobMetricsService.onJobStateChange(
+            new JobStateChangeEvent(
+                job1Id,
+                JobStatus.INIT,
+                JobStatus.RUNNING,
+                user,
+                this.hostName,
+                1_536,
+                true,
+                null,
+                this
+            )
+        );
+        this.jobMetricsService.onJobStateChange(
+            new JobStateChangeEvent(
+                job2Id,
+                JobStatus.CLAIMED,
+                JobStatus.INIT,
+                user,
+                this.hostName,
+                512,
+                true,
+                null,
+                this
+            )
+        );
+        // Job on another host shouldn't count
+        this.jobMetricsService.onJobStateChange(
+            new JobStateChangeEvent(
+                job3Id,
+                JobStatus.CLAIMED,
+                JobStatus.INIT,
+                user,
+                "otherHost",
+                512,
+                true,
+                null,
+                this
+            )
+        );
+        Assert.assertThat(this.jobMetricsService.getNumActiveJobs(), Matchers.is(2));
+        Assert.assertThat(this.jobMetricsService.getUsedMemory(), Matchers.is(2_048));
+
+        this.jobMetricsService.onJobStateChange(
+            new JobStateChangeEvent(
+                job1Id,
+                JobStatus.RUNNING,
+                JobStatus.SUCCEEDED,
+                user,
+                this.hostName,
+                1_536,
+                true,
+                null,
+                this
+            )
+        );
+        Assert.assertThat(this.jobMetricsService.getNumActiveJobs(), Matchers.is(1));
+        Assert.assertThat(this.jobMetricsService.getUsedMemory(), Matchers.is(512));
+
+        Mockito.verify(this.jobSearchService, Mockito.never()).getActiveJobsMemoryOnHost(Mockito.anyString());
+    }
+
+    /**
+     * Make sure job state changes aren't held up by a reconciliation and aren't lost when it completes.
+     *
+     * @throws Exception on error
+     */
+    @Test
+    public void jobStateChangesDuringReconciliationAreKept() throws Exception {
+        final String job1Id = UUID.randomUUID().toString();
+        final String job2Id = UUID.randomUUID().toString();
+        final String job3Id = UUID.randomUUID().toString();
+        final String user = UUID.randomUUID().toString();
+        final CountDownLatch queryStarted = new CountDownLatch(1);
+        final CountDownLatch queryReleased = new CountDownLatch(1);
+
+        Mockito
+            .when(this.jobSearchService.getActiveJobsMemoryOnHost(this.hostName))
+            .thenAnswer(
+                invocation -> {
+                    queryStarted.countDown();
+                    queryReleased.await();
+                    return ImmutableMap.of(job1Id, 1_024, job2Id, 2_048);
+                }
+            );
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<?> reconciliation = executor.submit(this.jobMetricsService::reconcile);
+            Assert.assertTrue(queryStarted.await(10, TimeUnit.SECONDS));
+
+            // The query read job 2 as running and not job 3 yet
+            this.jobMetricsService.onJobStateChange(
+                new JobStateChangeEvent(
+                    job2Id,
+                    JobStatus.RUNNING,
+                    JobStatus.SUCCEEDED,
+                    user,
+                    this.hostName,
+                    2_048,
+                    true,
+                    null,
+                    this
+                )
+            );
+            this.jobMetricsService.onJobStateChange(
+                new JobStateChangeEvent(
+                    job3Id,
+                    JobStatus.CLAIMED,
+                    JobStatus.INIT,
+                    user,
+                    this.hostName,
+                    512,
+                    true,
+                    null,
+                    this
+                )
+            );
+
+            queryReleased.countDown();
+            reconciliation.get(10, TimeUnit.SECONDS);
+        } finally {
+            queryReleased.countDown();
+            executor.shutdownNow();
+        }
+
+        Assert.assertThat(this.jobMetricsService.getNumActiveJobs(), Matchers.is(2));
+        Assert.assertThat(this.jobMetricsService.getUsedMemory(), Matchers.is(1_536));
     }
 }
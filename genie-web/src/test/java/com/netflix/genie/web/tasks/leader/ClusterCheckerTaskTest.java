@@ -33,12 +33,14 @@ import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.hamcrest.Matchers;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 import org.springframework.boot.actuate.autoconfigure.endpoint.web.WebEndpointProperties;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
@@ -47,6 +49,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
 
 /**
  * Unit tests for the ClusterCheckerTask class.
@@ -57,6 +60,7 @@ import java.util.UUID;
 public class ClusterCheckerTaskTest {
 
     private ClusterCheckerTask task;
+    private ClusterCheckerProperties properties;
     private String hostname;
     private JobSearchService jobSearchService;
     private JobPersistenceService jobPersistenceService;
@@ -64,6 +68,7 @@ public class ClusterCheckerTaskTest {
     private String scheme;
     private String healthEndpoint;
     private MeterRegistry meterRegistry;
+    private ThreadPoolTaskExecutor probeExecutor;
 
     /**
      * Setup for the tests.
@@ -72,26 +77,39 @@ public class ClusterCheckerTaskTest {
     public void setup() {
         this.hostname = UUID.randomUUID().toString();
         final GenieHostInfo genieHostInfo = new GenieHostInfo(this.hostname);
-        final ClusterCheckerProperties properties = new ClusterCheckerProperties();
-        properties.setHealthIndicatorsToIgnore("memory,genie ");
+        this.properties = new ClusterCheckerProperties();
+        this.properties.setHealthIndicatorsToIgnore("memory,genie ");
+        this.properties.setProbeTimeout(1_000L);
         this.jobSearchService = Mockito.mock(JobSearchService.class);
         this.jobPersistenceService = Mockito.mock(JobPersistenceService.class);
         this.restTemplate = Mockito.mock(RestTemplate.class);
         this.meterRegistry = new SimpleMeterRegistry();
         final WebEndpointProperties serverProperties = Mockito.mock(WebEndpointProperties.class);
         Mockito.when(serverProperties.getBasePath()).thenReturn("/actuator");
+        this.probeExecutor = new ThreadPoolTaskExecutor();
+        this.probeExecutor.setCorePoolSize(this.properties.getProbeThreads());
+        this.probeExecutor.initialize();
         this.task = new ClusterCheckerTask(
             genieHostInfo,
-            properties,
+            this.properties,
             this.jobSearchService,
             this.jobPersistenceService,
             this.restTemplate,
             serverProperties,
-            meterRegistry
+            meterRegistry,
+            this.probeExecutor
         );
 
-        this.scheme = properties.getScheme() + "://";
-        this.healthEndpoint = ":" + properties.getPort() + "/actuator/health";
+        this.scheme = this.properties.getScheme() + "://";
+        this.healthEndpoint = ":" + this.properties.getPort() + "/actuator/health";
+    }
+
+    /**
+     * Shutdown the probe executor.
+     */
+    @After
+    public void tearDown() {
+        this.probeExecutor.shutdown();
     }
 
     /**
@@ -293,6 +311,61 @@ public class ClusterCheckerTaskTest {
 
     }
 
+    /**
+     * Make sure a node which doesn't answer its health check before the probe deadline is counted as an error and
+     * doesn't hold up the check of the other nodes.
+     */
+    @Test
+    public void hungNodeIsCountedAsError() {
+        this.properties.setProbeTimeout(500L);
+        final CountDownLatch hungProbeLatch = new CountDownLatch(1);
+        final String healthyHost = UUID.randomUUID().toString();
+        final String hungHost = UUID.randomUUID().toString();
+
+        Mockito
+            .when(
+                this.restTemplate.getForObject(
+                    Mockito.eq(this.scheme + healthyHost + this.healthEndpoint),
+                    Mockito.any()
+                )
+            )
+            .thenReturn("");
+        Mockito
+            .when(
+                this.restTemplate.getForObject(
+                    Mockito.eq(this.scheme + hungHost + this.healthEndpoint),
+                    Mockito.any()
+                )
+            )
+            .thenAnswer(
+                invocation -> {
+                    hungProbeLatch.await();
+                    return "";
+                }
+            );
+        Mockito
+            .when(this.jobSearchService.getAllHostsWithActiveJobs())
+            .thenReturn(Sets.newHashSet(this.hostname, healthyHost, hungHost));
+
+        try {
+            final long start = System.currentTimeMillis();
+            this.task.run();
+            Assert.assertThat(System.currentTimeMillis() - start, Matchers.lessThan(5_000L));
+            Assert.assertThat(this.task.getErrorCountsSize(), Matchers.is(1));
+        } finally {
+            hungProbeLatch.countDown();
+        }
+
+        final Set<Tag> healthyTags = Sets.newHashSet(
+            Tag.of(MetricsConstants.TagKeys.HOST, healthyHost),
+            Tag.of(MetricsConstants.TagKeys.STATUS, MetricsConstants.TagValues.SUCCESS)
+        );
+        Assert.assertThat(
+            this.meterRegistry.timer("genie.tasks.clusterChecker.probe.timer", healthyTags).count(),
+            Matchers.is(1L)
+        );
+    }
+
     /**
      * Make sure we get the right schedule type.
      */
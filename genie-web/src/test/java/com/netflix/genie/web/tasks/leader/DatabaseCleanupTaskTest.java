@@ -30,11 +30,13 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.springframework.scheduling.support.CronTrigger;
 
 import java.time.Instant;
 import java.util.Calendar;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Unit tests for DatabaseCleanupTask.
@@ -179,6 +181,108 @@ public class DatabaseCleanupTaskTest {
         this.task.run();
     }
 
+    /**
+     * Make sure adaptive batching grows the batch size while the database responds quickly.
+     */
+    @Test
+    public void adaptiveBatchingGrowsBatchSize() {
+        final int pageSize = 10;
+        final int minDeleted = 10;
+        final int maxDeleted = 40;
+
+        Mockito.when(this.cleanupProperties.getRetention()).thenReturn(5);
+        Mockito.when(this.cleanupProperties.getPageSize()).thenReturn(pageSize);
+        Mockito.when(this.cleanupProperties.isAdaptiveBatchingEnabled()).thenReturn(true);
+        Mockito.when(this.cleanupProperties.getMinDeletedPerTransaction()).thenReturn(minDeleted);
+        Mockito.when(this.cleanupProperties.getMaxDeletedPerTransaction()).thenReturn(maxDeleted);
+        Mockito.when(this.cleanupProperties.getTargetBatchLatency()).thenReturn(60_000L);
+        Mockito
+            .when(
+                this.jobPersistenceService.deleteBatchOfJobsCreatedBeforeDate(
+                    Mockito.any(Instant.class),
+                    Mockito.anyInt(),
+                    Mockito.anyInt()
+                )
+            )
+            .thenReturn(5L, 5L, 5L, 5L, 0L);
+        Mockito.when(this.cleanupProperties.isSkipClustersCleanup()).thenReturn(true);
+        Mockito.when(this.cleanupProperties.isSkipTagsCleanup()).thenReturn(true);
+        Mockito.when(this.cleanupProperties.isSkipFilesCleanup()).thenReturn(true);
+
+        this.task.run();
+
+        final InOrder inOrder = Mockito.inOrder(this.jobPersistenceService);
+        inOrder
+            .verify(this.jobPersistenceService, Mockito.times(1))
+            .deleteBatchOfJobsCreatedBeforeDate(Mockito.any(Instant.class), Mockito.eq(10), Mockito.eq(pageSize));
+        inOrder
+            .verify(this.jobPersistenceService, Mockito.times(1))
+            .deleteBatchOfJobsCreatedBeforeDate(Mockito.any(Instant.class), Mockito.eq(20), Mockito.eq(pageSize));
+        inOrder
+            .verify(this.jobPersistenceService, Mockito.times(3))
+            .deleteBatchOfJobsCreatedBeforeDate(Mockito.any(Instant.class), Mockito.eq(40), Mockito.eq(pageSize));
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    /**
+     * Make sure adaptive batching shrinks the batch size when a batch takes longer than the target latency.
+     */
+    @Test
+    public void adaptiveBatchingShrinksBatchSize() {
+        final int pageSize = 10;
+        final int minDeleted = 10;
+        final int maxDeleted = 40;
+        final long targetLatency = 200L;
+
+        Mockito.when(this.cleanupProperties.getRetention()).thenReturn(5);
+        Mockito.when(this.cleanupProperties.getPageSize()).thenReturn(pageSize);
+        Mockito.when(this.cleanupProperties.isAdaptiveBatchingEnabled()).thenReturn(true);
+        Mockito.when(this.cleanupProperties.getMinDeletedPerTransaction()).thenReturn(minDeleted);
+        Mockito.when(this.cleanupProperties.getMaxDeletedPerTransaction()).thenReturn(maxDeleted);
+        Mockito.when(this.cleanupProperties.getTargetBatchLatency()).thenReturn(targetLatency);
+        Mockito.when(this.cleanupProperties.getMaxBatchPause()).thenReturn(1L);
+
+        final AtomicInteger invocations = new AtomicInteger();
+        Mockito
+            .when(
+                this.jobPersistenceService.deleteBatchOfJobsCreatedBeforeDate(
+                    Mockito.any(Instant.class),
+                    Mockito.anyInt(),
+                    Mockito.anyInt()
+                )
+            )
+            .thenAnswer(
+                invocation -> {
+                    final int count = invocations.incrementAndGet();
+                    if (count == 3) {
+                        // Simulate a database under pressure
+                        Thread.sleep(targetLatency * 2);
+                    }
+                    return count < 4 ? 5L : 0L;
+                }
+            );
+        Mockito.when(this.cleanupProperties.isSkipClustersCleanup()).thenReturn(true);
+        Mockito.when(this.cleanupProperties.isSkipTagsCleanup()).thenReturn(true);
+        Mockito.when(this.cleanupProperties.isSkipFilesCleanup()).thenReturn(true);
+
+        this.task.run();
+
+        final InOrder inOrder = Mockito.inOrder(this.jobPersistenceService);
+        inOrder
+            .verify(this.jobPersistenceService, Mockito.times(1))
+            .deleteBatchOfJobsCreatedBeforeDate(Mockito.any(Instant.class), Mockito.eq(10), Mockito.eq(pageSize));
+        inOrder
+            .verify(this.jobPersistenceService, Mockito.times(1))
+            .deleteBatchOfJobsCreatedBeforeDate(Mockito.any(Instant.class), Mockito.eq(20), Mockito.eq(pageSize));
+        inOrder
+            .verify(this.jobPersistenceService, Mockito.times(1))
+            .deleteBatchOfJobsCreatedBeforeDate(Mockito.any(Instant.class), Mockito.eq(40), Mockito.eq(pageSize));
+        inOrder
+            .verify(this.jobPersistenceService, Mockito.times(1))
+            .deleteBatchOfJobsCreatedBeforeDate(Mockito.any(Instant.class), Mockito.eq(20), Mockito.eq(pageSize));
+        inOrder.verifyNoMoreInteractions();
+    }
+
     /**
      * Make sure individual cleanup sub-tasks are skipped according to properties.
      */
@@ -23,6 +23,7 @@ import com.netflix.genie.common.exceptions.GenieException;
 import com.netflix.genie.common.exceptions.GenieServerException;
 import com.netflix.genie.web.properties.DiskCleanupProperties;
 import com.netflix.genie.web.properties.JobsProperties;
+import com.netflix.genie.web.services.JobPersistenceService;
 import com.netflix.genie.web.services.JobSearchService;
 import com.netflix.genie.web.tasks.TaskUtils;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
@@ -76,6 +77,7 @@ public class DiskCleanupTaskTest {
                 Mockito.mock(TaskScheduler.class),
                 jobsDir,
                 Mockito.mock(JobSearchService.class),
+                Mockito.mock(JobPersistenceService.class),
                 properties,
                 Mockito.mock(Executor.class),
                 new SimpleMeterRegistry()
@@ -100,6 +102,7 @@ public class DiskCleanupTaskTest {
                 scheduler,
                 jobsDir,
                 Mockito.mock(JobSearchService.class),
+                Mockito.mock(JobPersistenceService.class),
                 JobsProperties.getJobsPropertiesDefaults(),
                 Mockito.mock(Executor.class),
                 new SimpleMeterRegistry()
@@ -125,6 +128,7 @@ public class DiskCleanupTaskTest {
                 scheduler,
                 jobsDir,
                 Mockito.mock(JobSearchService.class),
+                Mockito.mock(JobPersistenceService.class),
                 JobsProperties.getJobsPropertiesDefaults(),
                 Mockito.mock(Executor.class),
                 new SimpleMeterRegistry()
@@ -152,6 +156,7 @@ public class DiskCleanupTaskTest {
                 scheduler,
                 jobsDir,
                 Mockito.mock(JobSearchService.class),
+                Mockito.mock(JobPersistenceService.class),
                 properties,
                 Mockito.mock(Executor.class),
                 new SimpleMeterRegistry()
@@ -181,6 +186,7 @@ public class DiskCleanupTaskTest {
         final String job3Id = UUID.randomUUID().toString();
         final String job4Id = UUID.randomUUID().toString();
         final String job5Id = UUID.randomUUID().toString();
+        final String job6Id = UUID.randomUUID().toString();
 
         final Job job1 = Mockito.mock(Job.class);
         Mockito.when(job1.getStatus()).thenReturn(JobStatus.INIT);
@@ -192,12 +198,16 @@ public class DiskCleanupTaskTest {
         final Job job4 = Mockito.mock(Job.class);
         Mockito.when(job4.getStatus()).thenReturn(JobStatus.FAILED);
         Mockito.when(job4.getFinished()).thenReturn(Optional.of(threshold));
+        final Job job6 = Mockito.mock(Job.class);
+        Mockito.when(job6.getStatus()).thenReturn(JobStatus.SUCCEEDED);
+        Mockito.when(job6.getFinished()).thenReturn(Optional.of(threshold.minus(1, ChronoUnit.MILLIS)));
 
         this.createJobDir(job1Id);
         this.createJobDir(job2Id);
         this.createJobDir(job3Id);
         this.createJobDir(job4Id);
         this.createJobDir(job5Id);
+        this.createJobDir(job6Id);
 
         final TaskScheduler scheduler = Mockito.mock(TaskScheduler.class);
         final Resource jobDir = Mockito.mock(Resource.class);
@@ -210,12 +220,16 @@ public class DiskCleanupTaskTest {
         Mockito.when(jobSearchService.getJob(job3Id)).thenReturn(job3);
         Mockito.when(jobSearchService.getJob(job4Id)).thenReturn(job4);
         Mockito.when(jobSearchService.getJob(job5Id)).thenThrow(new GenieServerException("blah"));
+        Mockito.when(jobSearchService.getJob(job6Id)).thenReturn(job6);
+        final JobPersistenceService jobPersistenceService = Mockito.mock(JobPersistenceService.class);
+        Mockito.when(jobPersistenceService.isArchivePending(job6Id)).thenReturn(true);
 
         final DiskCleanupTask task = new DiskCleanupTask(
             properties,
             scheduler,
             jobDir,
             jobSearchService,
+            jobPersistenceService,
             jobsProperties,
             Mockito.mock(Executor.class),
             new SimpleMeterRegistry()
@@ -226,6 +240,7 @@ public class DiskCleanupTaskTest {
         Assert.assertFalse(new File(jobDir.getFile(), job3Id).exists());
         Assert.assertTrue(new File(jobDir.getFile(), job4Id).exists());
         Assert.assertTrue(new File(jobDir.getFile(), job5Id).exists());
+        Assert.assertTrue(new File(jobDir.getFile(), job6Id).exists());
     }
 
     private void createJobDir(final String id) throws IOException {